@@ -0,0 +1,45 @@
+package cloud.kitelang.intellij.benchmark;
+
+import cloud.kitelang.intellij.util.KiteTypeInferenceHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for pure-Java helpers called from inspections on every declaration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KiteHelperBenchmark {
+
+    private static final String[] DECLARED_TYPES = {
+            "string", "number", "boolean", "any", "object", "string[]", "Environment", "Number"
+    };
+
+    private static final String[] VALUE_TYPES = {
+            "string", "number", "boolean", "array", "object", "null"
+    };
+
+    @Benchmark
+    public void isTypeCompatible(Blackhole blackhole) {
+        for (String declared : DECLARED_TYPES) {
+            for (String value : VALUE_TYPES) {
+                blackhole.consume(KiteTypeInferenceHelper.isTypeCompatible(declared, value));
+            }
+        }
+    }
+
+    @Benchmark
+    public void isBuiltinType(Blackhole blackhole) {
+        for (String declared : DECLARED_TYPES) {
+            blackhole.consume(KiteTypeInferenceHelper.isBuiltinType(declared));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package cloud.kitelang.intellij.benchmark;
+
+import cloud.kitelang.intellij.KiteProjectGenerator;
+import cloud.kitelang.intellij.highlighting.KiteSyntaxHighlighter;
+import cloud.kitelang.intellij.lexer.KiteLexerAdapter;
+import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import com.intellij.psi.tree.IElementType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token highlight lookup benchmarks. The lookup is a table access, so a keyword registered first,
+ * an identifier registered last and an unhighlighted token should all cost the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KiteHighlighterBenchmark {
+
+    private final KiteSyntaxHighlighter highlighter = new KiteSyntaxHighlighter();
+    private IElementType[] fileTokens;
+
+    // Non-final fields, so the JIT cannot fold the lookups into constants
+    private IElementType early = KiteTokenTypes.RESOURCE;
+    private IElementType late = KiteTokenTypes.IDENTIFIER;
+    private IElementType unhighlighted = KiteTokenTypes.NEWLINE;
+
+    @Setup
+    public void setUp() {
+        // Token stream of a generated file, as the editor highlighter sees it on a full relex
+        String text = KiteProjectGenerator.generateFile(1000);
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, 0, text.length(), 0);
+        List<IElementType> tokens = new ArrayList<>();
+        while (lexer.getTokenType() != null) {
+            tokens.add(lexer.getTokenType());
+            lexer.advance();
+        }
+        fileTokens = tokens.toArray(new IElementType[0]);
+    }
+
+    /**
+     * The first keyword registered, where the replaced comparison chain was fastest.
+     */
+    @Benchmark
+    public void earlyToken(Blackhole blackhole) {
+        blackhole.consume(highlighter.getTokenHighlights(early));
+    }
+
+    /**
+     * The last token registered, where the replaced comparison chain was slowest.
+     */
+    @Benchmark
+    public void lateToken(Blackhole blackhole) {
+        blackhole.consume(highlighter.getTokenHighlights(late));
+    }
+
+    /**
+     * A token outside the table, which fell through every comparison of the chain.
+     */
+    @Benchmark
+    public void unhighlightedToken(Blackhole blackhole) {
+        blackhole.consume(highlighter.getTokenHighlights(unhighlighted));
+    }
+
+    /**
+     * Every token of a 1,000-line file, for the mix of token types in real code.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void fileTokenStream(Blackhole blackhole) {
+        for (IElementType token : fileTokens) {
+            blackhole.consume(highlighter.getTokenHighlights(token));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package cloud.kitelang.intellij.benchmark;
+
+import cloud.kitelang.intellij.KiteProjectGenerator;
+import cloud.kitelang.intellij.lexer.KiteLexerAdapter;
+import cloud.kitelang.intellij.parser.KiteLexer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexer benchmarks: the raw ANTLR lexer against {@link KiteLexerAdapter}, which adds comment and
+ * whitespace tokens, state tracking and the token store on top of it.
+ * <p>
+ * Run with the {@code gc} profiler (enabled in build.gradle) to see the token store allocation
+ * rate next to {@link #adapterStartOnly}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KiteLexerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int lines;
+
+    private String text;
+    private int restartOffset;
+    private int restartState;
+
+    @Setup
+    public void setUp() {
+        text = KiteProjectGenerator.generateFile(lines);
+
+        // The editor highlighter restarts at a token boundary with the state recorded there
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, 0, text.length(), 0);
+        while (lexer.getTokenType() != null && lexer.getTokenStart() < text.length() / 2) {
+            lexer.advance();
+        }
+        restartOffset = lexer.getTokenType() != null ? lexer.getTokenStart() : text.length();
+        restartState = lexer.getState();
+    }
+
+    /**
+     * Baseline: ANTLR tokens only, no gap filling or state encoding.
+     */
+    @Benchmark
+    public void rawAntlrLexing(Blackhole blackhole) {
+        KiteLexer lexer = new KiteLexer(CharStreams.fromString(text));
+        lexer.removeErrorListeners();
+        Token token;
+        while ((token = lexer.nextToken()).getType() != Token.EOF) {
+            blackhole.consume(token.getType());
+        }
+    }
+
+    /**
+     * Full adapter pass as the highlighter and parser see it.
+     */
+    @Benchmark
+    public void adapterLexing(Blackhole blackhole) {
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, 0, text.length(), 0);
+        while (lexer.getTokenType() != null) {
+            blackhole.consume(lexer.getTokenType());
+            lexer.advance();
+        }
+    }
+
+    /**
+     * Restart at the first token boundary past the middle of the file, with the lexer state recorded
+     * there, as the editor highlighter does after an edit.
+     */
+    @Benchmark
+    public void incrementalRestart(Blackhole blackhole) {
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, restartOffset, text.length(), restartState);
+        while (lexer.getTokenType() != null) {
+            blackhole.consume(lexer.getTokenType());
+            lexer.advance();
+        }
+    }
+
+    /**
+     * Token store construction without iteration, isolating its allocation cost.
+     */
+    @Benchmark
+    public KiteLexerAdapter adapterStartOnly() {
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, 0, text.length(), 0);
+        return lexer;
+    }
+}
@@ -0,0 +1,80 @@
+package cloud.kitelang.intellij.benchmark;
+
+import cloud.kitelang.intellij.KiteProjectGenerator;
+import cloud.kitelang.intellij.parser.KiteParserDefinition;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser benchmarks: lexing plus PSI tree construction of synthetic files.
+ * <p>
+ * Parsing runs inside the light mock application of {@link ParsingTestCase}, so no IDE instance
+ * is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KiteParserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int lines;
+
+    private KiteParsingEnvironment environment;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        environment = new KiteParsingEnvironment();
+        environment.setUp();
+        text = KiteProjectGenerator.generateFile(lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        environment.tearDown();
+    }
+
+    @Benchmark
+    public Object parse() {
+        PsiFile file = environment.createKiteFile("benchmark", text);
+        // Force the lazy file element to be parsed
+        return file.getNode().getFirstChildNode();
+    }
+
+    /**
+     * Exposes the mock application lifecycle of {@link ParsingTestCase} to JMH.
+     */
+    static final class KiteParsingEnvironment extends ParsingTestCase {
+
+        KiteParsingEnvironment() {
+            super("", "kite", new KiteParserDefinition());
+            setName("benchmark");
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            super.tearDown();
+        }
+
+        PsiFile createKiteFile(String name, String text) {
+            return createPsiFile(name, text);
+        }
+    }
+}
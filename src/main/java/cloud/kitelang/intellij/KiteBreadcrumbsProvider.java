@@ -2,6 +2,7 @@ package cloud.kitelang.intellij;
 
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.util.KiteDeclarationInfo;
 import com.intellij.lang.Language;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.TokenType;
@@ -44,73 +45,48 @@ public class KiteBreadcrumbsProvider implements BreadcrumbsProvider {
     public String getElementInfo(@NotNull PsiElement element) {
         IElementType elementType = element.getNode().getElementType();
 
-        // Extract the declaration name from the element's text
-        String text = element.getText();
-        if (text == null || text.isEmpty()) {
-            return getDefaultLabel(elementType);
+        // For object literals, try to find the property name from parent context
+        if (elementType == KiteElementTypes.OBJECT_LITERAL) {
+            return getObjectLiteralLabel(element);
         }
 
-        // Get first line and clean it up
-        String firstLine = text.split("\n")[0].trim();
-
-        // Remove trailing brace
-        if (firstLine.endsWith("{")) {
-            firstLine = firstLine.substring(0, firstLine.length() - 1).trim();
+        // Declarations are labelled from their cached header, never from the full text of the body
+        KiteDeclarationInfo info = KiteDeclarationInfo.of(element);
+        if (info == null) {
+            return getDefaultLabel(elementType);
+        }
+        if (elementType == KiteElementTypes.WHILE_STATEMENT) {
+            return "while";
+        }
+        String name = info.name();
+        if (name == null) {
+            return getDefaultLabel(elementType);
         }
 
-        // Parse based on element type
         if (elementType == KiteElementTypes.COMPONENT_DECLARATION) {
-            // Format: "component TypeName instanceName" -> "TypeName instanceName" or just "TypeName"
-            return extractComponentName(firstLine);
-        } else if (elementType == KiteElementTypes.RESOURCE_DECLARATION) {
-            // Format: "resource Type.Name instanceName" -> "instanceName"
-            return extractResourceName(firstLine);
-        } else if (elementType == KiteElementTypes.SCHEMA_DECLARATION) {
-            // Format: "schema SchemaName" -> "SchemaName"
-            return extractAfterKeyword(firstLine, "schema");
+            // "component WebServer api" -> "WebServer api"; "component WebServer" -> "WebServer"
+            return info.type() != null ? info.type() + " " + name : name;
         } else if (elementType == KiteElementTypes.FUNCTION_DECLARATION) {
-            // Format: "fun functionName(...)" -> "functionName()"
-            return extractFunctionName(firstLine);
-        } else if (elementType == KiteElementTypes.TYPE_DECLARATION) {
-            // Format: "type TypeName = ..." -> "TypeName"
-            return extractAfterKeyword(firstLine, "type");
-        } else if (elementType == KiteElementTypes.VARIABLE_DECLARATION) {
-            // Format: "var [type] varName = ..." -> "varName"
-            return extractDeclarationName(firstLine, "var");
-        } else if (elementType == KiteElementTypes.INPUT_DECLARATION) {
-            // Format: "input [type] inputName = ..." -> "inputName"
-            return extractDeclarationName(firstLine, "input");
-        } else if (elementType == KiteElementTypes.OUTPUT_DECLARATION) {
-            // Format: "output [type] outputName = ..." -> "outputName"
-            return extractDeclarationName(firstLine, "output");
+            // "fun functionName(...)" -> "functionName()"
+            return name + "()";
         } else if (elementType == KiteElementTypes.FOR_STATEMENT) {
-            // Format: "for item in collection" -> "for item"
-            return extractForInfo(firstLine);
-        } else if (elementType == KiteElementTypes.WHILE_STATEMENT) {
-            // Format: "while condition" -> "while"
-            return "while";
-        } else if (elementType == KiteElementTypes.OBJECT_LITERAL) {
-            // For object literals, try to find the property name from parent context
-            return getObjectLiteralLabel(element);
+            // "for item in collection" -> "for item"
+            return "for " + name;
         }
-
-        return getDefaultLabel(elementType);
+        // Resources, schemas, types, var/input/output: the declared name
+        return name;
     }
 
     @Nullable
     @Override
     public String getElementTooltip(@NotNull PsiElement element) {
-        // Show full first line as tooltip
-        String text = element.getText();
-        if (text == null || text.isEmpty()) {
+        // Show the first line as tooltip
+        KiteDeclarationInfo info = KiteDeclarationInfo.of(element);
+        String firstLine = info != null ? info.header() : null;
+        if (firstLine == null || firstLine.isEmpty()) {
             return null;
         }
 
-        String firstLine = text.split("\n")[0].trim();
-        if (firstLine.endsWith("{")) {
-            firstLine = firstLine.substring(0, firstLine.length() - 1).trim();
-        }
-
         // Truncate if too long
         if (firstLine.length() > 100) {
             firstLine = firstLine.substring(0, 100) + "...";
@@ -134,119 +110,6 @@ public class KiteBreadcrumbsProvider implements BreadcrumbsProvider {
         return "element";
     }
 
-    private String extractComponentName(String line) {
-        // "component WebServer api" -> "WebServer api"
-        // "component WebServer" -> "WebServer"
-        if (line.startsWith("component ")) {
-            String rest = line.substring("component ".length()).trim();
-            // Remove any trailing content after = or {
-            int eqIndex = rest.indexOf('=');
-            if (eqIndex > 0) {
-                rest = rest.substring(0, eqIndex).trim();
-            }
-            return rest.isEmpty() ? "component" : rest;
-        }
-        return "component";
-    }
-
-    private String extractResourceName(String line) {
-        // "resource VM.Instance server" -> "server"
-        // "resource AWS.S3.Bucket myBucket" -> "myBucket"
-        if (line.startsWith("resource ")) {
-            String rest = line.substring("resource ".length()).trim();
-            // Split by spaces, last word is the instance name
-            String[] parts = rest.split("\\s+");
-            if (parts.length >= 2) {
-                return parts[parts.length - 1]; // Return the last part (instance name)
-            } else if (parts.length == 1) {
-                return parts[0]; // Just the type name
-            }
-        }
-        return "resource";
-    }
-
-    private String extractAfterKeyword(String line, String keyword) {
-        // "schema DatabaseConfig" -> "DatabaseConfig"
-        // "type UserRole = ..." -> "UserRole"
-        String prefix = keyword + " ";
-        if (line.startsWith(prefix)) {
-            String rest = line.substring(prefix.length()).trim();
-            // Take only the first word/identifier
-            int spaceIndex = rest.indexOf(' ');
-            int eqIndex = rest.indexOf('=');
-            int endIndex = rest.length();
-            if (spaceIndex > 0) endIndex = Math.min(endIndex, spaceIndex);
-            if (eqIndex > 0) endIndex = Math.min(endIndex, eqIndex);
-            return rest.substring(0, endIndex).trim();
-        }
-        return keyword;
-    }
-
-    private String extractFunctionName(String line) {
-        // "fun calculateCost(params)" -> "calculateCost()"
-        if (line.startsWith("fun ")) {
-            String rest = line.substring("fun ".length()).trim();
-            int parenIndex = rest.indexOf('(');
-            if (parenIndex > 0) {
-                return rest.substring(0, parenIndex) + "()";
-            }
-            return rest;
-        }
-        return "function";
-    }
-
-    private String extractDeclarationName(String line, String keyword) {
-        // "var number port = 8080" -> "port"
-        // "input string name = ..." -> "name"
-        // "output string endpoint" -> "endpoint"
-        String prefix = keyword + " ";
-        if (line.startsWith(prefix)) {
-            String rest = line.substring(prefix.length()).trim();
-            String[] parts = rest.split("\\s+");
-
-            // parts could be: ["number", "port", "=", "8080"] or ["port", "=", "8080"]
-            // We want the identifier before '=' or at the end
-            for (int i = 0; i < parts.length; i++) {
-                if (parts[i].equals("=")) {
-                    // The identifier is the part before '='
-                    if (i > 0) {
-                        return parts[i - 1];
-                    }
-                    break;
-                }
-            }
-
-            // No '=' found, so last part is the name (e.g., "input string name")
-            // But we need to skip the type
-            if (parts.length >= 2 && isTypeName(parts[0])) {
-                return parts[1];
-            } else if (parts.length >= 1) {
-                return parts[0];
-            }
-        }
-        return keyword;
-    }
-
-    private boolean isTypeName(String s) {
-        // Common type names in Kite
-        return s.equals("string") || s.equals("number") || s.equals("boolean") ||
-               s.equals("any") || s.equals("object") || s.startsWith("[") ||
-               Character.isUpperCase(s.charAt(0)); // Custom types start with uppercase
-    }
-
-    private String extractForInfo(String line) {
-        // "for item in collection" -> "for item"
-        if (line.startsWith("for ")) {
-            String rest = line.substring("for ".length()).trim();
-            int inIndex = rest.indexOf(" in ");
-            if (inIndex > 0) {
-                return "for " + rest.substring(0, inIndex).trim();
-            }
-            return "for " + rest;
-        }
-        return "for";
-    }
-
     private String getObjectLiteralLabel(PsiElement element) {
         // Try to find the property name this object is assigned to
         // Walk backwards through siblings to find the identifier before the colon/assign
@@ -1,7 +1,11 @@
 package cloud.kitelang.intellij;
 
+import cloud.kitelang.intellij.lexer.KiteLexerAdapter;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.folding.FoldingBuilderEx;
 import com.intellij.lang.folding.FoldingDescriptor;
@@ -14,83 +18,142 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Provides code folding support for Kite language.
  * Allows collapsing/expanding blocks, comments, arrays, objects, and imports.
+ * <p>
+ * In quick mode (used when an editor is opened) regions are found by lexing the document, without
+ * building the PSI tree; the full PSI-based pass runs later from the highlighting daemon.
  */
 public class KiteFoldingBuilder extends FoldingBuilderEx {
 
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^\\s*import\\s+[\\w,\\s*]+\\s+from\\s+[\"'][^\"']+[\"']\\s*(?:\\r?\\n)?",
-            Pattern.MULTILINE
-    );
+    private static final String BLOCK_PLACEHOLDER = "{...}";
+    private static final String COMMENT_PLACEHOLDER = "/*...*/";
 
     @NotNull
     @Override
     public FoldingDescriptor[] buildFoldRegions(@NotNull PsiElement root, @NotNull Document document, boolean quick) {
+        if (quick && root instanceof PsiFile) {
+            return buildQuickFoldRegions(root.getNode(), document);
+        }
+
         List<FoldingDescriptor> descriptors = new ArrayList<>();
 
         // Collect import folding region first
         collectImportFoldingRegion(root, document, descriptors);
 
-        // Traverse the PSI tree and collect foldable regions
-        collectFoldingRegions(root, document, descriptors);
+        // Traverse the tree and collect foldable regions
+        ASTNode rootNode = root.getNode();
+        if (rootNode != null) {
+            collectFoldingRegions(rootNode, document, descriptors);
+        }
 
         return descriptors.toArray(new FoldingDescriptor[0]);
     }
 
     /**
-     * Collects import statements and creates a single folding region for them.
+     * Finds fold regions from lexer tokens only: every multi-line brace pair, multi-line block comments,
+     * and the import statements at the top level. Regions are attached to the file node and carry their
+     * own placeholder text.
      */
-    private void collectImportFoldingRegion(PsiElement root, Document document, List<FoldingDescriptor> descriptors) {
-        if (!(root instanceof PsiFile)) return;
+    private FoldingDescriptor[] buildQuickFoldRegions(@NotNull ASTNode fileNode, @NotNull Document document) {
+        List<FoldingDescriptor> descriptors = new ArrayList<>();
+        CharSequence text = document.getCharsSequence();
+
+        int[] openBraces = new int[16];
+        int depth = 0;
+        int importCount = 0;
+        int firstImportStart = -1;
+        int lastImportEnd = -1;
+        boolean inImport = false;
+
+        KiteLexerAdapter lexer = new KiteLexerAdapter();
+        lexer.start(text, 0, text.length(), 0);
+        for (IElementType type = lexer.getTokenType(); type != null; lexer.advance(), type = lexer.getTokenType()) {
+            int start = lexer.getTokenStart();
+            int end = lexer.getTokenEnd();
+
+            if (type == KiteTokenTypes.BLOCK_COMMENT) {
+                addQuickDescriptor(fileNode, document, start, end, COMMENT_PLACEHOLDER, descriptors);
+            } else if (type == KiteTokenTypes.LBRACE) {
+                if (depth == openBraces.length) {
+                    openBraces = Arrays.copyOf(openBraces, depth * 2);
+                }
+                openBraces[depth++] = start;
+            } else if (type == KiteTokenTypes.RBRACE && depth > 0) {
+                addQuickDescriptor(fileNode, document, openBraces[--depth], end, BLOCK_PLACEHOLDER, descriptors);
+            }
 
-        String text = root.getText();
-        Matcher matcher = IMPORT_PATTERN.matcher(text);
+            // Track the span of top-level import statements, which end at the line break
+            if (type == KiteTokenTypes.IMPORT && depth == 0) {
+                importCount++;
+                if (firstImportStart < 0) {
+                    firstImportStart = start;
+                }
+                lastImportEnd = end;
+                inImport = true;
+            } else if (inImport) {
+                if (type == KiteTokenTypes.NL || type == KiteTokenTypes.NEWLINE) {
+                    inImport = false;
+                } else if (!KitePsiUtil.isWhitespace(type) && type != KiteTokenTypes.LINE_COMMENT) {
+                    lastImportEnd = end;
+                }
+            }
+        }
+
+        // Only fold if there are 2+ imports; include one newline like the full pass
+        if (importCount >= 2) {
+            TextRange range = new TextRange(firstImportStart, Math.min(lastImportEnd + 1, text.length()));
+            descriptors.add(0, new FoldingDescriptor(fileNode, range, null, "[" + importCount + " imports...]"));
+        }
+
+        return descriptors.toArray(new FoldingDescriptor[0]);
+    }
 
-        List<int[]> importRanges = new ArrayList<>();
-        while (matcher.find()) {
-            importRanges.add(new int[]{matcher.start(), matcher.end()});
+    private void addQuickDescriptor(ASTNode fileNode, Document document, int start, int end, String placeholder,
+                                    List<FoldingDescriptor> descriptors) {
+        if (document.getLineNumber(end) > document.getLineNumber(start)) {
+            descriptors.add(new FoldingDescriptor(fileNode, new TextRange(start, end), null, placeholder));
         }
+    }
+
+    /**
+     * Collects import statements and creates a single folding region for them.
+     */
+    private void collectImportFoldingRegion(PsiElement root, Document document, List<FoldingDescriptor> descriptors) {
+        if (!(root instanceof PsiFile file)) return;
+
+        List<KiteImportStatement> imports = KiteImportHelper.getImportStatements(file);
 
         // Only fold if there are 2+ imports
-        if (importRanges.size() >= 2) {
-            int firstStart = importRanges.get(0)[0];
-            int lastEnd = importRanges.get(importRanges.size() - 1)[1];
+        if (imports.size() >= 2) {
+            KiteImportStatement firstImport = imports.get(0);
+            int firstStart = firstImport.getTextRange().getStartOffset();
+            int lastEnd = imports.get(imports.size() - 1).getTextRange().getEndOffset();
 
             // Trim trailing newline from range
+            CharSequence text = document.getCharsSequence();
             while (lastEnd > firstStart && Character.isWhitespace(text.charAt(lastEnd - 1))) {
                 lastEnd--;
             }
             lastEnd++; // Include one newline
 
             TextRange range = new TextRange(firstStart, Math.min(lastEnd, text.length()));
-            int importCount = importRanges.size();
-            String placeholder = "[" + importCount + " imports...]";
+            String placeholder = "[" + imports.size() + " imports...]";
 
-            // Find the first import node to attach the folding descriptor to
-            PsiElement firstElement = root.findElementAt(firstStart);
-            ASTNode node = firstElement != null ? firstElement.getNode() : root.getNode();
-
-            if (node != null) {
-                descriptors.add(new FoldingDescriptor(node, range, null, placeholder));
-            }
+            descriptors.add(new FoldingDescriptor(firstImport.getNode(), range, null, placeholder));
         }
     }
 
-    private void collectFoldingRegions(PsiElement element, Document document, List<FoldingDescriptor> descriptors) {
-        ASTNode node = element.getNode();
-        if (node == null) return;
-
+    private void collectFoldingRegions(ASTNode node, Document document, List<FoldingDescriptor> descriptors) {
         IElementType elementType = node.getElementType();
 
         // Fold block comments
         if (elementType == KiteTokenTypes.BLOCK_COMMENT) {
-            addFoldingDescriptor(element, descriptors, document);
+            addFoldingDescriptor(node, descriptors, document);
             return; // Don't traverse children of comments
         }
 
@@ -115,21 +178,23 @@ public class KiteFoldingBuilder extends FoldingBuilderEx {
             }
         }
 
-        // Recursively process children
-        for (PsiElement child : element.getChildren()) {
-            collectFoldingRegions(child, document, descriptors);
+        // Recursively process children (composite elements only; tokens other than comments never fold)
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (child.getFirstChildNode() != null || child.getElementType() == KiteTokenTypes.BLOCK_COMMENT) {
+                collectFoldingRegions(child, document, descriptors);
+            }
         }
     }
 
-    private void addFoldingDescriptor(PsiElement element, List<FoldingDescriptor> descriptors, Document document) {
-        TextRange range = element.getTextRange();
+    private void addFoldingDescriptor(ASTNode node, List<FoldingDescriptor> descriptors, Document document) {
+        TextRange range = node.getTextRange();
 
         // Only fold regions that span multiple lines
         int startLine = document.getLineNumber(range.getStartOffset());
         int endLine = document.getLineNumber(range.getEndOffset());
 
         if (endLine > startLine) {
-            descriptors.add(new FoldingDescriptor(element.getNode(), range));
+            descriptors.add(new FoldingDescriptor(node, range));
         }
     }
 
@@ -140,11 +205,11 @@ public class KiteFoldingBuilder extends FoldingBuilderEx {
 
         // Block comments
         if (elementType == KiteTokenTypes.BLOCK_COMMENT) {
-            return "/*...*/";
+            return COMMENT_PLACEHOLDER;
         }
 
         // All other foldable regions (declarations)
-        return "{...}";
+        return BLOCK_PLACEHOLDER;
     }
 
     @Override
@@ -154,40 +219,26 @@ public class KiteFoldingBuilder extends FoldingBuilderEx {
     }
 
     /**
-     * Finds the block range by matching the first { with its closing } using depth counting on text.
+     * Finds the block range from the declaration's own opening brace to its closing brace.
+     * Uses the brace tokens among the direct children, so braces in strings, decorator arguments
+     * or nested blocks are never matched, and the declaration's text is never materialized.
      */
+    @Nullable
     private TextRange findBlockRange(ASTNode declarationNode) {
-        String text = declarationNode.getText();
-
-        // Find first '{'
-        int firstBrace = text.indexOf('{');
-        if (firstBrace == -1) {
+        ASTNode lbrace = declarationNode.findChildByType(KiteTokenTypes.LBRACE);
+        if (lbrace == null) {
             return null;
         }
 
-        // Use depth counting to find matching '}'
-        int depth = 1;
-        int pos = firstBrace + 1;
-
-        while (pos < text.length() && depth > 0) {
-            char c = text.charAt(pos);
-            if (c == '{') {
-                depth++;
-            } else if (c == '}') {
-                depth--;
-            }
-            pos++;
+        ASTNode rbrace = declarationNode.getLastChildNode();
+        while (rbrace != null && rbrace != lbrace && rbrace.getElementType() != KiteTokenTypes.RBRACE) {
+            rbrace = rbrace.getTreePrev();
         }
-
-        if (depth != 0) {
+        if (rbrace == null || rbrace == lbrace) {
             // Didn't find matching brace
             return null;
         }
 
-        // pos is now one past the closing brace
-        int startOffset = declarationNode.getStartOffset() + firstBrace;
-        int endOffset = declarationNode.getStartOffset() + pos;
-
-        return new TextRange(startOffset, endOffset);
+        return new TextRange(lbrace.getStartOffset(), rbrace.getTextRange().getEndOffset());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package cloud.kitelang.intellij.actions;
+
+import cloud.kitelang.intellij.diagnostics.KiteAnalysisTimings;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Turns recording of per-annotator and per-inspection timings on or off.
+ * Turning it on restarts highlighting so the open files are measured right away.
+ */
+public class RecordAnalysisTimingsAction extends ToggleAction implements DumbAware {
+
+    @Override
+    public boolean isSelected(@NotNull AnActionEvent e) {
+        return KiteAnalysisTimings.getInstance().isEnabled();
+    }
+
+    @Override
+    public void setSelected(@NotNull AnActionEvent e, boolean state) {
+        KiteAnalysisTimings.getInstance().setEnabled(state);
+        Project project = e.getProject();
+        if (state && project != null) {
+            DaemonCodeAnalyzer.getInstance(project).restart();
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
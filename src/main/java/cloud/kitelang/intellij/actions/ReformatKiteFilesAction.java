@@ -0,0 +1,60 @@
+package cloud.kitelang.intellij.actions;
+
+import cloud.kitelang.intellij.formatter.KiteBatchFormatter;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.StatusBar;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Reformats every Kite file under the selected directory, formatting files in parallel.
+ * Available from the project view context menu; runs as a cancellable background task.
+ */
+public class ReformatKiteFilesAction extends AnAction {
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && file != null && file.isDirectory());
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile directory = e.getData(CommonDataKeys.VIRTUAL_FILE);
+        if (project == null || directory == null || !directory.isDirectory()) {
+            return;
+        }
+
+        new Task.Backgroundable(project, "Reformatting Kite files in " + directory.getName(), true) {
+            private int changed;
+            private int total;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setText("Collecting Kite files...");
+                List<VirtualFile> files = KiteBatchFormatter.collectKiteFiles(directory);
+                total = files.size();
+                changed = KiteBatchFormatter.reformat(project, files, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                StatusBar.Info.set("Reformatted " + changed + " of " + total + " Kite files", project);
+            }
+        }.queue();
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
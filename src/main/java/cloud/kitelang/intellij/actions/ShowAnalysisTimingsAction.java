@@ -0,0 +1,18 @@
+package cloud.kitelang.intellij.actions;
+
+import cloud.kitelang.intellij.diagnostics.KiteAnalysisTimingsDialog;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAware;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shows the recorded annotator and inspection timings.
+ */
+public class ShowAnalysisTimingsAction extends AnAction implements DumbAware {
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        new KiteAnalysisTimingsDialog(e.getProject()).show();
+    }
+}
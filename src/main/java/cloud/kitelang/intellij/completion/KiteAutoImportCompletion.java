@@ -0,0 +1,212 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import cloud.kitelang.intellij.search.KiteDeclarationNameIndex;
+import cloud.kitelang.intellij.util.KiteDeclarationHelper;
+import cloud.kitelang.intellij.util.KiteSymbolPrefixIndex;
+import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.InsertHandler;
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.codeInsight.completion.PrioritizedLookupElement;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Auto-import completions: declarations from project files that are not imported yet.
+ * <p>
+ * Candidates come from {@link KiteDeclarationNameIndex}: the platform's prefix matcher filters the
+ * indexed names, and only the names that match are resolved to the files declaring them, so no PSI
+ * is created for other project files. Import status is checked against the set of symbols imported
+ * into the current file, computed once per invocation.
+ * <p>
+ * While indexing, the name index is unavailable and the candidates are read from the
+ * {@link KiteSymbolPrefixIndex} of each file of the last-known project snapshot instead.
+ * <p>
+ * The result is capped at {@link #MAX_CANDIDATES}. When the cap is hit the completion restarts on
+ * the next prefix change, which narrows the range again.
+ */
+final class KiteAutoImportCompletion {
+
+    static final int MAX_CANDIDATES = 200;
+
+    // Same order as a KiteSymbolPrefixIndex range: case-insensitive, then exact
+    private static final Comparator<String> NAME_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private KiteAutoImportCompletion() {
+    }
+
+    /**
+     * Add auto-import completions for the typed prefix.
+     *
+     * @param file           The original file being completed
+     * @param result         The completion result set
+     * @param addedNames     Names already offered (local and imported symbols); updated with added candidates
+     * @param includeTypes   Whether type declarations (schemas, type aliases) are offered
+     * @param handlerFactory Creates the insert handler that adds the import statement
+     */
+    static void addCompletions(@NotNull PsiFile file,
+                               @NotNull CompletionResultSet result,
+                               @NotNull Set<String> addedNames,
+                               boolean includeTypes,
+                               @NotNull ImportHandlerFactory handlerFactory) {
+        boolean complete = processCandidates(file, result.getPrefixMatcher(), addedNames, includeTypes, MAX_CANDIDATES,
+                (name, declarationType, sourceFile) -> {
+                    var lookup = LookupElementBuilder.create(name)
+                            .withTypeText(KiteDeclarationHelper.getTypeTextForDeclaration(declarationType))
+                            .withTailText(" (import from " + sourceFile.getName() + ")", true)
+                            .withIcon(KiteDeclarationHelper.getIconForDeclaration(declarationType))
+                            .withInsertHandler(handlerFactory.create(sourceFile, name));
+                    result.addElement(PrioritizedLookupElement.withPriority(lookup, 10.0));
+                });
+
+        if (!complete) {
+            // Capped - re-query the narrower range once the user types more
+            result.restartCompletionOnAnyPrefixChange();
+        }
+    }
+
+    /**
+     * Visit the auto-import candidates matching a prefix, streaming them to the consumer.
+     *
+     * @return false if the limit was reached before all candidates were visited
+     */
+    static boolean processCandidates(@NotNull PsiFile file,
+                                     @NotNull PrefixMatcher matcher,
+                                     @NotNull Set<String> addedNames,
+                                     boolean includeTypes,
+                                     int limit,
+                                     @NotNull CandidateConsumer consumer) {
+        ProgressManager.checkCanceled();
+        Project project = file.getProject();
+        VirtualFile currentVFile = file.getVirtualFile();
+        Set<String> importedSymbols = KiteImportHelper.getImportedSymbols(file);
+
+        if (!DumbService.isDumb(project)) {
+            try {
+                return processIndexedCandidates(project, currentVFile, matcher, addedNames, importedSymbols,
+                        includeTypes, limit, consumer);
+            } catch (IndexNotReadyException e) {
+                // Indexing started between the check and the query - fall back to the per-file indexes
+            }
+        }
+        return processFileCandidates(project, currentVFile, matcher, addedNames, importedSymbols,
+                includeTypes, limit, consumer);
+    }
+
+    private static boolean processIndexedCandidates(@NotNull Project project,
+                                                    @Nullable VirtualFile currentVFile,
+                                                    @NotNull PrefixMatcher matcher,
+                                                    @NotNull Set<String> addedNames,
+                                                    @NotNull Set<String> importedSymbols,
+                                                    boolean includeTypes,
+                                                    int limit,
+                                                    @NotNull CandidateConsumer consumer) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+
+        // Keys may outlive the files declaring them; those names simply resolve to no file below
+        Set<String> names = new TreeSet<>(NAME_ORDER);
+        index.processAllKeys(KiteDeclarationNameIndex.NAME, name -> {
+            ProgressManager.checkCanceled();
+            if (!addedNames.contains(name) && !importedSymbols.contains(name) && matcher.prefixMatches(name)) {
+                names.add(name);
+            }
+            return true;
+        }, scope, null);
+
+        int remaining = limit;
+        for (String name : names) {
+            ProgressManager.checkCanceled();
+            VirtualFile[] sourceFile = {null};
+            IElementType[] declarationType = {null};
+            index.processValues(KiteDeclarationNameIndex.NAME, name, null, (vf, value) -> {
+                IElementType type = KiteDeclarationNameIndex.getDeclarationType(value);
+                if (type == null || vf.equals(currentVFile)
+                    || (!includeTypes && KiteDeclarationHelper.isTypeDeclaration(type))) {
+                    return true;
+                }
+                sourceFile[0] = vf;
+                declarationType[0] = type;
+                return false;
+            }, scope);
+            if (sourceFile[0] == null) {
+                continue;
+            }
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            addedNames.add(name);
+            consumer.accept(name, declarationType[0], sourceFile[0]);
+        }
+        return true;
+    }
+
+    private static boolean processFileCandidates(@NotNull Project project,
+                                                 @Nullable VirtualFile currentVFile,
+                                                 @NotNull PrefixMatcher matcher,
+                                                 @NotNull Set<String> addedNames,
+                                                 @NotNull Set<String> importedSymbols,
+                                                 boolean includeTypes,
+                                                 int limit,
+                                                 @NotNull CandidateConsumer consumer) {
+        // Camel-hump matches may skip letters after the first one, so only the first character narrows the range
+        String prefix = matcher.getPrefix();
+        String searchPrefix = prefix.isEmpty() ? "" : prefix.substring(0, 1);
+        int[] remaining = {limit};
+
+        // Files are visited one at a time; candidates refer to their VirtualFile, so no PSI is retained
+        return KiteImportHelper.processKiteFilesInProject(project, projectFile -> {
+            VirtualFile vf = projectFile.getVirtualFile();
+            if (vf == null || vf.equals(currentVFile)) return true;
+
+            return KiteSymbolPrefixIndex.getIndex(projectFile).processPrefix(searchPrefix, (name, declarationType) -> {
+                if (!includeTypes && KiteDeclarationHelper.isTypeDeclaration(declarationType)) {
+                    return true;
+                }
+                if (addedNames.contains(name) || importedSymbols.contains(name) || !matcher.prefixMatches(name)) {
+                    return true;
+                }
+                if (remaining[0] == 0) {
+                    return false;
+                }
+                remaining[0]--;
+                addedNames.add(name);
+                consumer.accept(name, declarationType, vf);
+                return true;
+            });
+        });
+    }
+
+    /**
+     * Receives auto-import candidates.
+     */
+    @FunctionalInterface
+    interface CandidateConsumer {
+        void accept(String name, IElementType declarationType, VirtualFile sourceFile);
+    }
+
+    /**
+     * Creates the insert handler for a candidate.
+     */
+    @FunctionalInterface
+    interface ImportHandlerFactory {
+        InsertHandler<LookupElement> create(VirtualFile importFromFile, String symbolName);
+    }
+}
@@ -0,0 +1,175 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.completion.KiteComponentInstanceCompletionProvider.ComponentInstanceContext;
+import cloud.kitelang.intellij.completion.KiteIndexCompletionProvider.BracketContext;
+import cloud.kitelang.intellij.completion.KiteInstanceNameCompletionProvider.InstanceNameContext;
+import cloud.kitelang.intellij.completion.KiteResourceCompletionProvider.ResourceContext;
+import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.util.KitePsiUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The completion context of a caret position, classified once per completion invocation.
+ * <p>
+ * {@link KiteCompletionContributor} dispatches to the single provider matching the context
+ * instead of letting every provider re-run its own sibling and parent walks. Contexts are
+ * checked in the precedence the providers always applied:
+ * <ol>
+ *   <li>Import path strings</li>
+ *   <li>Decorator names (after {@code @}) and decorator arguments</li>
+ *   <li>Instance names (after {@code resource TypeName} or {@code component TypeName})</li>
+ *   <li>The innermost enclosing resource, component definition or component instance body</li>
+ *   <li>Everything else (general completions)</li>
+ * </ol>
+ * Index brackets are recorded separately because index suggestions are offered alongside
+ * the body, decorator argument and general completions.
+ */
+final class KiteCompletionContext {
+
+    enum Kind {
+        IMPORT_PATH,
+        DECORATOR,
+        DECORATOR_ARGUMENT,
+        INSTANCE_NAME,
+        RESOURCE,
+        COMPONENT_DEFINITION,
+        COMPONENT_INSTANCE,
+        GENERAL
+    }
+
+    private final Kind kind;
+    @Nullable
+    private final String decoratorName;
+    @Nullable
+    private final InstanceNameContext instanceNameContext;
+    @Nullable
+    private final ResourceContext resourceContext;
+    @Nullable
+    private final ComponentInstanceContext componentInstanceContext;
+    @Nullable
+    private final BracketContext bracketContext;
+
+    private KiteCompletionContext(Kind kind,
+                                  @Nullable String decoratorName,
+                                  @Nullable InstanceNameContext instanceNameContext,
+                                  @Nullable ResourceContext resourceContext,
+                                  @Nullable ComponentInstanceContext componentInstanceContext,
+                                  @Nullable BracketContext bracketContext) {
+        this.kind = kind;
+        this.decoratorName = decoratorName;
+        this.instanceNameContext = instanceNameContext;
+        this.resourceContext = resourceContext;
+        this.componentInstanceContext = componentInstanceContext;
+        this.bracketContext = bracketContext;
+    }
+
+    /**
+     * Classify the completion position (the dummy identifier leaf in the completion file copy).
+     */
+    @NotNull
+    static KiteCompletionContext classify(@NotNull PsiElement position) {
+        if (KiteImportPathCompletionProvider.isInsideImportPathString(position)) {
+            return of(Kind.IMPORT_PATH);
+        }
+
+        if (KiteDecoratorCompletionProvider.isDecoratorContext(position)) {
+            return of(Kind.DECORATOR);
+        }
+
+        String decoratorName = KiteDecoratorCompletionProvider.getEnclosingDecoratorName(position);
+        if (decoratorName != null) {
+            return new KiteCompletionContext(Kind.DECORATOR_ARGUMENT, decoratorName, null, null, null,
+                    KiteIndexCompletionProvider.findBracketContext(position));
+        }
+
+        InstanceNameContext instanceNameContext = KiteInstanceNameCompletionProvider.getInstanceNameContextStatic(position);
+        if (instanceNameContext != null) {
+            return new KiteCompletionContext(Kind.INSTANCE_NAME, null, instanceNameContext, null, null, null);
+        }
+
+        return classifyBody(position, KiteIndexCompletionProvider.findBracketContext(position));
+    }
+
+    /**
+     * Walk the parents once and classify by the innermost declaration body containing the caret.
+     */
+    @NotNull
+    private static KiteCompletionContext classifyBody(@NotNull PsiElement position, @Nullable BracketContext bracketContext) {
+        for (PsiElement current = position; current != null && !(current instanceof PsiFile); current = current.getParent()) {
+            if (current.getNode() == null) {
+                continue;
+            }
+            IElementType type = current.getNode().getElementType();
+
+            if (type == KiteElementTypes.RESOURCE_DECLARATION && KitePsiUtil.isInsideBraces(position, current)) {
+                ResourceContext resourceContext = KiteResourceCompletionProvider.createResourceContext(current);
+                if (resourceContext != null) {
+                    return new KiteCompletionContext(Kind.RESOURCE, null, null, resourceContext, null, bracketContext);
+                }
+            } else if (type == KiteElementTypes.COMPONENT_DECLARATION && KitePsiUtil.isInsideBraces(position, current)) {
+                ComponentInstanceContext instanceContext =
+                        KiteComponentInstanceCompletionProvider.createComponentInstanceContext(current);
+                if (instanceContext != null) {
+                    return new KiteCompletionContext(Kind.COMPONENT_INSTANCE, null, null, null, instanceContext, bracketContext);
+                }
+                if (KiteComponentDefinitionCompletionProvider.createComponentDefinitionContext(current) != null) {
+                    return new KiteCompletionContext(Kind.COMPONENT_DEFINITION, null, null, null, null, bracketContext);
+                }
+            }
+        }
+        return new KiteCompletionContext(Kind.GENERAL, null, null, null, null, bracketContext);
+    }
+
+    private static KiteCompletionContext of(Kind kind) {
+        return new KiteCompletionContext(kind, null, null, null, null, null);
+    }
+
+    @NotNull
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The decorator whose arguments contain the caret ({@link Kind#DECORATOR_ARGUMENT} only).
+     */
+    @Nullable
+    String getDecoratorName() {
+        return decoratorName;
+    }
+
+    /**
+     * The declaration header the instance name belongs to ({@link Kind#INSTANCE_NAME} only).
+     */
+    @Nullable
+    InstanceNameContext getInstanceNameContext() {
+        return instanceNameContext;
+    }
+
+    /**
+     * The enclosing resource block ({@link Kind#RESOURCE} only).
+     */
+    @Nullable
+    ResourceContext getResourceContext() {
+        return resourceContext;
+    }
+
+    /**
+     * The enclosing component instance block ({@link Kind#COMPONENT_INSTANCE} only).
+     */
+    @Nullable
+    ComponentInstanceContext getComponentInstanceContext() {
+        return componentInstanceContext;
+    }
+
+    /**
+     * The index brackets containing the caret, or null if the caret is not inside {@code name[...]}.
+     */
+    @Nullable
+    BracketContext getBracketContext() {
+        return bracketContext;
+    }
+}
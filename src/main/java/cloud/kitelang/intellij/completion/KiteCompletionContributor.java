@@ -2,13 +2,19 @@ package cloud.kitelang.intellij.completion;
 
 import cloud.kitelang.intellij.KiteLanguage;
 import com.intellij.codeInsight.completion.CompletionContributor;
+import com.intellij.codeInsight.completion.CompletionParameters;
+import com.intellij.codeInsight.completion.CompletionProvider;
+import com.intellij.codeInsight.completion.CompletionResultSet;
 import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.patterns.PlatformPatterns;
+import com.intellij.util.ProcessingContext;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Orchestrates code completion for the Kite language.
  * <p>
- * This contributor registers specialized completion providers for different contexts:
+ * This contributor delegates to specialized completion providers for different contexts:
  * - KiteImportPathCompletionProvider: File path completion in import statements
  * - KiteDecoratorCompletionProvider: Decorator names and arguments
  * - KiteResourceCompletionProvider: Property names and values inside resource blocks
@@ -18,49 +24,73 @@ import com.intellij.patterns.PlatformPatterns;
  * - KiteInstanceNameCompletionProvider: Smart instance names for resource/component declarations
  * - KiteGeneralCompletionProvider: Keywords, identifiers, property access, types
  * <p>
- * Each provider handles its own context detection and filtering.
+ * The caret position is classified once per invocation by {@link KiteCompletionContext},
+ * and only the provider for that context runs.
+ * <p>
+ * Dumb-aware: local and import-based completions are PSI-only, and project-wide
+ * completions use the last-known project file snapshot while indexes are being rebuilt.
  */
-public class KiteCompletionContributor extends CompletionContributor {
+public class KiteCompletionContributor extends CompletionContributor implements DumbAware {
 
     public KiteCompletionContributor() {
-        // Import path completion provider - suggests .kite files in import strings
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteImportPathCompletionProvider());
-
-        // Decorator completion provider - handles @ and decorator arguments
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteDecoratorCompletionProvider());
-
-        // Resource completion provider - handles property names and values inside resource blocks
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteResourceCompletionProvider());
-
-        // Component definition completion provider - handles input/output in component definitions
         extend(CompletionType.BASIC,
                 PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteComponentDefinitionCompletionProvider());
+                new DispatchingProvider());
+    }
 
-        // Component instance completion provider - handles input properties in component instances
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteComponentInstanceCompletionProvider());
+    /**
+     * Classifies the caret position and hands it to the matching provider.
+     */
+    private static class DispatchingProvider extends CompletionProvider<CompletionParameters> {
+        private final KiteImportPathCompletionProvider importPathProvider = new KiteImportPathCompletionProvider();
+        private final KiteDecoratorCompletionProvider decoratorProvider = new KiteDecoratorCompletionProvider();
+        private final KiteResourceCompletionProvider resourceProvider = new KiteResourceCompletionProvider();
+        private final KiteComponentDefinitionCompletionProvider componentDefinitionProvider = new KiteComponentDefinitionCompletionProvider();
+        private final KiteComponentInstanceCompletionProvider componentInstanceProvider = new KiteComponentInstanceCompletionProvider();
+        private final KiteIndexCompletionProvider indexProvider = new KiteIndexCompletionProvider();
+        private final KiteInstanceNameCompletionProvider instanceNameProvider = new KiteInstanceNameCompletionProvider();
+        private final KiteGeneralCompletionProvider generalProvider = new KiteGeneralCompletionProvider();
 
-        // Index completion provider - handles index suggestions inside brackets for indexed resources
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteIndexCompletionProvider());
+        @Override
+        protected void addCompletions(@NotNull CompletionParameters parameters,
+                                      @NotNull ProcessingContext context,
+                                      @NotNull CompletionResultSet result) {
+            KiteCompletionContext completionContext = KiteCompletionContext.classify(parameters.getPosition());
 
-        // Instance name completion provider - suggests names for resource/component instances
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteInstanceNameCompletionProvider());
+            switch (completionContext.getKind()) {
+                case IMPORT_PATH -> importPathProvider.addImportPathCompletions(parameters, result);
+                case DECORATOR -> decoratorProvider.addDecoratorNameCompletions(parameters, result);
+                case DECORATOR_ARGUMENT -> {
+                    decoratorProvider.addDecoratorArgumentCompletions(result, completionContext.getDecoratorName());
+                    addIndexCompletions(parameters, result, completionContext);
+                }
+                case INSTANCE_NAME -> instanceNameProvider.addInstanceNameCompletions(result, completionContext.getInstanceNameContext());
+                case RESOURCE -> {
+                    resourceProvider.addResourceCompletions(parameters, result, completionContext.getResourceContext());
+                    addIndexCompletions(parameters, result, completionContext);
+                }
+                case COMPONENT_DEFINITION -> {
+                    componentDefinitionProvider.addComponentDefinitionCompletions(parameters, result);
+                    addIndexCompletions(parameters, result, completionContext);
+                }
+                case COMPONENT_INSTANCE -> {
+                    componentInstanceProvider.addComponentInstanceCompletions(parameters, result,
+                            completionContext.getComponentInstanceContext());
+                    addIndexCompletions(parameters, result, completionContext);
+                }
+                case GENERAL -> {
+                    addIndexCompletions(parameters, result, completionContext);
+                    generalProvider.addGeneralCompletions(parameters, result);
+                }
+            }
+        }
 
-        // General completion provider - keywords, identifiers, property access, types
-        extend(CompletionType.BASIC,
-                PlatformPatterns.psiElement().withLanguage(KiteLanguage.INSTANCE),
-                new KiteGeneralCompletionProvider());
+        private void addIndexCompletions(@NotNull CompletionParameters parameters,
+                                         @NotNull CompletionResultSet result,
+                                         @NotNull KiteCompletionContext completionContext) {
+            if (completionContext.getBracketContext() != null) {
+                indexProvider.addIndexCompletions(parameters, result, completionContext.getBracketContext());
+            }
+        }
     }
 }
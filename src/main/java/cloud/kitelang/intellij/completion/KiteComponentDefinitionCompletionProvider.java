@@ -171,12 +171,9 @@ public class KiteComponentDefinitionCompletionProvider extends CompletionProvide
                 current.getNode().getElementType() == KiteElementTypes.COMPONENT_DECLARATION) {
                 // Found component declaration - check if we're inside the braces
                 if (KitePsiUtil.isInsideBraces(position, current)) {
-                    // Check if this is a definition (one identifier) vs instance (two identifiers)
-                    if (isComponentDefinition(current)) {
-                        String typeName = extractComponentTypeName(current);
-                        if (typeName != null) {
-                            return new ComponentDefinitionContext(typeName, current);
-                        }
+                    ComponentDefinitionContext definitionContext = createComponentDefinitionContext(current);
+                    if (definitionContext != null) {
+                        return definitionContext;
                     }
                 }
             }
@@ -185,6 +182,20 @@ public class KiteComponentDefinitionCompletionProvider extends CompletionProvide
         return null;
     }
 
+    /**
+     * Create the definition context for a COMPONENT_DECLARATION whose body contains the caret.
+     * Returns null if the declaration is a component instance rather than a definition.
+     */
+    @Nullable
+    static ComponentDefinitionContext createComponentDefinitionContext(PsiElement componentDeclaration) {
+        // Check if this is a definition (one identifier) vs instance (two identifiers)
+        if (!isComponentDefinition(componentDeclaration)) {
+            return null;
+        }
+        String typeName = extractComponentTypeName(componentDeclaration);
+        return typeName != null ? new ComponentDefinitionContext(typeName, componentDeclaration) : null;
+    }
+
     /**
      * Check if a COMPONENT_DECLARATION is a definition (not an instance).
      * A definition has only one identifier before the opening brace.
@@ -237,14 +248,22 @@ public class KiteComponentDefinitionCompletionProvider extends CompletionProvide
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   @NotNull ProcessingContext context,
                                   @NotNull CompletionResultSet result) {
-        PsiElement position = parameters.getPosition();
-
         // Check if we're inside a component DEFINITION body (not instance)
-        ComponentDefinitionContext componentDefContext = getEnclosingComponentDefinitionContext(position);
+        ComponentDefinitionContext componentDefContext = getEnclosingComponentDefinitionContext(parameters.getPosition());
         if (componentDefContext == null) {
             return; // Not in a component definition context
         }
 
+        addComponentDefinitionCompletions(parameters, result);
+    }
+
+    /**
+     * Add completions for a caret already classified as inside a component definition body.
+     */
+    void addComponentDefinitionCompletions(@NotNull CompletionParameters parameters,
+                                           @NotNull CompletionResultSet result) {
+        PsiElement position = parameters.getPosition();
+
         // Check if we're after = in an input/output declaration
         InputOutputInfo inputOutputInfo = getInputOutputInfo(position);
         if (inputOutputInfo != null) {
@@ -537,7 +556,7 @@ public class KiteComponentDefinitionCompletionProvider extends CompletionProvide
      * Context information about an enclosing component definition block.
      * Only for component DEFINITIONS (component TypeName { }), not instances.
      */
-    private record ComponentDefinitionContext(String componentTypeName, PsiElement componentDeclaration) {
+    record ComponentDefinitionContext(String componentTypeName, PsiElement componentDeclaration) {
     }
 
     /**
@@ -13,6 +13,7 @@ import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
@@ -55,12 +56,9 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
             if (current.getNode() != null &&
                 current.getNode().getElementType() == KiteElementTypes.COMPONENT_DECLARATION) {
                 if (KitePsiUtil.isInsideBraces(position, current)) {
-                    // Check if this is an instance (two identifiers) vs definition (one identifier)
-                    if (isComponentInstance(current)) {
-                        String typeName = extractComponentTypeName(current);
-                        if (typeName != null) {
-                            return new ComponentInstanceContext(typeName, current);
-                        }
+                    ComponentInstanceContext instanceContext = createComponentInstanceContext(current);
+                    if (instanceContext != null) {
+                        return instanceContext;
                     }
                 }
             }
@@ -69,6 +67,20 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
         return null;
     }
 
+    /**
+     * Create the instance context for a COMPONENT_DECLARATION whose body contains the caret.
+     * Returns null if the declaration is a component definition rather than an instance.
+     */
+    @Nullable
+    static ComponentInstanceContext createComponentInstanceContext(PsiElement componentDeclaration) {
+        // Check if this is an instance (two identifiers) vs definition (one identifier)
+        if (!isComponentInstance(componentDeclaration)) {
+            return null;
+        }
+        String typeName = extractComponentTypeName(componentDeclaration);
+        return typeName != null ? new ComponentInstanceContext(typeName, componentDeclaration) : null;
+    }
+
     /**
      * Check if a COMPONENT_DECLARATION is an instance (not a definition).
      * An instance has two identifiers before the opening brace.
@@ -119,15 +131,24 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   @NotNull ProcessingContext context,
                                   @NotNull CompletionResultSet result) {
-        PsiElement position = parameters.getPosition();
-        PsiFile file = parameters.getOriginalFile();
-
         // Check if we're inside a component instance body
-        ComponentInstanceContext instanceContext = getEnclosingComponentInstanceContext(position);
+        ComponentInstanceContext instanceContext = getEnclosingComponentInstanceContext(parameters.getPosition());
         if (instanceContext == null) {
             return; // Not in a component instance context
         }
 
+        addComponentInstanceCompletions(parameters, result, instanceContext);
+    }
+
+    /**
+     * Add completions for a caret already classified as inside a component instance body.
+     */
+    void addComponentInstanceCompletions(@NotNull CompletionParameters parameters,
+                                         @NotNull CompletionResultSet result,
+                                         @NotNull ComponentInstanceContext instanceContext) {
+        PsiElement position = parameters.getPosition();
+        PsiFile file = parameters.getOriginalFile();
+
         // Check if we're on the LEFT side of = (property name) or RIGHT side (value)
         if (KiteResourceCompletionProvider.isBeforeAssignment(position)) {
             // LEFT side: only input properties from the component definition
@@ -193,6 +214,7 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
         // Search in imported files
         List<PsiFile> importedFiles = KiteImportHelper.getImportedFiles(file);
         for (PsiFile importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null) continue;
             result = findComponentDefinitionInFile(importedFile, typeName);
             if (result != null) {
@@ -381,6 +403,7 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
         List<PsiFile> importedFiles = KiteImportHelper.getImportedFiles(file);
 
         for (PsiFile importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null) continue;
 
             KiteDeclarationHelper.collectDeclarations(importedFile, (name, declarationType, element) -> {
@@ -400,40 +423,19 @@ public class KiteComponentInstanceCompletionProvider extends CompletionProvider<
      * Add auto-import completions from project files that are not yet imported.
      */
     private void addAutoImportCompletions(PsiFile file, @NotNull CompletionResultSet result, Set<String> addedNames) {
-        VirtualFile currentVFile = file.getVirtualFile();
-        String currentPath = currentVFile != null ? currentVFile.getPath() : null;
-        Project project = file.getProject();
-        List<PsiFile> allKiteFiles = KiteImportHelper.getAllKiteFilesInProject(project);
-
-        for (PsiFile projectFile : allKiteFiles) {
-            if (projectFile == null) continue;
-            VirtualFile vf = projectFile.getVirtualFile();
-            if (vf == null || vf.getPath().equals(currentPath)) continue;
-
-            final PsiFile targetFile = projectFile;
-            KiteDeclarationHelper.collectDeclarations(projectFile, (name, declarationType, element) -> {
-                if (KiteDeclarationHelper.isTypeDeclaration(declarationType)) {
-                    return;
-                }
-                if (!KiteImportHelper.isSymbolImported(name, file) && !addedNames.contains(name)) {
-                    addedNames.add(name);
-                    var lookup = LookupElementBuilder.create(name)
-                            .withTypeText(KiteDeclarationHelper.getTypeTextForDeclaration(declarationType))
-                            .withTailText(" (import from " + targetFile.getName() + ")", true)
-                            .withIcon(KiteDeclarationHelper.getIconForDeclaration(declarationType))
-                            .withInsertHandler(createAutoImportHandler(file, targetFile, name));
-                    result.addElement(PrioritizedLookupElement.withPriority(lookup, 10.0));
-                }
-            });
-        }
+        // Type declarations are never values
+        KiteAutoImportCompletion.addCompletions(file, result, addedNames, false,
+                (importFromFile, symbolName) -> createAutoImportHandler(file, importFromFile, symbolName));
     }
 
     /**
      * Creates an insert handler that adds an import statement for the symbol.
      */
-    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, PsiFile importFromFile, String symbolName) {
+    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, VirtualFile importFromFile, String symbolName) {
         return (context, item) -> {
-            String importPath = KiteImportHelper.getRelativeImportPath(currentFile, importFromFile);
+            VirtualFile currentVFile = currentFile.getVirtualFile();
+            if (currentVFile == null) return;
+            String importPath = KiteImportHelper.getRelativeImportPath(currentVFile, importFromFile);
             if (importPath == null) return;
 
             Project project = context.getProject();
@@ -77,7 +77,7 @@ public class KiteDecoratorCompletionProvider extends CompletionProvider<Completi
     /**
      * Check if cursor is after @ (decorator context)
      */
-    private static boolean isDecoratorContext(PsiElement position) {
+    static boolean isDecoratorContext(PsiElement position) {
         // Direct previous sibling is @
         PsiElement prev = position.getPrevSibling();
         if (prev != null && prev.getNode() != null) {
@@ -107,7 +107,7 @@ public class KiteDecoratorCompletionProvider extends CompletionProvider<Completi
      * @validate(regex: "|") -> returns "validate"
      */
     @Nullable
-    private static String getEnclosingDecoratorName(PsiElement position) {
+    static String getEnclosingDecoratorName(PsiElement position) {
         // Walk backwards through siblings and parents to find LPAREN
         PsiElement current = position;
         int parenDepth = 0;
@@ -163,8 +163,7 @@ public class KiteDecoratorCompletionProvider extends CompletionProvider<Completi
 
         // Check if we're after @ (decorator context)
         if (isDecoratorContext(position)) {
-            int targetType = detectDecoratorTargetType(parameters);
-            addDecoratorCompletions(result, targetType);
+            addDecoratorNameCompletions(parameters, result);
             return;
         }
 
@@ -175,6 +174,14 @@ public class KiteDecoratorCompletionProvider extends CompletionProvider<Completi
         }
     }
 
+    /**
+     * Add decorator name completions for a caret already classified as directly after {@code @}.
+     */
+    void addDecoratorNameCompletions(@NotNull CompletionParameters parameters,
+                                     @NotNull CompletionResultSet result) {
+        addDecoratorCompletions(result, detectDecoratorTargetType(parameters));
+    }
+
     /**
      * Detect the target type that a decorator at the current position would apply to.
      * Uses text-based lookahead on the ORIGINAL file (before dummy identifier insertion)
@@ -364,7 +371,7 @@ public class KiteDecoratorCompletionProvider extends CompletionProvider<Completi
      * - @existing -> reference type helpers
      * - @dependsOn -> resource/component references
      */
-    private void addDecoratorArgumentCompletions(@NotNull CompletionResultSet result, String decoratorName) {
+    void addDecoratorArgumentCompletions(@NotNull CompletionResultSet result, String decoratorName) {
         switch (decoratorName) {
             case "validate" -> addValidateCompletions(result);
             case "provider", "provisionOn" -> addProviderCompletions(result);
@@ -12,6 +12,7 @@ import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
@@ -99,6 +100,16 @@ public class KiteGeneralCompletionProvider extends CompletionProvider<Completion
             return;
         }
 
+        addGeneralCompletions(parameters, result);
+    }
+
+    /**
+     * Add completions for a caret already classified as outside every specialized context.
+     */
+    void addGeneralCompletions(@NotNull CompletionParameters parameters,
+                               @NotNull CompletionResultSet result) {
+        PsiElement position = parameters.getPosition();
+
         // Check if we're after a dot (property access)
         if (isPropertyAccessContext(position)) {
             addPropertyCompletions(parameters, result);
@@ -358,6 +369,7 @@ public class KiteGeneralCompletionProvider extends CompletionProvider<Completion
         // Collect from imported files
         List<PsiFile> importedFiles = KiteImportHelper.getImportedFiles(file);
         for (PsiFile importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null) continue;
             KiteDeclarationHelper.collectDeclarations(importedFile, (name, declarationType, element) -> {
                 if (isValuePosition && KiteDeclarationHelper.isTypeDeclaration(declarationType)) {
@@ -383,40 +395,18 @@ public class KiteGeneralCompletionProvider extends CompletionProvider<Completion
      */
     private void addAutoImportCompletions(PsiFile file, @NotNull CompletionResultSet result,
                                           Set<String> addedNames, boolean isValuePosition) {
-        VirtualFile currentVFile = file.getVirtualFile();
-        String currentPath = currentVFile != null ? currentVFile.getPath() : null;
-        Project project = file.getProject();
-        List<PsiFile> allKiteFiles = KiteImportHelper.getAllKiteFilesInProject(project);
-
-        for (PsiFile projectFile : allKiteFiles) {
-            if (projectFile == null) continue;
-            VirtualFile vf = projectFile.getVirtualFile();
-            if (vf == null || vf.getPath().equals(currentPath)) continue;
-
-            final PsiFile targetFile = projectFile;
-            KiteDeclarationHelper.collectDeclarations(projectFile, (name, declarationType, element) -> {
-                if (isValuePosition && KiteDeclarationHelper.isTypeDeclaration(declarationType)) {
-                    return;
-                }
-                if (!KiteImportHelper.isSymbolImported(name, file) && !addedNames.contains(name)) {
-                    addedNames.add(name);
-                    var lookup = LookupElementBuilder.create(name)
-                            .withTypeText(KiteDeclarationHelper.getTypeTextForDeclaration(declarationType))
-                            .withTailText(" (import from " + targetFile.getName() + ")", true)
-                            .withIcon(KiteDeclarationHelper.getIconForDeclaration(declarationType))
-                            .withInsertHandler(createAutoImportHandler(file, targetFile, name));
-                    result.addElement(PrioritizedLookupElement.withPriority(lookup, 10.0));
-                }
-            });
-        }
+        KiteAutoImportCompletion.addCompletions(file, result, addedNames, !isValuePosition,
+                (importFromFile, symbolName) -> createAutoImportHandler(file, importFromFile, symbolName));
     }
 
     /**
      * Creates an insert handler that adds an import statement for the symbol.
      */
-    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, PsiFile importFromFile, String symbolName) {
+    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, VirtualFile importFromFile, String symbolName) {
         return (context, item) -> {
-            String importPath = KiteImportHelper.getRelativeImportPath(currentFile, importFromFile);
+            VirtualFile currentVFile = currentFile.getVirtualFile();
+            if (currentVFile == null) return;
+            String importPath = KiteImportHelper.getRelativeImportPath(currentVFile, importFromFile);
             if (importPath == null) return;
 
             Project project = context.getProject();
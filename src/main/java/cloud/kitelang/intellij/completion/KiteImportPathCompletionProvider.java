@@ -1,38 +1,36 @@
 package cloud.kitelang.intellij.completion;
 
-import cloud.kitelang.intellij.KiteFileType;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
-import cloud.kitelang.intellij.reference.KiteImportHelper;
 import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.CompletionProvider;
 import com.intellij.codeInsight.completion.CompletionResultSet;
 import com.intellij.codeInsight.completion.InsertHandler;
+import com.intellij.codeInsight.completion.PrefixMatcher;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-
 /**
  * Provides path completion for import statements.
  * Suggests .kite files when typing inside import path strings.
  */
 public class KiteImportPathCompletionProvider extends CompletionProvider<CompletionParameters> {
 
+    /**
+     * Maximum number of paths offered at once; typing more of the path narrows the list.
+     */
+    static final int MAX_RESULTS = 200;
+
     /**
      * Check if the position is inside an import path string.
      * Uses PSI structure to detect if we're inside an IMPORT_STATEMENT
@@ -140,48 +138,79 @@ public class KiteImportPathCompletionProvider extends CompletionProvider<Complet
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   @NotNull ProcessingContext context,
                                   @NotNull CompletionResultSet result) {
-        PsiElement position = parameters.getPosition();
-        PsiFile containingFile = parameters.getOriginalFile();
-
         // Check if we're inside an import path string
-        if (!isInsideImportPathString(position)) {
+        if (!isInsideImportPathString(parameters.getPosition())) {
             return;
         }
 
-        Project project = containingFile.getProject();
-        PsiManager psiManager = PsiManager.getInstance(project);
+        addImportPathCompletions(parameters, result);
+    }
 
-        // Get current file to exclude it
+    /**
+     * Add file path completions for a caret already classified as inside an import path string.
+     * <p>
+     * Candidates come from the cached {@link KiteImportPathTree}, so no PSI is loaded for the
+     * suggested files. The text typed between the opening quote and the caret is matched
+     * fuzzily per path segment, see {@link KiteImportPathMatcher}.
+     */
+    void addImportPathCompletions(@NotNull CompletionParameters parameters,
+                                  @NotNull CompletionResultSet result) {
+        PsiFile containingFile = parameters.getOriginalFile();
         VirtualFile currentVFile = containingFile.getVirtualFile();
+        if (currentVFile == null) {
+            return;
+        }
 
-        // Use FileTypeIndex to find all .kite files (works in tests too)
-        Collection<VirtualFile> kiteFiles = FileTypeIndex.getFiles(
-                KiteFileType.INSTANCE, GlobalSearchScope.projectScope(project));
+        String typedPath = findTypedPath(parameters.getEditor().getDocument().getImmutableCharSequence(),
+                parameters.getOffset());
+        CompletionResultSet pathResult = typedPath != null
+                ? result.withPrefixMatcher(new KiteImportPathMatcher(typedPath))
+                : result;
+        PrefixMatcher matcher = pathResult.getPrefixMatcher();
+        InsertHandler<LookupElement> insertHandler = createImportPathInsertHandler();
 
-        for (VirtualFile vFile : kiteFiles) {
-            // Skip the current file
-            if (vFile.equals(currentVFile)) {
-                continue;
+        int[] added = {0};
+        boolean complete = KiteImportPathTree.getInstance(containingFile.getProject()).processCandidates(currentVFile, candidate -> {
+            if (!matcher.prefixMatches(candidate.importPath())) {
+                return true;
             }
 
-            PsiFile kiteFile = psiManager.findFile(vFile);
-            if (kiteFile == null) continue;
-
-            // Get the relative import path
-            String importPath = KiteImportHelper.getRelativeImportPath(containingFile, kiteFile);
-            if (importPath == null || importPath.isEmpty()) continue;
-
             // Create lookup element with file icon and custom insert handler
             // to replace entire string content instead of just inserting at cursor
-            LookupElementBuilder element = LookupElementBuilder.create(importPath)
-                    .withIcon(AllIcons.FileTypes.Any_type)
-                    .withTypeText("Kite file")
-                    .withInsertHandler(createImportPathInsertHandler());
+            LookupElementBuilder element = LookupElementBuilder.create(candidate.importPath())
+                    .withIcon(candidate.provider() ? AllIcons.Nodes.Package : AllIcons.FileTypes.Any_type)
+                    .withTypeText(candidate.provider() ? "Provider package" : "Kite file")
+                    .withInsertHandler(insertHandler);
+            pathResult.addElement(element);
+            return ++added[0] < MAX_RESULTS;
+        });
 
-            result.addElement(element);
+        if (!complete) {
+            // Capped - re-query with the longer path once the user types more
+            pathResult.restartCompletionOnAnyPrefixChange();
+            pathResult.addLookupAdvertisement("Type more of the path to see further files");
         }
     }
 
+    /**
+     * Get the text between the opening quote of the import string and the caret.
+     *
+     * @return The typed path, or null if no opening quote was found on the line
+     */
+    @Nullable
+    static String findTypedPath(@NotNull CharSequence text, int offset) {
+        for (int i = offset - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                return text.subSequence(i + 1, offset).toString();
+            }
+            if (c == '\n') {
+                return null;
+            }
+        }
+        return null;
+    }
+
     /**
      * Creates an insert handler that replaces the entire string content (between quotes)
      * with the selected import path. This ensures that partial text like "ga" gets fully
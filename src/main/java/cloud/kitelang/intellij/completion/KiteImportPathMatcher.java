@@ -0,0 +1,83 @@
+package cloud.kitelang.intellij.completion;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.psi.codeStyle.MinusculeMatcher;
+import com.intellij.psi.codeStyle.NameUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fuzzy matcher for import paths.
+ * <p>
+ * The typed text and the candidate path are split into segments at {@code /} and {@code .}.
+ * Each typed segment must match a later candidate segment, in order, by prefix or camel humps;
+ * candidate segments in between may be skipped. For example "l/ut" matches "lib/utils.kite",
+ * "net/vpc" matches "modules/network/vpc.kite" and "aws.DC" matches "aws.DatabaseConfig".
+ */
+class KiteImportPathMatcher extends PrefixMatcher {
+
+    private final List<String> segments;
+    private final List<MinusculeMatcher> matchers;
+
+    KiteImportPathMatcher(@NotNull String prefix) {
+        super(prefix);
+        segments = splitSegments(prefix);
+        matchers = new ArrayList<>(segments.size());
+        for (String segment : segments) {
+            matchers.add(segment.equals("..")
+                    ? null
+                    : NameUtil.buildMatcher(segment, NameUtil.MatchingCaseSensitivity.NONE));
+        }
+    }
+
+    @Override
+    public boolean prefixMatches(@NotNull String name) {
+        if (segments.isEmpty()) {
+            return true;
+        }
+        List<String> candidate = splitSegments(name);
+        int next = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            while (next < candidate.size() && !segmentMatches(i, candidate.get(next))) {
+                next++;
+            }
+            if (next == candidate.size()) {
+                return false;
+            }
+            next++;
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull PrefixMatcher cloneWithPrefix(@NotNull String prefix) {
+        return prefix.equals(getPrefix()) ? this : new KiteImportPathMatcher(prefix);
+    }
+
+    private boolean segmentMatches(int index, @NotNull String candidateSegment) {
+        MinusculeMatcher matcher = matchers.get(index);
+        return matcher == null ? segments.get(index).equals(candidateSegment) : matcher.matches(candidateSegment);
+    }
+
+    /**
+     * Splits a path into its non-empty segments; ".." is kept as a segment of its own and "." is dropped.
+     */
+    @NotNull
+    static List<String> splitSegments(@NotNull String path) {
+        List<String> segments = new ArrayList<>();
+        for (String part : path.split("/")) {
+            if (part.equals("..")) {
+                segments.add(part);
+                continue;
+            }
+            for (String segment : part.split("\\.")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+        }
+        return segments;
+    }
+}
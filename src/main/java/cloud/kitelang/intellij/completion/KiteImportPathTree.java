@@ -0,0 +1,159 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Cached tree of the import targets of a project: Kite files grouped by directory, and the
+ * package-style modules of the provider directories (e.g. "aws.DatabaseConfig").
+ * <p>
+ * Built from {@link VirtualFile} paths only, so import path completion never creates PSI for the
+ * files it suggests. The tree is cached per project and rebuilt when files are created, moved or
+ * deleted, when project roots change, or when indexing finishes.
+ */
+public final class KiteImportPathTree {
+
+    private final Map<VirtualFile, List<VirtualFile>> filesByDirectory;
+    private final List<Candidate> providerModules;
+
+    private KiteImportPathTree(Map<VirtualFile, List<VirtualFile>> filesByDirectory, List<Candidate> providerModules) {
+        this.filesByDirectory = filesByDirectory;
+        this.providerModules = providerModules;
+    }
+
+    /**
+     * Get the cached import path tree of a project.
+     */
+    @NotNull
+    public static KiteImportPathTree getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, () ->
+                CachedValueProvider.Result.create(build(project),
+                        VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS,
+                        ProjectRootManager.getInstance(project),
+                        DumbService.getInstance(project).getModificationTracker()));
+    }
+
+    @NotNull
+    private static KiteImportPathTree build(@NotNull Project project) {
+        List<Candidate> providerModules = new ArrayList<>();
+        for (VirtualFile providersDir : KiteImportHelper.getProviderDirectories(project)) {
+            collectProviderModules(providersDir, providerModules);
+        }
+        Set<VirtualFile> providerFiles = new HashSet<>();
+        for (Candidate module : providerModules) {
+            providerFiles.add(module.file());
+        }
+
+        Map<VirtualFile, List<VirtualFile>> filesByDirectory = new HashMap<>();
+        for (VirtualFile file : KiteImportHelper.getKiteVirtualFilesInProject(project)) {
+            ProgressManager.checkCanceled();
+            VirtualFile directory = file.getParent();
+            // Files under .kite/providers are offered as packages instead
+            if (directory != null && !providerFiles.contains(file)) {
+                filesByDirectory.computeIfAbsent(directory, key -> new ArrayList<>()).add(file);
+            }
+        }
+        for (List<VirtualFile> files : filesByDirectory.values()) {
+            files.sort(Comparator.comparing(VirtualFile::getName));
+        }
+        return new KiteImportPathTree(filesByDirectory, providerModules);
+    }
+
+    /**
+     * Collects the Kite files of a provider directory as package-style modules,
+     * e.g. {@code aws/DatabaseConfig.kite} as "aws.DatabaseConfig".
+     */
+    static void collectProviderModules(@NotNull VirtualFile providersDir, @NotNull List<Candidate> modules) {
+        VfsUtilCore.visitChildrenRecursively(providersDir, new VirtualFileVisitor<Void>() {
+            @Override
+            public boolean visitFile(@NotNull VirtualFile file) {
+                ProgressManager.checkCanceled();
+                if (file.isDirectory()) {
+                    return file.equals(providersDir) || !file.getName().startsWith(".");
+                }
+                if (file.getFileType() == KiteFileType.INSTANCE) {
+                    String packageName = VfsUtilCore.getRelativePath(file.getParent(), providersDir, '.');
+                    if (packageName != null) {
+                        String modulePath = packageName.isEmpty()
+                                ? file.getNameWithoutExtension()
+                                : packageName + "." + file.getNameWithoutExtension();
+                        modules.add(new Candidate(modulePath, file, true));
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Visit the import targets of a file, nearest first: files of the file's own directory, then
+     * other directories ordered by how far up the relative path goes, then provider modules.
+     * The file itself is skipped.
+     *
+     * @param fromFile  The file containing the import statement
+     * @param processor Receives each candidate; returning false stops the walk
+     * @return false if the processor stopped the walk, true otherwise
+     */
+    public boolean processCandidates(@NotNull VirtualFile fromFile, @NotNull Processor<? super Candidate> processor) {
+        VirtualFile fromDir = fromFile.getParent();
+        if (fromDir != null) {
+            List<Map.Entry<String, List<VirtualFile>>> directories = new ArrayList<>(filesByDirectory.size());
+            for (Map.Entry<VirtualFile, List<VirtualFile>> entry : filesByDirectory.entrySet()) {
+                String dirPath = KiteImportHelper.getRelativeDirectoryPath(fromDir, entry.getKey());
+                directories.add(Map.entry(dirPath, entry.getValue()));
+            }
+            directories.sort(Comparator.comparingInt((Map.Entry<String, List<VirtualFile>> entry) -> parentSteps(entry.getKey()))
+                    .thenComparing(Map.Entry::getKey));
+
+            for (Map.Entry<String, List<VirtualFile>> directory : directories) {
+                ProgressManager.checkCanceled();
+                String prefix = directory.getKey().isEmpty() ? "" : directory.getKey() + "/";
+                for (VirtualFile file : directory.getValue()) {
+                    if (!file.equals(fromFile) && file.isValid()
+                        && !processor.process(new Candidate(prefix + file.getName(), file, false))) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        for (Candidate module : providerModules) {
+            if (module.file().isValid() && !processor.process(module)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parentSteps(@NotNull String relativePath) {
+        int steps = 0;
+        while (relativePath.startsWith("..", steps * 3)) {
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * An import target.
+     *
+     * @param importPath The path to write in the import statement
+     * @param file       The file it resolves to
+     * @param provider   Whether the file is a module of a provider directory
+     */
+    public record Candidate(@NotNull String importPath, @NotNull VirtualFile file, boolean provider) {
+    }
+}
@@ -31,15 +31,23 @@ public class KiteIndexCompletionProvider extends CompletionProvider<CompletionPa
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   @NotNull ProcessingContext context,
                                   @NotNull CompletionResultSet result) {
-        PsiElement position = parameters.getPosition();
-        PsiFile file = parameters.getOriginalFile();
-
         // Check if we're inside brackets after an identifier
-        BracketContext bracketContext = findBracketContext(position);
+        BracketContext bracketContext = findBracketContext(parameters.getPosition());
         if (bracketContext == null) {
             return;
         }
 
+        addIndexCompletions(parameters, result, bracketContext);
+    }
+
+    /**
+     * Add completions for a caret already classified as inside index brackets.
+     */
+    void addIndexCompletions(@NotNull CompletionParameters parameters,
+                             @NotNull CompletionResultSet result,
+                             @NotNull BracketContext bracketContext) {
+        PsiFile file = parameters.getOriginalFile();
+
         // Find the declaration for the base identifier
         PsiElement declaration = findDeclarationByName(file, bracketContext.baseName);
         if (declaration == null) {
@@ -86,7 +94,7 @@ public class KiteIndexCompletionProvider extends CompletionProvider<CompletionPa
      * Find the bracket context if we're inside a bracket access expression.
      */
     @Nullable
-    private BracketContext findBracketContext(PsiElement position) {
+    static BracketContext findBracketContext(PsiElement position) {
         // Look backwards to find [ and then the identifier before it
         PsiElement current = position;
 
@@ -122,7 +130,7 @@ public class KiteIndexCompletionProvider extends CompletionProvider<CompletionPa
      * Find the preceding LBRACK token.
      */
     @Nullable
-    private PsiElement findPrecedingLBrack(@Nullable PsiElement element) {
+    private static PsiElement findPrecedingLBrack(@Nullable PsiElement element) {
         while (element != null) {
             if (element.getNode() != null) {
                 IElementType type = element.getNode().getElementType();
@@ -151,7 +159,7 @@ public class KiteIndexCompletionProvider extends CompletionProvider<CompletionPa
      * Skip whitespace backward.
      */
     @Nullable
-    private PsiElement skipWhitespaceBackward(@Nullable PsiElement element) {
+    private static PsiElement skipWhitespaceBackward(@Nullable PsiElement element) {
         while (element != null) {
             if (element.getNode() != null) {
                 IElementType type = element.getNode().getElementType();
@@ -62,6 +62,13 @@ public class KiteInstanceNameCompletionProvider extends CompletionProvider<Compl
             return;
         }
 
+        addInstanceNameCompletions(result, nameContext);
+    }
+
+    /**
+     * Add name suggestions for a caret already classified as an instance name position.
+     */
+    void addInstanceNameCompletions(@NotNull CompletionResultSet result, @NotNull InstanceNameContext nameContext) {
         // Stop other providers from adding their completions (variables, schemas, etc.)
         result.stopHere();
 
@@ -74,7 +81,7 @@ public class KiteInstanceNameCompletionProvider extends CompletionProvider<Compl
      * Returns the type name if in valid position, null otherwise.
      */
     @Nullable
-    private static InstanceNameContext getInstanceNameContextStatic(PsiElement position) {
+    static InstanceNameContext getInstanceNameContextStatic(PsiElement position) {
         // Walk backwards to find the pattern: (resource|component) TypeName <cursor>
         PsiElement current = skipWhitespaceBackward(position.getPrevSibling());
 
@@ -346,6 +353,6 @@ public class KiteInstanceNameCompletionProvider extends CompletionProvider<Compl
     /**
      * Context about the instance name position.
      */
-    private record InstanceNameContext(String typeName, boolean isComponent) {
+    record InstanceNameContext(String typeName, boolean isComponent) {
     }
 }
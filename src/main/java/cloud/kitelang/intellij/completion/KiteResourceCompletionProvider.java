@@ -13,6 +13,7 @@ import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
@@ -56,9 +57,9 @@ public class KiteResourceCompletionProvider extends CompletionProvider<Completio
             if (current.getNode() != null &&
                 current.getNode().getElementType() == KiteElementTypes.RESOURCE_DECLARATION) {
                 if (KitePsiUtil.isInsideBraces(position, current)) {
-                    String schemaName = KiteSchemaHelper.extractResourceTypeName(current);
-                    if (schemaName != null) {
-                        return new ResourceContext(schemaName, current);
+                    ResourceContext resourceContext = createResourceContext(current);
+                    if (resourceContext != null) {
+                        return resourceContext;
                     }
                 }
             }
@@ -67,6 +68,16 @@ public class KiteResourceCompletionProvider extends CompletionProvider<Completio
         return null;
     }
 
+    /**
+     * Create the resource context for a RESOURCE_DECLARATION whose body contains the caret.
+     * Returns null if the declaration has no resource type yet.
+     */
+    @Nullable
+    static ResourceContext createResourceContext(PsiElement resourceDeclaration) {
+        String schemaName = KiteSchemaHelper.extractResourceTypeName(resourceDeclaration);
+        return schemaName != null ? new ResourceContext(schemaName, resourceDeclaration) : null;
+    }
+
     // ========== Resource Context Detection ==========
 
     /**
@@ -111,15 +122,24 @@ public class KiteResourceCompletionProvider extends CompletionProvider<Completio
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   @NotNull ProcessingContext context,
                                   @NotNull CompletionResultSet result) {
-        PsiElement position = parameters.getPosition();
-        PsiFile file = parameters.getOriginalFile();
-
         // Check if we're inside a resource block
-        ResourceContext resourceContext = getEnclosingResourceContext(position);
+        ResourceContext resourceContext = getEnclosingResourceContext(parameters.getPosition());
         if (resourceContext == null) {
             return; // Not in a resource block
         }
 
+        addResourceCompletions(parameters, result, resourceContext);
+    }
+
+    /**
+     * Add completions for a caret already classified as inside a resource block.
+     */
+    void addResourceCompletions(@NotNull CompletionParameters parameters,
+                                @NotNull CompletionResultSet result,
+                                @NotNull ResourceContext resourceContext) {
+        PsiElement position = parameters.getPosition();
+        PsiFile file = parameters.getOriginalFile();
+
         // Check if we're on the LEFT side of = (property name) or RIGHT side (value)
         if (isBeforeAssignment(position)) {
             // LEFT side: only schema properties (non-@cloud)
@@ -258,6 +278,7 @@ public class KiteResourceCompletionProvider extends CompletionProvider<Completio
         List<PsiFile> importedFiles = KiteImportHelper.getImportedFiles(file);
 
         for (PsiFile importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null) continue;
 
             // Variables
@@ -341,42 +362,19 @@ public class KiteResourceCompletionProvider extends CompletionProvider<Completio
      * These completions will automatically add the import statement when selected.
      */
     private void addAutoImportCompletions(PsiFile file, @NotNull CompletionResultSet result, Set<String> addedNames) {
-        VirtualFile currentVFile = file.getVirtualFile();
-        String currentPath = currentVFile != null ? currentVFile.getPath() : null;
-        Project project = file.getProject();
-        List<PsiFile> allKiteFiles = KiteImportHelper.getAllKiteFilesInProject(project);
-
-        for (PsiFile projectFile : allKiteFiles) {
-            if (projectFile == null) continue;
-            VirtualFile vf = projectFile.getVirtualFile();
-            if (vf == null || vf.getPath().equals(currentPath)) continue;
-
-            final PsiFile targetFile = projectFile;
-            KiteDeclarationHelper.collectDeclarations(projectFile, (name, declarationType, element) -> {
-                // Skip type declarations in value position
-                if (KiteDeclarationHelper.isTypeDeclaration(declarationType)) {
-                    return;
-                }
-                // Only add if not already imported and not already in list
-                if (!KiteImportHelper.isSymbolImported(name, file) && !addedNames.contains(name)) {
-                    addedNames.add(name);
-                    var lookup = LookupElementBuilder.create(name)
-                            .withTypeText(KiteDeclarationHelper.getTypeTextForDeclaration(declarationType))
-                            .withTailText(" (import from " + targetFile.getName() + ")", true)
-                            .withIcon(KiteDeclarationHelper.getIconForDeclaration(declarationType))
-                            .withInsertHandler(createAutoImportHandler(file, targetFile, name));
-                    result.addElement(PrioritizedLookupElement.withPriority(lookup, 10.0));
-                }
-            });
-        }
+        // Type declarations are never values
+        KiteAutoImportCompletion.addCompletions(file, result, addedNames, false,
+                (importFromFile, symbolName) -> createAutoImportHandler(file, importFromFile, symbolName));
     }
 
     /**
      * Creates an insert handler that adds an import statement for the symbol.
      */
-    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, PsiFile importFromFile, String symbolName) {
+    private InsertHandler<LookupElement> createAutoImportHandler(PsiFile currentFile, VirtualFile importFromFile, String symbolName) {
         return (context, item) -> {
-            String importPath = KiteImportHelper.getRelativeImportPath(currentFile, importFromFile);
+            VirtualFile currentVFile = currentFile.getVirtualFile();
+            if (currentVFile == null) return;
+            String importPath = KiteImportHelper.getRelativeImportPath(currentVFile, importFromFile);
             if (importPath == null) return;
 
             Project project = context.getProject();
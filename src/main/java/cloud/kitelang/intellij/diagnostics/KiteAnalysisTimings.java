@@ -0,0 +1,201 @@
+package cloud.kitelang.intellij.diagnostics;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long each Kite annotator and inspection takes, per file.
+ * <p>
+ * For every (file, check) pair it accumulates wall time, invocation count and bytes allocated by
+ * the running thread. Recording is off by default and toggled with the "Kite: Record Analysis
+ * Timings" action; when off, {@link #measure} only reads a volatile flag before running the check.
+ * Results are shown by "Kite: Show Analysis Timings" and can be exported as JSON.
+ */
+@Service(Service.Level.APP)
+public final class KiteAnalysisTimings {
+
+    /**
+     * Kind of check being measured.
+     */
+    public enum Kind {ANNOTATOR, INSPECTION}
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = allocationCountingBean();
+
+    private final Map<String, Map<CheckKey, CheckStats>> statsByFile = new ConcurrentHashMap<>();
+    private volatile boolean enabled = Boolean.getBoolean("kite.analysis.timings");
+
+    @NotNull
+    public static KiteAnalysisTimings getInstance() {
+        return ApplicationManager.getApplication().getService(KiteAnalysisTimings.class);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Run a check, recording its cost against the file when recording is enabled.
+     *
+     * @param file  The file being analyzed
+     * @param check Name of the annotator or inspection
+     * @param kind  Whether the check is an annotator or an inspection
+     * @param work  The check itself
+     */
+    public void measure(@Nullable PsiFile file, @NotNull String check, @NotNull Kind kind, @NotNull Runnable work) {
+        if (!enabled || file == null) {
+            work.run();
+            return;
+        }
+
+        long startBytes = allocatedBytes();
+        long startNanos = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = startBytes < 0 ? 0 : Math.max(0, allocatedBytes() - startBytes);
+            statsByFile.computeIfAbsent(filePath(file), key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(new CheckKey(check, kind), key -> new CheckStats())
+                    .add(nanos, bytes);
+        }
+    }
+
+    /**
+     * Current totals, most expensive first.
+     */
+    @NotNull
+    public List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>();
+        statsByFile.forEach((file, checks) -> checks.forEach((key, stats) ->
+                entries.add(new Entry(file, key.check(), key.kind(),
+                        stats.invocations.sum(), stats.nanos.sum(), stats.allocatedBytes.sum()))));
+        entries.sort(Comparator.comparingLong(Entry::nanos).reversed());
+        return entries;
+    }
+
+    /**
+     * Discard all recorded timings.
+     */
+    public void clear() {
+        statsByFile.clear();
+    }
+
+    /**
+     * Serialize the current totals as a JSON array, most expensive first.
+     */
+    @NotNull
+    public String toJson() {
+        StringBuilder json = new StringBuilder("[\n");
+        List<Entry> entries = snapshot();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            json.append("  {\"file\": ").append(quote(entry.file()))
+                    .append(", \"check\": ").append(quote(entry.check()))
+                    .append(", \"kind\": ").append(quote(entry.kind().name()))
+                    .append(", \"invocations\": ").append(entry.invocations())
+                    .append(", \"wallTimeNanos\": ").append(entry.nanos())
+                    .append(", \"allocatedBytes\": ").append(entry.allocatedBytes())
+                    .append('}');
+            json.append(i < entries.size() - 1 ? ",\n" : "\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    /**
+     * Write {@link #toJson()} to a file.
+     */
+    public void dumpJson(@NotNull Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Files.writeString(target, toJson(), StandardCharsets.UTF_8);
+    }
+
+    // ========== Internals ==========
+
+    private static String filePath(@NotNull PsiFile file) {
+        VirtualFile vFile = file.getViewProvider().getVirtualFile();
+        return vFile.getPath();
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationCountingBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private record CheckKey(String check, Kind kind) {
+    }
+
+    private static final class CheckStats {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+
+        void add(long elapsedNanos, long bytes) {
+            invocations.increment();
+            nanos.add(elapsedNanos);
+            allocatedBytes.add(bytes);
+        }
+    }
+
+    /**
+     * Accumulated cost of one check on one file.
+     *
+     * @param file           Path of the analyzed file
+     * @param check          Annotator or inspection class name
+     * @param kind           Whether the check is an annotator or an inspection
+     * @param invocations    Number of calls (annotators and element inspections are called per element)
+     * @param nanos          Total wall time
+     * @param allocatedBytes Total bytes allocated by the calling thread (0 if the JVM can't tell)
+     */
+    public record Entry(String file, String check, Kind kind, long invocations, long nanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,130 @@
+package cloud.kitelang.intellij.diagnostics;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Table of recorded analysis timings, most expensive check first.
+ */
+public class KiteAnalysisTimingsDialog extends DialogWrapper {
+
+    private static final String JSON_FILE_NAME = "kite-analysis-timings.json";
+
+    private final Project project;
+    private final TimingsTableModel model = new TimingsTableModel();
+
+    public KiteAnalysisTimingsDialog(@Nullable Project project) {
+        super(project);
+        this.project = project;
+        setTitle("Kite Analysis Timings");
+        setOKButtonText("Close");
+        model.reload();
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        if (!KiteAnalysisTimings.getInstance().isEnabled()) {
+            panel.add(new JLabel("Recording is off. Enable it with \"Kite: Record Analysis Timings\" and reopen a file."),
+                    BorderLayout.NORTH);
+        }
+        JBTable table = new JBTable(model);
+        table.setAutoCreateRowSorter(true);
+        panel.add(new JBScrollPane(table), BorderLayout.CENTER);
+        panel.setPreferredSize(new Dimension(900, 450));
+        return panel;
+    }
+
+    @Override
+    protected Action @NotNull [] createLeftSideActions() {
+        return new Action[]{
+                new AbstractAction("Clear") {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        KiteAnalysisTimings.getInstance().clear();
+                        model.reload();
+                    }
+                },
+                new AbstractAction("Export JSON") {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        exportJson();
+                    }
+                }
+        };
+    }
+
+    @Override
+    protected Action @NotNull [] createActions() {
+        return new Action[]{getOKAction()};
+    }
+
+    private void exportJson() {
+        Path target = Path.of(PathManager.getLogPath(), JSON_FILE_NAME);
+        try {
+            KiteAnalysisTimings.getInstance().dumpJson(target);
+            Messages.showInfoMessage(project, "Timings written to " + target, "Kite Analysis Timings");
+        } catch (IOException e) {
+            Messages.showErrorDialog(project, "Could not write " + target + ": " + e.getMessage(), "Kite Analysis Timings");
+        }
+    }
+
+    private static final class TimingsTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"File", "Check", "Kind", "Invocations", "Total (ms)", "Allocated (KB)"};
+
+        private List<KiteAnalysisTimings.Entry> entries = List.of();
+
+        void reload() {
+            entries = KiteAnalysisTimings.getInstance().snapshot();
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column >= 3 ? Long.class : String.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            KiteAnalysisTimings.Entry entry = entries.get(row);
+            return switch (column) {
+                case 0 -> entry.file();
+                case 1 -> entry.check();
+                case 2 -> entry.kind().name();
+                case 3 -> entry.invocations();
+                case 4 -> entry.nanos() / 1_000_000;
+                default -> entry.allocatedBytes() / 1024;
+            };
+        }
+    }
+}
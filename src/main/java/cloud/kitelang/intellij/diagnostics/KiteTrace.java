@@ -0,0 +1,160 @@
+package cloud.kitelang.intellij.diagnostics;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight trace facility for hot paths (paste auto-import, navigation, reference resolution).
+ * <p>
+ * Tracing is off by default. Categories are enabled with {@code -Dkite.trace=navigation,auto_import}
+ * (or {@code all}), or at runtime with {@link #setEnabled}. While a category is off, every method is
+ * a single volatile read: messages are passed as suppliers and never built, and {@link #start}
+ * returns a sentinel instead of reading the clock. A lambda that captures locals is allocated
+ * before the call, so callers guard those with {@link #isEnabled}; only constant messages are
+ * passed unguarded.
+ * <p>
+ * Enabled messages go to {@code idea.log} under the {@code #cloud.kitelang.intellij.trace} logger.
+ * Durations measured with {@link #start}/{@link #end} are also kept in a fixed-size ring buffer,
+ * available through {@link #recentEvents()}.
+ */
+public final class KiteTrace {
+
+    /**
+     * Trace categories, each enabled independently.
+     */
+    public enum Category {
+        AUTO_IMPORT, NAVIGATION, REFERENCE;
+
+        private final int mask = 1 << ordinal();
+    }
+
+    private static final Logger LOG = Logger.getInstance("#cloud.kitelang.intellij.trace");
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final int RING_SIZE = 1024; // power of two
+
+    private static final AtomicReferenceArray<Event> RING = new AtomicReferenceArray<>(RING_SIZE);
+    private static final AtomicLong RING_NEXT = new AtomicLong();
+    private static final AtomicLongArray SAMPLE_COUNTERS = new AtomicLongArray(Category.values().length);
+
+    private static volatile int enabledMask = parseCategories(System.getProperty("kite.trace", ""));
+
+    private KiteTrace() {
+    }
+
+    public static boolean isEnabled(@NotNull Category category) {
+        return (enabledMask & category.mask) != 0;
+    }
+
+    public static synchronized void setEnabled(@NotNull Category category, boolean enabled) {
+        enabledMask = enabled ? enabledMask | category.mask : enabledMask & ~category.mask;
+    }
+
+    /**
+     * Log a message if the category is enabled. The supplier is only called when it is.
+     */
+    public static void log(@NotNull Category category, @NotNull Supplier<String> message) {
+        if (isEnabled(category)) {
+            write(category, message.get());
+        }
+    }
+
+    /**
+     * Log one in every {@code rate} messages of a high-frequency event.
+     */
+    public static void logSampled(@NotNull Category category, int rate, @NotNull Supplier<String> message) {
+        if (isEnabled(category) && SAMPLE_COUNTERS.getAndIncrement(category.ordinal()) % rate == 0) {
+            write(category, "[sampled 1/" + rate + "] " + message.get());
+        }
+    }
+
+    /**
+     * Start timing an event.
+     *
+     * @return The start timestamp to pass to {@link #end}
+     */
+    public static long start(@NotNull Category category) {
+        return isEnabled(category) ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Finish timing an event started with {@link #start}, recording its duration.
+     *
+     * @param event Constant event name, e.g. "findFilesThatImport"
+     */
+    public static void end(@NotNull Category category, @NotNull String event, long start) {
+        if (start == NOT_STARTED || !isEnabled(category)) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        RING.set((int) (RING_NEXT.getAndIncrement() & (RING_SIZE - 1)),
+                new Event(System.currentTimeMillis(), category, event, nanos));
+        write(category, event + " took " + nanos / 1_000 + " µs");
+    }
+
+    /**
+     * Recorded durations, oldest first.
+     */
+    @NotNull
+    public static List<Event> recentEvents() {
+        long next = RING_NEXT.get();
+        List<Event> events = new ArrayList<>();
+        for (long i = Math.max(0, next - RING_SIZE); i < next; i++) {
+            Event event = RING.get((int) (i & (RING_SIZE - 1)));
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Discard recorded durations.
+     */
+    public static void clear() {
+        for (int i = 0; i < RING_SIZE; i++) {
+            RING.set(i, null);
+        }
+        RING_NEXT.set(0);
+    }
+
+    private static void write(Category category, String message) {
+        LOG.info("[" + category.name().toLowerCase(Locale.ROOT) + "] " + message);
+    }
+
+    private static int parseCategories(String value) {
+        int mask = 0;
+        for (String name : value.split(",")) {
+            String trimmed = name.trim().toUpperCase(Locale.ROOT);
+            if (trimmed.isEmpty()) continue;
+            if (trimmed.equals("ALL")) {
+                return -1;
+            }
+            for (Category category : Category.values()) {
+                if (category.name().equals(trimmed)) {
+                    mask |= category.mask;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * A timed event.
+     *
+     * @param timestamp Wall-clock time the event ended, in milliseconds
+     * @param category  Trace category
+     * @param event     Event name
+     * @param nanos     Duration
+     */
+    public record Event(long timestamp, Category category, String event, long nanos) {
+    }
+}
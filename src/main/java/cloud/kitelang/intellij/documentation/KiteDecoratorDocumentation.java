@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.documentation;
 
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.impl.FakePsiElement;
+import com.intellij.ui.JBColor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -9,6 +10,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static cloud.kitelang.intellij.documentation.KiteDocumentationHtmlHelper.*;
 
@@ -37,6 +39,9 @@ public final class KiteDecoratorDocumentation {
     // Decorator documentation registry
     private static final Map<String, DecoratorDoc> DECORATOR_DOCS = new HashMap<>();
 
+    // Rendered pages of all decorators, built once per theme (code backgrounds depend on it)
+    private static final Map<Boolean, Map<String, String>> PAGES_BY_THEME = new ConcurrentHashMap<>();
+
     static {
         // Validation decorators
         DECORATOR_DOCS.put("minValue", new DecoratorDoc(
@@ -226,17 +231,23 @@ public final class KiteDecoratorDocumentation {
     /**
      * Get decorator documentation HTML by name.
      * This is used by the completion contributor to show documentation in the autocomplete popup.
+     * The pages are static, so all of them are rendered on first use and then reused.
      *
      * @param decoratorName the name of the decorator (without @)
      * @return HTML documentation or null if decorator is unknown
      */
     @Nullable
     public static String getDecoratorDocumentation(String decoratorName) {
-        DecoratorDoc doc = DECORATOR_DOCS.get(decoratorName);
-        if (doc != null) {
-            return generateDecoratorDocumentation(doc);
+        return PAGES_BY_THEME.computeIfAbsent(JBColor.isBright(), bright -> renderAllPages()).get(decoratorName);
+    }
+
+    @NotNull
+    private static Map<String, String> renderAllPages() {
+        Map<String, String> pages = new HashMap<>();
+        for (DecoratorDoc doc : DECORATOR_DOCS.values()) {
+            pages.put(doc.name, generateDecoratorDocumentation(doc));
         }
-        return null;
+        return Collections.unmodifiableMap(pages);
     }
 
     /**
@@ -298,7 +309,7 @@ public final class KiteDecoratorDocumentation {
         sb.append("<div style=\"margin-bottom: 8px; background-color: ").append(getCodeBackgroundColor()).append("; padding: 8px; border-radius: 4px;\">");
         sb.append("<span style=\"font-weight: bold;\">Example:</span>");
         sb.append("<pre style=\"margin: 4px 0 0 0; padding: 0; font-family: monospace; background: transparent;\">");
-        sb.append(colorizeDecoratorExample(doc.example));
+        sb.append(colorizeCodeNoBreaks(doc.example));
         sb.append("</pre>");
         sb.append("</div>");
 
@@ -326,97 +337,6 @@ public final class KiteDecoratorDocumentation {
         return sb;
     }
 
-    /**
-     * Colorize a decorator example with syntax highlighting.
-     */
-    @NotNull
-    public static String colorizeDecoratorExample(String example) {
-        if (example == null || example.isEmpty()) return "";
-
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        int len = example.length();
-
-        while (i < len) {
-            char c = example.charAt(i);
-
-            // Handle @ symbol (decorator start)
-            if (c == '@') {
-                result.append("<span style=\"color: ").append(COLOR_DECORATOR).append(";\">@");
-                i++;
-                // Capture decorator name
-                int start = i;
-                while (i < len && (Character.isLetterOrDigit(example.charAt(i)) || example.charAt(i) == '_')) {
-                    i++;
-                }
-                result.append(escapeHtml(example.substring(start, i)));
-                result.append("</span>");
-                continue;
-            }
-
-            // Handle string literals (quoted strings)
-            if (c == '"') {
-                int start = i;
-                i++; // skip opening quote
-                while (i < len && example.charAt(i) != '"') {
-                    if (example.charAt(i) == '\\' && i + 1 < len) {
-                        i++; // skip escaped char
-                    }
-                    i++;
-                }
-                if (i < len) i++; // skip closing quote
-                String str = escapeHtml(example.substring(start, i));
-                result.append("<span style=\"color: ").append(COLOR_STRING).append(";\">").append(str).append("</span>");
-                continue;
-            }
-
-            // Handle identifiers and keywords
-            if (Character.isLetter(c) || c == '_') {
-                int start = i;
-                while (i < len && (Character.isLetterOrDigit(example.charAt(i)) || example.charAt(i) == '_')) {
-                    i++;
-                }
-                String word = example.substring(start, i);
-
-                if (KEYWORDS.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_KEYWORD).append(";\">")
-                            .append(escapeHtml(word)).append("</span>");
-                } else if (TYPE_NAMES.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_TYPE).append(";\">")
-                            .append(escapeHtml(word)).append("</span>");
-                } else {
-                    result.append(escapeHtml(word));
-                }
-                continue;
-            }
-
-            // Handle numbers
-            if (Character.isDigit(c)) {
-                int start = i;
-                while (i < len && (Character.isDigit(example.charAt(i)) || example.charAt(i) == '.')) {
-                    i++;
-                }
-                String num = example.substring(start, i);
-                result.append("<span style=\"color: ").append(COLOR_NUMBER).append(";\">")
-                        .append(escapeHtml(num)).append("</span>");
-                continue;
-            }
-
-            // Handle newlines
-            if (c == '\n') {
-                result.append("\n");
-                i++;
-                continue;
-            }
-
-            // Other characters - escape and append
-            result.append(escapeHtml(String.valueOf(c)));
-            i++;
-        }
-
-        return result.toString();
-    }
-
     /**
      * Holds documentation for a decorator.
      *
@@ -1,10 +1,19 @@
 package cloud.kitelang.intellij.documentation;
 
+import cloud.kitelang.intellij.highlighting.KiteSyntaxHighlighter;
+import cloud.kitelang.intellij.lexer.KiteLexerAdapter;
+import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.ui.JBColor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -26,6 +35,8 @@ import java.util.Set;
  *   <li>Numbers: Blue (#6897BB)</li>
  *   <li>Decorators: Orange (#CC7832)</li>
  * </ul>
+ * Code snippets are tokenized with the Kite lexer and classified by the editor's
+ * {@link KiteSyntaxHighlighter} token table; only the CSS colors are defined here.
  *
  * @see KiteDocumentationProvider for the main documentation provider
  * @see KiteDecoratorDocumentation for decorator documentation
@@ -34,20 +45,23 @@ public final class KiteDocumentationHtmlHelper {
 
     // CSS colors for syntax highlighting in documentation (matching editor colors)
     public static final String COLOR_KEYWORD = "#AB5FDB";   // Purple - keywords (matches KiteSyntaxHighlighter.KEYWORD)
-    public static final String COLOR_TYPE = "#498BF6";      // Blue - type names (matches KiteAnnotator.TYPE_NAME)
+    public static final String COLOR_TYPE = "#498BF6";      // Blue - type names (matches KiteSemanticHighlightVisitor.TYPE_NAME)
     public static final String COLOR_STRING = "#6A9955";    // Green - string literals (matches KiteSyntaxHighlighter.STRING)
     public static final String COLOR_NUMBER = "#6897BB";    // Blue - number literals (matches IntelliJ Darcula)
     public static final String COLOR_DECORATOR = "#CC7832"; // Orange - decorators
-    // Keywords that should be colored
-    public static final Set<String> KEYWORDS = Set.of(
-            "resource", "component", "schema", "fun", "var", "input", "output", "type",
-            "if", "else", "for", "while", "in", "return", "import", "from", "init", "this",
-            "true", "false", "null"
-    );
     // Built-in type names
     public static final Set<String> TYPE_NAMES = Set.of(
             "string", "number", "boolean", "object", "any", "void", "list", "map"
     );
+    // CSS of the editor attribute keys that documentation code is colored with
+    // (INTERPOLATION_VAR, like the editor's default for it, keeps the plain identifier color)
+    private static final Map<TextAttributesKey, String> STYLE_BY_KEY = Map.of(
+            KiteSyntaxHighlighter.KEYWORD, "color: " + COLOR_KEYWORD + "; font-weight: bold;",
+            KiteSyntaxHighlighter.STRING, "color: " + COLOR_STRING + ";",
+            KiteSyntaxHighlighter.NUMBER, "color: " + COLOR_NUMBER + ";",
+            KiteSyntaxHighlighter.DECORATOR, "color: " + COLOR_DECORATOR + ";",
+            KiteSyntaxHighlighter.INTERPOLATION_DELIM, "color: " + COLOR_DECORATOR + "; font-weight: bold;"
+    );
 
     private KiteDocumentationHtmlHelper() {
         // Utility class
@@ -114,71 +128,7 @@ public final class KiteDocumentationHtmlHelper {
      */
     @NotNull
     public static String colorizeCode(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        int len = text.length();
-
-        while (i < len) {
-            char c = text.charAt(i);
-
-            // Handle string literals (quoted strings)
-            if (c == '"') {
-                int start = i;
-                i++; // skip opening quote
-                while (i < len && text.charAt(i) != '"') {
-                    if (text.charAt(i) == '\\' && i + 1 < len) {
-                        i++; // skip escaped char
-                    }
-                    i++;
-                }
-                if (i < len) i++; // skip closing quote
-                String str = escapeHtml(text.substring(start, i));
-                result.append("<span style=\"color: ").append(COLOR_STRING).append(";\">").append(str).append("</span>");
-                continue;
-            }
-
-            // Handle identifiers and keywords
-            if (Character.isLetter(c) || c == '_') {
-                int start = i;
-                while (i < len && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
-                    i++;
-                }
-                String word = text.substring(start, i);
-
-                if (KEYWORDS.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_KEYWORD).append("; font-weight: bold;\">")
-                            .append(escapeHtml(word)).append("</span>");
-                } else if (TYPE_NAMES.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_TYPE).append(";\">")
-                            .append(escapeHtml(word)).append("</span>");
-                } else {
-                    result.append(escapeHtml(word));
-                }
-                continue;
-            }
-
-            // Handle numbers
-            if (Character.isDigit(c)) {
-                int start = i;
-                while (i < len && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
-                    i++;
-                }
-                String num = text.substring(start, i);
-                result.append("<span style=\"color: ").append(COLOR_NUMBER).append(";\">")
-                        .append(escapeHtml(num)).append("</span>");
-                continue;
-            }
-
-            // Other characters - just escape and append
-            result.append(escapeHtml(String.valueOf(c)));
-            i++;
-        }
-
-        return result.toString();
+        return colorize(text, true);
     }
 
     /**
@@ -187,111 +137,68 @@ public final class KiteDocumentationHtmlHelper {
      */
     @NotNull
     public static String colorizeCodeNoBreaks(String text) {
+        return colorize(text, false);
+    }
+
+    /**
+     * Tokenizes the text with the Kite lexer and colors each token by the attribute key the editor
+     * highlighter assigns to it, so documentation and editor agree on what is a keyword, string,
+     * number or decorator. Identifiers naming a built-in type get the type color and the name after
+     * {@code @} the decorator color, as in the editor. Adjacent tokens with the same color share one span.
+     */
+    @NotNull
+    private static String colorize(String text, boolean convertBreaks) {
         if (text == null || text.isEmpty()) {
             return "";
         }
 
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        int len = text.length();
-
-        while (i < len) {
-            char c = text.charAt(i);
-
-            // Handle string literals (quoted strings)
-            if (c == '"') {
-                int start = i;
-                i++; // skip opening quote
-                while (i < len && text.charAt(i) != '"') {
-                    if (text.charAt(i) == '\\' && i + 1 < len) {
-                        i++; // skip escaped char
-                    }
-                    i++;
+        StringBuilder result = new StringBuilder(text.length() * 2);
+        String openStyle = null;
+        boolean afterAt = false;
+        Lexer lexer = new KiteLexerAdapter();
+        lexer.start(text);
+        for (IElementType tokenType; (tokenType = lexer.getTokenType()) != null; lexer.advance()) {
+            String tokenText = text.substring(lexer.getTokenStart(), lexer.getTokenEnd());
+            String style = afterAt && tokenType == KiteTokenTypes.IDENTIFIER
+                    ? STYLE_BY_KEY.get(KiteSyntaxHighlighter.DECORATOR)
+                    : getTokenStyle(tokenType, tokenText);
+            afterAt = tokenType == KiteTokenTypes.AT;
+            if (!Objects.equals(style, openStyle)) {
+                if (openStyle != null) {
+                    result.append("</span>");
                 }
-                if (i < len) i++; // skip closing quote
-                String str = escapeHtmlNoBreaks(text.substring(start, i));
-                result.append("<span style=\"color: ").append(COLOR_STRING).append(";\">").append(str).append("</span>");
-                continue;
-            }
-
-            // Handle identifiers and keywords
-            if (Character.isLetter(c) || c == '_') {
-                int start = i;
-                while (i < len && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
-                    i++;
-                }
-                String word = text.substring(start, i);
-
-                if (KEYWORDS.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_KEYWORD).append("; font-weight: bold;\">")
-                            .append(escapeHtmlNoBreaks(word)).append("</span>");
-                } else if (TYPE_NAMES.contains(word)) {
-                    result.append("<span style=\"color: ").append(COLOR_TYPE).append(";\">")
-                            .append(escapeHtmlNoBreaks(word)).append("</span>");
-                } else {
-                    result.append(escapeHtmlNoBreaks(word));
+                if (style != null) {
+                    result.append("<span style=\"").append(style).append("\">");
                 }
-                continue;
+                openStyle = style;
             }
-
-            // Handle numbers
-            if (Character.isDigit(c)) {
-                int start = i;
-                while (i < len && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
-                    i++;
-                }
-                String num = text.substring(start, i);
-                result.append("<span style=\"color: ").append(COLOR_NUMBER).append(";\">")
-                        .append(escapeHtmlNoBreaks(num)).append("</span>");
-                continue;
-            }
-
-            // Other characters - just escape and append
-            result.append(escapeHtmlNoBreaks(String.valueOf(c)));
-            i++;
+            result.append(convertBreaks ? escapeHtml(tokenText) : escapeHtmlNoBreaks(tokenText));
+        }
+        if (openStyle != null) {
+            result.append("</span>");
         }
-
         return result.toString();
     }
 
+    @Nullable
+    private static String getTokenStyle(IElementType tokenType, String tokenText) {
+        TextAttributesKey[] keys = KiteSyntaxHighlighter.getAttributesKeys(tokenType);
+        if (keys.length == 0) {
+            return null;
+        }
+        if (keys[0] == KiteSyntaxHighlighter.IDENTIFIER) {
+            return TYPE_NAMES.contains(tokenText) ? "color: " + COLOR_TYPE + ";" : null;
+        }
+        return STYLE_BY_KEY.get(keys[0]);
+    }
+
     /**
      * Colorize decorator text with syntax highlighting.
-     * The @ symbol and decorator name get special coloring, arguments get colorized like code.
+     * The @ symbol and decorator name get the decorator color, arguments get colorized like code.
      */
     @NotNull
     public static String colorizeDecoratorNoBreaks(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        int len = text.length();
-
-        // Handle @ symbol
-        if (i < len && text.charAt(i) == '@') {
-            result.append("<span style=\"color: ").append(COLOR_DECORATOR).append(";\">@</span>");
-            i++;
-        }
-
-        // Handle decorator name (identifier after @)
-        if (i < len && (Character.isLetter(text.charAt(i)) || text.charAt(i) == '_')) {
-            int start = i;
-            while (i < len && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
-                i++;
-            }
-            String decoratorName = text.substring(start, i);
-            result.append("<span style=\"color: ").append(COLOR_DECORATOR).append(";\">")
-                    .append(escapeHtmlNoBreaks(decoratorName)).append("</span>");
-        }
-
-        // Handle arguments (everything after decorator name) - colorize like code
-        if (i < len) {
-            String args = text.substring(i);
-            result.append(colorizeCodeNoBreaks(args));
-        }
-
-        return result.toString();
+        return colorizeCodeNoBreaks(text);
     }
 
     /**
@@ -3,18 +3,28 @@ package cloud.kitelang.intellij.documentation;
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import cloud.kitelang.intellij.util.KiteIndexedResourceHelper;
 import cloud.kitelang.intellij.util.KiteIndexedResourceHelper.IndexedResourceInfo;
+import com.intellij.codeInsight.documentation.DocumentationManagerProtocol;
 import com.intellij.lang.documentation.AbstractDocumentationProvider;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.FakePsiElement;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.ui.JBColor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static cloud.kitelang.intellij.documentation.KiteDecoratorDocumentation.*;
 import static cloud.kitelang.intellij.documentation.KiteDocumentationExtractor.*;
@@ -43,6 +53,8 @@ import static cloud.kitelang.intellij.documentation.KiteDocumentationHtmlHelper.
  *   <li>Theme-aware background colors</li>
  *   <li>Aligned formatting for inputs/outputs</li>
  *   <li>Preceding comment extraction</li>
+ *   <li>Rendered HTML cached per declaration until its file changes</li>
+ *   <li>Large input/output tables truncated, with a link to the full list</li>
  * </ul>
  *
  * @see KiteDecoratorDocumentation for decorator documentation
@@ -51,6 +63,19 @@ import static cloud.kitelang.intellij.documentation.KiteDocumentationHtmlHelper.
  */
 public class KiteDocumentationProvider extends AbstractDocumentationProvider {
 
+    /**
+     * Rows shown per input/output table before it is truncated with a "show all" link.
+     */
+    static final int MAX_MEMBER_ROWS = 50;
+
+    private static final String ALL_MEMBERS_LINK = "kite.allMembers";
+
+    // Rendered HTML per theme (section backgrounds depend on it), invalidated when the file changes
+    private static final Key<CachedValue<Map<Boolean, String>>> DOCUMENTATION_KEY =
+            Key.create("kite.documentation.html");
+    private static final Key<CachedValue<Map<Boolean, String>>> ALL_MEMBERS_DOCUMENTATION_KEY =
+            Key.create("kite.documentation.html.allMembers");
+
     @Override
     public @Nullable PsiElement getDocumentationElementForLookupItem(PsiManager psiManager, Object object, PsiElement element) {
         // Handle decorator lookup items - create a unique fake element for each decorator
@@ -60,6 +85,20 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
         return null;
     }
 
+    @Override
+    public @Nullable PsiElement getDocumentationElementForLink(PsiManager psiManager, String link, PsiElement context) {
+        // "Show all" link of a truncated input/output table
+        if (ALL_MEMBERS_LINK.equals(link) && context != null) {
+            PsiElement declaration = context instanceof AllMembersDocElement allMembers
+                    ? allMembers.getDeclaration()
+                    : findDeclaration(context);
+            if (declaration != null) {
+                return new AllMembersDocElement(declaration);
+            }
+        }
+        return null;
+    }
+
     @Override
     public @Nullable String generateDoc(PsiElement element, @Nullable PsiElement originalElement) {
         // Check if this is a decorator doc element from autocomplete
@@ -67,6 +106,12 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
             return getDecoratorDocumentation(decoratorDocElement.getDecoratorName());
         }
 
+        // Full input/output tables requested through the "show all" link
+        if (element instanceof AllMembersDocElement allMembers) {
+            PsiElement declaration = allMembers.getDeclaration();
+            return declaration.isValid() ? getCachedDocumentation(declaration, true) : null;
+        }
+
         if (element == null) {
             return null;
         }
@@ -94,7 +139,7 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
             return null;
         }
 
-        return generateDocumentation(declaration);
+        return getCachedDocumentation(declaration, false);
     }
 
     @Override
@@ -149,11 +194,25 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
         return null;
     }
 
+    /**
+     * Get the rendered documentation of a declaration, rendering it on first use.
+     * Hovering the same declaration again costs a map lookup until its file changes.
+     *
+     * @param allMembers Whether to render the full input/output tables instead of the first rows
+     */
+    @NotNull
+    private String getCachedDocumentation(PsiElement declaration, boolean allMembers) {
+        Map<Boolean, String> htmlByTheme = CachedValuesManager.getCachedValue(declaration,
+                allMembers ? ALL_MEMBERS_DOCUMENTATION_KEY : DOCUMENTATION_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), declaration.getContainingFile()));
+        return htmlByTheme.computeIfAbsent(JBColor.isBright(), bright -> generateDocumentation(declaration, allMembers));
+    }
+
     /**
      * Generate HTML documentation for a declaration.
      */
     @NotNull
-    private String generateDocumentation(PsiElement declaration) {
+    private String generateDocumentation(PsiElement declaration, boolean allMembers) {
         StringBuilder sb = new StringBuilder();
         IElementType type = declaration.getNode().getElementType();
 
@@ -182,7 +241,7 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
         }
 
         // Type-specific information
-        String typeInfo = getTypeSpecificInfo(declaration, type);
+        String typeInfo = getTypeSpecificInfo(declaration, type, allMembers);
         if (typeInfo != null && !typeInfo.isEmpty()) {
             sb.append(typeInfo);
         }
@@ -219,7 +278,7 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
      * Get type-specific additional information.
      */
     @Nullable
-    private String getTypeSpecificInfo(PsiElement declaration, IElementType type) {
+    private String getTypeSpecificInfo(PsiElement declaration, IElementType type, boolean allMembers) {
         StringBuilder sb = new StringBuilder();
 
         if (type == KiteElementTypes.RESOURCE_DECLARATION) {
@@ -249,27 +308,11 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
                 sb.append(indexedInfo);
             }
 
-            // Extract inputs
-            List<String[]> inputs = extractComponentMembersWithParts(declaration, KiteElementTypes.INPUT_DECLARATION);
-            if (!inputs.isEmpty()) {
-                sb.append("<div style=\"margin-bottom: 8px; background-color: ").append(getSectionBackgroundColor()).append("; padding: 8px; border-radius: 4px;\">");
-                sb.append("<span>Inputs:</span>");
-                sb.append("<pre style=\"margin: 4px 0 0 0; padding: 0; font-family: monospace; background: transparent;\">");
-                sb.append(formatAlignedMembersPlain(inputs));
-                sb.append("</pre>");
-                sb.append("</div>");
-            }
-
-            // Extract outputs
-            List<String[]> outputs = extractComponentMembersWithParts(declaration, KiteElementTypes.OUTPUT_DECLARATION);
-            if (!outputs.isEmpty()) {
-                sb.append("<div style=\"margin-bottom: 8px; background-color: ").append(getSectionBackgroundColor()).append("; padding: 8px; border-radius: 4px;\">");
-                sb.append("<span>Outputs:</span>");
-                sb.append("<pre style=\"margin: 4px 0 0 0; padding: 0; font-family: monospace; background: transparent;\">");
-                sb.append(formatAlignedMembersPlain(outputs));
-                sb.append("</pre>");
-                sb.append("</div>");
-            }
+            // Extract inputs and outputs
+            appendMemberTable(sb, "Inputs", "inputs",
+                    extractComponentMembersWithParts(declaration, KiteElementTypes.INPUT_DECLARATION), allMembers);
+            appendMemberTable(sb, "Outputs", "outputs",
+                    extractComponentMembersWithParts(declaration, KiteElementTypes.OUTPUT_DECLARATION), allMembers);
         } else if (type == KiteElementTypes.VARIABLE_DECLARATION ||
                    type == KiteElementTypes.INPUT_DECLARATION ||
                    type == KiteElementTypes.OUTPUT_DECLARATION) {
@@ -301,6 +344,32 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
         return !sb.isEmpty() ? sb.toString() : null;
     }
 
+    /**
+     * Append an aligned input/output table. Unless all members are requested, only the first
+     * {@link #MAX_MEMBER_ROWS} rows are formatted and colorized, followed by a "show all" link.
+     */
+    private void appendMemberTable(StringBuilder sb, String title, String memberKind,
+                                   List<String[]> members, boolean allMembers) {
+        if (members.isEmpty()) {
+            return;
+        }
+        boolean truncated = !allMembers && members.size() > MAX_MEMBER_ROWS;
+        List<String[]> shown = truncated ? members.subList(0, MAX_MEMBER_ROWS) : members;
+
+        sb.append("<div style=\"margin-bottom: 8px; background-color: ").append(getSectionBackgroundColor()).append("; padding: 8px; border-radius: 4px;\">");
+        sb.append("<span>").append(title).append(":</span>");
+        sb.append("<pre style=\"margin: 4px 0 0 0; padding: 0; font-family: monospace; background: transparent;\">");
+        sb.append(formatAlignedMembersPlain(shown));
+        sb.append("</pre>");
+        if (truncated) {
+            sb.append("<div style=\"margin-top: 4px;\">");
+            sb.append("<a href=\"").append(DocumentationManagerProtocol.PSI_ELEMENT_PROTOCOL).append(ALL_MEMBERS_LINK).append("\">");
+            sb.append("Show all ").append(members.size()).append(" ").append(memberKind).append("</a>");
+            sb.append("</div>");
+        }
+        sb.append("</div>");
+    }
+
     /**
      * Format indexed resource information for display.
      */
@@ -355,4 +424,60 @@ public class KiteDocumentationProvider extends AbstractDocumentationProvider {
         sb.append("</div>");
         return sb.toString();
     }
+
+    /**
+     * Fake PSI element for the documentation of a declaration with its full input/output tables.
+     * Target of the "show all" link of a truncated table.
+     */
+    static class AllMembersDocElement extends FakePsiElement {
+        private final PsiElement declaration;
+
+        AllMembersDocElement(PsiElement declaration) {
+            this.declaration = declaration;
+        }
+
+        @Override
+        public PsiElement getParent() {
+            return declaration;
+        }
+
+        /**
+         * The declared name, not the declaration's source: copying a large component on every
+         * text request would undo the lazy rendering of its tables.
+         */
+        @Override
+        public String getName() {
+            PsiElement nameElement = declaration.getNode() != null
+                    ? KiteDeclarationHelper.findNameElementInDeclaration(declaration, declaration.getNode().getElementType())
+                    : null;
+            return nameElement != null ? nameElement.getText() : null;
+        }
+
+        @Override
+        public String getText() {
+            return getName();
+        }
+
+        @NotNull
+        @Override
+        public PsiElement getNavigationElement() {
+            return declaration;
+        }
+
+        public PsiElement getDeclaration() {
+            return declaration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return declaration.equals(((AllMembersDocElement) o).declaration);
+        }
+
+        @Override
+        public int hashCode() {
+            return declaration.hashCode();
+        }
+    }
 }
@@ -1,7 +1,11 @@
 package cloud.kitelang.intellij.editor;
 
 import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
+import cloud.kitelang.intellij.psi.KiteDeclaration;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import com.intellij.openapi.application.ApplicationManager;
@@ -9,8 +13,6 @@ import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 
@@ -42,10 +44,21 @@ public class KiteAutoImportService {
      * @param endOffset   End of the region to analyze
      */
     public static void processAutoImports(@NotNull PsiFile file, int startOffset, int endOffset) {
-        LOG.info("processAutoImports called for " + file.getName() + " from " + startOffset + " to " + endOffset);
+        long start = KiteTrace.start(Category.AUTO_IMPORT);
+        try {
+            processAutoImportsInRange(file, startOffset, endOffset);
+        } finally {
+            KiteTrace.end(Category.AUTO_IMPORT, "processAutoImports", start);
+        }
+    }
+
+    private static void processAutoImportsInRange(@NotNull PsiFile file, int startOffset, int endOffset) {
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "processAutoImports called for " + file.getName() + " from " + startOffset + " to " + endOffset);
+        }
 
         if (file.getFileType() != KiteFileType.INSTANCE) {
-            LOG.info("Not a Kite file, skipping");
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Not a Kite file, skipping");
             return;
         }
 
@@ -53,23 +66,31 @@ public class KiteAutoImportService {
 
         // Find undefined symbols in the region
         Set<String> undefinedSymbols = findUndefinedSymbols(file, startOffset, endOffset);
-        LOG.info("Found undefined symbols: " + undefinedSymbols);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Found undefined symbols: " + undefinedSymbols);
+        }
         if (undefinedSymbols.isEmpty()) {
             return;
         }
 
         // Get already imported symbols
         Set<String> alreadyImported = KiteImportHelper.getImportedSymbols(file);
-        LOG.info("Already imported: " + alreadyImported);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Already imported: " + alreadyImported);
+        }
 
         // Get locally defined symbols
         Set<String> locallyDefined = getLocallyDefinedSymbols(file);
-        LOG.info("Locally defined: " + locallyDefined);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Locally defined: " + locallyDefined);
+        }
 
         // Filter out already imported and locally defined symbols
         undefinedSymbols.removeAll(alreadyImported);
         undefinedSymbols.removeAll(locallyDefined);
-        LOG.info("After filtering: " + undefinedSymbols);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "After filtering: " + undefinedSymbols);
+        }
 
         if (undefinedSymbols.isEmpty()) {
             return;
@@ -77,7 +98,9 @@ public class KiteAutoImportService {
 
         // Find symbols in project files
         Map<String, String> symbolToFile = findSymbolsInProject(project, file, undefinedSymbols);
-        LOG.info("Symbol to file mapping: " + symbolToFile);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Symbol to file mapping: " + symbolToFile);
+        }
 
         if (symbolToFile.isEmpty()) {
             return;
@@ -148,13 +171,10 @@ public class KiteAutoImportService {
         file.accept(new PsiRecursiveElementVisitor() {
             @Override
             public void visitElement(@NotNull PsiElement element) {
-                if (element.getNode() != null) {
-                    IElementType type = element.getNode().getElementType();
-                    if (isDeclarationType(type)) {
-                        String name = findDeclarationName(element);
-                        if (name != null) {
-                            symbols.add(name);
-                        }
+                if (element instanceof KiteDeclaration declaration) {
+                    String name = declaration.getName();
+                    if (name != null) {
+                        symbols.add(name);
                     }
                 }
                 super.visitElement(element);
@@ -164,36 +184,6 @@ public class KiteAutoImportService {
         return symbols;
     }
 
-    private static boolean isDeclarationType(IElementType type) {
-        return type == KiteElementTypes.VARIABLE_DECLARATION ||
-               type == KiteElementTypes.FUNCTION_DECLARATION ||
-               type == KiteElementTypes.SCHEMA_DECLARATION ||
-               type == KiteElementTypes.COMPONENT_DECLARATION ||
-               type == KiteElementTypes.RESOURCE_DECLARATION ||
-               type == KiteElementTypes.TYPE_DECLARATION ||
-               type == KiteElementTypes.INPUT_DECLARATION ||
-               type == KiteElementTypes.OUTPUT_DECLARATION;
-    }
-
-    private static String findDeclarationName(PsiElement declaration) {
-        for (PsiElement child = declaration.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
-                PsiElement next = skipWhitespace(child.getNextSibling());
-                if (next != null && next.getNode() != null) {
-                    IElementType nextType = next.getNode().getElementType();
-                    if (nextType == KiteTokenTypes.ASSIGN ||
-                        nextType == KiteTokenTypes.LBRACE ||
-                        nextType == KiteTokenTypes.COLON ||
-                        nextType == KiteTokenTypes.PLUS_ASSIGN ||
-                        nextType == KiteTokenTypes.LPAREN) {  // For function declarations
-                        return child.getText();
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Find which project files export the given symbols.
      * Prioritizes files closer to the current file (same directory, fewer parent traversals).
@@ -203,16 +193,12 @@ public class KiteAutoImportService {
         // Collect all candidates for each symbol with their relative paths
         Map<String, List<String>> symbolToCandidates = new LinkedHashMap<>();
 
-        var psiManager = PsiManager.getInstance(project);
-        var virtualFiles = FileTypeIndex.getFiles(KiteFileType.INSTANCE, GlobalSearchScope.projectScope(project));
         var currentVirtualFile = currentFile.getVirtualFile();
 
-        for (var virtualFile : virtualFiles) {
+        // Last-known snapshot while indexing, so pasting never blocks on the index
+        KiteImportHelper.processKiteFilesInProject(project, psiFile -> {
             // Skip current file
-            if (virtualFile.equals(currentVirtualFile)) continue;
-
-            var psiFile = psiManager.findFile(virtualFile);
-            if (psiFile == null) continue;
+            if (psiFile.getVirtualFile().equals(currentVirtualFile)) return true;
 
             // Get exports from this file
             Set<String> exports = KiteImportHelper.getExportedSymbols(psiFile);
@@ -226,7 +212,8 @@ public class KiteAutoImportService {
                     }
                 }
             }
-        }
+            return true;
+        });
 
         // Pick the best candidate for each symbol (shortest path = closest file)
         Map<String, String> symbolToFile = new LinkedHashMap<>();
@@ -277,18 +264,24 @@ public class KiteAutoImportService {
      * Add import statements for the given symbols.
      */
     private static void addImports(PsiFile file, Map<String, String> symbolToFile) {
-        LOG.info("addImports called with " + symbolToFile.size() + " symbols to import");
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "addImports called with " + symbolToFile.size() + " symbols to import");
+        }
 
         // Group symbols by file
         Map<String, List<String>> fileToSymbols = new LinkedHashMap<>();
         for (var entry : symbolToFile.entrySet()) {
             fileToSymbols.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
         }
-        LOG.info("Grouped by file: " + fileToSymbols);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Grouped by file: " + fileToSymbols);
+        }
 
         // Get existing imports grouped by file
         Map<String, Set<String>> existingImports = KiteImportHelper.getImportsByFile(file);
-        LOG.info("Existing imports by file: " + existingImports);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Existing imports by file: " + existingImports);
+        }
 
         var document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
         if (document == null) {
@@ -309,13 +302,17 @@ public class KiteAutoImportService {
                 Set<String> allSymbols = new TreeSet<>(existing);
                 allSymbols.addAll(newSymbols);
                 updates.add(new ImportUpdate(filePath, allSymbols));
-                LOG.info("Will update existing import for " + filePath + " with symbols: " + allSymbols);
+                if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+                    KiteTrace.log(Category.AUTO_IMPORT, () -> "Will update existing import for " + filePath + " with symbols: " + allSymbols);
+                }
             } else {
                 // Create new import
                 Collections.sort(newSymbols);
                 String newImport = "import " + String.join(", ", newSymbols) + " from \"" + filePath + "\"\n";
                 importText.append(newImport);
-                LOG.info("Will add new import: " + newImport.trim());
+                if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+                    KiteTrace.log(Category.AUTO_IMPORT, () -> "Will add new import: " + newImport.trim());
+                }
             }
         }
 
@@ -354,13 +351,16 @@ public class KiteAutoImportService {
 
                 // Then add new imports
                 if (!importToAdd.isEmpty()) {
+                    PsiDocumentManager.getInstance(project).commitDocument(doc);
                     int insertOffset = findImportInsertOffset(file);
-                    LOG.info("Inserting import at offset " + insertOffset + ": " + importToAdd.trim());
+                    if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+                        KiteTrace.log(Category.AUTO_IMPORT, () -> "Inserting import at offset " + insertOffset + ": " + importToAdd.trim());
+                    }
                     doc.insertString(insertOffset, importToAdd);
                 }
 
                 PsiDocumentManager.getInstance(project).commitDocument(doc);
-                LOG.info("Import addition completed");
+                KiteTrace.log(Category.AUTO_IMPORT, () -> "Import addition completed");
             }, file);
         };
         return writeAction;
@@ -370,27 +370,27 @@ public class KiteAutoImportService {
      * Update an existing import statement to include additional symbols.
      */
     private static void updateExistingImport(PsiFile file, String filePath, Set<String> allSymbols) {
-        var document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
+        var documentManager = PsiDocumentManager.getInstance(file.getProject());
+        var document = documentManager.getDocument(file);
         if (document == null) return;
 
-        String quotedPath = "\"" + filePath + "\"";
-        String text = document.getText();
+        // Earlier updates in the same write action shift offsets - re-sync the PSI first
+        documentManager.commitDocument(document);
 
-        // Find the import line for this file
-        int lineStart = 0;
-        for (String line : text.split("\n")) {
-            if (line.trim().startsWith("import ") && line.contains(quotedPath)) {
-                int lineEnd = lineStart + line.length();
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            PsiElement pathElement = importStatement.getPathElement();
+            if (importStatement.isWildcard() || pathElement == null || !filePath.equals(importStatement.getPath())) {
+                continue;
+            }
 
-                // Build new import line
-                List<String> sortedSymbols = new ArrayList<>(allSymbols);
-                Collections.sort(sortedSymbols);
-                String newLine = "import " + String.join(", ", sortedSymbols) + " from " + quotedPath;
+            // Build new import statement, keeping the original path literal
+            List<String> sortedSymbols = new ArrayList<>(allSymbols);
+            Collections.sort(sortedSymbols);
+            String newImport = "import " + String.join(", ", sortedSymbols) + " from " + pathElement.getText();
 
-                document.replaceString(lineStart, lineEnd, newLine);
-                return;
-            }
-            lineStart += line.length() + 1; // +1 for newline
+            document.replaceString(importStatement.getTextRange().getStartOffset(),
+                    pathElement.getTextRange().getEndOffset(), newImport);
+            return;
         }
     }
 
@@ -1,10 +1,11 @@
 package cloud.kitelang.intellij.editor;
 
 import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
 import com.intellij.codeInsight.editorActions.CopyPastePostProcessor;
 import com.intellij.codeInsight.editorActions.TextBlockTransferableData;
 import com.intellij.openapi.application.ReadAction;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.RangeMarker;
 import com.intellij.openapi.project.Project;
@@ -25,8 +26,6 @@ import java.util.List;
  */
 public class KiteCopyPasteProcessor extends CopyPastePostProcessor<TextBlockTransferableData> {
 
-    private static final Logger LOG = Logger.getInstance(KiteCopyPasteProcessor.class);
-
     @Override
     public @NotNull List<TextBlockTransferableData> collectTransferableData(
             @NotNull PsiFile file,
@@ -56,17 +55,19 @@ public class KiteCopyPasteProcessor extends CopyPastePostProcessor<TextBlockTran
             @NotNull Ref<? super Boolean> indented,
             @NotNull List<? extends TextBlockTransferableData> values) {
 
-        LOG.info("KiteCopyPasteProcessor.processTransferableData called");
+        KiteTrace.log(Category.AUTO_IMPORT, () -> "KiteCopyPasteProcessor.processTransferableData called");
 
         PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
         if (psiFile == null || psiFile.getFileType() != KiteFileType.INSTANCE) {
-            LOG.info("Not a Kite file, skipping");
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Not a Kite file, skipping");
             return;
         }
 
         int startOffset = bounds.getStartOffset();
         int endOffset = bounds.getEndOffset();
-        LOG.info("Processing paste in " + psiFile.getName() + " from " + startOffset + " to " + endOffset);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Processing paste in " + psiFile.getName() + " from " + startOffset + " to " + endOffset);
+        }
 
         // Schedule auto-import to run in background to avoid EDT slow operations
         // Use ReadAction.nonBlocking to perform heavy work on a background thread
@@ -1,8 +1,9 @@
 package cloud.kitelang.intellij.editor;
 
 import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
 import com.intellij.openapi.actionSystem.DataContext;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.actionSystem.EditorActionHandler;
@@ -16,18 +17,18 @@ import org.jetbrains.annotations.Nullable;
  * Paste handler that automatically imports missing symbols after pasting code.
  */
 public class KitePasteHandler extends EditorActionHandler {
-
-    private static final Logger LOG = Logger.getInstance(KitePasteHandler.class);
     private final EditorActionHandler originalHandler;
 
     public KitePasteHandler(EditorActionHandler originalHandler) {
         this.originalHandler = originalHandler;
-        LOG.info("KitePasteHandler initialized with original handler: " + originalHandler);
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "KitePasteHandler initialized with original handler: " + originalHandler);
+        }
     }
 
     @Override
     protected void doExecute(@NotNull Editor editor, @Nullable Caret caret, DataContext dataContext) {
-        LOG.info("KitePasteHandler.doExecute called");
+        KiteTrace.log(Category.AUTO_IMPORT, () -> "KitePasteHandler.doExecute called");
 
         Project project = editor.getProject();
 
@@ -38,7 +39,9 @@ public class KitePasteHandler extends EditorActionHandler {
 
         // Check if this is a Kite file
         boolean isKiteFile = psiFile != null && psiFile.getFileType() == KiteFileType.INSTANCE;
-        LOG.info("Is Kite file: " + isKiteFile + ", file: " + (psiFile != null ? psiFile.getName() : "null"));
+        if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+            KiteTrace.log(Category.AUTO_IMPORT, () -> "Is Kite file: " + isKiteFile + ", file: " + (psiFile != null ? psiFile.getName() : "null"));
+        }
 
         // Remember position before paste
         int offsetBefore = editor.getCaretModel().getOffset();
@@ -51,7 +54,9 @@ public class KitePasteHandler extends EditorActionHandler {
         // If it's a Kite file, process auto-imports
         if (isKiteFile && project != null) {
             int offsetAfter = editor.getCaretModel().getOffset();
-            LOG.info("Paste region: " + offsetBefore + " to " + offsetAfter);
+            if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+                KiteTrace.log(Category.AUTO_IMPORT, () -> "Paste region: " + offsetBefore + " to " + offsetAfter);
+            }
 
             // Commit document changes
             PsiDocumentManager.getInstance(project).commitDocument(editor.getDocument());
@@ -60,7 +65,9 @@ public class KitePasteHandler extends EditorActionHandler {
             PsiFile refreshedFile = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
             if (refreshedFile != null) {
                 // Process auto-imports for the pasted region
-                LOG.info("Processing auto-imports for file: " + refreshedFile.getName());
+                if (KiteTrace.isEnabled(Category.AUTO_IMPORT)) {
+                    KiteTrace.log(Category.AUTO_IMPORT, () -> "Processing auto-imports for file: " + refreshedFile.getName());
+                }
                 KiteAutoImportService.processAutoImports(refreshedFile, offsetBefore, offsetAfter);
             }
         }
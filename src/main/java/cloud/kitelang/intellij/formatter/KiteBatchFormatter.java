@@ -0,0 +1,223 @@
+package cloud.kitelang.intellij.formatter;
+
+import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.KiteLanguage;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reformats many Kite files at once, e.g. a directory of generated code.
+ * <p>
+ * Formatting runs in two phases. First, each file is copied into a non-physical PSI file and the
+ * copy is reformatted in a read action that yields to pending write actions; files are processed
+ * concurrently on all cores. Then the
+ * resulting text is applied to the real documents on the EDT, in batches of write actions so the
+ * IDE stays responsive. All batches share one command group, so a single Undo reverts the whole run.
+ * <p>
+ * Used by {@link cloud.kitelang.intellij.actions.ReformatKiteFilesAction} and the headless
+ * {@code kite-format} command ({@link KiteFormatStarter}).
+ */
+public final class KiteBatchFormatter {
+
+    public static final String COMMAND_NAME = "Reformat Kite Files";
+
+    private static final int BATCH_SIZE = 100;
+    // Share of the progress bar used by the concurrent formatting phase
+    private static final double FORMAT_PHASE = 0.8;
+
+    private KiteBatchFormatter() {
+    }
+
+    /**
+     * Collects all Kite files under a directory, skipping hidden directories such as {@code .git}.
+     */
+    @NotNull
+    public static List<VirtualFile> collectKiteFiles(@NotNull VirtualFile directory) {
+        List<VirtualFile> files = new ArrayList<>();
+        VfsUtilCore.visitChildrenRecursively(directory, new VirtualFileVisitor<Void>() {
+            @Override
+            public boolean visitFile(@NotNull VirtualFile file) {
+                if (file.isDirectory()) {
+                    return file.equals(directory) || !file.getName().startsWith(".");
+                }
+                if (file.getFileType() == KiteFileType.INSTANCE) {
+                    files.add(file);
+                }
+                return true;
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Reformats the given files. Must be called from a background thread (or the EDT in tests).
+     * Checks the indicator for cancellation; a cancelled run leaves all files unchanged if it stops
+     * while formatting, or keeps the batches applied so far if it stops while writing.
+     *
+     * @return The number of files whose text changed
+     */
+    public static int reformat(@NotNull Project project,
+                               @NotNull List<VirtualFile> files,
+                               @NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        ApplicationManager.getApplication().invokeAndWait(
+                () -> PsiDocumentManager.getInstance(project).commitAllDocuments(), ModalityState.defaultModalityState());
+
+        // Phase 1: compute the formatted text of every file concurrently
+        indicator.setText("Formatting Kite files...");
+        List<Edit> edits = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger formatted = new AtomicInteger();
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, file -> {
+            // The EDT (tests) holds the write-intent lock, so no write action can wait on it there
+            Edit edit = ApplicationManager.getApplication().isDispatchThread()
+                    ? ReadAction.compute(() -> computeEdit(project, file))
+                    : computeEditYieldingToWrites(project, file, indicator);
+            if (edit != null) {
+                edits.add(edit);
+            }
+            indicator.setFraction(FORMAT_PHASE * formatted.incrementAndGet() / files.size());
+            return true;
+        });
+        if (!completed) {
+            indicator.checkCanceled();
+            return 0;
+        }
+
+        // Phase 2: apply the edits in batches, all in one undo group
+        indicator.setText("Applying formatting...");
+        Object groupId = new Object();
+        int applied = 0;
+        for (int start = 0; start < edits.size(); start += BATCH_SIZE) {
+            indicator.checkCanceled();
+            List<Edit> batch = edits.subList(start, Math.min(start + BATCH_SIZE, edits.size()));
+            AtomicInteger batchApplied = new AtomicInteger();
+            ApplicationManager.getApplication().invokeAndWait(() ->
+                    WriteCommandAction.writeCommandAction(project)
+                            .withName(COMMAND_NAME)
+                            .withGroupId(groupId)
+                            .withGlobalUndo()
+                            .run(() -> {
+                                for (Edit edit : batch) {
+                                    if (apply(edit)) {
+                                        batchApplied.incrementAndGet();
+                                    }
+                                }
+                                PsiDocumentManager.getInstance(project).commitAllDocuments();
+                            }), ModalityState.defaultModalityState());
+            applied += batchApplied.get();
+            indicator.setFraction(FORMAT_PHASE + (1 - FORMAT_PHASE) * (start + batch.size()) / edits.size());
+        }
+        return applied;
+    }
+
+    /**
+     * Runs {@link #computeEdit} in a read action that is cancelled as soon as a write action is
+     * requested, so typing in the editor is never blocked by formatting threads. An interrupted
+     * file is formatted again once the write action has finished.
+     */
+    @Nullable
+    private static Edit computeEditYieldingToWrites(@NotNull Project project,
+                                                    @NotNull VirtualFile file,
+                                                    @NotNull ProgressIndicator indicator) {
+        Ref<Edit> edit = Ref.create();
+        while (!ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(
+                () -> edit.set(computeEdit(project, file)), indicator)) {
+            indicator.checkCanceled();
+            ProgressIndicatorUtils.yieldToPendingWriteActions();
+        }
+        return edit.get();
+    }
+
+    /**
+     * Formats a non-physical copy of the file.
+     *
+     * @return The edit to apply, or null if the file is already formatted
+     */
+    @Nullable
+    private static Edit computeEdit(@NotNull Project project, @NotNull VirtualFile file) {
+        ProgressManager.checkCanceled();
+        if (!file.isValid()) {
+            return null;
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (psiFile == null || document == null || !psiFile.isWritable()) {
+            return null;
+        }
+        // Edited since the commit in reformat(): the PSI no longer matches the document, and the
+        // file is left alone like one edited while formatting
+        if (PsiDocumentManager.getInstance(project).isUncommited(document)) {
+            return null;
+        }
+
+        // Read the text and its stamp from the document, which apply() checks and edits
+        long modificationStamp = document.getModificationStamp();
+        String original = document.getImmutableCharSequence().toString();
+        PsiFile copy = PsiFileFactory.getInstance(project)
+                .createFileFromText(file.getName(), KiteLanguage.INSTANCE, original, false, false);
+        CodeStyleManager.getInstance(project).reformat(copy);
+        String result = copy.getText();
+
+        return result.equals(original) ? null : new Edit(file, modificationStamp, original, result);
+    }
+
+    /**
+     * Replaces only the changed middle of the document, keeping markers in untouched text.
+     */
+    private static boolean apply(@NotNull Edit edit) {
+        Document document = FileDocumentManager.getInstance().getDocument(edit.file());
+        if (document == null || document.getModificationStamp() != edit.modificationStamp()) {
+            return false; // Edited since formatting started
+        }
+
+        String before = edit.before();
+        String after = edit.after();
+        int prefix = 0;
+        int maxPrefix = Math.min(before.length(), after.length());
+        while (prefix < maxPrefix && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+               && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        document.replaceString(prefix, before.length() - suffix, after.substring(prefix, after.length() - suffix));
+        return true;
+    }
+
+    /**
+     * Formatted text for one file.
+     *
+     * @param modificationStamp Document stamp when the text was read; the edit is dropped if it changed
+     */
+    private record Edit(VirtualFile file, long modificationStamp, String before, String after) {
+    }
+}
@@ -5,6 +5,8 @@ import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.formatting.*;
 import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.TokenType;
 import com.intellij.psi.formatter.common.AbstractBlock;
 import com.intellij.psi.tree.IElementType;
@@ -12,7 +14,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a formatting block in the Kite language structure.
@@ -22,8 +26,10 @@ public class KiteBlock extends AbstractBlock {
     private final SpacingBuilder spacingBuilder;
     private final Indent indent;
     private final Integer alignmentPadding; // For object property alignment
-    // Store schema alignment info at instance level for use during block building
-    private SchemaAlignmentInfo schemaAlignmentInfo = null;
+    // Range being formatted; only set on the FILE block, which scopes its children to it
+    private final TextRange formattingRange;
+    // Cached isMultiLine(myNode); getSpacing asks for it once per child pair
+    private Boolean multiLine = null;
 
     public KiteBlock(@NotNull ASTNode node,
                      @Nullable Wrap wrap,
@@ -39,20 +45,39 @@ public class KiteBlock extends AbstractBlock {
                      @NotNull Indent indent,
                      @NotNull SpacingBuilder spacingBuilder,
                      @Nullable Integer alignmentPadding) {
+        this(node, wrap, alignment, indent, spacingBuilder, alignmentPadding, null);
+    }
+
+    /**
+     * @param formattingRange For the FILE block: the range being formatted. Top-level children outside
+     *                        the alignment region around it are collapsed into read-only blocks.
+     */
+    public KiteBlock(@NotNull ASTNode node,
+                     @Nullable Wrap wrap,
+                     @Nullable Alignment alignment,
+                     @NotNull Indent indent,
+                     @NotNull SpacingBuilder spacingBuilder,
+                     @Nullable Integer alignmentPadding,
+                     @Nullable TextRange formattingRange) {
         super(node, wrap, alignment);
         this.spacingBuilder = spacingBuilder;
         this.indent = indent;
         this.alignmentPadding = alignmentPadding;
-
+        this.formattingRange = formattingRange;
     }
 
     @Override
     protected List<Block> buildChildren() {
         IElementType nodeType = myNode.getElementType();
 
+        // String interpolations and import paths are string content - never reformat inside them
+        if (nodeType == KiteElementTypes.INTERPOLATION || nodeType == KiteElementTypes.IMPORT_PATH) {
+            return new ArrayList<>();
+        }
+
         // Special handling for object literals - align colons only for multi-line objects
         if (nodeType == KiteElementTypes.OBJECT_LITERAL) {
-            if (isMultiLine(myNode)) {
+            if (isMultiLine()) {
                 return buildAlignedChildren(KiteTokenTypes.COLON);
             }
             // Single-line objects: no alignment, use default block building
@@ -131,8 +156,17 @@ public class KiteBlock extends AbstractBlock {
      * Used to determine if alignment should be applied.
      */
     private boolean isMultiLine(ASTNode node) {
-        String text = node.getText();
-        return text.contains("\n");
+        return StringUtil.containsLineBreak(node.getChars());
+    }
+
+    /**
+     * Cached {@link #isMultiLine(ASTNode)} for this block's own node.
+     */
+    private boolean isMultiLine() {
+        if (multiLine == null) {
+            multiLine = isMultiLine(myNode);
+        }
+        return multiLine;
     }
 
     /**
@@ -150,13 +184,20 @@ public class KiteBlock extends AbstractBlock {
      * This is used for decorator arguments like @validate(regex: "...", flag: 'i')
      */
     private boolean containsParenthesizedNamedArgs() {
+        return containsParenthesizedNamedArgs(myNode.getFirstChildNode(), null);
+    }
+
+    /**
+     * Checks the children from {@code first} up to (excluding) {@code stop} for parenthesized named arguments.
+     */
+    private boolean containsParenthesizedNamedArgs(ASTNode first, @Nullable ASTNode stop) {
         // Look for pattern: LPAREN ... IDENTIFIER ... COLON ... RPAREN
         boolean hasLParen = false;
         boolean hasIdentifier = false;
         boolean hasColon = false;
 
-        ASTNode child = myNode.getFirstChildNode();
-        while (child != null) {
+        ASTNode child = first;
+        while (child != stop) {
             IElementType type = child.getElementType();
 
             if (type == KiteTokenTypes.LPAREN) {
@@ -195,12 +236,11 @@ public class KiteBlock extends AbstractBlock {
 
         // For schema declarations, use two-phase alignment
         if (myNode.getElementType() == KiteElementTypes.SCHEMA_DECLARATION) {
-            schemaAlignmentInfo = collectSchemaAlignmentInfo();
             return buildSchemaAlignedChildren();
         }
 
         // First pass: identify alignment groups and their max key lengths
-        List<AlignmentGroup> groups = identifyAlignmentGroups(alignToken);
+        Map<ASTNode, AlignmentGroup> groups = identifyAlignmentGroups(alignToken);
 
         // Second pass: build blocks with appropriate padding
         ASTNode child = myNode.getFirstChildNode();
@@ -251,7 +291,7 @@ public class KiteBlock extends AbstractBlock {
                     Integer padding = null;
                     if (childType == alignToken && previousIdentifier != null) {
                         // Find which group this identifier belongs to
-                        AlignmentGroup group = findGroupForIdentifier(groups, previousIdentifier);
+                        AlignmentGroup group = groups.get(previousIdentifier);
                         if (group != null) {
                             int keyLength = previousIdentifier.getTextLength();
                             // For ASSIGN, always have at least 1 space; for COLON, longest key has 0 spaces
@@ -473,20 +513,42 @@ public class KiteBlock extends AbstractBlock {
 
     /**
      * Builds children for FILE node, handling both decorator colons and declaration equals.
+     * <p>
+     * When only part of the file is formatted (Reformat Selection, auto-format after typing), only the
+     * alignment region around the formatting range is analyzed and built; the top-level children before
+     * and after it become one read-only block each. Files with parenthesized named arguments align all
+     * declarations as one group and are always analyzed whole. Blocks below the top level are already built lazily
+     * by the platform, only for blocks intersecting the range.
      */
     private List<Block> buildFileChildren() {
         List<Block> blocks = new ArrayList<>();
 
+        ASTNode first = myNode.getFirstChildNode();
+        ASTNode stop = null;
+        // A parenthesized named argument anywhere in the file puts all top-level '=' into one alignment
+        // group (see identifyAlignmentGroups), so the region is then the whole file, as in a full reformat
+        if (first != null && formattingRange != null && !formattingRange.contains(myNode.getTextRange())
+            && !containsParenthesizedNamedArgs()) {
+            first = findRegionStart(formattingRange.getStartOffset());
+            stop = findRegionEnd(Math.max(formattingRange.getStartOffset(), formattingRange.getEndOffset() - 1))
+                    .getTreeNext();
+
+            ASTNode before = previousSignificantSibling(first);
+            if (before != null) {
+                blocks.add(new ReadOnlyBlock(new TextRange(myNode.getStartOffset(), before.getTextRange().getEndOffset())));
+            }
+        }
+
         // Identify alignment groups for both COLON and ASSIGN
-        List<AlignmentGroup> colonGroups = containsParenthesizedNamedArgs() ?
-                identifyAlignmentGroups(KiteTokenTypes.COLON) : new ArrayList<>();
-        List<AlignmentGroup> assignGroups = identifyAlignmentGroups(KiteTokenTypes.ASSIGN);
+        Map<ASTNode, AlignmentGroup> colonGroups = containsParenthesizedNamedArgs(first, stop) ?
+                identifyAlignmentGroups(KiteTokenTypes.COLON, first, stop) : new IdentityHashMap<>();
+        Map<ASTNode, AlignmentGroup> assignGroups = identifyAlignmentGroups(KiteTokenTypes.ASSIGN, first, stop);
 
-        ASTNode child = myNode.getFirstChildNode();
+        ASTNode child = first;
         ASTNode previousIdentifier = null;
         boolean insideParens = false;
 
-        while (child != null) {
+        while (child != stop) {
             IElementType childType = child.getElementType();
 
             if (shouldSkipToken(childType) && child.getTextLength() > 0) {
@@ -514,14 +576,14 @@ public class KiteBlock extends AbstractBlock {
                     Integer padding = null;
                     if (previousIdentifier != null) {
                         if (childType == KiteTokenTypes.COLON) {
-                            AlignmentGroup group = findGroupForIdentifier(colonGroups, previousIdentifier);
+                            AlignmentGroup group = colonGroups.get(previousIdentifier);
                             if (group != null) {
                                 int keyLength = previousIdentifier.getTextLength();
                                 padding = group.maxKeyLength - keyLength; // No extra space for colons
                             }
                             previousIdentifier = null;
                         } else if (childType == KiteTokenTypes.ASSIGN) {
-                            AlignmentGroup group = findGroupForIdentifier(assignGroups, previousIdentifier);
+                            AlignmentGroup group = assignGroups.get(previousIdentifier);
                             if (group != null) {
                                 int keyLength = previousIdentifier.getTextLength();
                                 padding = group.maxKeyLength - keyLength + 1; // +1 for equals
@@ -551,16 +613,115 @@ public class KiteBlock extends AbstractBlock {
             child = child.getTreeNext();
         }
 
+        ASTNode after = stop != null && isSignificant(stop) ? stop : nextSignificantSibling(stop);
+        if (after != null) {
+            blocks.add(new ReadOnlyBlock(new TextRange(after.getStartOffset(), myNode.getTextRange().getEndOffset())));
+        }
+
         return blocks;
     }
 
+    /**
+     * Finds the first top-level child of the alignment region containing {@code offset}.
+     * Regions end at blank lines and comments, which always start a new alignment group; one more
+     * child beyond the boundary is included so spacing at the region edge is computed as usual.
+     */
+    private ASTNode findRegionStart(int offset) {
+        ASTNode child = findTopLevelChild(offset);
+        boolean boundary = false;
+        for (ASTNode prev = child.getTreePrev(); prev != null; prev = prev.getTreePrev()) {
+            boundary |= isRegionBoundary(prev);
+            if (isSignificant(prev)) {
+                child = prev;
+                if (boundary) {
+                    break;
+                }
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Finds the last top-level child of the alignment region containing {@code offset}.
+     */
+    private ASTNode findRegionEnd(int offset) {
+        ASTNode child = findTopLevelChild(offset);
+        boolean boundary = false;
+        for (ASTNode next = child.getTreeNext(); next != null; next = next.getTreeNext()) {
+            boundary |= isRegionBoundary(next);
+            if (isSignificant(next)) {
+                child = next;
+                if (boundary) {
+                    break;
+                }
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Blank lines (two consecutive newlines) and comments separate alignment groups.
+     */
+    private boolean isRegionBoundary(ASTNode node) {
+        IElementType type = node.getElementType();
+        if (type == KiteTokenTypes.LINE_COMMENT || type == KiteTokenTypes.BLOCK_COMMENT) {
+            return true;
+        }
+        ASTNode prev = node.getTreePrev();
+        return isNewline(type) && prev != null && isNewline(prev.getElementType());
+    }
+
+    private boolean isNewline(IElementType type) {
+        return type == KiteTokenTypes.NL || type == KiteTokenTypes.NEWLINE;
+    }
+
+    /**
+     * Finds the direct child of this node containing {@code offset}.
+     */
+    private ASTNode findTopLevelChild(int offset) {
+        int clamped = Math.max(0, Math.min(offset - myNode.getStartOffset(), myNode.getTextLength() - 1));
+        ASTNode node = myNode.findLeafElementAt(clamped);
+        if (node == null) {
+            return myNode.getFirstChildNode();
+        }
+        while (node.getTreeParent() != null && node.getTreeParent() != myNode) {
+            node = node.getTreeParent();
+        }
+        return node;
+    }
+
+    /**
+     * Whether a block is built for this node (not whitespace, newlines or empty).
+     */
+    private boolean isSignificant(ASTNode node) {
+        return shouldSkipToken(node.getElementType()) && node.getTextLength() > 0;
+    }
+
+    @Nullable
+    private ASTNode previousSignificantSibling(ASTNode node) {
+        ASTNode prev = node.getTreePrev();
+        while (prev != null && !isSignificant(prev)) {
+            prev = prev.getTreePrev();
+        }
+        return prev;
+    }
+
+    @Nullable
+    private ASTNode nextSignificantSibling(@Nullable ASTNode node) {
+        ASTNode next = node != null ? node.getTreeNext() : null;
+        while (next != null && !isSignificant(next)) {
+            next = next.getTreeNext();
+        }
+        return next;
+    }
+
     /**
      * Builds blocks for children of a declaration element (INPUT/OUTPUT/VAR).
      * Inlines the declaration's tokens rather than creating a block for the whole declaration.
      */
     private void buildDeclarationBlocks(ASTNode declarationElement,
                                         IElementType alignToken,
-                                        List<AlignmentGroup> groups,
+                                        Map<ASTNode, AlignmentGroup> groups,
                                         List<Block> blocks,
                                         boolean insideBraces,
                                         boolean insideParens,
@@ -587,7 +748,7 @@ public class KiteBlock extends AbstractBlock {
                 Integer padding = null;
                 if (childType == alignToken && previousIdentifier != null) {
                     // Find which group this identifier belongs to
-                    AlignmentGroup group = findGroupForIdentifier(groups, previousIdentifier);
+                    AlignmentGroup group = groups.get(previousIdentifier);
                     if (group != null) {
                         // Calculate full declaration width for this identifier
                         int declarationWidth = calculateDeclarationWidth(declarationElement, previousIdentifier);
@@ -801,14 +962,24 @@ public class KiteBlock extends AbstractBlock {
      * Identifies groups of consecutive similar declarations.
      * For object literals and decorator args: creates one group (align all together).
      * For block declarations: groups consecutive similar declarations, separated by blank lines.
+     *
+     * @return The group of each aligned identifier, keyed by node identity
      */
-    private List<AlignmentGroup> identifyAlignmentGroups(IElementType alignToken) {
-        List<AlignmentGroup> groups = new ArrayList<>();
+    private Map<ASTNode, AlignmentGroup> identifyAlignmentGroups(IElementType alignToken) {
+        return identifyAlignmentGroups(alignToken, myNode.getFirstChildNode(), null);
+    }
+
+    /**
+     * Identifies alignment groups among the children from {@code first} up to (excluding) {@code stop}.
+     */
+    private Map<ASTNode, AlignmentGroup> identifyAlignmentGroups(IElementType alignToken, ASTNode first,
+                                                                 @Nullable ASTNode stop) {
+        Map<ASTNode, AlignmentGroup> groups = new IdentityHashMap<>();
 
         // For object literals and decorator args, use simple grouping (all in one group)
         if (myNode.getElementType() == KiteElementTypes.OBJECT_LITERAL ||
-            containsParenthesizedNamedArgs()) {
-            return identifySimpleGroup(alignToken);
+            containsParenthesizedNamedArgs(first, stop)) {
+            return identifySimpleGroup(alignToken, first, stop);
         }
 
         // For schema declarations, use special grouping to handle properties with and without default values
@@ -822,10 +993,10 @@ public class KiteBlock extends AbstractBlock {
         boolean hasBlankLineSinceLastDecl = false;
         boolean lastWasRegularProperty = false;
 
-        ASTNode child = myNode.getFirstChildNode();
+        ASTNode child = first;
         ASTNode prevChild = null;
 
-        while (child != null) {
+        while (child != stop) {
             IElementType childType = child.getElementType();
 
             // Detect blank lines (two consecutive newlines)
@@ -853,7 +1024,6 @@ public class KiteBlock extends AbstractBlock {
                     hasBlankLineSinceLastDecl ||
                     lastWasRegularProperty) {
                     currentGroup = new AlignmentGroup();
-                    groups.add(currentGroup);
                     lastDeclType = childType;
                 }
 
@@ -863,7 +1033,7 @@ public class KiteBlock extends AbstractBlock {
                 // Find the identifier before the align token inside this declaration
                 ASTNode identifier = findIdentifierInDeclaration(child, alignToken);
                 if (identifier != null) {
-                    currentGroup.identifiers.add(identifier);
+                    groups.put(identifier, currentGroup);
                     // Calculate full declaration width: keyword + type + identifier
                     int declarationWidth = calculateDeclarationWidth(child, identifier);
                     currentGroup.maxKeyLength = Math.max(currentGroup.maxKeyLength, declarationWidth);
@@ -878,14 +1048,13 @@ public class KiteBlock extends AbstractBlock {
                         lastDeclType != null ||
                         hasBlankLineSinceLastDecl) {
                         currentGroup = new AlignmentGroup();
-                        groups.add(currentGroup);
                         lastDeclType = null;
                     }
 
                     hasBlankLineSinceLastDecl = false;
                     lastWasRegularProperty = true;
 
-                    currentGroup.identifiers.add(child);
+                    groups.put(child, currentGroup);
                     currentGroup.maxKeyLength = Math.max(currentGroup.maxKeyLength, child.getTextLength());
                 }
             }
@@ -903,80 +1072,22 @@ public class KiteBlock extends AbstractBlock {
      * We want to align ALL property names (second identifier), whether or not they have default values.
      * This method traverses all tokens recursively to handle nested structures.
      */
-    private List<AlignmentGroup> identifySchemaPropertyGroups() {
-        List<AlignmentGroup> groups = new ArrayList<>();
-        AlignmentGroup currentGroup = new AlignmentGroup();
-        groups.add(currentGroup);
+    private Map<ASTNode, AlignmentGroup> identifySchemaPropertyGroups() {
+        Map<ASTNode, AlignmentGroup> groups = new IdentityHashMap<>();
 
         // Recursively collect all identifiers that should be aligned
-        collectSchemaPropertyIdentifiers(myNode, currentGroup);
+        collectSchemaPropertyIdentifiers(myNode, new AlignmentGroup(), groups);
 
         return groups;
     }
 
-    /**
-     * Collects schema alignment info with both type and property name lengths.
-     */
-    private SchemaAlignmentInfo collectSchemaAlignmentInfo() {
-        SchemaAlignmentInfo info = new SchemaAlignmentInfo();
-
-        // Flatten all tokens first
-        List<ASTNode> allTokens = new ArrayList<>();
-        flattenTokens(myNode, allTokens);
-
-        ASTNode typeIdentifier = null;
-        boolean inSchemaBody = false;
-
-        for (int i = 0; i < allTokens.size(); i++) {
-            ASTNode token = allTokens.get(i);
-            IElementType tokenType = token.getElementType();
-
-            // Skip whitespace
-            if (tokenType == TokenType.WHITE_SPACE) {
-                continue;
-            }
-
-            // Track when we're inside the schema body
-            if (tokenType == KiteTokenTypes.LBRACE) {
-                inSchemaBody = true;
-            } else if (tokenType == KiteTokenTypes.RBRACE) {
-                break;
-            } else if (inSchemaBody && tokenType == KiteTokenTypes.IDENTIFIER) {
-                if (typeIdentifier != null) {
-                    // This is the property name (second identifier)
-                    SchemaPropertyInfo prop = new SchemaPropertyInfo();
-                    prop.typeIdentifier = typeIdentifier;
-                    prop.propertyIdentifier = token;
-                    prop.hasDefaultValue = hasAssignAfter(allTokens, token);
-
-                    info.properties.add(prop);
-                    info.maxTypeLength = Math.max(info.maxTypeLength, typeIdentifier.getTextLength());
-                    info.maxPropertyLength = Math.max(info.maxPropertyLength, token.getTextLength());
-
-                    typeIdentifier = null; // Reset for next pair
-                } else {
-                    // This is the type identifier
-                    typeIdentifier = token;
-                }
-            }
-            // Reset typeIdentifier at end of property
-            else if (tokenType == KiteTokenTypes.ASSIGN ||
-                     tokenType == KiteTokenTypes.NL ||
-                     tokenType == KiteTokenTypes.NEWLINE ||
-                     tokenType == KiteTokenTypes.SEMICOLON) {
-                typeIdentifier = null;
-            }
-        }
-
-        return info;
-    }
-
     /**
      * Recursively collects schema property identifiers from a node and its descendants.
      * Uses flattening to ensure correct pairing across nested structures.
      * Tracks both type and property name to calculate correct alignment.
      */
-    private void collectSchemaPropertyIdentifiers(ASTNode node, AlignmentGroup group) {
+    private void collectSchemaPropertyIdentifiers(ASTNode node, AlignmentGroup group,
+                                                  Map<ASTNode, AlignmentGroup> groups) {
         // Flatten all tokens first
         List<ASTNode> allTokens = new ArrayList<>();
         flattenTokens(node, allTokens);
@@ -984,7 +1095,8 @@ public class KiteBlock extends AbstractBlock {
         ASTNode typeIdentifier = null;
         boolean inSchemaBody = false;
 
-        for (ASTNode token : allTokens) {
+        for (int i = 0; i < allTokens.size(); i++) {
+            ASTNode token = allTokens.get(i);
             IElementType tokenType = token.getElementType();
 
             // Skip whitespace
@@ -1001,10 +1113,10 @@ public class KiteBlock extends AbstractBlock {
                 if (typeIdentifier != null) {
                     // This is the second identifier in a pair - it's the property name
                     // Add it to the group along with the type length
-                    group.identifiers.add(token);
+                    groups.put(token, group);
 
                     // Check if this identifier is followed by ASSIGN
-                    boolean hasAssign = hasAssignAfter(allTokens, token);
+                    boolean hasAssign = hasAssignAfter(allTokens, i);
 
                     // Calculate combined length: type + space + property name
                     int combinedLength = typeIdentifier.getTextLength() + 1 + token.getTextLength();
@@ -1030,14 +1142,9 @@ public class KiteBlock extends AbstractBlock {
     }
 
     /**
-     * Checks if an identifier is followed by an ASSIGN token (skipping whitespace/newlines).
+     * Checks if the identifier at {@code index} is followed by an ASSIGN token (skipping whitespace/newlines).
      */
-    private boolean hasAssignAfter(List<ASTNode> tokens, ASTNode identifier) {
-        int index = tokens.indexOf(identifier);
-        if (index == -1 || index >= tokens.size() - 1) {
-            return false;
-        }
-
+    private boolean hasAssignAfter(List<ASTNode> tokens, int index) {
         // Look ahead for ASSIGN, skipping whitespace and newlines
         for (int i = index + 1; i < tokens.size(); i++) {
             IElementType type = tokens.get(i).getElementType();
@@ -1058,14 +1165,15 @@ public class KiteBlock extends AbstractBlock {
      * For object literals: one group for all properties.
      * For decorator args (FILE level): separate group for each () pair.
      */
-    private List<AlignmentGroup> identifySimpleGroup(IElementType alignToken) {
-        List<AlignmentGroup> groups = new ArrayList<>();
+    private Map<ASTNode, AlignmentGroup> identifySimpleGroup(IElementType alignToken, ASTNode first,
+                                                             @Nullable ASTNode stop) {
+        Map<ASTNode, AlignmentGroup> groups = new IdentityHashMap<>();
         AlignmentGroup group = null;
         int parenDepth = 0;
         boolean inParens = false;
 
-        ASTNode child = myNode.getFirstChildNode();
-        while (child != null) {
+        ASTNode child = first;
+        while (child != stop) {
             IElementType childType = child.getElementType();
 
             // Track parentheses depth
@@ -1074,7 +1182,6 @@ public class KiteBlock extends AbstractBlock {
                 if (parenDepth == 1) {
                     // Start new group for this parentheses scope
                     group = new AlignmentGroup();
-                    groups.add(group);
                     inParens = true;
                 }
             } else if (childType == KiteTokenTypes.RPAREN) {
@@ -1090,11 +1197,10 @@ public class KiteBlock extends AbstractBlock {
                     // For object literals (no parens tracking), create group if needed
                     if (!inParens && group == null) {
                         group = new AlignmentGroup();
-                        groups.add(group);
                     }
                     // Only add if we have a group (either in parens or object literal)
                     if (group != null) {
-                        group.identifiers.add(child);
+                        groups.put(child, group);
                         group.maxKeyLength = Math.max(group.maxKeyLength, child.getTextLength());
                     }
                 }
@@ -1166,18 +1272,6 @@ public class KiteBlock extends AbstractBlock {
         return lastIdentifier;
     }
 
-    /**
-     * Finds which alignment group an identifier belongs to.
-     */
-    private AlignmentGroup findGroupForIdentifier(List<AlignmentGroup> groups, ASTNode identifier) {
-        for (AlignmentGroup group : groups) {
-            if (group.identifiers.contains(identifier)) {
-                return group;
-            }
-        }
-        return null;
-    }
-
     /**
      * Finds the next occurrence of a specific token after a node (skipping whitespace).
      *
@@ -1372,7 +1466,7 @@ public class KiteBlock extends AbstractBlock {
         // Special handling for multi-line object and array literals to ensure proper indentation
         // Only force line breaks for multi-line literals; single-line literals stay inline
         if (isObjectOrArray(parentType)) {
-            if (isMultiLine(myNode) && child1 instanceof KiteBlock && child2 instanceof KiteBlock) {
+            if (isMultiLine() && child1 instanceof KiteBlock && child2 instanceof KiteBlock) {
                 IElementType type1 = ((KiteBlock) child1).myNode.getElementType();
                 IElementType type2 = ((KiteBlock) child2).myNode.getElementType();
 
@@ -1431,7 +1525,9 @@ public class KiteBlock extends AbstractBlock {
 
     @Override
     public boolean isLeaf() {
-        return myNode.getFirstChildNode() == null;
+        return myNode.getFirstChildNode() == null ||
+               myNode.getElementType() == KiteElementTypes.INTERPOLATION ||
+               myNode.getElementType() == KiteElementTypes.IMPORT_PATH;
     }
 
     @Override
@@ -1455,24 +1551,66 @@ public class KiteBlock extends AbstractBlock {
 
     /**
      * Represents a group of consecutive declarations that should align together.
+     * Members are the identifiers mapped to it by {@link #identifyAlignmentGroups}.
      */
     private static class AlignmentGroup {
         int maxKeyLength;
-        final List<ASTNode> identifiers = new ArrayList<>();
     }
 
     /**
-     * For schema properties, we need to track both type and property name for two-stage alignment.
+     * Placeholder for top-level children outside the formatted region. It is never descended into,
+     * so the formatter leaves its text as is.
      */
-    private static class SchemaPropertyInfo {
-        ASTNode typeIdentifier;
-        ASTNode propertyIdentifier;
-        boolean hasDefaultValue;
-    }
+    private static final class ReadOnlyBlock implements Block {
+        private final TextRange range;
 
-    private static class SchemaAlignmentInfo {
-        int maxTypeLength = 0;
-        int maxPropertyLength = 0;
-        final List<SchemaPropertyInfo> properties = new ArrayList<>();
+        ReadOnlyBlock(TextRange range) {
+            this.range = range;
+        }
+
+        @Override
+        public @NotNull TextRange getTextRange() {
+            return range;
+        }
+
+        @Override
+        public @NotNull List<Block> getSubBlocks() {
+            return List.of();
+        }
+
+        @Override
+        public @Nullable Wrap getWrap() {
+            return null;
+        }
+
+        @Override
+        public @NotNull Indent getIndent() {
+            return Indent.getNoneIndent();
+        }
+
+        @Override
+        public @Nullable Alignment getAlignment() {
+            return null;
+        }
+
+        @Override
+        public @Nullable Spacing getSpacing(@Nullable Block child1, @NotNull Block child2) {
+            return null;
+        }
+
+        @Override
+        public @NotNull ChildAttributes getChildAttributes(int newChildIndex) {
+            return new ChildAttributes(Indent.getNoneIndent(), null);
+        }
+
+        @Override
+        public boolean isIncomplete() {
+            return false;
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return true;
+        }
     }
 }
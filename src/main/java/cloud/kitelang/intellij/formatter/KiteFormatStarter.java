@@ -0,0 +1,62 @@
+package cloud.kitelang.intellij.formatter;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless entry point for batch formatting, e.g. after code generation in a build:
+ * <pre>
+ * idea.sh kite-format &lt;directory&gt; [&lt;directory&gt;...]
+ * </pre>
+ * Files are formatted with the default project's code style and saved in place.
+ */
+public class KiteFormatStarter implements ApplicationStarter {
+
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        // args[0] is the command name
+        if (args.size() < 2) {
+            System.err.println("Usage: kite-format <directory> [<directory>...]");
+            System.exit(1);
+        }
+
+        List<VirtualFile> files = new ArrayList<>();
+        for (String arg : args.subList(1, args.size())) {
+            VirtualFile directory = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(Path.of(arg).toAbsolutePath());
+            if (directory == null || !directory.isDirectory()) {
+                System.err.println("Not a directory: " + arg);
+                System.exit(1);
+            }
+            files.addAll(KiteBatchFormatter.collectKiteFiles(directory));
+        }
+
+        Project project = ProjectManager.getInstance().getDefaultProject();
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        int changed = ProgressManager.getInstance().runProcess(
+                () -> KiteBatchFormatter.reformat(project, files, indicator), indicator);
+        ApplicationManager.getApplication().invokeAndWait(
+                () -> FileDocumentManager.getInstance().saveAllDocuments(), ModalityState.defaultModalityState());
+
+        System.out.println("Reformatted " + changed + " of " + files.size() + " Kite files");
+        System.exit(0);
+    }
+}
@@ -20,12 +20,15 @@ public class KiteFormattingModelBuilder implements FormattingModelBuilder {
         PsiElement element = formattingContext.getPsiElement();
 
         SpacingBuilder spacingBuilder = createSpaceBuilder(settings);
+        // The range lets the root block skip top-level code far from a partial reformat
         KiteBlock rootBlock = new KiteBlock(
                 element.getNode(),
                 null,
                 Alignment.createAlignment(),
                 Indent.getNoneIndent(),
-                spacingBuilder
+                spacingBuilder,
+                null,
+                formattingContext.getFormattingRange()
         );
 
         return FormattingModelProvider.createFormattingModelForPsiFile(
@@ -114,6 +117,7 @@ public class KiteFormattingModelBuilder implements FormattingModelBuilder {
                 .after(KiteTokenTypes.IN).spaces(1)
                 .before(KiteTokenTypes.IN).spaces(1)
                 .after(KiteTokenTypes.IMPORT).spaces(1)
+                .before(KiteTokenTypes.FROM).spaces(1)
                 .after(KiteTokenTypes.FROM).spaces(1)
 
                 // No space after @ for decorators
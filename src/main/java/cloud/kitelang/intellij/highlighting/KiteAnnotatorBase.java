@@ -0,0 +1,32 @@
+package cloud.kitelang.intellij.highlighting;
+
+import cloud.kitelang.intellij.diagnostics.KiteAnalysisTimings;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Abstract base class for Kite annotators.
+ * <p>
+ * Routes every call through {@link KiteAnalysisTimings}, so the cost of each annotator can be
+ * attributed per file. Subclasses implement {@link #doAnnotate} instead of {@code annotate}.
+ */
+public abstract class KiteAnnotatorBase implements Annotator {
+
+    @Override
+    public final void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        KiteAnalysisTimings timings = KiteAnalysisTimings.getInstance();
+        if (!timings.isEnabled()) {
+            doAnnotate(element, holder);
+            return;
+        }
+        timings.measure(holder.getCurrentAnnotationSession().getFile(), getClass().getSimpleName(),
+                KiteAnalysisTimings.Kind.ANNOTATOR, () -> doAnnotate(element, holder));
+    }
+
+    /**
+     * Annotate a single PSI element. Called for every element of the file.
+     */
+    protected abstract void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder);
+}
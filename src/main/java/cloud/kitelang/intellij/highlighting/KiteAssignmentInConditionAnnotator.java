@@ -4,7 +4,6 @@ import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -20,10 +19,10 @@ import org.jetbrains.annotations.NotNull;
  * while y = true { }   // Warning: Assignment in condition. Did you mean '=='?
  * </pre>
  */
-public class KiteAssignmentInConditionAnnotator implements Annotator {
+public class KiteAssignmentInConditionAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         IElementType type = element.getNode().getElementType();
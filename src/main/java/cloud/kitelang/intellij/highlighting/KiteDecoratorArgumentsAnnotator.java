@@ -4,7 +4,6 @@ import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -36,7 +35,7 @@ import static cloud.kitelang.intellij.util.KitePsiUtil.skipWhitespaceBackward;
  * 1. Triggers on decorator name IDENTIFIER - for "missing argument" and "no arguments" errors
  * 2. Triggers on argument tokens - for "wrong argument type" errors
  */
-public class KiteDecoratorArgumentsAnnotator implements Annotator {
+public class KiteDecoratorArgumentsAnnotator extends KiteAnnotatorBase {
 
     /**
      * Decorator argument type requirements.
@@ -87,7 +86,7 @@ public class KiteDecoratorArgumentsAnnotator implements Annotator {
     );
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         if (element.getContainingFile() == null ||
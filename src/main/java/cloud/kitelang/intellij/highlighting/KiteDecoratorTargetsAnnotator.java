@@ -4,7 +4,6 @@ import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -39,7 +38,7 @@ import static cloud.kitelang.intellij.util.KitePsiUtil.skipWhitespaceBackward;
  * }
  * </pre>
  */
-public class KiteDecoratorTargetsAnnotator implements Annotator {
+public class KiteDecoratorTargetsAnnotator extends KiteAnnotatorBase {
 
     /**
      * Target declaration types for decorators.
@@ -100,7 +99,7 @@ public class KiteDecoratorTargetsAnnotator implements Annotator {
     );
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         if (element.getContainingFile() == null ||
@@ -5,7 +5,6 @@ import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -32,10 +31,10 @@ import java.util.Map;
  * - schema declarations
  * - type declarations
  */
-public class KiteDuplicateDeclarationAnnotator implements Annotator {
+public class KiteDuplicateDeclarationAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         // Only process at file level to avoid redundant checks
         if (!(element instanceof PsiFile file)) {
             return;
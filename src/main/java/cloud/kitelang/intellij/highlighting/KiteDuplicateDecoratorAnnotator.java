@@ -5,7 +5,6 @@ import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -28,10 +27,10 @@ import java.util.Map;
  * schema Config { }
  * </pre>
  */
-public class KiteDuplicateDecoratorAnnotator implements Annotator {
+public class KiteDuplicateDecoratorAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         // Only process at file level to collect decorators before declarations
         if (!(element instanceof PsiFile file)) {
             return;
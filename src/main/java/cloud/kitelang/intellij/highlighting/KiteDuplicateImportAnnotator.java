@@ -1,10 +1,10 @@
 package cloud.kitelang.intellij.highlighting;
 
 import cloud.kitelang.intellij.KiteLanguage;
-import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -14,8 +14,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Annotator that detects duplicate imports.
@@ -26,15 +24,10 @@ import java.util.regex.Pattern;
  * - Same symbol appearing twice in the same import statement
  * - Named import after wildcard import from same file
  */
-public class KiteDuplicateImportAnnotator implements Annotator {
-
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^(\\s*import\\s+)([\\w,\\s*]+)(\\s+from\\s+)([\"'])([^\"']+)([\"'])\\s*(?:\\r?\\n)?",
-            Pattern.MULTILINE
-    );
+public class KiteDuplicateImportAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (!(element instanceof PsiFile file)) {
             return;
         }
@@ -50,56 +43,45 @@ public class KiteDuplicateImportAnnotator implements Annotator {
      * Check for duplicate imports in the file.
      */
     private void checkDuplicateImports(PsiFile file, AnnotationHolder holder) {
-        String text = file.getText();
-        Matcher matcher = IMPORT_PATTERN.matcher(text);
-
-        // Track imported symbols: symbol name -> first import info
-        Map<String, ImportInfo> importedSymbols = new HashMap<>();
-        // Track wildcard imports: file path -> import info
-        Map<String, ImportInfo> wildcardImports = new HashMap<>();
-
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(2).trim();
-            String importPath = matcher.group(5);
-            int importStart = matcher.start();
-            int importEnd = matcher.end();
+        // Track imported symbols: symbol name -> path of the first import
+        Map<String, String> importedSymbols = new HashMap<>();
+        // Track wildcard imports by file path
+        Set<String> wildcardImports = new HashSet<>();
+
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            String importPath = importStatement.getPath();
+            if (importPath == null || importPath.isEmpty()) {
+                continue;
+            }
 
-            if ("*".equals(symbolsPart)) {
-                // Wildcard import
-                ImportInfo wildcardInfo = new ImportInfo(importPath, importStart, importEnd, "*");
-                wildcardImports.put(importPath, wildcardInfo);
-            } else {
-                // Named import - check each symbol
-                String[] symbols = symbolsPart.split("\\s*,\\s*");
-                Set<String> seenInThisStatement = new HashSet<>();
+            if (importStatement.isWildcard()) {
+                wildcardImports.add(importPath);
+                continue;
+            }
 
-                for (String symbol : symbols) {
-                    String trimmed = symbol.trim();
-                    if (trimmed.isEmpty()) continue;
+            // Named import - check each symbol
+            Set<String> seenInThisStatement = new HashSet<>();
+            for (PsiElement symbol : importStatement.getSymbolElements()) {
+                String name = symbol.getText();
 
-                    // Check for duplicate within same import statement
-                    if (seenInThisStatement.contains(trimmed)) {
-                        markDuplicateSymbol(file, importStart, importEnd, trimmed,
-                                "'" + trimmed + "' is already imported in this statement", holder);
-                        continue;
-                    }
-                    seenInThisStatement.add(trimmed);
+                // Check for duplicate within same import statement
+                if (!seenInThisStatement.add(name)) {
+                    markDuplicateSymbol(symbol, "'" + name + "' is already imported in this statement", holder);
+                    continue;
+                }
 
-                    // Check if this symbol was already imported
-                    if (importedSymbols.containsKey(trimmed)) {
-                        ImportInfo firstImport = importedSymbols.get(trimmed);
-                        markDuplicateSymbol(file, importStart, importEnd, trimmed,
-                                "'" + trimmed + "' is already imported from \"" + firstImport.path + "\"", holder);
-                    } else {
-                        // Check if covered by a wildcard import from the same file
-                        if (wildcardImports.containsKey(importPath)) {
-                            markDuplicateSymbol(file, importStart, importEnd, trimmed,
-                                    "'" + trimmed + "' is already imported via wildcard from \"" + importPath + "\"", holder);
-                        } else {
-                            // First import of this symbol
-                            importedSymbols.put(trimmed, new ImportInfo(importPath, importStart, importEnd, trimmed));
-                        }
-                    }
+                // Check if this symbol was already imported
+                String firstImportPath = importedSymbols.get(name);
+                if (firstImportPath != null) {
+                    markDuplicateSymbol(symbol,
+                            "'" + name + "' is already imported from \"" + firstImportPath + "\"", holder);
+                } else if (wildcardImports.contains(importPath)) {
+                    // Covered by a wildcard import from the same file
+                    markDuplicateSymbol(symbol,
+                            "'" + name + "' is already imported via wildcard from \"" + importPath + "\"", holder);
+                } else {
+                    // First import of this symbol
+                    importedSymbols.put(name, importPath);
                 }
             }
         }
@@ -108,43 +90,10 @@ public class KiteDuplicateImportAnnotator implements Annotator {
     /**
      * Mark a specific duplicate symbol in an import statement.
      */
-    private void markDuplicateSymbol(PsiFile file, int importStart, int importEnd,
-                                     String symbolName, String message, AnnotationHolder holder) {
-        String importText = file.getText().substring(importStart, importEnd);
-
-        // Find the symbol position within the import statement
-        int fromIndex = importText.indexOf(" from ");
-        if (fromIndex == -1) fromIndex = importText.length();
-
-        String beforeFrom = importText.substring(0, fromIndex);
-
-        // Find the symbol position
-        Pattern symbolPattern = Pattern.compile("\\b" + Pattern.quote(symbolName) + "\\b");
-        Matcher symbolMatcher = symbolPattern.matcher(beforeFrom);
-
-        // Find the LAST occurrence in case of duplicates in same statement
-        int symbolIndex = -1;
-        while (symbolMatcher.find()) {
-            symbolIndex = symbolMatcher.start();
-        }
-
-        if (symbolIndex >= 0) {
-            int absoluteStart = importStart + symbolIndex;
-
-            PsiElement symbolElement = file.findElementAt(absoluteStart);
-            if (symbolElement != null && symbolElement.getNode() != null &&
-                symbolElement.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
-                holder.newAnnotation(HighlightSeverity.WARNING, message)
-                        .range(symbolElement.getTextRange())
-                        .highlightType(ProblemHighlightType.WARNING)
-                        .create();
-            }
-        }
-    }
-
-    /**
-     * Information about an import.
-     */
-    private record ImportInfo(String path, int startOffset, int endOffset, String symbol) {
+    private void markDuplicateSymbol(PsiElement symbol, String message, AnnotationHolder holder) {
+        holder.newAnnotation(HighlightSeverity.WARNING, message)
+                .range(symbol.getTextRange())
+                .highlightType(ProblemHighlightType.WARNING)
+                .create();
     }
 }
@@ -1,10 +1,10 @@
 package cloud.kitelang.intellij.highlighting;
 
 import cloud.kitelang.intellij.KiteLanguage;
+import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -21,10 +21,10 @@ import org.jetbrains.annotations.Nullable;
  * if "" != value { }    // Hint: Consider using 'len(value) != 0'
  * </pre>
  */
-public class KiteEmptyStringCheckAnnotator implements Annotator {
+public class KiteEmptyStringCheckAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         IElementType type = element.getNode().getElementType();
@@ -71,7 +71,7 @@ public class KiteEmptyStringCheckAnnotator implements Annotator {
             }
             if (nextType == KiteTokenTypes.STRING_TEXT ||
                 nextType == KiteTokenTypes.STRING_ESCAPE ||
-                nextType == KiteTokenTypes.INTERP_START ||
+                nextType == KiteElementTypes.INTERPOLATION ||
                 nextType == KiteTokenTypes.INTERP_SIMPLE) {
                 // Found content - not empty
                 return false;
@@ -3,7 +3,6 @@ package cloud.kitelang.intellij.highlighting;
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -21,10 +20,10 @@ import org.jetbrains.annotations.NotNull;
  * var w = "Price: $100"       // OK - simple $ not interpolation
  * </pre>
  */
-public class KiteInvalidInterpolationAnnotator implements Annotator {
+public class KiteInvalidInterpolationAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         if (element.getContainingFile() == null ||
@@ -5,7 +5,6 @@ import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteIdentifierContextHelper;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -32,7 +31,7 @@ import static cloud.kitelang.intellij.util.KitePsiUtil.skipWhitespaceBackward;
  * }
  * </pre>
  */
-public class KiteReservedNamesAnnotator implements Annotator {
+public class KiteReservedNamesAnnotator extends KiteAnnotatorBase {
 
     // Reserved type names (lexed as IDENTIFIER in Kite)
     private static final Set<String> TYPE_NAMES = Set.of(
@@ -56,7 +55,7 @@ public class KiteReservedNamesAnnotator implements Annotator {
     }
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         IElementType type = element.getNode().getElementType();
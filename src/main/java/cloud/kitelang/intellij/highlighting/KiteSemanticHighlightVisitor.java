@@ -1,30 +1,39 @@
 package cloud.kitelang.intellij.highlighting;
 
+import cloud.kitelang.intellij.diagnostics.KiteAnalysisTimings;
+import cloud.kitelang.intellij.psi.KiteFile;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteIdentifierContextHelper;
-import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
-import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.codeInsight.daemon.impl.HighlightInfoType;
+import com.intellij.codeInsight.daemon.impl.HighlightVisitor;
+import com.intellij.codeInsight.daemon.impl.analysis.HighlightInfoHolder;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.editor.markup.TextAttributes;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.ui.JBColor;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
 
 /**
- * Semantic annotator for Kite language that provides context-aware syntax highlighting.
- * This annotator identifies types in various contexts and highlights them appropriately.
- * Also handles string interpolation highlighting and property name/value distinction.
+ * Semantic highlighting for Kite language that provides context-aware syntax highlighting.
+ * Identifies types in various contexts and highlights them appropriately.
+ * Also handles string interpolation, decorator names and property name/value distinction.
+ * <p>
+ * Runs as a {@link HighlightVisitor} in the general highlighting pass rather than as an annotator,
+ * so the colors are added directly as {@link HighlightInfo}s and show up without waiting for
+ * the annotators (type checking, duplicate detection, ...) to finish. The coloring is purely
+ * syntactic, so it also runs while indexes are being built.
  */
-public class KiteAnnotator implements Annotator {
+public class KiteSemanticHighlightVisitor implements HighlightVisitor, DumbAware {
 
     // Type color - nice blue
     public static final TextAttributesKey TYPE_NAME =
@@ -32,27 +41,52 @@ public class KiteAnnotator implements Annotator {
                     new TextAttributes(JBColor.namedColor("Kite.typeName", new Color(0x498BF6)),
                             null, null, null, Font.PLAIN));
 
-    // Pattern to match string interpolations: ${expression} and $var
-    // Supports: ${var}, ${obj.prop}, ${func()}, ${arr[0]}, $var, etc.
-    private static final Pattern BRACE_INTERPOLATION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    private static final Pattern SIMPLE_INTERPOLATION_PATTERN = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
+    // State of the current pass; a fresh visitor is cloned for every pass
+    private HighlightInfoHolder myHolder;
+    private CharSequence myText;
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    public boolean suitableForFile(@NotNull PsiFile file) {
+        return file instanceof KiteFile;
+    }
+
+    @Override
+    public boolean analyze(@NotNull PsiFile file, boolean updateWholeFile,
+                           @NotNull HighlightInfoHolder holder, @NotNull Runnable action) {
+        myHolder = holder;
+        myText = file.getViewProvider().getContents();
+        try {
+            KiteAnalysisTimings timings = KiteAnalysisTimings.getInstance();
+            if (timings.isEnabled()) {
+                timings.measure(file, getClass().getSimpleName(), KiteAnalysisTimings.Kind.ANNOTATOR, action);
+            } else {
+                action.run();
+            }
+        } finally {
+            myHolder = null;
+            myText = null;
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull HighlightVisitor clone() {
+        return new KiteSemanticHighlightVisitor();
+    }
+
+    @Override
+    public void visit(@NotNull PsiElement element) {
         IElementType elementType = element.getNode().getElementType();
 
-        // Handle string interpolations
-        if (elementType == KiteTokenTypes.STRING) {
-            annotateStringInterpolations(element, holder);
+        // Handle string interpolations (${...}); the delimiters and $var tokens are colored by the lexer
+        if (element instanceof KiteInterpolation interpolation) {
+            highlightInterpolation(interpolation);
             return;
         }
 
         // Handle 'any' keyword - color it as TYPE_NAME (blue) like other type keywords
         if (elementType == KiteTokenTypes.ANY) {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(element)
-                    .textAttributes(TYPE_NAME)
-                    .create();
+            highlight(element.getTextRange(), TYPE_NAME);
             return;
         }
 
@@ -66,17 +100,13 @@ public class KiteAnnotator implements Annotator {
             return;
         }
 
-        // Get the line of text containing this element
-        String line = getLineText(element);
+        // Get the text around this element on its line
         String beforeElement = getTextBeforeInLine(element);
         String afterElement = getTextAfterInLine(element);
 
         // Check if this identifier is a decorator name (comes after @)
         if (beforeElement.matches(".*@\\s*$")) {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(element)
-                    .textAttributes(KiteSyntaxHighlighter.DECORATOR)
-                    .create();
+            highlight(element.getTextRange(), KiteSyntaxHighlighter.DECORATOR);
             return;
         }
 
@@ -160,38 +190,26 @@ public class KiteAnnotator implements Annotator {
         }
 
         if (isType) {
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(element)
-                    .textAttributes(TYPE_NAME)
-                    .create();
+            highlight(element.getTextRange(), TYPE_NAME);
         }
 
         // All other identifiers (property names, values, declaration names) use default text color
         // No special highlighting needed - they inherit from IDENTIFIER
     }
 
-    private String getLineText(PsiElement element) {
-        int offset = element.getTextRange().getStartOffset();
-        String fileText = element.getContainingFile().getText();
-
-        // Find start of line
-        int lineStart = offset;
-        while (lineStart > 0 && fileText.charAt(lineStart - 1) != '\n') {
-            lineStart--;
+    private void highlight(@NotNull TextRange range, @NotNull TextAttributesKey key) {
+        HighlightInfo info = HighlightInfo.newHighlightInfo(HighlightInfoType.INFORMATION)
+                .range(range)
+                .textAttributes(key)
+                .create();
+        if (info != null) {
+            myHolder.add(info);
         }
-
-        // Find end of line
-        int lineEnd = offset;
-        while (lineEnd < fileText.length() && fileText.charAt(lineEnd) != '\n') {
-            lineEnd++;
-        }
-
-        return fileText.substring(lineStart, lineEnd);
     }
 
     private String getTextBeforeInLine(PsiElement element) {
         int offset = element.getTextRange().getStartOffset();
-        String fileText = element.getContainingFile().getText();
+        CharSequence fileText = myText;
 
         // Find start of line
         int lineStart = offset;
@@ -199,12 +217,12 @@ public class KiteAnnotator implements Annotator {
             lineStart--;
         }
 
-        return fileText.substring(lineStart, offset);
+        return fileText.subSequence(lineStart, offset).toString();
     }
 
     private String getTextAfterInLine(PsiElement element) {
         int offset = element.getTextRange().getEndOffset();
-        String fileText = element.getContainingFile().getText();
+        CharSequence fileText = myText;
 
         // Find end of line
         int lineEnd = offset;
@@ -212,78 +230,28 @@ public class KiteAnnotator implements Annotator {
             lineEnd++;
         }
 
-        return fileText.substring(offset, lineEnd);
+        return fileText.subSequence(offset, lineEnd).toString();
     }
 
     /**
-     * Annotates string interpolations within a STRING token.
-     * Highlights ${...} and $var patterns with special colors.
+     * Highlights the expression inside a ${...} interpolation node.
+     * Works on the node's children, so no string text has to be re-scanned.
      */
-    private void annotateStringInterpolations(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
-        String text = element.getText();
-        int startOffset = element.getTextRange().getStartOffset();
-
-        // Track which positions are already highlighted (to avoid double-highlighting)
-        java.util.Set<Integer> highlightedPositions = new java.util.HashSet<>();
-
-        // First, handle ${expression} patterns
-        Matcher braceMatcher = BRACE_INTERPOLATION_PATTERN.matcher(text);
-        while (braceMatcher.find()) {
-            int matchStart = braceMatcher.start();
-            int matchEnd = braceMatcher.end();
-
-            // Mark these positions as highlighted
-            for (int i = matchStart; i < matchEnd; i++) {
-                highlightedPositions.add(i);
-            }
-
-            // Highlight ${ - opening delimiter
-            TextRange openDelimRange = new TextRange(startOffset + matchStart, startOffset + matchStart + 2);
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(openDelimRange)
-                    .textAttributes(KiteSyntaxHighlighter.INTERPOLATION_DELIM)
-                    .create();
-
-            // Highlight the content (variable/expression) inside
-            TextRange contentRange = new TextRange(startOffset + matchStart + 2, startOffset + matchEnd - 1);
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(contentRange)
-                    .textAttributes(KiteSyntaxHighlighter.INTERPOLATION_VAR)
-                    .create();
-
-            // Highlight } - closing delimiter
-            TextRange closeDelimRange = new TextRange(startOffset + matchEnd - 1, startOffset + matchEnd);
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(closeDelimRange)
-                    .textAttributes(KiteSyntaxHighlighter.INTERPOLATION_DELIM)
-                    .create();
+    private void highlightInterpolation(@NotNull KiteInterpolation interpolation) {
+        PsiElement first = interpolation.getFirstChild();
+        PsiElement last = interpolation.getLastChild();
+        if (first == null || first == last) {
+            return;
         }
 
-        // Then, handle $var patterns (but skip if already part of ${...})
-        Matcher simpleMatcher = SIMPLE_INTERPOLATION_PATTERN.matcher(text);
-        while (simpleMatcher.find()) {
-            int matchStart = simpleMatcher.start();
-
-            // Skip if this position was already highlighted by ${...} pattern
-            if (highlightedPositions.contains(matchStart)) {
-                continue;
-            }
-
-            int matchEnd = simpleMatcher.end();
-
-            // Highlight $ - delimiter
-            TextRange delimRange = new TextRange(startOffset + matchStart, startOffset + matchStart + 1);
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(delimRange)
-                    .textAttributes(KiteSyntaxHighlighter.INTERPOLATION_DELIM)
-                    .create();
-
-            // Highlight the variable name
-            TextRange varRange = new TextRange(startOffset + matchStart + 1, startOffset + matchEnd);
-            holder.newSilentAnnotation(HighlightSeverity.INFORMATION)
-                    .range(varRange)
-                    .textAttributes(KiteSyntaxHighlighter.INTERPOLATION_VAR)
-                    .create();
+        int contentStart = first.getTextRange().getEndOffset();
+        int contentEnd = interpolation.isClosed()
+                ? last.getTextRange().getStartOffset()
+                : last.getTextRange().getEndOffset();
+        if (contentEnd <= contentStart) {
+            return;
         }
+
+        highlight(new TextRange(contentStart, contentEnd), KiteSyntaxHighlighter.INTERPOLATION_VAR);
     }
 }
@@ -10,8 +10,11 @@ import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.ui.JBColor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
 
 import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
 
@@ -82,63 +85,47 @@ public class KiteSyntaxHighlighter extends SyntaxHighlighterBase {
     private static final TextAttributesKey[] INTERP_DELIM_KEYS = new TextAttributesKey[]{INTERPOLATION_DELIM};
     private static final TextAttributesKey[] INTERP_VAR_KEYS = new TextAttributesKey[]{INTERPOLATION_VAR};
 
-    @NotNull
-    @Override
-    public Lexer getHighlightingLexer() {
-        return new KiteLexerAdapter();
-    }
+    /**
+     * Attribute keys of each token type, indexed by {@link IElementType#getIndex()} minus
+     * {@link #TOKEN_INDEX_BASE}. Built once, so a lookup is a single array access instead of a
+     * chain of comparisons; the highlighter is asked for every token on every repaint and relex.
+     */
+    private static final TextAttributesKey[][] KEYS_BY_TOKEN;
+    private static final int TOKEN_INDEX_BASE;
+
+    static {
+        Map<IElementType, TextAttributesKey[]> keys = new HashMap<>();
 
-    @NotNull
-    @Override
-    public TextAttributesKey[] getTokenHighlights(IElementType tokenType) {
         // Keywords
-        if (tokenType == KiteTokenTypes.RESOURCE || tokenType == KiteTokenTypes.COMPONENT ||
-            tokenType == KiteTokenTypes.SCHEMA || tokenType == KiteTokenTypes.INPUT ||
-            tokenType == KiteTokenTypes.OUTPUT || tokenType == KiteTokenTypes.IF ||
-            tokenType == KiteTokenTypes.ELSE || tokenType == KiteTokenTypes.WHILE ||
-            tokenType == KiteTokenTypes.FOR || tokenType == KiteTokenTypes.IN ||
-            tokenType == KiteTokenTypes.RETURN || tokenType == KiteTokenTypes.IMPORT ||
-            tokenType == KiteTokenTypes.FROM || tokenType == KiteTokenTypes.FUN ||
-            tokenType == KiteTokenTypes.VAR || tokenType == KiteTokenTypes.TYPE ||
-            tokenType == KiteTokenTypes.INIT || tokenType == KiteTokenTypes.THIS ||
-            tokenType == KiteTokenTypes.OBJECT ||
-            tokenType == KiteTokenTypes.NULL) {
-            return KEYWORD_KEYS;
-        }
+        register(keys, KEYWORD_KEYS,
+                KiteTokenTypes.RESOURCE, KiteTokenTypes.COMPONENT, KiteTokenTypes.SCHEMA,
+                KiteTokenTypes.INPUT, KiteTokenTypes.OUTPUT, KiteTokenTypes.IF,
+                KiteTokenTypes.ELSE, KiteTokenTypes.WHILE, KiteTokenTypes.FOR,
+                KiteTokenTypes.IN, KiteTokenTypes.RETURN, KiteTokenTypes.IMPORT,
+                KiteTokenTypes.FROM, KiteTokenTypes.FUN, KiteTokenTypes.VAR,
+                KiteTokenTypes.TYPE, KiteTokenTypes.INIT, KiteTokenTypes.THIS,
+                KiteTokenTypes.OBJECT, KiteTokenTypes.NULL);
 
         // 'any' is a type keyword but should have same highlighting as other type names
-        // (not purple keyword color, will be colored by KiteAnnotator as TYPE_NAME)
-        if (tokenType == KiteTokenTypes.ANY) {
-            return IDENTIFIER_KEYS;
-        }
+        // (not purple keyword color, will be colored by KiteSemanticHighlightVisitor as TYPE_NAME)
+        register(keys, IDENTIFIER_KEYS, KiteTokenTypes.ANY);
 
         // Boolean literals - same color as numbers
-        if (tokenType == KiteTokenTypes.TRUE || tokenType == KiteTokenTypes.FALSE) {
-            return NUMBER_KEYS;
-        }
+        register(keys, NUMBER_KEYS, KiteTokenTypes.TRUE, KiteTokenTypes.FALSE);
 
         // Strings (single-quoted and double-quoted content)
         // With split grammar, string tokens are: DQUOTE, STRING_DQUOTE, STRING_TEXT, STRING_ESCAPE, STRING_DOLLAR
-        if (tokenType == KiteTokenTypes.STRING ||
-            tokenType == KiteTokenTypes.SINGLE_STRING ||
-            tokenType == KiteTokenTypes.DQUOTE ||
-            tokenType == KiteTokenTypes.STRING_DQUOTE ||
-            tokenType == KiteTokenTypes.STRING_TEXT ||
-            tokenType == KiteTokenTypes.STRING_ESCAPE ||
-            tokenType == KiteTokenTypes.STRING_DOLLAR) {
-            return STRING_KEYS;
-        }
+        register(keys, STRING_KEYS,
+                KiteTokenTypes.STRING, KiteTokenTypes.SINGLE_STRING, KiteTokenTypes.DQUOTE,
+                KiteTokenTypes.STRING_DQUOTE, KiteTokenTypes.STRING_TEXT,
+                KiteTokenTypes.STRING_ESCAPE, KiteTokenTypes.STRING_DOLLAR);
 
         // Interpolation delimiters (${ and } - styled distinctly in orange)
-        if (tokenType == KiteTokenTypes.INTERP_START || tokenType == KiteTokenTypes.INTERP_END) {
-            return INTERP_DELIM_KEYS;
-        }
+        register(keys, INTERP_DELIM_KEYS, KiteTokenTypes.INTERP_START, KiteTokenTypes.INTERP_END);
 
         // Simple interpolation ($identifier) - entire token includes $ and variable name
         // We highlight it as an identifier since it represents a variable reference
-        if (tokenType == KiteTokenTypes.INTERP_SIMPLE) {
-            return IDENTIFIER_KEYS;
-        }
+        register(keys, IDENTIFIER_KEYS, KiteTokenTypes.INTERP_SIMPLE);
 
         // Note: With split grammar and lexer modes, inside ${...} we get regular
         // DEFAULT_MODE tokens (IDENTIFIER, DOT, LBRACK, RBRACE, etc.)
@@ -147,34 +134,70 @@ public class KiteSyntaxHighlighter extends SyntaxHighlighterBase {
         // IDENTIFIER_KEYS highlighting like any other identifier - this is correct!
 
         // Numbers
-        if (tokenType == KiteTokenTypes.NUMBER) {
-            return NUMBER_KEYS;
-        }
+        register(keys, NUMBER_KEYS, KiteTokenTypes.NUMBER);
 
         // Comments
-        if (tokenType == KiteTokenTypes.LINE_COMMENT) {
-            return LINE_COMMENT_KEYS;
-        }
-        if (tokenType == KiteTokenTypes.BLOCK_COMMENT) {
-            return BLOCK_COMMENT_KEYS;
-        }
+        register(keys, LINE_COMMENT_KEYS, KiteTokenTypes.LINE_COMMENT);
+        register(keys, BLOCK_COMMENT_KEYS, KiteTokenTypes.BLOCK_COMMENT);
 
         // Decorator (@)
-        if (tokenType == KiteTokenTypes.AT) {
-            return DECORATOR_KEYS;
-        }
+        register(keys, DECORATOR_KEYS, KiteTokenTypes.AT);
 
         // Operators
-        if (tokenType == KiteTokenTypes.DOT || tokenType == KiteTokenTypes.ARROW ||
-            tokenType == KiteTokenTypes.RANGE) {
-            return OPERATOR_KEYS;
-        }
+        register(keys, OPERATOR_KEYS, KiteTokenTypes.DOT, KiteTokenTypes.ARROW, KiteTokenTypes.RANGE);
 
         // Identifier
-        if (tokenType == KiteTokenTypes.IDENTIFIER) {
-            return IDENTIFIER_KEYS;
+        register(keys, IDENTIFIER_KEYS, KiteTokenTypes.IDENTIFIER);
+
+        int minIndex = Integer.MAX_VALUE;
+        int maxIndex = -1;
+        for (IElementType tokenType : keys.keySet()) {
+            minIndex = Math.min(minIndex, tokenType.getIndex());
+            maxIndex = Math.max(maxIndex, tokenType.getIndex());
+        }
+        TextAttributesKey[][] table = new TextAttributesKey[maxIndex - minIndex + 1][];
+        for (Map.Entry<IElementType, TextAttributesKey[]> entry : keys.entrySet()) {
+            table[entry.getKey().getIndex() - minIndex] = entry.getValue();
+        }
+        TOKEN_INDEX_BASE = minIndex;
+        KEYS_BY_TOKEN = table;
+    }
+
+    private static void register(Map<IElementType, TextAttributesKey[]> keys, TextAttributesKey[] tokenKeys,
+                                 IElementType... tokenTypes) {
+        for (IElementType tokenType : tokenTypes) {
+            keys.put(tokenType, tokenKeys);
         }
+    }
+
+    @NotNull
+    @Override
+    public Lexer getHighlightingLexer() {
+        return new KiteLexerAdapter();
+    }
+
+    @NotNull
+    @Override
+    public TextAttributesKey[] getTokenHighlights(IElementType tokenType) {
+        return getAttributesKeys(tokenType);
+    }
 
-        return EMPTY_KEYS;
+    /**
+     * Get the attribute keys of a token type, the same ones the editor uses.
+     * Also used to colorize code in documentation popups.
+     *
+     * @return The keys, or an empty array if the token type is not highlighted
+     */
+    @NotNull
+    public static TextAttributesKey[] getAttributesKeys(@Nullable IElementType tokenType) {
+        if (tokenType == null) {
+            return EMPTY_KEYS;
+        }
+        int slot = tokenType.getIndex() - TOKEN_INDEX_BASE;
+        if (slot < 0 || slot >= KEYS_BY_TOKEN.length) {
+            return EMPTY_KEYS;
+        }
+        TextAttributesKey[] keys = KEYS_BY_TOKEN[slot];
+        return keys != null ? keys : EMPTY_KEYS;
     }
 }
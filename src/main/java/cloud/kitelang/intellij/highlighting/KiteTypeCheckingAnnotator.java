@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.highlighting;
 
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.quickfix.AddImportQuickFix;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
@@ -11,7 +12,6 @@ import cloud.kitelang.intellij.util.KitePsiUtil;
 import cloud.kitelang.intellij.util.KiteSchemaHelper;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -34,7 +34,7 @@ import static cloud.kitelang.intellij.util.KiteTypeInferenceHelper.*;
  * - Undefined reference detection: Warns when identifiers don't resolve to any declaration
  * - Type mismatch detection: Warns when assigned values don't match declared types
  */
-public class KiteTypeCheckingAnnotator implements Annotator {
+public class KiteTypeCheckingAnnotator extends KiteAnnotatorBase {
 
     // Set of keywords that should not be treated as identifiers
     private static final Set<String> KEYWORDS = Set.of(
@@ -67,7 +67,7 @@ public class KiteTypeCheckingAnnotator implements Annotator {
     // ========== Declaration Collection ==========
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         // Only process at file level to avoid redundant checks
         if (!(element instanceof PsiFile file)) {
             return;
@@ -170,36 +170,15 @@ public class KiteTypeCheckingAnnotator implements Annotator {
     }
 
     private void collectNamedImportSymbols(PsiElement importStatement, Set<String> names, Set<String> visitedPaths) {
-        boolean foundImport = false;
-        boolean foundWildcard = false;
-
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.IMPORT) {
-                foundImport = true;
-                continue;
-            }
-
-            if (foundImport && childType == KiteTokenTypes.MULTIPLY) {
-                foundWildcard = true;
-                continue;
-            }
-
-            if (foundImport && !foundWildcard && childType == KiteTokenTypes.IDENTIFIER) {
-                names.add(child.getText());
-            }
-
-            if (childType == KiteTokenTypes.FROM) {
-                break;
-            }
+        if (!(importStatement instanceof KiteImportStatement statement)) {
+            return;
         }
 
+        names.addAll(statement.getSymbolNames());
+
         // For wildcard imports, resolve the file and collect all its declared names
-        if (foundWildcard) {
-            String importPath = KiteImportHelper.extractImportPath(importStatement);
-            searchWildcard(importStatement, names, visitedPaths, importPath);
+        if (statement.isWildcard()) {
+            searchWildcard(statement, names, visitedPaths, statement.getPath());
         }
     }
 
@@ -4,7 +4,6 @@ import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -22,7 +21,7 @@ import org.jetbrains.annotations.Nullable;
  * if null == 0 { }     // Warning: Comparing null with number
  * </pre>
  */
-public class KiteTypeCoercionAnnotator implements Annotator {
+public class KiteTypeCoercionAnnotator extends KiteAnnotatorBase {
 
     private static final String TYPE_NUMBER = "number";
     private static final String TYPE_STRING = "string";
@@ -30,7 +29,7 @@ public class KiteTypeCoercionAnnotator implements Annotator {
     private static final String TYPE_NULL = "null";
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         if (element.getNode() == null) return;
 
         IElementType type = element.getNode().getElementType();
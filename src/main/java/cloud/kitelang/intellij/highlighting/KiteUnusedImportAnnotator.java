@@ -2,6 +2,8 @@ package cloud.kitelang.intellij.highlighting;
 
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.quickfix.RemoveUnusedImportQuickFix;
 import cloud.kitelang.intellij.quickfix.WildcardToNamedImportQuickFix;
@@ -11,20 +13,16 @@ import cloud.kitelang.intellij.util.KiteIdentifierContextHelper;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Annotator that detects unused imports and shows warnings.
@@ -32,18 +30,10 @@ import java.util.regex.Pattern;
  * Handles both named imports (import X, Y from "file") and wildcard imports (import * from "file").
  * Unused imports are shown with weak warning highlighting (grayed out).
  */
-public class KiteUnusedImportAnnotator implements Annotator {
-
-    // Pattern to match import statements and capture symbols and path
-    // Group 1: symbols part (e.g., "formatName" or "a, b, c" or "*")
-    // Group 2: path (e.g., "common.kite")
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^(\\s*import\\s+)([\\w,\\s*]+)(\\s+from\\s+)([\"'])([^\"']+)([\"'])",
-            Pattern.MULTILINE
-    );
+public class KiteUnusedImportAnnotator extends KiteAnnotatorBase {
 
     @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+    protected void doAnnotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
         // Only process at file level
         if (!(element instanceof PsiFile file)) {
             return;
@@ -109,42 +99,18 @@ public class KiteUnusedImportAnnotator implements Annotator {
         }
     }
 
-    public static void collectStringInterpolationUsages(PsiElement element, Set<String> usedSymbols, IElementType type) {
-        // Collect string interpolation usages: $varName
-        if (type == KiteTokenTypes.INTERP_SIMPLE) {
-            String text = element.getText();
-            if (text.startsWith("$") && text.length() > 1) {
-                usedSymbols.add(text.substring(1));
-            }
-        }
-
-        // Collect string interpolation usages: ${varName}
-        if (type == KiteTokenTypes.INTERP_IDENTIFIER) {
-            usedSymbols.add(element.getText());
-        }
-
-        // Check STRING tokens for legacy interpolation patterns
-        if (type == KiteTokenTypes.STRING || type == KiteTokenTypes.STRING_TEXT) {
-            extractInterpolationsFromString(element.getText(), usedSymbols);
-        }
-    }
-
     /**
-     * Extract variable names from string interpolation patterns.
+     * Collects the symbol referenced by an interpolation element ($varName or ${varName...}).
+     * Identifiers inside ${...} are ordinary IDENTIFIER tokens of the INTERPOLATION node,
+     * so the regular identifier walk already sees them; this handles the single-token forms.
      */
-    private static void extractInterpolationsFromString(String text, Set<String> usedSymbols) {
-        // Match $varName pattern
-        Pattern simpleInterp = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
-        Matcher matcher = simpleInterp.matcher(text);
-        while (matcher.find()) {
-            usedSymbols.add(matcher.group(1));
+    public static void collectStringInterpolationUsages(PsiElement element, Set<String> usedSymbols, IElementType type) {
+        if (type != KiteTokenTypes.INTERP_SIMPLE && type != KiteTokenTypes.INTERP_IDENTIFIER) {
+            return;
         }
-
-        // Match ${varName} pattern
-        Pattern bracedInterp = Pattern.compile("\\$\\{([a-zA-Z_][a-zA-Z0-9_]*)\\}");
-        matcher = bracedInterp.matcher(text);
-        while (matcher.find()) {
-            usedSymbols.add(matcher.group(1));
+        String name = KiteInterpolation.getInterpolatedName(element);
+        if (name != null) {
+            usedSymbols.add(name);
         }
     }
 
@@ -152,22 +118,23 @@ public class KiteUnusedImportAnnotator implements Annotator {
      * Check all imports in the file for unused symbols.
      */
     private void checkUnusedImports(PsiFile file, Set<String> usedSymbols, AnnotationHolder holder) {
-        String text = file.getText();
-        Matcher matcher = IMPORT_PATTERN.matcher(text);
-
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(2).trim();
-            String importPath = matcher.group(5);
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            PsiElement pathElement = importStatement.getPathElement();
+            String importPath = importStatement.getPath();
+            if (pathElement == null || importPath == null || importPath.isEmpty()) {
+                continue;
+            }
 
-            int importStart = matcher.start();
-            int importEnd = matcher.end();
+            // The quick fixes operate on the statement text up to the closing quote
+            int importStart = importStatement.getTextRange().getStartOffset();
+            int importEnd = pathElement.getTextRange().getEndOffset();
 
-            if ("*".equals(symbolsPart)) {
+            if (importStatement.isWildcard()) {
                 // Wildcard import - check if ANY exported symbol from the file is used
-                checkWildcardImport(file, importPath, usedSymbols, importStart, importEnd, holder);
+                checkWildcardImport(file, importStatement, importPath, usedSymbols, importStart, importEnd, holder);
             } else {
                 // Named import - check each symbol individually
-                checkNamedImport(file, symbolsPart, importPath, usedSymbols, importStart, importEnd, matcher, holder);
+                checkNamedImport(importStatement, usedSymbols, importStart, importEnd, holder);
             }
         }
     }
@@ -176,8 +143,8 @@ public class KiteUnusedImportAnnotator implements Annotator {
      * Check if a wildcard import is used.
      * Gets all exported symbols from the imported file and checks if any are used.
      */
-    private void checkWildcardImport(PsiFile containingFile, String importPath, Set<String> usedSymbols,
-                                     int importStart, int importEnd, AnnotationHolder holder) {
+    private void checkWildcardImport(PsiFile containingFile, KiteImportStatement importStatement, String importPath,
+                                     Set<String> usedSymbols, int importStart, int importEnd, AnnotationHolder holder) {
         PsiFile importedFile = KiteImportHelper.resolveFilePath(importPath, containingFile);
         if (importedFile == null) {
             return; // Can't resolve file - broken import is handled elsewhere
@@ -196,29 +163,18 @@ public class KiteUnusedImportAnnotator implements Annotator {
         }
 
         if (!anyUsed && !exportedSymbols.isEmpty()) {
-            // Find the PsiElement for the import statement
-            PsiElement importElement = containingFile.findElementAt(importStart);
-            if (importElement != null) {
-                // Find the actual import statement element
-                PsiElement importStatement = findImportStatementAt(containingFile, importStart);
-                if (importStatement != null) {
-                    holder.newAnnotation(HighlightSeverity.WEAK_WARNING, "Unused import")
-                            .range(importStatement.getTextRange())
-                            .highlightType(ProblemHighlightType.LIKE_UNUSED_SYMBOL)
-                            .withFix(new RemoveUnusedImportQuickFix(importStart, importEnd))
-                            .create();
-                }
-            }
+            holder.newAnnotation(HighlightSeverity.WEAK_WARNING, "Unused import")
+                    .range(importStatement.getTextRange())
+                    .highlightType(ProblemHighlightType.LIKE_UNUSED_SYMBOL)
+                    .withFix(new RemoveUnusedImportQuickFix(importStart, importEnd))
+                    .create();
         } else if (anyUsed) {
             // Wildcard import is used - offer "Convert to named import" quick fix
-            PsiElement importStatement = findImportStatementAt(containingFile, importStart);
-            if (importStatement != null) {
-                holder.newAnnotation(HighlightSeverity.INFORMATION, "Wildcard import can be converted to named import")
-                        .range(importStatement.getTextRange())
-                        .highlightType(ProblemHighlightType.INFORMATION)
-                        .withFix(new WildcardToNamedImportQuickFix(importStart, importEnd, importPath))
-                        .create();
-            }
+            holder.newAnnotation(HighlightSeverity.INFORMATION, "Wildcard import can be converted to named import")
+                    .range(importStatement.getTextRange())
+                    .highlightType(ProblemHighlightType.INFORMATION)
+                    .withFix(new WildcardToNamedImportQuickFix(importStart, importEnd, importPath))
+                    .create();
         }
     }
 
@@ -226,15 +182,14 @@ public class KiteUnusedImportAnnotator implements Annotator {
      * Check if named imports are used.
      * Marks individual unused symbols or the whole import if all are unused.
      */
-    private void checkNamedImport(PsiFile file, String symbolsPart, String importPath, Set<String> usedSymbols,
-                                  int importStart, int importEnd, Matcher importMatcher, AnnotationHolder holder) {
-        String[] symbols = symbolsPart.split("\\s*,\\s*");
-        List<String> unusedSymbols = new ArrayList<>();
-
-        for (String symbol : symbols) {
-            String trimmed = symbol.trim();
-            if (!trimmed.isEmpty() && !usedSymbols.contains(trimmed)) {
-                unusedSymbols.add(trimmed);
+    private void checkNamedImport(KiteImportStatement importStatement, Set<String> usedSymbols,
+                                  int importStart, int importEnd, AnnotationHolder holder) {
+        List<PsiElement> symbols = importStatement.getSymbolElements();
+        List<PsiElement> unusedSymbols = new ArrayList<>();
+
+        for (PsiElement symbol : symbols) {
+            if (!usedSymbols.contains(symbol.getText())) {
+                unusedSymbols.add(symbol);
             }
         }
 
@@ -242,57 +197,20 @@ public class KiteUnusedImportAnnotator implements Annotator {
             return; // All symbols are used
         }
 
-        if (unusedSymbols.size() == symbols.length) {
+        if (unusedSymbols.size() == symbols.size()) {
             // All symbols are unused - mark the whole import
-            PsiElement importStatement = findImportStatementAt(file, importStart);
-            if (importStatement != null) {
-                holder.newAnnotation(HighlightSeverity.WEAK_WARNING, "Unused import")
-                        .range(importStatement.getTextRange())
-                        .highlightType(ProblemHighlightType.LIKE_UNUSED_SYMBOL)
-                        .withFix(new RemoveUnusedImportQuickFix(importStart, importEnd))
-                        .create();
-            }
+            holder.newAnnotation(HighlightSeverity.WEAK_WARNING, "Unused import")
+                    .range(importStatement.getTextRange())
+                    .highlightType(ProblemHighlightType.LIKE_UNUSED_SYMBOL)
+                    .withFix(new RemoveUnusedImportQuickFix(importStart, importEnd))
+                    .create();
         } else {
             // Only some symbols are unused - mark individual symbols
-            // Find and mark each unused symbol in the import statement
-            for (String unusedSymbol : unusedSymbols) {
-                markUnusedSymbolInImport(file, importStart, importEnd, unusedSymbol, holder);
-            }
-        }
-    }
-
-    /**
-     * Find and mark a specific unused symbol within an import statement.
-     */
-    private void markUnusedSymbolInImport(PsiFile file, int importStart, int importEnd,
-                                          String symbolName, AnnotationHolder holder) {
-        // Search for the symbol name within the import statement range
-        String importText = file.getText().substring(importStart, importEnd);
-
-        // Find the symbol - it should be before "from"
-        int fromIndex = importText.indexOf(" from ");
-        if (fromIndex == -1) fromIndex = importText.length();
-
-        String beforeFrom = importText.substring(0, fromIndex);
-
-        // Find the symbol position (accounting for "import " prefix and commas)
-        int symbolIndex = -1;
-        Pattern symbolPattern = Pattern.compile("\\b" + Pattern.quote(symbolName) + "\\b");
-        Matcher matcher = symbolPattern.matcher(beforeFrom);
-        if (matcher.find()) {
-            symbolIndex = matcher.start();
-        }
-
-        if (symbolIndex >= 0) {
-            int absoluteStart = importStart + symbolIndex;
-            int absoluteEnd = absoluteStart + symbolName.length();
-
-            PsiElement symbolElement = file.findElementAt(absoluteStart);
-            if (symbolElement != null && symbolElement.getNode() != null &&
-                symbolElement.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
+            for (PsiElement unusedSymbol : unusedSymbols) {
+                String symbolName = unusedSymbol.getText();
                 holder.newAnnotation(HighlightSeverity.WEAK_WARNING,
                                 "Unused import symbol '" + symbolName + "'")
-                        .range(symbolElement.getTextRange())
+                        .range(unusedSymbol.getTextRange())
                         .highlightType(ProblemHighlightType.LIKE_UNUSED_SYMBOL)
                         .withFix(new RemoveUnusedImportQuickFix(symbolName, importStart, importEnd))
                         .create();
@@ -300,49 +218,6 @@ public class KiteUnusedImportAnnotator implements Annotator {
         }
     }
 
-    /**
-     * Find the import statement PSI element at a given offset.
-     */
-    @Nullable
-    private PsiElement findImportStatementAt(PsiFile file, int offset) {
-        PsiElement element = file.findElementAt(offset);
-        if (element == null) return null;
-
-        // Walk up to find IMPORT_STATEMENT
-        PsiElement current = element;
-        while (current != null && !(current instanceof PsiFile)) {
-            if (current.getNode() != null &&
-                current.getNode().getElementType() == KiteElementTypes.IMPORT_STATEMENT) {
-                return current;
-            }
-            current = current.getParent();
-        }
-
-        // Alternative: For flat PSI structure, find the line containing the import
-        // Return the IMPORT token and extend to end of line
-        element = file.findElementAt(offset);
-        while (element != null) {
-            if (element.getNode() != null &&
-                element.getNode().getElementType() == KiteTokenTypes.IMPORT) {
-                // Find the extent of this import statement (to newline)
-                return findImportLineExtent(element);
-            }
-            element = element.getParent();
-        }
-
-        // Last resort: return element at offset
-        return file.findElementAt(offset);
-    }
-
-    /**
-     * Find the full extent of an import line starting from the IMPORT keyword.
-     */
-    private PsiElement findImportLineExtent(PsiElement importKeyword) {
-        // For now, just return the import keyword - the annotation will cover it
-        // In a proper implementation, we'd create a synthetic range
-        return importKeyword;
-    }
-
     /**
      * Collect all exported (declared) symbols from a file.
      */
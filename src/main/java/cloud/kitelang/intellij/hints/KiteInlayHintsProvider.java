@@ -1335,6 +1335,7 @@ public class KiteInlayHintsProvider implements InlayHintsProvider<KiteInlayHints
 
                 // Skip string content tokens - they're part of the string argument, not new arguments
                 if (type == KiteTokenTypes.STRING_TEXT ||
+                    type == KiteElementTypes.INTERPOLATION ||
                     type == KiteTokenTypes.INTERP_START ||
                     type == KiteTokenTypes.INTERP_END ||
                     type == KiteTokenTypes.INTERP_IDENTIFIER ||
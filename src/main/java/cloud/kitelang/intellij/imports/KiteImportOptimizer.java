@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.imports;
 
 import cloud.kitelang.intellij.KiteFileType;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
@@ -16,8 +17,6 @@ import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static cloud.kitelang.intellij.highlighting.KiteUnusedImportAnnotator.collectStringInterpolationUsages;
 
@@ -27,11 +26,6 @@ import static cloud.kitelang.intellij.highlighting.KiteUnusedImportAnnotator.col
  */
 public class KiteImportOptimizer implements ImportOptimizer {
 
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^(\\s*import\\s+)([\\w,\\s*]+)(\\s+from\\s+)([\"'])([^\"']+)([\"'])\\s*(?:\\r?\\n)?",
-            Pattern.MULTILINE
-    );
-
     @Override
     public boolean supports(@NotNull PsiFile file) {
         return file.getFileType() == KiteFileType.INSTANCE;
@@ -136,37 +130,32 @@ public class KiteImportOptimizer implements ImportOptimizer {
      */
     private List<ImportInfo> analyzeImports(PsiFile file, Set<String> usedSymbols) {
         List<ImportInfo> imports = new ArrayList<>();
-        String text = file.getText();
-        Matcher matcher = IMPORT_PATTERN.matcher(text);
 
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(2).trim();
-            String importPath = matcher.group(5);
-            int startOffset = matcher.start();
-            int endOffset = matcher.end();
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            String importPath = importStatement.getPath();
+            if (importPath == null || importPath.isEmpty()) {
+                continue;
+            }
+            if (!importStatement.isWildcard() && importStatement.getSymbolList() == null) {
+                continue; // Incomplete import without symbols
+            }
 
             ImportInfo info = new ImportInfo();
-            info.startOffset = startOffset;
-            info.endOffset = endOffset;
+            // The statement range includes its trailing newline
+            info.startOffset = importStatement.getTextRange().getStartOffset();
+            info.endOffset = importStatement.getTextRange().getEndOffset();
             info.importPath = importPath;
 
-            if ("*".equals(symbolsPart)) {
+            if (importStatement.isWildcard()) {
                 // Wildcard import - check if ANY exported symbol is used
                 info.isWildcard = true;
                 info.shouldRemoveEntirely = !isWildcardImportUsed(file, importPath, usedSymbols);
             } else {
                 // Named import
-                String[] symbols = symbolsPart.split("\\s*,\\s*");
-                info.allSymbols = new ArrayList<>();
-                info.symbolsToKeep = new ArrayList<>();
-
-                for (String symbol : symbols) {
-                    String trimmed = symbol.trim();
-                    if (!trimmed.isEmpty()) {
-                        info.allSymbols.add(trimmed);
-                        if (usedSymbols.contains(trimmed)) {
-                            info.symbolsToKeep.add(trimmed);
-                        }
+                for (String symbol : importStatement.getSymbolNames()) {
+                    info.allSymbols.add(symbol);
+                    if (usedSymbols.contains(symbol)) {
+                        info.symbolsToKeep.add(symbol);
                     }
                 }
 
@@ -1,35 +1,29 @@
 package cloud.kitelang.intellij.inspection;
 
 import cloud.kitelang.intellij.psi.KiteFile;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * Inspection that detects circular import dependencies.
  * Detects both direct self-imports and transitive cycles (A→B→C→A).
  * <p>
- * Uses java.nio.file for file access to avoid triggering IntelliJ's
- * VFS recursive resolution which can cause stack overflow on circular imports.
+ * The import graph is walked through {@link KiteImportHelper#getImportedFiles(PsiFile)}, so it
+ * reads the cached, PSI-based import model of every file instead of re-parsing file text.
+ * Files already on the current path are not revisited, which keeps the walk finite on cycles.
  */
 public class KiteCircularImportInspection extends KiteInspectionBase {
 
-    // Pattern to extract import paths from file text
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^\\s*import\\s+(?:\\*|[\\w,\\s]+)\\s+from\\s+[\"']([^\"']+)[\"']",
-            Pattern.MULTILINE
-    );
-
     @Override
     public @NotNull String getShortName() {
         return "KiteCircularImport";
@@ -46,39 +40,20 @@ public class KiteCircularImportInspection extends KiteInspectionBase {
         var currentVFile = file.getVirtualFile();
         if (currentVFile == null) return;
 
-        var currentFilePath = currentVFile.getPath();
-
         // Track which imports we've already warned about
         var warnedImports = new HashSet<String>();
 
-        // Find all import statements and check each one
-        checkImportsRecursive(file, holder, currentFilePath, warnedImports);
-    }
-
-    private void checkImportsRecursive(PsiElement element,
-                                       ProblemsHolder holder,
-                                       String currentFilePath,
-                                       Set<String> warnedImports) {
-        if (element == null || element.getNode() == null) return;
-
-        var type = element.getNode().getElementType();
-
-        if (type == KiteTokenTypes.IMPORT) {
-            checkSingleImport(element, holder, currentFilePath, warnedImports);
-        }
-
-        var child = element.getFirstChild();
-        while (child != null) {
-            checkImportsRecursive(child, holder, currentFilePath, warnedImports);
-            child = child.getNextSibling();
+        // Check each import statement
+        for (var importStatement : KiteImportHelper.getImportStatements(file)) {
+            checkSingleImport(importStatement, file, holder, warnedImports);
         }
     }
 
-    private void checkSingleImport(PsiElement importKeyword,
+    private void checkSingleImport(KiteImportStatement importStatement,
+                                   KiteFile file,
                                    ProblemsHolder holder,
-                                   String currentFilePath,
                                    Set<String> warnedImports) {
-        var importInfo = findImportPathInfo(importKeyword);
+        var importInfo = findImportPathInfo(importStatement);
         if (importInfo == null) {
             return;
         }
@@ -89,112 +64,65 @@ public class KiteCircularImportInspection extends KiteInspectionBase {
         // Skip if already warned
         if (warnedImports.contains(importPath)) return;
 
-        // Resolve the imported file path using java.nio (avoids VFS)
-        var importedFilePath = resolveImportPath(importPath, currentFilePath);
-        if (importedFilePath == null) {
+        var importedFile = KiteImportHelper.resolveImport(importStatement, file);
+        if (importedFile == null || importedFile.getVirtualFile() == null) {
             return;
         }
 
+        var currentVFile = file.getVirtualFile();
+
         // Check for direct self-import
-        if (currentFilePath.equals(importedFilePath)) {
+        if (currentVFile.equals(importedFile.getVirtualFile())) {
             warnedImports.add(importPath);
             registerWarning(holder, elementToHighlight, "Circular import: file imports itself");
             return;
         }
 
-        // Check for transitive circular import using pure path-based DFS
-        var cyclePath = detectCycleByPath(importedFilePath, currentFilePath, new LinkedHashSet<>());
+        // Check for transitive circular import
+        var cyclePath = detectCycle(importedFile, currentVFile, new LinkedHashSet<>());
         if (cyclePath != null) {
             warnedImports.add(importPath);
-            var cycleDescription = buildCycleDescription(getFileNameFromPath(currentFilePath), cyclePath);
+            var cycleDescription = buildCycleDescription(currentVFile.getName(), cyclePath);
             registerWarning(holder, elementToHighlight, "Circular import detected: " + cycleDescription);
         }
     }
 
-    /**
-     * Resolve an import path to an absolute file path using java.nio.
-     * This avoids triggering IntelliJ's VFS which can cause recursion issues.
-     */
-    @Nullable
-    private String resolveImportPath(String importPath, String containingFilePath) {
-        if (importPath == null || containingFilePath == null) return null;
-
-        try {
-            var containingDir = Paths.get(containingFilePath).getParent();
-            if (containingDir == null) return null;
-
-            var resolved = containingDir.resolve(importPath).normalize();
-            if (Files.exists(resolved)) {
-                return resolved.toString();
-            }
-        } catch (Exception e) {
-            // Ignore resolution errors
-        }
-        return null;
-    }
-
     /**
      * Detect a cycle starting from the given file back to the target file.
-     * Uses java.nio.file for file access to avoid VFS recursion.
      *
-     * @param currentFilePath The file path to start traversing from
-     * @param targetPath      The path we're looking for (to detect a cycle back to origin)
-     * @param visited         Set of visited file paths (preserves insertion order for cycle path)
-     * @return The cycle path if found, null otherwise
+     * @param currentFile The file to start traversing from
+     * @param target      The file we're looking for (to detect a cycle back to origin)
+     * @param visited     Files on the current path (preserves insertion order for the cycle description)
+     * @return The names of the files on the cycle if found, null otherwise
      */
     @Nullable
-    private List<String> detectCycleByPath(String currentFilePath, String targetPath, LinkedHashSet<String> visited) {
-        if (currentFilePath == null) return null;
+    private List<String> detectCycle(PsiFile currentFile, VirtualFile target, LinkedHashSet<VirtualFile> visited) {
+        var currentVFile = currentFile.getVirtualFile();
+        if (currentVFile == null) return null;
 
         // Found a cycle back to the target
-        if (currentFilePath.equals(targetPath)) {
-            return new ArrayList<>(visited);
+        if (currentVFile.equals(target)) {
+            return visited.stream().map(VirtualFile::getName).toList();
         }
 
         // Already visited this file in current path - no cycle to target here
-        if (visited.contains(currentFilePath)) {
+        if (!visited.add(currentVFile)) {
             return null;
         }
+        ProgressManager.checkCanceled();
 
-        // Add current file to visited path
-        visited.add(currentFilePath);
-
-        // Get import paths from file using java.nio
-        var importPaths = extractImportPathsFromFile(currentFilePath);
-
-        for (var importPath : importPaths) {
-            // Resolve import path
-            var importedFilePath = resolveImportPath(importPath, currentFilePath);
-            if (importedFilePath != null) {
-                var cyclePath = detectCycleByPath(importedFilePath, targetPath, visited);
-                if (cyclePath != null) {
-                    return cyclePath;
-                }
+        for (var importedFile : KiteImportHelper.getImportedFiles(currentFile)) {
+            var cyclePath = detectCycle(importedFile, target, visited);
+            if (cyclePath != null) {
+                return cyclePath;
             }
         }
 
         // Remove from path when backtracking
-        visited.remove(currentFilePath);
+        visited.remove(currentVFile);
         return null;
     }
 
-    /**
-     * Extract import paths from file using java.nio (bypasses IntelliJ VFS).
-     */
-    private List<String> extractImportPathsFromFile(String filePath) {
-        var paths = new ArrayList<String>();
-        try {
-            var text = Files.readString(Path.of(filePath));
-            var matcher = IMPORT_PATTERN.matcher(text);
-            while (matcher.find()) {
-                paths.add(matcher.group(1));
-            }
-        } catch (IOException e) {
-            // Ignore read errors
-        }
-        return paths;
-    }
-
     /**
      * Build a human-readable description of the cycle.
      */
@@ -202,9 +130,9 @@ public class KiteCircularImportInspection extends KiteInspectionBase {
         var sb = new StringBuilder();
         sb.append(originFileName);
 
-        for (var path : cyclePath) {
+        for (var fileName : cyclePath) {
             sb.append(" → ");
-            sb.append(getFileNameFromPath(path));
+            sb.append(fileName);
         }
 
         sb.append(" → ");
@@ -214,71 +142,24 @@ public class KiteCircularImportInspection extends KiteInspectionBase {
     }
 
     /**
-     * Find the import path and proper element to highlight after the IMPORT keyword.
+     * Find the import path and proper element to highlight in an import statement.
      * Returns both the path string and the STRING_TEXT element to highlight (not just the opening quote).
      */
     @Nullable
-    private ImportPathInfo findImportPathInfo(PsiElement importKeyword) {
-        boolean foundFrom = false;
-        var current = importKeyword.getNextSibling();
-
-        while (current != null) {
-            if (current.getNode() != null) {
-                var type = current.getNode().getElementType();
-
-                // Skip whitespace
-                if (type == KiteTokenTypes.WHITESPACE || type == KiteTokenTypes.NL ||
-                    type == KiteTokenTypes.NEWLINE || type == com.intellij.psi.TokenType.WHITE_SPACE) {
-                    current = current.getNextSibling();
-                    continue;
-                }
-
-                // Look for FROM keyword
-                if (type == KiteTokenTypes.FROM) {
-                    foundFrom = true;
-                    current = current.getNextSibling();
-                    continue;
-                }
+    private ImportPathInfo findImportPathInfo(KiteImportStatement importStatement) {
+        var pathElement = importStatement.getPathElement();
+        var path = importStatement.getPath();
+        if (pathElement == null || path == null || path.isEmpty()) {
+            return null;
+        }
 
-                // After FROM, look for string tokens
-                if (foundFrom) {
-                    // Case 1: Full STRING or SINGLE_STRING token
-                    if (type == KiteTokenTypes.STRING || type == KiteTokenTypes.SINGLE_STRING) {
-                        var text = current.getText();
-                        if (text.length() >= 2) {
-                            var path = text.substring(1, text.length() - 1);
-                            return new ImportPathInfo(path, current);
-                        }
-                    }
-                    // Case 2: DQUOTE token - need to find STRING_TEXT sibling
-                    if (type == KiteTokenTypes.DQUOTE) {
-                        // Look for STRING_TEXT which contains the actual path
-                        var sibling = current.getNextSibling();
-                        while (sibling != null && sibling.getNode() != null) {
-                            var sibType = sibling.getNode().getElementType();
-                            if (sibType == KiteTokenTypes.STRING_TEXT) {
-                                var path = sibling.getText();
-                                // Return STRING_TEXT as the element to highlight (the file name)
-                                return new ImportPathInfo(path, sibling);
-                            } else if (sibType == KiteTokenTypes.STRING_DQUOTE ||
-                                       sibType == KiteTokenTypes.NL ||
-                                       sibType == KiteTokenTypes.NEWLINE) {
-                                break;
-                            }
-                            sibling = sibling.getNextSibling();
-                        }
-                    }
-                }
+        // Highlight the file name inside a double-quoted string, or the whole single-quoted string
+        for (var child = pathElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.STRING_TEXT) {
+                return new ImportPathInfo(path, child);
             }
-            current = current.getNextSibling();
         }
-        return null;
-    }
-
-    private String getFileNameFromPath(String path) {
-        if (path == null) return "";
-        int lastSlash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
-        return lastSlash >= 0 ? path.substring(lastSlash + 1) : path;
+        return new ImportPathInfo(path, pathElement);
     }
 
     /**
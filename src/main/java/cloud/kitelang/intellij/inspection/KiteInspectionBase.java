@@ -1,5 +1,6 @@
 package cloud.kitelang.intellij.inspection;
 
+import cloud.kitelang.intellij.diagnostics.KiteAnalysisTimings;
 import cloud.kitelang.intellij.psi.KiteFile;
 import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.LocalQuickFix;
@@ -21,6 +22,8 @@ import org.jetbrains.annotations.NotNull;
  * <p>
  * Note: IntelliJ's inspection engine handles PSI traversal automatically.
  * The visitor returned from buildVisitor() must NOT be recursive.
+ * <p>
+ * Checks run through {@link KiteAnalysisTimings}, so their cost can be attributed per file.
  */
 public abstract class KiteInspectionBase extends LocalInspectionTool {
 
@@ -51,6 +54,9 @@ public abstract class KiteInspectionBase extends LocalInspectionTool {
             return PsiElementVisitor.EMPTY_VISITOR;
         }
 
+        KiteAnalysisTimings timings = KiteAnalysisTimings.getInstance();
+        String checkName = getClass().getSimpleName();
+
         // For file-level inspections, run analysis on first element visit
         if (isFileLevelInspection()) {
             return new PsiElementVisitor() {
@@ -60,7 +66,8 @@ public abstract class KiteInspectionBase extends LocalInspectionTool {
                 public void visitElement(@NotNull PsiElement element) {
                     if (!checkedFile) {
                         checkedFile = true;
-                        checkFile(kiteFile, holder);
+                        timings.measure(kiteFile, checkName, KiteAnalysisTimings.Kind.INSPECTION,
+                                () -> checkFile(kiteFile, holder));
                     }
                 }
             };
@@ -70,7 +77,12 @@ public abstract class KiteInspectionBase extends LocalInspectionTool {
         return new PsiElementVisitor() {
             @Override
             public void visitElement(@NotNull PsiElement element) {
-                checkElement(element, holder);
+                if (!timings.isEnabled()) {
+                    checkElement(element, holder);
+                    return;
+                }
+                timings.measure(kiteFile, checkName, KiteAnalysisTimings.Kind.INSPECTION,
+                        () -> checkElement(element, holder));
             }
         };
     }
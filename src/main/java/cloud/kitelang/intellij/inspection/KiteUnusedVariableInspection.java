@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.inspection;
 
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteFile;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import cloud.kitelang.intellij.util.KitePsiUtil;
@@ -13,8 +14,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Inspection that detects unused variable declarations in Kite files.
@@ -27,10 +26,6 @@ import java.util.regex.Pattern;
  */
 public class KiteUnusedVariableInspection extends KiteInspectionBase {
 
-    // Patterns for string interpolation
-    private static final Pattern BRACE_INTERPOLATION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    private static final Pattern SIMPLE_INTERPOLATION_PATTERN = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
-
     @Override
     public @NotNull String getShortName() {
         return "KiteUnusedVariable";
@@ -112,28 +107,10 @@ public class KiteUnusedVariableInspection extends KiteInspectionBase {
             }
         }
 
-        // Check INTERP_SIMPLE tokens ($varName)
-        if (type == KiteTokenTypes.INTERP_SIMPLE) {
-            var text = element.getText();
-            if (text.startsWith("$") && text.length() > 1) {
-                var varName = text.substring(1);
-                if (variableNames.contains(varName)) {
-                    usedVariables.add(varName);
-                }
-            }
-        }
-
-        // Check INTERP_IDENTIFIER tokens (inside ${...})
-        if (type == KiteTokenTypes.INTERP_IDENTIFIER) {
-            var text = element.getText();
-            if (variableNames.contains(text)) {
-                usedVariables.add(text);
-            }
-        }
-
-        // Check STRING tokens for interpolation patterns (legacy support)
-        if (type == KiteTokenTypes.STRING) {
-            collectUsagesInString(element, variableNames, usedVariables);
+        // Check interpolations: $varName tokens and the root identifier of ${...} nodes
+        var interpolatedName = KiteInterpolation.getInterpolatedName(element);
+        if (interpolatedName != null && variableNames.contains(interpolatedName)) {
+            usedVariables.add(interpolatedName);
         }
 
         // Recurse into children
@@ -194,64 +171,4 @@ public class KiteUnusedVariableInspection extends KiteInspectionBase {
 
         return true;
     }
-
-    /**
-     * Extract variable usages from string interpolation in legacy STRING tokens.
-     */
-    private void collectUsagesInString(PsiElement stringElement, Set<String> variableNames, Set<String> usedVariables) {
-        var text = stringElement.getText();
-
-        // Check ${...} interpolations
-        Matcher braceMatcher = BRACE_INTERPOLATION_PATTERN.matcher(text);
-        while (braceMatcher.find()) {
-            var content = braceMatcher.group(1);
-            var varName = extractFirstIdentifier(content);
-            if (varName != null && variableNames.contains(varName)) {
-                usedVariables.add(varName);
-            }
-        }
-
-        // Check $var interpolations
-        Matcher simpleMatcher = SIMPLE_INTERPOLATION_PATTERN.matcher(text);
-        while (simpleMatcher.find()) {
-            int matchStart = simpleMatcher.start();
-            // Skip if this is part of ${...}
-            if (matchStart + 1 < text.length() && text.charAt(matchStart + 1) == '{') {
-                continue;
-            }
-            var varName = simpleMatcher.group(1);
-            if (variableNames.contains(varName)) {
-                usedVariables.add(varName);
-            }
-        }
-    }
-
-    /**
-     * Extract the first identifier from an expression.
-     */
-    private String extractFirstIdentifier(String expression) {
-        if (expression == null || expression.isEmpty()) {
-            return null;
-        }
-
-        var sb = new StringBuilder();
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i);
-            if (i == 0) {
-                if (Character.isJavaIdentifierStart(c)) {
-                    sb.append(c);
-                } else {
-                    return null;
-                }
-            } else {
-                if (Character.isJavaIdentifierPart(c)) {
-                    sb.append(c);
-                } else {
-                    break;
-                }
-            }
-        }
-
-        return !sb.isEmpty() ? sb.toString() : null;
-    }
 }
@@ -5,6 +5,7 @@ import cloud.kitelang.intellij.editor.KiteAutoImportService;
 import com.intellij.codeInsight.intention.IntentionAction;
 import com.intellij.codeInsight.intention.PsiElementBaseIntentionAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -15,7 +16,7 @@ import org.jetbrains.annotations.NotNull;
  * Intention action to auto-import missing symbols in a Kite file.
  * Available via Alt+Enter when there are undefined symbols that could be imported.
  */
-public class AutoImportIntention extends PsiElementBaseIntentionAction implements IntentionAction {
+public class AutoImportIntention extends PsiElementBaseIntentionAction implements IntentionAction, DumbAware {
 
     @Override
     @NotNull
@@ -1,45 +1,39 @@
 package cloud.kitelang.intellij.navigation;
 
-import cloud.kitelang.intellij.KiteFileType;
 import cloud.kitelang.intellij.KiteLanguage;
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import cloud.kitelang.intellij.util.KiteSchemaHelper;
 import com.intellij.codeInsight.navigation.actions.GotoDeclarationHandler;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handler for "Go to Declaration" (Cmd+Click) in Kite files.
  * Uses direct PSI traversal to resolve identifiers to their declarations.
  * <p>
- * For STRING tokens with interpolations:
- * - This handler provides navigation targets (finding the declaration)
- * - KiteReferenceContributor provides HighlightedReference for precise highlighting
- * - Together they enable Cmd+Click navigation with only the variable name underlined
+ * For string interpolations:
+ * - Identifiers inside ${...} are ordinary IDENTIFIER tokens of an INTERPOLATION node
+ * - $name is a single INTERP_SIMPLE token; this handler resolves the name without the $
+ * - KiteReferenceContributor provides references for precise highlighting
+ * <p>
+ * Dumb-aware: resolution is PSI-based, and the reverse import lookup falls back to the
+ * last-known project file snapshot while indexes are being rebuilt.
  */
-public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
-    private static final Logger LOG = Logger.getInstance(KiteGotoDeclarationHandler.class);
-
-    // Patterns for string interpolation
-    private static final Pattern BRACE_INTERPOLATION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    private static final Pattern SIMPLE_INTERPOLATION_PATTERN = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
+public class KiteGotoDeclarationHandler implements GotoDeclarationHandler, DumbAware {
 
     @Override
     public PsiElement @Nullable [] getGotoDeclarationTargets(@Nullable PsiElement sourceElement, int offset, Editor editor) {
@@ -54,47 +48,36 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         }
 
         IElementType elementType = sourceElement.getNode().getElementType();
-        LOG.info("[KiteGotoDecl] sourceElement type: " + elementType + ", text: " + sourceElement.getText().substring(0, Math.min(50, sourceElement.getText().length())));
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] sourceElement type: " + elementType + ", text: " + sourceElement.getText().substring(0, Math.min(50, sourceElement.getText().length())));
+        }
 
-        // Handle INTERP_IDENTIFIER tokens (the identifier inside ${...})
-        // With the new lexer, each interpolated identifier is its own token
-        if (elementType == KiteTokenTypes.INTERP_IDENTIFIER) {
-            String varName = sourceElement.getText();
-            LOG.info("[KiteGotoDecl] INTERP_IDENTIFIER token: " + varName);
+        // Handle single-token interpolations: $name (INTERP_SIMPLE) and INTERP_IDENTIFIER
+        if (elementType == KiteTokenTypes.INTERP_SIMPLE || elementType == KiteTokenTypes.INTERP_IDENTIFIER) {
+            String varName = KiteInterpolation.getInterpolatedName(sourceElement);
+            if (varName == null) {
+                return null;
+            }
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] " + elementType + " token: " + varName);
+            }
             PsiElement declaration = findDeclaration(file, varName, sourceElement);
             if (declaration != null) {
-                LOG.info("[KiteGotoDecl] Found declaration for INTERP_IDENTIFIER: " + varName);
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found declaration for " + elementType + ": " + varName);
+                }
                 return new PsiElement[]{declaration};
             }
             // Not found locally - search in imported files (cross-file navigation)
-            LOG.info("[KiteGotoDecl] INTERP_IDENTIFIER not found locally, searching imports...");
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] " + elementType + " not found locally, searching imports...");
+            }
             PsiElement importedDeclaration = findDeclarationInImportedFiles(file, varName, sourceElement, new HashSet<>());
             if (importedDeclaration != null) {
-                LOG.info("[KiteGotoDecl] Found INTERP_IDENTIFIER in imported file: " + varName);
-                return new PsiElement[]{importedDeclaration};
-            }
-            return null;
-        }
-
-        // Handle INTERP_SIMPLE tokens (the $identifier pattern)
-        // The token includes the $ prefix, so extract just the variable name
-        if (elementType == KiteTokenTypes.INTERP_SIMPLE) {
-            String text = sourceElement.getText();
-            if (text.startsWith("$") && text.length() > 1) {
-                String varName = text.substring(1);
-                LOG.info("[KiteGotoDecl] INTERP_SIMPLE token: " + varName);
-                PsiElement declaration = findDeclaration(file, varName, sourceElement);
-                if (declaration != null) {
-                    LOG.info("[KiteGotoDecl] Found declaration for INTERP_SIMPLE: " + varName);
-                    return new PsiElement[]{declaration};
-                }
-                // Not found locally - search in imported files (cross-file navigation)
-                LOG.info("[KiteGotoDecl] INTERP_SIMPLE not found locally, searching imports...");
-                PsiElement importedDeclaration = findDeclarationInImportedFiles(file, varName, sourceElement, new HashSet<>());
-                if (importedDeclaration != null) {
-                    LOG.info("[KiteGotoDecl] Found INTERP_SIMPLE in imported file: " + varName);
-                    return new PsiElement[]{importedDeclaration};
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found " + elementType + " in imported file: " + varName);
                 }
+                return new PsiElement[]{importedDeclaration};
             }
             return null;
         }
@@ -102,24 +85,16 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // Handle file path strings in import statements
         // e.g., import * from "common.kite" - clicking on "common.kite" navigates to the file
         if (isImportPathString(sourceElement)) {
-            LOG.info("[KiteGotoDecl] Import path string detected");
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Import path string detected");
             PsiFile targetFile = resolveImportPathToFile(sourceElement, file);
             if (targetFile != null) {
-                LOG.info("[KiteGotoDecl] Resolved import path to file: " + targetFile.getName());
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Resolved import path to file: " + targetFile.getName());
+                }
                 return new PsiElement[]{targetFile};
             }
         }
 
-        // Handle legacy STRING tokens with interpolations (for backwards compatibility)
-        if (elementType == KiteTokenTypes.STRING) {
-            LOG.info("[KiteGotoDecl] Legacy STRING token detected, handling string interpolation navigation");
-            PsiElement[] targets = handleStringInterpolation(sourceElement, offset, file);
-            if (targets != null && targets.length > 0) {
-                LOG.info("[KiteGotoDecl] Found " + targets.length + " interpolation targets");
-            }
-            return targets;
-        }
-
         // Only handle IDENTIFIER tokens
         if (elementType != KiteTokenTypes.IDENTIFIER) {
             return null;
@@ -130,10 +105,14 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // Check if this is a resource property - navigate to schema property definition
         ResourcePropertyInfo resourcePropertyInfo = getResourcePropertyInfo(sourceElement);
         if (resourcePropertyInfo != null) {
-            LOG.info("[KiteGotoDecl] Resource property detected: " + name + " in schema " + resourcePropertyInfo.schemaName);
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Resource property detected: " + name + " in schema " + resourcePropertyInfo.schemaName);
+            }
             PsiElement schemaProperty = findSchemaPropertyElement(file, resourcePropertyInfo.schemaName, name);
             if (schemaProperty != null) {
-                LOG.info("[KiteGotoDecl] Found schema property: " + schemaProperty.getText());
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found schema property: " + schemaProperty.getText());
+                }
                 return new PsiElement[]{schemaProperty};
             }
         }
@@ -141,7 +120,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // For function parameter declarations, show usages within the function body
         // e.g., clicking on "instances" in "fun calculateCost(number instances, ...)" shows all usages
         if (isParameterDeclaration(sourceElement)) {
-            LOG.info("[KiteGotoDecl] Parameter declaration detected: " + name);
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Parameter declaration detected: " + name);
+            }
             // Find the enclosing function
             PsiElement functionDecl = sourceElement.getParent();
             while (functionDecl != null && !(functionDecl instanceof PsiFile)) {
@@ -153,7 +134,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
             }
             if (functionDecl != null && !(functionDecl instanceof PsiFile)) {
                 List<PsiElement> usages = findParameterUsagesInFunction(functionDecl, name, sourceElement);
-                LOG.info("[KiteGotoDecl] Found " + usages.size() + " parameter usages");
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found " + usages.size() + " parameter usages");
+                }
                 if (!usages.isEmpty()) {
                     return usages.toArray(new PsiElement[0]);
                 }
@@ -164,10 +147,11 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // For declaration names, show a dropdown of all usages
         // e.g., clicking on "server" in "resource VM.Instance server { }" shows all usages of "server"
         boolean isDeclName = isDeclarationName(sourceElement);
-        LOG.info("[KiteGotoDecl] isDeclarationName(" + name + ") = " + isDeclName);
         if (isDeclName) {
             List<PsiElement> usages = findUsages(file, name, sourceElement);
-            LOG.info("[KiteGotoDecl] Found " + usages.size() + " usages for declaration: " + name);
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found " + usages.size() + " usages for declaration: " + name);
+            }
             if (!usages.isEmpty()) {
                 return usages.toArray(new PsiElement[0]);
             }
@@ -177,32 +161,32 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // Check if this is a property access (identifier after a DOT)
         // Use full chain resolution for nested property access like server.tag.New
         List<String> propertyChain = getPropertyAccessChain(sourceElement);
-        LOG.info("[KiteGotoDecl] propertyChain: " + (propertyChain != null ? propertyChain : "null"));
 
         if (propertyChain != null) {
             // Property access chain: resolve step by step through nested objects
-            LOG.info("[KiteGotoDecl] Resolving property chain: " + propertyChain + "." + name);
             return resolvePropertyAccessChain(file, propertyChain, name, sourceElement);
         } else {
             // Simple identifier: search declarations in file scope
-            LOG.info("[KiteGotoDecl] Searching for declaration of: " + name);
             PsiElement declaration = findDeclaration(file, name, sourceElement);
-            LOG.info("[KiteGotoDecl] findDeclaration returned: " + (declaration != null ? declaration.getText() + " at " + declaration.getTextRange() : "null"));
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] findDeclaration returned: " + (declaration != null ? declaration.getText() + " at " + declaration.getTextRange() : "null"));
+            }
             if (declaration != null) {
-                LOG.info("[KiteGotoDecl] Returning declaration target: " + declaration.getText());
                 return new PsiElement[]{declaration};
             }
 
             // Not found locally - search in imported files (cross-file navigation)
-            LOG.info("[KiteGotoDecl] Not found locally, searching in imported files...");
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Not found locally, searching in imported files...");
             PsiElement importedDeclaration = findDeclarationInImportedFiles(file, name, sourceElement, new HashSet<>());
             if (importedDeclaration != null) {
-                LOG.info("[KiteGotoDecl] Found in imported file: " + importedDeclaration.getText());
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found in imported file: " + importedDeclaration.getText());
+                }
                 return new PsiElement[]{importedDeclaration};
             }
         }
 
-        LOG.info("[KiteGotoDecl] No targets found, returning null");
+        KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] No targets found, returning null");
         return null;
     }
 
@@ -217,17 +201,23 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
 
         // Search in current file
         findUsagesRecursive(element, targetName, sourceElement, rawUsages);
-        LOG.info("[findUsages] Found " + rawUsages.size() + " usages in current file");
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[findUsages] Found " + rawUsages.size() + " usages in current file");
+        }
 
         // Also search in files that import this file (cross-file usages)
         if (containingFile != null) {
             List<PsiFile> importingFiles = findFilesThatImport(containingFile);
-            LOG.info("[findUsages] Found " + importingFiles.size() + " files that import " + containingFile.getName());
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[findUsages] Found " + importingFiles.size() + " files that import " + containingFile.getName());
+            }
 
             for (PsiFile importingFile : importingFiles) {
                 int before = rawUsages.size();
                 findUsagesRecursive(importingFile, targetName, null, rawUsages);
-                LOG.info("[findUsages] Found " + (rawUsages.size() - before) + " usages in " + importingFile.getName());
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[findUsages] Found " + (rawUsages.size() - before) + " usages in " + importingFile.getName());
+                }
             }
         }
 
@@ -254,27 +244,17 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         String targetFileName = targetFile.getVirtualFile().getName();
         String targetFilePath = targetFile.getVirtualFile().getPath();
 
-        LOG.info("[findFilesThatImport] Looking for files that import: " + targetFileName);
-
-        // Get all Kite files in the project
-        Collection<VirtualFile> kiteFiles = FileTypeIndex.getFiles(
-                KiteFileType.INSTANCE,
-                GlobalSearchScope.projectScope(project)
-        );
-
-        LOG.info("[findFilesThatImport] Found " + kiteFiles.size() + " Kite files in project");
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[findFilesThatImport] Looking for files that import: " + targetFileName);
+        }
 
-        PsiManager psiManager = PsiManager.getInstance(project);
+        long start = KiteTrace.start(Category.NAVIGATION);
 
-        for (VirtualFile vFile : kiteFiles) {
+        // Visit all Kite files in the project (last-known snapshot while indexing)
+        KiteImportHelper.processKiteFilesInProject(project, psiFile -> {
             // Skip the target file itself
-            if (vFile.getPath().equals(targetFilePath)) {
-                continue;
-            }
-
-            PsiFile psiFile = psiManager.findFile(vFile);
-            if (psiFile == null) {
-                continue;
+            if (psiFile.getVirtualFile().getPath().equals(targetFilePath)) {
+                return true;
             }
 
             // Check if this file imports the target file
@@ -282,23 +262,26 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
             for (PsiFile importedFile : imports) {
                 if (importedFile != null && importedFile.getVirtualFile() != null &&
                     importedFile.getVirtualFile().getPath().equals(targetFilePath)) {
-                    LOG.info("[findFilesThatImport] " + psiFile.getName() + " imports " + targetFileName);
+                    if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                        KiteTrace.logSampled(Category.NAVIGATION, 50, () -> "[findFilesThatImport] " + psiFile.getName() + " imports " + targetFileName);
+                    }
                     importingFiles.add(psiFile);
                     break;
                 }
             }
-        }
+            return true;
+        });
 
+        KiteTrace.end(Category.NAVIGATION, "findFilesThatImport", start);
         return importingFiles;
     }
 
     /**
      * Recursively find all usages of a name.
      * Includes usages in:
-     * - Regular IDENTIFIER tokens
+     * - Regular IDENTIFIER tokens (including those inside ${...} interpolation nodes)
      * - INTERP_SIMPLE tokens ($varName)
-     * - INTERP_IDENTIFIER tokens (inside ${...})
-     * - Legacy STRING tokens with interpolation patterns
+     * - INTERP_IDENTIFIER tokens
      */
     private void findUsagesRecursive(PsiElement element, String targetName, PsiElement sourceElement, List<PsiElement> usages) {
         IElementType type = element.getNode().getElementType();
@@ -314,27 +297,10 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
             }
         }
 
-        // Check for INTERP_SIMPLE tokens ($varName)
-        if (type == KiteTokenTypes.INTERP_SIMPLE) {
-            String text = element.getText();
-            if (text.startsWith("$") && text.length() > 1) {
-                String varName = text.substring(1);
-                if (targetName.equals(varName) && element != sourceElement) {
-                    usages.add(element);
-                }
-            }
-        }
-
-        // Check for INTERP_IDENTIFIER tokens (inside ${...})
-        if (type == KiteTokenTypes.INTERP_IDENTIFIER && targetName.equals(element.getText())) {
-            if (element != sourceElement) {
-                usages.add(element);
-            }
-        }
-
-        // Check legacy STRING tokens for interpolation patterns
-        if (type == KiteTokenTypes.STRING) {
-            findUsagesInString(element, targetName, sourceElement, usages);
+        // Check single-token interpolations ($varName)
+        if ((type == KiteTokenTypes.INTERP_SIMPLE || type == KiteTokenTypes.INTERP_IDENTIFIER) &&
+            targetName.equals(KiteInterpolation.getInterpolatedName(element)) && element != sourceElement) {
+            usages.add(element);
         }
 
         // Recurse into children
@@ -345,40 +311,6 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         }
     }
 
-    /**
-     * Find usages of a name within a STRING token (interpolations).
-     * Handles both ${varName} and $varName patterns.
-     */
-    private void findUsagesInString(PsiElement stringElement, String targetName, PsiElement sourceElement, List<PsiElement> usages) {
-        String text = stringElement.getText();
-
-        // Check ${...} interpolations
-        Matcher braceMatcher = BRACE_INTERPOLATION_PATTERN.matcher(text);
-        while (braceMatcher.find()) {
-            String content = braceMatcher.group(1);
-            String varName = extractFirstIdentifier(content);
-            if (targetName.equals(varName)) {
-                usages.add(stringElement);
-                return; // Only add once per string
-            }
-        }
-
-        // Check $var interpolations
-        Matcher simpleMatcher = SIMPLE_INTERPOLATION_PATTERN.matcher(text);
-        while (simpleMatcher.find()) {
-            int matchStart = simpleMatcher.start();
-            // Skip if this is part of ${...}
-            if (matchStart + 1 < text.length() && text.charAt(matchStart + 1) == '{') {
-                continue;
-            }
-            String varName = simpleMatcher.group(1);
-            if (targetName.equals(varName)) {
-                usages.add(stringElement);
-                return; // Only add once per string
-            }
-        }
-    }
-
     /**
      * Check if this identifier is part of a property access expression (after a DOT).
      * Returns only the immediate object element (not the full chain).
@@ -440,35 +372,37 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
      */
     @Nullable
     private PsiElement[] resolvePropertyAccessChain(PsiFile file, List<String> chain, String propertyName, PsiElement sourceElement) {
-        LOG.info("[KiteGotoDecl] resolvePropertyAccessChain: chain=" + chain + ", target='" + propertyName + "'");
+        PsiElement[] targets = resolvePropertyAccessChainTargets(file, chain, propertyName, sourceElement);
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] resolvePropertyAccessChain: chain=" + chain +
+                    ", target='" + propertyName + "' -> " + (targets != null ? targets[0].getTextRange() : "not found"));
+        }
+        return targets;
+    }
 
+    @Nullable
+    private PsiElement[] resolvePropertyAccessChainTargets(PsiFile file, List<String> chain, String propertyName, PsiElement sourceElement) {
         // Start with the first element in the chain (e.g., "server")
         String rootName = chain.get(0);
         PsiElement currentScope = findDeclarationElement(file, rootName);
 
         if (currentScope == null) {
-            LOG.info("[KiteGotoDecl] Root declaration not found: " + rootName);
             return null;
         }
 
-        LOG.info("[KiteGotoDecl] Found root declaration: " + currentScope.getNode().getElementType());
-
         // Special case: if chain has only the root (e.g., chain=["serviceA"]) and root is a COMPONENT_DECLARATION
         // that is a component INSTANCE, look for the property in the component TYPE definition
         if (chain.size() == 1 && currentScope.getNode().getElementType() == KiteElementTypes.COMPONENT_DECLARATION) {
             String componentTypeName = getComponentTypeName(currentScope);
-            LOG.info("[KiteGotoDecl] Root is COMPONENT_DECLARATION, componentTypeName=" + componentTypeName);
 
             if (componentTypeName != null) {
                 // This is a component INSTANCE - find the TYPE definition and look for outputs/inputs there
                 PsiElement typeDefinition = findComponentTypeDefinition(file, componentTypeName);
-                LOG.info("[KiteGotoDecl] Found component type definition: " + (typeDefinition != null));
 
                 if (typeDefinition != null) {
                     // Look for the property in the type definition's outputs and inputs
                     PsiElement result = findOutputOrInputInComponent(typeDefinition, propertyName, sourceElement);
                     if (result != null) {
-                        LOG.info("[KiteGotoDecl] FOUND output/input '" + propertyName + "' in component type " + componentTypeName);
                         return new PsiElement[]{result};
                     }
                 }
@@ -478,39 +412,19 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
 
         // Navigate through the rest of the chain (e.g., ["tag"] for server.tag.New)
         for (int i = 1; i < chain.size(); i++) {
-            String chainPropertyName = chain.get(i);
-            LOG.info("[KiteGotoDecl] Step " + i + ": Looking for property '" + chainPropertyName + "'");
-
             // Find the property and get its value (should be an object literal)
-            PsiElement propertyValue = findPropertyValue(currentScope, chainPropertyName);
-
-            if (propertyValue == null) {
-                LOG.info("[KiteGotoDecl] Property '" + chainPropertyName + "' not found");
-                return null;
-            }
-
-            LOG.info("[KiteGotoDecl] Found property value type: " + propertyValue.getNode().getElementType());
+            PsiElement propertyValue = findPropertyValue(currentScope, chain.get(i));
 
             // The value should be an object literal to continue traversing
-            if (propertyValue.getNode().getElementType() == KiteElementTypes.OBJECT_LITERAL) {
-                currentScope = propertyValue;
-                LOG.info("[KiteGotoDecl] Advanced to nested OBJECT_LITERAL");
-            } else {
-                LOG.info("[KiteGotoDecl] Property value is not OBJECT_LITERAL, can't traverse deeper");
+            if (propertyValue == null || propertyValue.getNode().getElementType() != KiteElementTypes.OBJECT_LITERAL) {
                 return null;
             }
+            currentScope = propertyValue;
         }
 
         // Now find the target property in the final scope
-        LOG.info("[KiteGotoDecl] Final step: Finding target '" + propertyName + "'");
         PsiElement result = findPropertyInScope(currentScope, propertyName, sourceElement);
-        if (result != null) {
-            LOG.info("[KiteGotoDecl] FOUND target at " + result.getTextRange());
-            return new PsiElement[]{result};
-        }
-
-        LOG.info("[KiteGotoDecl] Target property not found");
-        return null;
+        return result != null ? new PsiElement[]{result} : null;
     }
 
     /**
@@ -566,7 +480,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
             // This is a TYPE definition if there's only one identifier before {
             // and it matches the type name we're looking for
             if (secondIdentifier == null && typeName.equals(firstIdentifier)) {
-                LOG.info("[KiteGotoDecl] Found component TYPE definition: " + typeName);
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found component TYPE definition: " + typeName);
+                }
                 return element;
             }
         }
@@ -612,7 +528,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
                 (childType == KiteElementTypes.OUTPUT_DECLARATION || childType == KiteElementTypes.INPUT_DECLARATION)) {
                 PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(child, childType);
                 if (nameElement != null && propertyName.equals(nameElement.getText()) && nameElement != sourceElement) {
-                    LOG.info("[KiteGotoDecl] Found " + childType + " named '" + propertyName + "'");
+                    if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                        KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found " + childType + " named '" + propertyName + "'");
+                    }
                     return nameElement;
                 }
             }
@@ -836,7 +754,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         if (sourceElement != null) {
             PsiElement parameterDecl = findParameterInEnclosingFunction(sourceElement, targetName);
             if (parameterDecl != null) {
-                LOG.info("[findDeclaration] MATCH FOUND (function parameter): " + targetName);
+                if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                    KiteTrace.log(Category.NAVIGATION, () -> "[findDeclaration] MATCH FOUND (function parameter): " + targetName);
+                }
                 return parameterDecl;
             }
         }
@@ -850,14 +770,10 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
     @Nullable
     private PsiElement findDeclarationRecursive(PsiElement element, String targetName, PsiElement sourceElement) {
         IElementType type = element.getNode().getElementType();
-        LOG.info("[findDeclaration] Searching in element type: " + type + " for: " + targetName);
 
         if (KiteDeclarationHelper.isDeclarationType(type)) {
-            LOG.info("[findDeclaration] Found declaration type: " + type);
             PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(element, type);
-            LOG.info("[findDeclaration] Declaration name element: " + (nameElement != null ? nameElement.getText() : "null"));
             if (nameElement != null && targetName.equals(nameElement.getText()) && nameElement != sourceElement) {
-                LOG.info("[findDeclaration] MATCH FOUND: " + nameElement.getText() + " at " + nameElement.getTextRange());
                 return nameElement;
             }
         }
@@ -866,7 +782,6 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         if (type == KiteTokenTypes.VAR) {
             PsiElement nameElement = findVarNameElementFromToken(element);
             if (nameElement != null && targetName.equals(nameElement.getText()) && nameElement != sourceElement) {
-                LOG.info("[findDeclaration] MATCH FOUND (VAR token): " + nameElement.getText());
                 return nameElement;
             }
         }
@@ -949,7 +864,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
                     if (prevIdentifier != null) {
                         // This is the parameter name (previous was the type)
                         if (parameterName.equals(child.getText())) {
-                            LOG.info("[findParameterInFunction] Found parameter: " + parameterName);
+                            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                                KiteTrace.log(Category.NAVIGATION, () -> "[findParameterInFunction] Found parameter: " + parameterName);
+                            }
                             return child;
                         }
                         prevIdentifier = null; // Reset after finding a param name
@@ -1043,93 +960,6 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         return null;
     }
 
-    /**
-     * Handle string interpolation navigation.
-     * Finds the interpolation variable at the given offset and resolves it to its declaration.
-     */
-    @Nullable
-    private PsiElement[] handleStringInterpolation(PsiElement stringElement, int offset, PsiFile file) {
-        String text = stringElement.getText();
-        int elementStart = stringElement.getTextRange().getStartOffset();
-        int relativeOffset = offset - elementStart;
-
-        LOG.info("[KiteGotoDecl] String text: " + text + ", relativeOffset: " + relativeOffset);
-
-        // Check ${...} interpolations
-        Matcher braceMatcher = BRACE_INTERPOLATION_PATTERN.matcher(text);
-        while (braceMatcher.find()) {
-            int contentStart = braceMatcher.start(1);
-            int contentEnd = braceMatcher.end(1);
-            String content = braceMatcher.group(1);
-
-            // Check if offset is within this interpolation
-            if (relativeOffset >= braceMatcher.start() && relativeOffset <= braceMatcher.end()) {
-                String varName = extractFirstIdentifier(content);
-                if (varName != null) {
-                    LOG.info("[KiteGotoDecl] Found brace interpolation var: " + varName);
-                    PsiElement declaration = findDeclaration(file, varName, stringElement);
-                    if (declaration != null) {
-                        return new PsiElement[]{declaration};
-                    }
-                }
-            }
-        }
-
-        // Check $var interpolations
-        Matcher simpleMatcher = SIMPLE_INTERPOLATION_PATTERN.matcher(text);
-        while (simpleMatcher.find()) {
-            int matchStart = simpleMatcher.start();
-
-            // Skip if this is part of ${...}
-            if (matchStart + 1 < text.length() && text.charAt(matchStart + 1) == '{') {
-                continue;
-            }
-
-            // Check if offset is within this interpolation
-            if (relativeOffset >= matchStart && relativeOffset <= simpleMatcher.end()) {
-                String varName = simpleMatcher.group(1);
-                LOG.info("[KiteGotoDecl] Found simple interpolation var: " + varName);
-                PsiElement declaration = findDeclaration(file, varName, stringElement);
-                if (declaration != null) {
-                    return new PsiElement[]{declaration};
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Extract the first identifier from an expression.
-     * For "obj.prop" returns "obj", for "func()" returns "func", etc.
-     */
-    @Nullable
-    private String extractFirstIdentifier(String expression) {
-        if (expression == null || expression.isEmpty()) {
-            return null;
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i);
-            if (i == 0) {
-                if (Character.isJavaIdentifierStart(c)) {
-                    sb.append(c);
-                } else {
-                    return null;
-                }
-            } else {
-                if (Character.isJavaIdentifierPart(c)) {
-                    sb.append(c);
-                } else {
-                    break;
-                }
-            }
-        }
-
-        return !sb.isEmpty() ? sb.toString() : null;
-    }
-
     /**
      * Find declaration in imported files (cross-file navigation).
      * Uses KiteImportHelper to resolve imports and search in imported files.
@@ -1149,7 +979,9 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
 
         if (importSourceFile == null) {
             // Symbol is not imported, don't search imported files
-            LOG.info("[KiteGotoDecl] Symbol '" + targetName + "' is not imported - skipping cross-file search");
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Symbol '" + targetName + "' is not imported - skipping cross-file search");
+            }
             return null;
         }
 
@@ -1163,12 +995,16 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         }
         visited.add(filePath);
 
-        LOG.info("[KiteGotoDecl] Symbol '" + targetName + "' is imported from: " + importSourceFile.getName());
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Symbol '" + targetName + "' is imported from: " + importSourceFile.getName());
+        }
 
         // Search for declaration in the specific imported file
         PsiElement declaration = findDeclaration(importSourceFile, targetName, null);
         if (declaration != null) {
-            LOG.info("[KiteGotoDecl] Found declaration in imported file: " + filePath);
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Found declaration in imported file: " + filePath);
+            }
             return declaration;
         }
 
@@ -1345,21 +1181,24 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
      * but instanceTypes is a value/reference (should be navigable).
      */
     private boolean isDeclarationName(PsiElement element) {
-        LOG.info("[isDeclarationName] Checking: '" + element.getText() + "'");
+        boolean result = checkDeclarationName(element);
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[isDeclarationName] '" + element.getText() + "' -> " + result);
+        }
+        return result;
+    }
 
+    private boolean checkDeclarationName(PsiElement element) {
         // First, check if this identifier comes AFTER an equals sign
         // If so, it's a value (reference), not a declaration name - it SHOULD be navigable
         PsiElement prev = KitePsiUtil.skipWhitespaceBackward(element.getPrevSibling());
-        LOG.info("[isDeclarationName] prev element: " + (prev != null ? prev.getText() + " (" + prev.getNode().getElementType() + ")" : "null"));
         if (prev != null && prev.getNode().getElementType() == KiteTokenTypes.ASSIGN) {
             // This identifier comes after =, so it's a value, not a declaration name
-            LOG.info("[isDeclarationName] '" + element.getText() + "' comes after ASSIGN -> returning false (is reference)");
             return false;
         }
 
         // Check if this identifier is followed by = or { or += or : (declaration/property pattern)
         PsiElement next = KitePsiUtil.skipWhitespace(element.getNextSibling());
-        LOG.info("[isDeclarationName] next element: " + (next != null ? next.getText() + " (" + next.getNode().getElementType() + ")" : "null"));
         if (next != null) {
             IElementType nextType = next.getNode().getElementType();
             if (nextType == KiteTokenTypes.ASSIGN ||
@@ -1367,14 +1206,12 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
                 nextType == KiteTokenTypes.PLUS_ASSIGN ||
                 nextType == KiteTokenTypes.COLON) {
                 // This identifier is followed by = or { or : - it's a declaration/property name
-                LOG.info("[isDeclarationName] '" + element.getText() + "' followed by " + nextType + " -> returning true");
                 return true;
             }
             // Special case for function declarations: identifier followed by ( is a declaration name
             // ONLY if preceded by 'fun' keyword
             if (nextType == KiteTokenTypes.LPAREN && prev != null &&
                 prev.getNode().getElementType() == KiteTokenTypes.FUN) {
-                LOG.info("[isDeclarationName] '" + element.getText() + "' is function name (fun ... LPAREN) -> returning true");
                 return true;
             }
         }
@@ -1382,7 +1219,6 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
         // Check if this is a for loop variable (identifier after "for" keyword)
         // Note: We already have 'prev' from the ASSIGN check above
         if (prev != null && prev.getNode().getElementType() == KiteTokenTypes.FOR) {
-            LOG.info("[isDeclarationName] '" + element.getText() + "' follows FOR -> returning true");
             return true;
         }
 
@@ -1485,10 +1321,13 @@ public class KiteGotoDeclarationHandler implements GotoDeclarationHandler {
             return null;
         }
 
-        LOG.info("[KiteGotoDecl] Resolving import path: " + path);
+        String importPath = path;
+        if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+            KiteTrace.log(Category.NAVIGATION, () -> "[KiteGotoDecl] Resolving import path: " + importPath);
+        }
 
         // Use KiteImportHelper to resolve the path
-        return KiteImportHelper.resolveFilePath(path, containingFile);
+        return KiteImportHelper.resolveFilePath(importPath, containingFile);
     }
 
     // ========== Resource Property to Schema Property Navigation ==========
@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.navigation;
 
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import cloud.kitelang.intellij.structure.KiteStructureViewIcons;
@@ -318,13 +319,9 @@ public class KiteLineMarkerProvider implements LineMarkerProvider {
             }
         }
 
-        // Also check STRING_TEXT for $name or ${name} pattern (string interpolation)
-        if (type == KiteTokenTypes.STRING_TEXT) {
-            String text = element.getText();
-            if (text.contains("$" + name) || text.contains("${" + name + "}")) {
-                // Found a string interpolation reference
-                usages.add(new KiteNavigatablePsiElement(element));
-            }
+        // Also check $name interpolation tokens (identifiers inside ${...} are IDENTIFIER tokens)
+        if (type == KiteTokenTypes.INTERP_SIMPLE && name.equals(KiteInterpolation.getInterpolatedName(element))) {
+            usages.add(new KiteNavigatablePsiElement(element));
         }
 
         // Recurse into children
@@ -2,8 +2,7 @@ package cloud.kitelang.intellij.parser;
 
 import cloud.kitelang.intellij.KiteLanguage;
 import cloud.kitelang.intellij.lexer.KiteLexerAdapter;
-import cloud.kitelang.intellij.psi.KiteFile;
-import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.psi.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.ParserDefinition;
 import com.intellij.lang.PsiParser;
@@ -12,6 +11,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.FileViewProvider;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.IFileElementType;
 import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
@@ -103,7 +103,37 @@ public class KiteParserDefinition implements ParserDefinition {
     @NotNull
     @Override
     public PsiElement createElement(ASTNode node) {
-        // For now, return a simple wrapper. We can enhance this later.
+        IElementType type = node.getElementType();
+        if (type == KiteElementTypes.INTERPOLATION) {
+            return new KiteInterpolation(node);
+        }
+        if (type == KiteElementTypes.IMPORT_STATEMENT) {
+            return new KiteImportStatement(node);
+        }
+        if (type == KiteElementTypes.RESOURCE_DECLARATION) {
+            return new KiteResourceDeclaration(node);
+        }
+        if (type == KiteElementTypes.COMPONENT_DECLARATION) {
+            return new KiteComponentDeclaration(node);
+        }
+        if (type == KiteElementTypes.SCHEMA_DECLARATION) {
+            return new KiteSchemaDeclaration(node);
+        }
+        if (type == KiteElementTypes.FUNCTION_DECLARATION) {
+            return new KiteFunctionDeclaration(node);
+        }
+        if (type == KiteElementTypes.TYPE_DECLARATION) {
+            return new KiteTypeDeclaration(node);
+        }
+        if (type == KiteElementTypes.VARIABLE_DECLARATION) {
+            return new KiteVariableDeclaration(node);
+        }
+        if (type == KiteElementTypes.INPUT_DECLARATION) {
+            return new KiteInputDeclaration(node);
+        }
+        if (type == KiteElementTypes.OUTPUT_DECLARATION) {
+            return new KiteOutputDeclaration(node);
+        }
         return new KitePsiElement(node);
     }
 
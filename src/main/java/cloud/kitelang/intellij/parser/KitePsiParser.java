@@ -10,7 +10,9 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * PSI parser for Kite that creates typed elements for declarations.
- * Identifies resource, component, schema, function, type, and variable declarations.
+ * Identifies resource, component, schema, function, type, and variable declarations,
+ * gives import statements structured children, and wraps string interpolations
+ * ({@code ${...}}) in INTERPOLATION elements.
  */
 public class KitePsiParser implements PsiParser {
 
@@ -55,7 +57,7 @@ public class KitePsiParser implements PsiParser {
             } else if (tokenType == KiteTokenTypes.OUTPUT) {
                 parseDeclaration(builder, KiteElementTypes.OUTPUT_DECLARATION);
             } else if (tokenType == KiteTokenTypes.IMPORT) {
-                parseDeclaration(builder, KiteElementTypes.IMPORT_STATEMENT);
+                parseImportStatement(builder);
             } else if (tokenType == KiteTokenTypes.FOR) {
                 parseDeclaration(builder, KiteElementTypes.FOR_STATEMENT);
             } else if (tokenType == KiteTokenTypes.WHILE) {
@@ -68,7 +70,7 @@ public class KitePsiParser implements PsiParser {
                 parseArrayLiteral(builder);
             } else {
                 // Unknown token, just advance
-                builder.advanceLexer();
+                advanceToken(builder);
             }
         }
     }
@@ -111,13 +113,96 @@ public class KitePsiParser implements PsiParser {
                 }
                 break;
             } else {
-                builder.advanceLexer();
+                advanceToken(builder);
             }
         }
 
         marker.done(elementType);
     }
 
+    /**
+     * Parses an import statement into structured children:
+     * <pre>
+     * import a, b from "common.kite"     IMPORT IMPORT_SYMBOL_LIST FROM IMPORT_PATH
+     * import * from "common.kite"        IMPORT IMPORT_WILDCARD FROM IMPORT_PATH
+     * </pre>
+     * Incomplete imports (while typing) keep whichever parts are present; anything
+     * else up to the end of the line stays a direct child of IMPORT_STATEMENT.
+     */
+    private void parseImportStatement(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+
+        // Consume import
+        builder.advanceLexer();
+
+        IElementType tokenType = builder.getTokenType();
+        if (tokenType == KiteTokenTypes.MULTIPLY) {
+            PsiBuilder.Marker wildcard = builder.mark();
+            builder.advanceLexer();
+            wildcard.done(KiteElementTypes.IMPORT_WILDCARD);
+        } else if (tokenType == KiteTokenTypes.IDENTIFIER) {
+            PsiBuilder.Marker symbols = builder.mark();
+            IElementType previous = null;
+            // A symbol list may continue on the next line after a comma
+            while (tokenType == KiteTokenTypes.IDENTIFIER ||
+                   tokenType == KiteTokenTypes.COMMA ||
+                   (tokenType == KiteTokenTypes.NL && previous == KiteTokenTypes.COMMA)) {
+                if (tokenType != KiteTokenTypes.NL) {
+                    previous = tokenType;
+                }
+                builder.advanceLexer();
+                tokenType = builder.getTokenType();
+            }
+            symbols.done(KiteElementTypes.IMPORT_SYMBOL_LIST);
+        }
+
+        if (builder.getTokenType() == KiteTokenTypes.FROM) {
+            builder.advanceLexer();
+            parseImportPath(builder);
+        }
+
+        // Consume the rest of the line
+        while (!builder.eof()) {
+            tokenType = builder.getTokenType();
+            if (tokenType == KiteTokenTypes.NL || tokenType == KiteTokenTypes.SEMICOLON) {
+                builder.advanceLexer();
+                break;
+            }
+            advanceToken(builder);
+        }
+
+        marker.done(KiteElementTypes.IMPORT_STATEMENT);
+    }
+
+    /**
+     * Parses the path string of an import statement into an IMPORT_PATH element.
+     * Accepts single-quoted strings and double-quoted strings (DQUOTE ... STRING_DQUOTE).
+     */
+    private void parseImportPath(PsiBuilder builder) {
+        IElementType tokenType = builder.getTokenType();
+        if (tokenType == KiteTokenTypes.SINGLE_STRING || tokenType == KiteTokenTypes.STRING) {
+            PsiBuilder.Marker path = builder.mark();
+            builder.advanceLexer();
+            path.done(KiteElementTypes.IMPORT_PATH);
+        } else if (tokenType == KiteTokenTypes.DQUOTE) {
+            PsiBuilder.Marker path = builder.mark();
+            builder.advanceLexer();
+            while (!builder.eof()) {
+                tokenType = builder.getTokenType();
+                if (tokenType == KiteTokenTypes.STRING_DQUOTE) {
+                    builder.advanceLexer();
+                    break;
+                }
+                if (tokenType == KiteTokenTypes.NL) {
+                    // Unterminated string
+                    break;
+                }
+                advanceToken(builder);
+            }
+            path.done(KiteElementTypes.IMPORT_PATH);
+        }
+    }
+
     private void parseBlockContent(PsiBuilder builder) {
         while (!builder.eof()) {
             // Skip whitespace and comments
@@ -155,7 +240,7 @@ public class KitePsiParser implements PsiParser {
                 parseDeclaration(builder, KiteElementTypes.WHILE_STATEMENT);
             } else {
                 // Unknown token, just advance
-                builder.advanceLexer();
+                advanceToken(builder);
             }
         }
     }
@@ -172,7 +257,7 @@ public class KitePsiParser implements PsiParser {
                 braceDepth--;
             }
 
-            builder.advanceLexer();
+            advanceToken(builder);
         }
     }
 
@@ -209,7 +294,7 @@ public class KitePsiParser implements PsiParser {
                 builder.advanceLexer();
                 break;
             } else {
-                builder.advanceLexer();
+                advanceToken(builder);
             }
         }
 
@@ -241,10 +326,54 @@ public class KitePsiParser implements PsiParser {
                 builder.advanceLexer();
                 break;
             } else {
-                builder.advanceLexer();
+                advanceToken(builder);
             }
         }
 
         marker.done(KiteElementTypes.ARRAY_LITERAL);
     }
+
+    /**
+     * Advances past the current token. String interpolations are consumed as a whole
+     * INTERPOLATION element so that their tokens never leak into the enclosing structure.
+     */
+    private void advanceToken(PsiBuilder builder) {
+        if (builder.getTokenType() == KiteTokenTypes.INTERP_START) {
+            parseInterpolation(builder);
+        } else {
+            builder.advanceLexer();
+        }
+    }
+
+    /**
+     * Parses a brace interpolation ${ ... } inside a double-quoted string.
+     * Ends at the matching INTERP_END; an unclosed interpolation ends before the
+     * next quote or newline (mirrors KiteInvalidInterpolationAnnotator).
+     */
+    private void parseInterpolation(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+
+        // Consume ${
+        builder.advanceLexer();
+
+        while (!builder.eof()) {
+            IElementType tokenType = builder.getTokenType();
+
+            if (tokenType == KiteTokenTypes.INTERP_END) {
+                builder.advanceLexer();
+                break;
+            } else if (tokenType == KiteTokenTypes.INTERP_START) {
+                parseInterpolation(builder);
+            } else if (tokenType == KiteTokenTypes.DQUOTE ||
+                       tokenType == KiteTokenTypes.STRING_DQUOTE ||
+                       tokenType == KiteTokenTypes.NL) {
+                // Unclosed interpolation - leave the terminator to the enclosing structure
+                break;
+            } else {
+                builder.advanceLexer();
+            }
+        }
+
+        marker.done(KiteElementTypes.INTERPOLATION);
+    }
 }
@@ -0,0 +1,54 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * PSI element for a component, either a definition or an instance:
+ * <pre>
+ * component WebServer { ... }       definition - the name is the component type
+ * component WebServer web { ... }   instance   - the name is the instance, the type is WebServer
+ * </pre>
+ */
+public class KiteComponentDeclaration extends KiteDeclaration {
+
+    public KiteComponentDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Whether this declares an instance of a component rather than a component definition.
+     */
+    public boolean isInstance() {
+        return getTypeText() != null;
+    }
+
+    /**
+     * Returns the component type: the instantiated type for instances, the name for definitions.
+     */
+    @Nullable
+    public String getComponentType() {
+        String typeText = getTypeText();
+        return typeText != null ? typeText : getName();
+    }
+
+    /**
+     * The name is the last identifier before the body.
+     */
+    @Override
+    @Nullable
+    protected PsiElement findNameIdentifier() {
+        PsiElement lastIdentifier = null;
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            var childType = child.getNode().getElementType();
+            if (childType == KiteTokenTypes.IDENTIFIER) {
+                lastIdentifier = child;
+            } else if (childType == KiteTokenTypes.LBRACE) {
+                break;
+            }
+        }
+        return lastIdentifier;
+    }
+}
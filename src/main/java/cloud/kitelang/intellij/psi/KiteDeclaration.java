@@ -0,0 +1,201 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.parser.KitePsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base PSI element for named declarations (resources, components, schemas, functions, types,
+ * variables, inputs and outputs).
+ * <p>
+ * The parser keeps declarations flat: the keyword, type, name and braces are direct children.
+ * <pre>
+ * resource AWS.S3.Bucket photos { ... }
+ *          ^^^^^^^^^^^^^          type text
+ *                        ^^^^^^   name identifier
+ *                               ^     ^  left / right brace
+ * </pre>
+ * The header (name, type and braces) is found once and cached on the element until its subtree
+ * changes, so callers can ask for the name repeatedly without re-scanning siblings.
+ */
+public abstract class KiteDeclaration extends KitePsiElement implements PsiNameIdentifierOwner {
+
+    private volatile Header myHeader;
+
+    protected KiteDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the identifier that names this declaration, or null if the declaration is incomplete.
+     */
+    @Override
+    @Nullable
+    public PsiElement getNameIdentifier() {
+        return getHeader().nameIdentifier;
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        return getHeader().name;
+    }
+
+    @Override
+    public PsiElement setName(@NotNull String name) throws IncorrectOperationException {
+        PsiElement nameIdentifier = getNameIdentifier();
+        if (nameIdentifier == null) {
+            throw new IncorrectOperationException("Declaration has no name");
+        }
+        ElementManipulators.handleContentChange(nameIdentifier, name);
+        return this;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement nameIdentifier = getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getTextOffset() : super.getTextOffset();
+    }
+
+    /**
+     * Returns the declared type: the tokens between the keyword and the name, e.g. "AWS.S3.Bucket"
+     * for a resource, the component type of an instance, or "string" in {@code var string x = ""}.
+     * Null if the declaration names no type.
+     */
+    @Nullable
+    public String getTypeText() {
+        return getHeader().typeText;
+    }
+
+    /**
+     * Returns the opening brace of the body, or null if the declaration has no body.
+     */
+    @Nullable
+    public PsiElement getLeftBrace() {
+        return getHeader().leftBrace;
+    }
+
+    /**
+     * Returns the closing brace of the body, or null if the body is missing or not closed yet.
+     */
+    @Nullable
+    public PsiElement getRightBrace() {
+        return getHeader().rightBrace;
+    }
+
+    @Override
+    public void subtreeChanged() {
+        super.subtreeChanged();
+        myHeader = null;
+    }
+
+    /**
+     * Finds the name identifier among the direct children.
+     * By default this is the last identifier before {@code =}, {@code +=} or {@code {}.
+     */
+    @Nullable
+    protected PsiElement findNameIdentifier() {
+        PsiElement lastIdentifier = null;
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            IElementType childType = child.getNode().getElementType();
+            if (childType == KiteTokenTypes.IDENTIFIER) {
+                lastIdentifier = child;
+            } else if (childType == KiteTokenTypes.ASSIGN ||
+                       childType == KiteTokenTypes.LBRACE ||
+                       childType == KiteTokenTypes.PLUS_ASSIGN) {
+                if (lastIdentifier != null) {
+                    return lastIdentifier;
+                }
+            }
+        }
+        return lastIdentifier;
+    }
+
+    @NotNull
+    private Header getHeader() {
+        Header header = myHeader;
+        if (header == null) {
+            header = computeHeader();
+            myHeader = header;
+        }
+        return header;
+    }
+
+    @NotNull
+    private Header computeHeader() {
+        PsiElement nameIdentifier = findNameIdentifier();
+        PsiElement leftBrace = null;
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNode().getElementType() == KiteTokenTypes.LBRACE) {
+                leftBrace = child;
+                break;
+            }
+        }
+        PsiElement rightBrace = null;
+        if (leftBrace != null) {
+            for (PsiElement child = getLastChild(); child != null && child != leftBrace; child = child.getPrevSibling()) {
+                if (child.getNode().getElementType() == KiteTokenTypes.RBRACE) {
+                    rightBrace = child;
+                    break;
+                }
+            }
+        }
+        return new Header(nameIdentifier, nameIdentifier != null ? nameIdentifier.getText() : null,
+                findTypeText(nameIdentifier), leftBrace, rightBrace);
+    }
+
+    /**
+     * Joins the non-whitespace tokens between the declaration keyword and the name.
+     */
+    @Nullable
+    private String findTypeText(@Nullable PsiElement nameIdentifier) {
+        if (nameIdentifier == null) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        boolean afterKeyword = false;
+        for (PsiElement child = getFirstChild(); child != null && child != nameIdentifier; child = child.getNextSibling()) {
+            IElementType childType = child.getNode().getElementType();
+            if (isDeclarationKeyword(childType)) {
+                afterKeyword = true;
+            } else if (afterKeyword && !isWhitespace(childType)) {
+                parts.add(child.getText());
+            }
+        }
+        return parts.isEmpty() ? null : String.join("", parts);
+    }
+
+    private static boolean isDeclarationKeyword(IElementType type) {
+        return type == KiteTokenTypes.RESOURCE || type == KiteTokenTypes.COMPONENT ||
+               type == KiteTokenTypes.SCHEMA || type == KiteTokenTypes.FUN ||
+               type == KiteTokenTypes.TYPE || type == KiteTokenTypes.VAR ||
+               type == KiteTokenTypes.INPUT || type == KiteTokenTypes.OUTPUT;
+    }
+
+    private static boolean isWhitespace(IElementType type) {
+        return type == KiteTokenTypes.WHITESPACE ||
+               type == KiteTokenTypes.NEWLINE ||
+               type == KiteTokenTypes.NL ||
+               type == TokenType.WHITE_SPACE;
+    }
+
+    /**
+     * Cached header of a declaration; replaced as a whole when the subtree changes.
+     */
+    private record Header(@Nullable PsiElement nameIdentifier,
+                          @Nullable String name,
+                          @Nullable String typeText,
+                          @Nullable PsiElement leftBrace,
+                          @Nullable PsiElement rightBrace) {
+    }
+}
@@ -19,10 +19,14 @@ public class KiteElementTypes {
     public static final IElementType INPUT_DECLARATION = new KiteElementType("INPUT_DECLARATION");
     public static final IElementType OUTPUT_DECLARATION = new KiteElementType("OUTPUT_DECLARATION");
     public static final IElementType IMPORT_STATEMENT = new KiteElementType("IMPORT_STATEMENT");
+    public static final IElementType IMPORT_SYMBOL_LIST = new KiteElementType("IMPORT_SYMBOL_LIST");
+    public static final IElementType IMPORT_WILDCARD = new KiteElementType("IMPORT_WILDCARD");
+    public static final IElementType IMPORT_PATH = new KiteElementType("IMPORT_PATH");
     public static final IElementType FOR_STATEMENT = new KiteElementType("FOR_STATEMENT");
     public static final IElementType WHILE_STATEMENT = new KiteElementType("WHILE_STATEMENT");
     public static final IElementType OBJECT_LITERAL = new KiteElementType("OBJECT_LITERAL");
     public static final IElementType ARRAY_LITERAL = new KiteElementType("ARRAY_LITERAL");
+    public static final IElementType INTERPOLATION = new KiteElementType("INTERPOLATION");
 
     public static class KiteElementType extends IElementType {
         public KiteElementType(@NotNull String debugName) {
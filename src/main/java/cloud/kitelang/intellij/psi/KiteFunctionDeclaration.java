@@ -0,0 +1,36 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * PSI element for a function declaration: {@code fun name(type param, ...) returnType { ... }}.
+ */
+public class KiteFunctionDeclaration extends KiteDeclaration {
+
+    public KiteFunctionDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * The name is the first identifier after {@code fun}, before the parameter list.
+     */
+    @Override
+    @Nullable
+    protected PsiElement findNameIdentifier() {
+        boolean foundFun = false;
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            var childType = child.getNode().getElementType();
+            if (childType == KiteTokenTypes.FUN) {
+                foundFun = true;
+            } else if (foundFun && childType == KiteTokenTypes.IDENTIFIER) {
+                return child;
+            } else if (childType == KiteTokenTypes.LPAREN) {
+                break;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.parser.KitePsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PSI element for an import statement.
+ * <p>
+ * The parser gives the statement structured children, so consumers never have to
+ * re-scan the statement (or the file) text:
+ * <pre>
+ * import a, b from "common.kite"
+ *        ^^^^                     IMPORT_SYMBOL_LIST (IDENTIFIER COMMA IDENTIFIER)
+ *                  ^^^^^^^^^^^^^  IMPORT_PATH (DQUOTE STRING_TEXT STRING_DQUOTE)
+ * import * from 'common.kite'
+ *        ^                        IMPORT_WILDCARD (MULTIPLY)
+ *               ^^^^^^^^^^^^^     IMPORT_PATH (SINGLE_STRING)
+ * </pre>
+ * Incomplete statements simply lack the corresponding child.
+ */
+public class KiteImportStatement extends KitePsiElement {
+
+    public KiteImportStatement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Whether this is a wildcard import ({@code import * from "file"}).
+     */
+    public boolean isWildcard() {
+        return findChild(KiteElementTypes.IMPORT_WILDCARD) != null;
+    }
+
+    /**
+     * Returns the IMPORT_SYMBOL_LIST element of a named import, or null for wildcard imports.
+     */
+    @Nullable
+    public PsiElement getSymbolList() {
+        return findChild(KiteElementTypes.IMPORT_SYMBOL_LIST);
+    }
+
+    /**
+     * Returns the identifiers of a named import in source order. Empty for wildcard imports.
+     */
+    @NotNull
+    public List<PsiElement> getSymbolElements() {
+        List<PsiElement> result = new ArrayList<>();
+        PsiElement symbolList = getSymbolList();
+        if (symbolList == null) {
+            return result;
+        }
+        for (PsiElement child = symbolList.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
+                result.add(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names of a named import in source order. Empty for wildcard imports.
+     */
+    @NotNull
+    public List<String> getSymbolNames() {
+        List<String> result = new ArrayList<>();
+        for (PsiElement symbol : getSymbolElements()) {
+            result.add(symbol.getText());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the IMPORT_PATH element (the quoted path string), or null if the statement has none yet.
+     */
+    @Nullable
+    public PsiElement getPathElement() {
+        return findChild(KiteElementTypes.IMPORT_PATH);
+    }
+
+    /**
+     * Returns the import path without quotes, or null if the statement has no path string.
+     * An empty string literal yields an empty path.
+     */
+    @Nullable
+    public String getPath() {
+        PsiElement pathElement = getPathElement();
+        return pathElement != null ? getPathContent(pathElement) : null;
+    }
+
+    /**
+     * Returns the unquoted content of an IMPORT_PATH element.
+     */
+    @NotNull
+    public static String getPathContent(@NotNull PsiElement pathElement) {
+        PsiElement first = pathElement.getFirstChild();
+        if (first != null && first.getNode() != null && first.getNode().getElementType() == KiteTokenTypes.DQUOTE) {
+            StringBuilder content = new StringBuilder();
+            for (PsiElement child = first.getNextSibling(); child != null; child = child.getNextSibling()) {
+                IElementType type = child.getNode().getElementType();
+                if (type == KiteTokenTypes.STRING_TEXT ||
+                    type == KiteTokenTypes.STRING_ESCAPE ||
+                    type == KiteTokenTypes.STRING_DOLLAR) {
+                    content.append(child.getText());
+                }
+            }
+            return content.toString();
+        }
+
+        String text = pathElement.getText();
+        if (text.length() >= 2 && (text.startsWith("'") || text.startsWith("\""))) {
+            return text.substring(1, text.length() - 1);
+        }
+        return text;
+    }
+
+    @Nullable
+    private PsiElement findChild(IElementType type) {
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNode() != null && child.getNode().getElementType() == type) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
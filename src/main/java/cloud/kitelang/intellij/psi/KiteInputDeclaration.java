@@ -0,0 +1,14 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PSI element for a component input: {@code input type name [= default]}.
+ */
+public class KiteInputDeclaration extends KiteDeclaration {
+
+    public KiteInputDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+}
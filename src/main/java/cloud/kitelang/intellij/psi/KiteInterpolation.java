@@ -0,0 +1,133 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.parser.KitePsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PSI element for a brace interpolation inside a double-quoted string.
+ * <p>
+ * The lexer already splits interpolated strings into tokens, so the parser wraps
+ * {@code ${ ... }} into an {@link KiteElementTypes#INTERPOLATION} node whose children
+ * are the ordinary expression tokens:
+ * <pre>
+ * "http://${server.host}:$port"
+ *          ^^^^^^^^^^^^^^         INTERPOLATION (INTERP_START IDENTIFIER DOT IDENTIFIER INTERP_END)
+ *                          ^^^^^  INTERP_SIMPLE token (no wrapper - the token is the whole interpolation)
+ * </pre>
+ * Consumers read identifiers from these children instead of re-scanning string text
+ * with regular expressions.
+ */
+public class KiteInterpolation extends KitePsiElement {
+
+    public KiteInterpolation(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the identifier the interpolated expression starts with.
+     * For {@code ${server.host}} this is {@code server}; for {@code ${fn(x)}} it is {@code fn}.
+     */
+    @Nullable
+    public PsiElement getRootIdentifier() {
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            IElementType type = child.getNode().getElementType();
+            if (type == KiteTokenTypes.INTERP_START || isWhitespace(type)) {
+                continue;
+            }
+            return isIdentifier(type) ? child : null;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the root identifier, or null if the expression does not start with one.
+     */
+    @Nullable
+    public String getRootName() {
+        PsiElement root = getRootIdentifier();
+        return root != null ? root.getText() : null;
+    }
+
+    /**
+     * Returns every identifier in the expression that refers to a symbol, i.e. identifiers
+     * that are not property names after a dot. For {@code ${fn(a, b.c)}} returns {@code fn, a, b}.
+     */
+    @NotNull
+    public List<PsiElement> getReferencedIdentifiers() {
+        List<PsiElement> result = new ArrayList<>();
+        IElementType previous = null;
+        for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+            IElementType type = child.getNode().getElementType();
+            if (isWhitespace(type)) {
+                continue;
+            }
+            if (isIdentifier(type) && previous != KiteTokenTypes.DOT && previous != KiteTokenTypes.INTERP_DOT) {
+                result.add(child);
+            } else if (child instanceof KiteInterpolation nested) {
+                result.addAll(nested.getReferencedIdentifiers());
+            }
+            previous = type;
+        }
+        return result;
+    }
+
+    /**
+     * Whether the interpolation ends with its closing brace.
+     * Unclosed interpolations stop at the end of the string or line.
+     */
+    public boolean isClosed() {
+        PsiElement last = getLastChild();
+        if (last == null || last.getNode() == null) {
+            return false;
+        }
+        IElementType type = last.getNode().getElementType();
+        return type == KiteTokenTypes.INTERP_END || type == KiteTokenTypes.INTERP_CLOSE;
+    }
+
+    /**
+     * Returns the variable name an interpolation element refers to, without any regex work:
+     * <ul>
+     *   <li>{@code INTERP_SIMPLE} ({@code $name}) - the token text without the {@code $}</li>
+     *   <li>{@code INTERP_IDENTIFIER} - the token text</li>
+     *   <li>{@link KiteInterpolation} ({@code ${name.prop}}) - the root identifier name</li>
+     * </ul>
+     *
+     * @return the referenced name, or null if the element is not an interpolation
+     */
+    @Nullable
+    public static String getInterpolatedName(@Nullable PsiElement element) {
+        if (element == null || element.getNode() == null) {
+            return null;
+        }
+        if (element instanceof KiteInterpolation interpolation) {
+            return interpolation.getRootName();
+        }
+        IElementType type = element.getNode().getElementType();
+        if (type == KiteTokenTypes.INTERP_SIMPLE) {
+            String text = element.getText();
+            return text.startsWith("$") && text.length() > 1 ? text.substring(1) : null;
+        }
+        if (type == KiteTokenTypes.INTERP_IDENTIFIER) {
+            return element.getText();
+        }
+        return null;
+    }
+
+    private static boolean isIdentifier(IElementType type) {
+        return type == KiteTokenTypes.IDENTIFIER || type == KiteTokenTypes.INTERP_IDENTIFIER;
+    }
+
+    private static boolean isWhitespace(IElementType type) {
+        return type == KiteTokenTypes.WHITESPACE ||
+               type == KiteTokenTypes.NEWLINE ||
+               type == TokenType.WHITE_SPACE;
+    }
+}
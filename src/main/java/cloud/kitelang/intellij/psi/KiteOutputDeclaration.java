@@ -0,0 +1,14 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PSI element for a component output: {@code output type name = value}.
+ */
+public class KiteOutputDeclaration extends KiteDeclaration {
+
+    public KiteOutputDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+}
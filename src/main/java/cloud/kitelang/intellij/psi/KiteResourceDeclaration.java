@@ -0,0 +1,23 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * PSI element for a resource declaration: {@code resource AWS.S3.Bucket photos { ... }}.
+ */
+public class KiteResourceDeclaration extends KiteDeclaration {
+
+    public KiteResourceDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Returns the resource type, e.g. "AWS.S3.Bucket", or null if the declaration is incomplete.
+     */
+    @Nullable
+    public String getResourceType() {
+        return getTypeText();
+    }
+}
@@ -0,0 +1,14 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PSI element for a schema declaration: {@code schema DatabaseConfig { ... }}.
+ */
+public class KiteSchemaDeclaration extends KiteDeclaration {
+
+    public KiteSchemaDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+}
@@ -0,0 +1,14 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PSI element for a type alias: {@code type Region = "us-east-1" | "eu-west-1"}.
+ */
+public class KiteTypeDeclaration extends KiteDeclaration {
+
+    public KiteTypeDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+}
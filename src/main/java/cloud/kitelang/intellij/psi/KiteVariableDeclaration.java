@@ -0,0 +1,14 @@
+package cloud.kitelang.intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PSI element for a variable declaration: {@code var [type] name = value}.
+ */
+public class KiteVariableDeclaration extends KiteDeclaration {
+
+    public KiteVariableDeclaration(@NotNull ASTNode node) {
+        super(node);
+    }
+}
@@ -2,6 +2,7 @@ package cloud.kitelang.intellij.quickfix;
 
 import cloud.kitelang.intellij.KiteFileType;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
@@ -9,13 +10,11 @@ import cloud.kitelang.intellij.util.KitePsiUtil;
 import com.intellij.codeInsight.intention.HighPriorityAction;
 import com.intellij.codeInsight.intention.impl.BaseIntentionAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
@@ -30,16 +29,10 @@ import java.util.*;
  * and adds the appropriate import statement.
  * <p>
  * Extends BaseIntentionAction as required by IntelliJ Platform for annotator quick-fixes.
+ * Dumb-aware: candidates come from the last-known project file snapshot while indexing.
  */
-public class AddImportQuickFix extends BaseIntentionAction implements HighPriorityAction {
-
-    // Pattern for named imports: import X from "path" or import X, Y, Z from "path"
-    // Group 1: symbols (e.g., "formatName" or "a, b, c")
-    // Group 2: path (e.g., "common.kite")
-    private static final java.util.regex.Pattern NAMED_IMPORT_PATTERN = java.util.regex.Pattern.compile(
-            "^(\\s*import\\s+)([\\w,\\s]+)(\\s+from\\s+[\"'])([^\"']+)([\"'])",
-            java.util.regex.Pattern.MULTILINE
-    );
+public class AddImportQuickFix extends BaseIntentionAction implements HighPriorityAction, DumbAware {
+
     private final String symbolName;
     private final String importPath;
 
@@ -71,23 +64,16 @@ public class AddImportQuickFix extends BaseIntentionAction implements HighPriori
         java.util.Map<String, Set<String>> namedImports = new java.util.HashMap<>();
         collectImportInfo(currentFile, wildcardImportedPaths, namedImports);
 
-        // Search all .kite files in the project
-        Collection<VirtualFile> kiteFiles = FileTypeIndex.getFiles(
-                KiteFileType.INSTANCE,
-                GlobalSearchScope.projectScope(project)
-        );
-
-        for (VirtualFile vFile : kiteFiles) {
+        // Search all .kite files in the project (last-known snapshot while indexing)
+        KiteImportHelper.processKiteFilesInProject(project, psiFile -> {
+            VirtualFile vFile = psiFile.getVirtualFile();
             String filePath = vFile.getPath();
 
             // Skip current file
-            if (visitedPaths.contains(filePath)) continue;
+            if (visitedPaths.contains(filePath)) return true;
 
             // Skip files with wildcard imports - all symbols are already available
-            if (wildcardImportedPaths.contains(filePath)) continue;
-
-            PsiFile psiFile = PsiManager.getInstance(project).findFile(vFile);
-            if (psiFile == null) continue;
+            if (wildcardImportedPaths.contains(filePath)) return true;
 
             // Check if this file declares the symbol
             if (fileDeclaresSymbol(psiFile, symbolName)) {
@@ -100,12 +86,13 @@ public class AddImportQuickFix extends BaseIntentionAction implements HighPriori
                         importedSymbols = namedImports.get(filePath); // Try absolute path
                     }
                     if (importedSymbols != null && importedSymbols.contains(symbolName)) {
-                        continue; // Symbol already imported from this file
+                        return true; // Symbol already imported from this file
                     }
                     candidates.add(new ImportCandidate(symbolName, relativePath, vFile.getPath()));
                 }
             }
-        }
+            return true;
+        });
 
         return candidates;
     }
@@ -120,52 +107,21 @@ public class AddImportQuickFix extends BaseIntentionAction implements HighPriori
     private static void collectImportInfo(@NotNull PsiFile file,
                                           @NotNull Set<String> wildcardImportedPaths,
                                           @NotNull java.util.Map<String, Set<String>> namedImports) {
-        for (PsiElement child = file.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType type = child.getNode().getElementType();
-
-            if (type == KiteElementTypes.IMPORT_STATEMENT) {
-                analyzeImportForInfo(child, wildcardImportedPaths, namedImports, file);
-            }
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            analyzeImportForInfo(importStatement, wildcardImportedPaths, namedImports, file);
         }
     }
 
     /**
      * Analyze an import statement to determine if it's wildcard or named.
      */
-    private static void analyzeImportForInfo(@NotNull PsiElement importStatement,
+    private static void analyzeImportForInfo(@NotNull KiteImportStatement importStatement,
                                              @NotNull Set<String> wildcardImportedPaths,
                                              @NotNull java.util.Map<String, Set<String>> namedImports,
                                              @NotNull PsiFile containingFile) {
-        boolean isWildcard = false;
-        Set<String> symbols = new HashSet<>();
-        String importPath = null;
-        boolean foundImport = false;
-        boolean foundFrom = false;
-
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.IMPORT) {
-                foundImport = true;
-            } else if (foundImport && childType == KiteTokenTypes.MULTIPLY) {
-                isWildcard = true;
-            } else if (foundImport && !foundFrom && childType == KiteTokenTypes.IDENTIFIER) {
-                symbols.add(child.getText());
-            } else if (childType == KiteTokenTypes.FROM) {
-                foundFrom = true;
-            } else if (foundFrom) {
-                // Extract path
-                String text = child.getText();
-                if (text.length() >= 2 &&
-                    ((text.startsWith("\"") && text.endsWith("\"")) ||
-                     (text.startsWith("'") && text.endsWith("'")))) {
-                    importPath = text.substring(1, text.length() - 1);
-                    break;
-                }
-            }
-        }
+        boolean isWildcard = importStatement.isWildcard();
+        Set<String> symbols = new HashSet<>(importStatement.getSymbolNames());
+        String importPath = importStatement.getPath();
 
         if (importPath == null) return;
 
@@ -331,47 +287,35 @@ public class AddImportQuickFix extends BaseIntentionAction implements HighPriori
     }
 
     /**
-     * Find ALL existing import statements for the given path using text-based parsing.
-     * This is more reliable than PSI-based parsing when the PSI structure varies.
+     * Find ALL existing import statements for the given path, in source order.
      * Returns an empty list if no imports from this path exist.
      */
     @NotNull
     private List<ExistingImportInfo> findAllImportsForPath(@NotNull PsiFile file, @NotNull String targetPath) {
         List<ExistingImportInfo> imports = new ArrayList<>();
-        String text = file.getText();
-
-        java.util.regex.Matcher matcher = NAMED_IMPORT_PATTERN.matcher(text);
-        while (matcher.find()) {
-            String importPath = matcher.group(4); // The path inside quotes
-
-            if (targetPath.equals(importPath)) {
-                String symbolsStr = matcher.group(2).trim(); // The symbols
-                boolean isWildcard = "*".equals(symbolsStr);
-
-                List<String> symbols = new ArrayList<>();
-                if (!isWildcard) {
-                    // Parse comma-separated symbols
-                    for (String symbol : symbolsStr.split(",")) {
-                        String trimmed = symbol.trim();
-                        if (!trimmed.isEmpty()) {
-                            symbols.add(trimmed);
-                        }
-                    }
-                }
-
-                int startOffset = matcher.start();
-                int endOffset = matcher.end();
 
-                // Calculate symbolsEndOffset - position after last symbol, before " from"
-                int symbolsEndOffset = matcher.start(3); // Start of " from"
+        for (KiteImportStatement importStatement : KiteImportHelper.getImportStatements(file)) {
+            if (!targetPath.equals(importStatement.getPath())) {
+                continue;
+            }
 
-                imports.add(new ExistingImportInfo(startOffset, endOffset, symbolsEndOffset, isWildcard, symbols));
+            PsiElement symbolList = importStatement.getSymbolList();
+            if (symbolList == null && !importStatement.isWildcard()) {
+                continue; // Incomplete import without symbols
             }
+            // Position after the last symbol, before " from"
+            int symbolsEndOffset = symbolList != null
+                    ? symbolList.getTextRange().getEndOffset()
+                    : importStatement.getTextRange().getStartOffset();
+
+            imports.add(new ExistingImportInfo(
+                    importStatement.getTextRange().getStartOffset(),
+                    importStatement.getTextRange().getEndOffset(),
+                    symbolsEndOffset,
+                    importStatement.isWildcard(),
+                    importStatement.getSymbolNames()));
         }
 
-        // Sort by startOffset to ensure correct order
-        imports.sort((a, b) -> Integer.compare(a.startOffset, b.startOffset));
-
         return imports;
     }
 
@@ -1,17 +1,20 @@
 package cloud.kitelang.intellij.quickfix;
 
 import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import com.intellij.codeInsight.intention.impl.BaseIntentionAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Quick-fix that removes unused import statements or individual unused symbols from imports.
@@ -85,7 +88,7 @@ public class RemoveUnusedImportQuickFix extends BaseIntentionAction {
         if (removeWholeLine) {
             removeEntireImportLine(document, project, text);
         } else {
-            removeSymbolFromImport(document, project, text);
+            removeSymbolFromImport(file, document, project, text);
         }
     }
 
@@ -113,49 +116,29 @@ public class RemoveUnusedImportQuickFix extends BaseIntentionAction {
      * Remove a single symbol from a multi-symbol import.
      * e.g., "import a, b, c from x" -> "import a, c from x" (if removing b)
      */
-    private void removeSymbolFromImport(Document document, Project project, String text) {
-        String importText = text.substring(importLineStart, importLineEnd);
-
-        // Pattern to match import statement parts
-        // import symbolA, symbolB, symbolC from "path"
-        Pattern importPattern = Pattern.compile(
-                "^(\\s*import\\s+)([\\w,\\s]+)(\\s+from\\s+.*)$"
-        );
-
-        Matcher matcher = importPattern.matcher(importText);
-        if (!matcher.matches()) {
-            // Fall back to removing entire line if pattern doesn't match
+    private void removeSymbolFromImport(PsiFile file, Document document, Project project, String text) {
+        PsiDocumentManager.getInstance(project).commitDocument(document);
+        KiteImportStatement importStatement =
+                PsiTreeUtil.getParentOfType(file.findElementAt(importLineStart), KiteImportStatement.class, false);
+        PsiElement pathElement = importStatement != null ? importStatement.getPathElement() : null;
+        if (pathElement == null || importStatement.isWildcard()) {
+            // Fall back to removing entire line if the statement has no symbol list
             removeEntireImportLine(document, project, text);
             return;
         }
 
-        String prefix = matcher.group(1);     // "import "
-        String symbolsPart = matcher.group(2); // "a, b, c"
-        String suffix = matcher.group(3);      // " from \"path\""
-
-        // Parse and filter symbols
-        String[] symbols = symbolsPart.split("\\s*,\\s*");
-        StringBuilder newSymbols = new StringBuilder();
-        boolean first = true;
-
-        for (String symbol : symbols) {
-            String trimmed = symbol.trim();
-            if (!trimmed.isEmpty() && !trimmed.equals(symbolName)) {
-                if (!first) {
-                    newSymbols.append(", ");
-                }
-                newSymbols.append(trimmed);
-                first = false;
-            }
-        }
+        // Filter symbols
+        List<String> remainingSymbols = new ArrayList<>(importStatement.getSymbolNames());
+        remainingSymbols.removeIf(symbolName::equals);
 
-        if (newSymbols.isEmpty()) {
+        if (remainingSymbols.isEmpty()) {
             // All symbols removed, delete the entire line
             removeEntireImportLine(document, project, text);
         } else {
             // Replace the import with updated symbols
-            String newImport = prefix + newSymbols + suffix;
-            document.replaceString(importLineStart, importLineEnd, newImport);
+            String newImport = "import " + String.join(", ", remainingSymbols) + " from " + pathElement.getText();
+            document.replaceString(importStatement.getTextRange().getStartOffset(),
+                    pathElement.getTextRange().getEndOffset(), newImport);
             PsiDocumentManager.getInstance(project).commitDocument(document);
         }
     }
@@ -1,6 +1,7 @@
 package cloud.kitelang.intellij.quickfix;
 
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteInterpolation;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.reference.KiteImportHelper;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
@@ -18,8 +19,6 @@ import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Quick fix to convert wildcard imports to named imports.
@@ -168,24 +167,14 @@ public class WildcardToNamedImportQuickFix extends BaseIntentionAction {
             }
         }
 
-        // Collect string interpolation usages: $varName
-        if (type == KiteTokenTypes.INTERP_SIMPLE) {
-            String text = element.getText();
-            if (text.startsWith("$") && text.length() > 1) {
-                usedSymbols.add(text.substring(1));
+        // Collect string interpolation usages: $varName (${varName} is covered by its IDENTIFIER child)
+        if (type == KiteTokenTypes.INTERP_SIMPLE || type == KiteTokenTypes.INTERP_IDENTIFIER) {
+            String name = KiteInterpolation.getInterpolatedName(element);
+            if (name != null) {
+                usedSymbols.add(name);
             }
         }
 
-        // Collect string interpolation usages: ${varName}
-        if (type == KiteTokenTypes.INTERP_IDENTIFIER) {
-            usedSymbols.add(element.getText());
-        }
-
-        // Check STRING tokens for legacy interpolation patterns
-        if (type == KiteTokenTypes.STRING || type == KiteTokenTypes.STRING_TEXT) {
-            extractInterpolationsFromString(element.getText(), usedSymbols);
-        }
-
         // Recurse into children
         for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
             collectUsedSymbolsRecursive(child, usedSymbols);
@@ -224,23 +213,4 @@ public class WildcardToNamedImportQuickFix extends BaseIntentionAction {
 
         return false;
     }
-
-    /**
-     * Extract variable names from string interpolation patterns.
-     */
-    private void extractInterpolationsFromString(String text, Set<String> usedSymbols) {
-        // Match $varName pattern
-        Pattern simpleInterp = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
-        Matcher matcher = simpleInterp.matcher(text);
-        while (matcher.find()) {
-            usedSymbols.add(matcher.group(1));
-        }
-
-        // Match ${varName} pattern
-        Pattern bracedInterp = Pattern.compile("\\$\\{([a-zA-Z_][a-zA-Z0-9_]*)\\}");
-        matcher = bracedInterp.matcher(text);
-        while (matcher.find()) {
-            usedSymbols.add(matcher.group(1));
-        }
-    }
 }
@@ -1,29 +1,44 @@
 package cloud.kitelang.intellij.reference;
 
 import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.psi.KiteDeclaration;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
-import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Processor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Helper class for parsing import statements and resolving cross-file references.
  * <p>
  * Supports Kite import syntax:
  * - import * from "path/to/file.kite"
+ * - import Symbol, Other from "path/to/file.kite"
+ * <p>
+ * Imports are read from the structured {@link KiteImportStatement} elements built by the
+ * parser, see {@link #getImportStatements(PsiFile)}.
  * <p>
  * Note: URL imports (http://, https://) should be handled by the Kite language
  * runtime, which downloads and caches files locally. The plugin then reads
@@ -31,177 +46,49 @@ import java.util.regex.Pattern;
  */
 public class KiteImportHelper {
 
-    // Pattern to match import statements: import * from "path" or import Symbol from 'path'
-    // Matches both wildcard imports (import * from) and named imports (import name1, name2 from)
-    // Uses negative lookbehind to exclude commented lines (// at start of line or with leading whitespace)
-    private static final Pattern IMPORT_PATTERN = Pattern.compile(
-            "^\\s*import\\s+(?:\\*|[\\w,\\s]+)\\s+from\\s+[\"']([^\"']+)[\"']",
-            Pattern.MULTILINE
-    );
+    // Last-known result of the FileTypeIndex query, served while indexes are being rebuilt
+    private static final Key<FilesSnapshot> KITE_FILES_SNAPSHOT = Key.create("kite.files.snapshot");
 
     /**
      * Get all imported files from a Kite file.
+     * The result is cached per file and invalidated on any PSI change in the project.
      *
      * @param file The Kite file to analyze
-     * @return List of resolved PsiFiles that are imported
+     * @return Unmodifiable list of resolved PsiFiles that are imported
      */
     @NotNull
     public static List<PsiFile> getImportedFiles(@NotNull PsiFile file) {
-        return getImportedFiles(file, new HashSet<>());
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+                Collections.unmodifiableList(collectImportedFiles(file)),
+                PsiModificationTracker.getInstance(file.getProject())));
     }
 
     /**
-     * Get all imported files, tracking visited files to prevent circular imports.
+     * Get the import statements of a file in source order.
+     * This is the per-file import model: every import-related feature reads symbols and
+     * paths from these structured PSI elements instead of parsing the file text.
+     * The result is cached per file and invalidated on any PSI change in the project.
+     *
+     * @param file The Kite file to analyze
+     * @return Unmodifiable list of the file's import statements
      */
     @NotNull
-    private static List<PsiFile> getImportedFiles(@NotNull PsiFile file, @NotNull Set<String> visitedPaths) {
-        List<PsiFile> importedFiles = new ArrayList<>();
-
-
-        // Add this file to visited to prevent circular imports
-        VirtualFile vFile = file.getVirtualFile();
-        if (vFile != null) {
-            String path = vFile.getPath();
-            if (visitedPaths.contains(path)) {
-                return importedFiles; // Already visited, prevent infinite loop
-            }
-            visitedPaths.add(path);
-        }
-
-        // Try PSI-based approach first
-        findImportStatements(file, file, importedFiles);
-
-        // If PSI approach didn't find anything, try text-based fallback
-        if (importedFiles.isEmpty()) {
-            findImportsFromText(file, importedFiles);
-        }
-
-        return importedFiles;
+    public static List<KiteImportStatement> getImportStatements(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+                Collections.unmodifiableList(PsiTreeUtil.getChildrenOfTypeAsList(file, KiteImportStatement.class)),
+                PsiModificationTracker.getInstance(file.getProject())));
     }
 
-    /**
-     * Fallback: Parse import statements from file text using regex.
-     * This is more reliable when the PSI structure doesn't match expectations.
-     */
-    private static void findImportsFromText(@NotNull PsiFile file, @NotNull List<PsiFile> importedFiles) {
-        String text = file.getText();
-        Matcher matcher = IMPORT_PATTERN.matcher(text);
-
-        while (matcher.find()) {
-            String importPath = matcher.group(1);
-
-            PsiFile importedFile = resolveFilePath(importPath, file);
-            if (importedFile != null) {
-                importedFiles.add(importedFile);
-            } else {
-            }
-        }
-    }
-
-    /**
-     * Recursively find import statements in the PSI tree.
-     * Looks for IMPORT_STATEMENT elements OR IMPORT keyword tokens followed by import syntax.
-     */
-    private static void findImportStatements(PsiElement element, PsiFile containingFile, List<PsiFile> importedFiles) {
-        if (element.getNode() == null) return;
-
-        IElementType type = element.getNode().getElementType();
-
-        // Check for IMPORT_STATEMENT composite element
-        if (type == KiteElementTypes.IMPORT_STATEMENT) {
-            PsiFile importedFile = resolveImport(element, containingFile);
+    @NotNull
+    private static List<PsiFile> collectImportedFiles(@NotNull PsiFile file) {
+        List<PsiFile> importedFiles = new ArrayList<>();
+        for (KiteImportStatement importStatement : getImportStatements(file)) {
+            PsiFile importedFile = resolveImport(importStatement, file);
             if (importedFile != null) {
                 importedFiles.add(importedFile);
-            } else {
-            }
-            return; // Don't recurse into children of import statement
-        }
-
-        // Alternative: Look for IMPORT keyword token and parse from there
-        // This handles cases where IMPORT_STATEMENT element isn't properly created
-        if (type == KiteTokenTypes.IMPORT) {
-            // The import statement syntax is: import * from "path"
-            // We need to find the string path that follows
-            String importPath = extractImportPathFromKeyword(element);
-            if (importPath != null) {
-                PsiFile importedFile = resolveFilePath(importPath, containingFile);
-                if (importedFile != null) {
-                    importedFiles.add(importedFile);
-                }
-            }
-            return; // Don't recurse further from import keyword
-        }
-
-        // Recurse into children
-        for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
-            findImportStatements(child, containingFile, importedFiles);
-        }
-    }
-
-    /**
-     * Extract import path by scanning forward from the IMPORT keyword token.
-     */
-    @Nullable
-    private static String extractImportPathFromKeyword(@NotNull PsiElement importKeyword) {
-        boolean foundFrom = false;
-        PsiElement sibling = importKeyword.getNextSibling();
-
-        while (sibling != null) {
-            if (sibling.getNode() == null) {
-                sibling = sibling.getNextSibling();
-                continue;
-            }
-
-            IElementType type = sibling.getNode().getElementType();
-            String text = sibling.getText();
-
-            // Skip whitespace
-            if (type == KiteTokenTypes.WHITESPACE || type == KiteTokenTypes.NL ||
-                type == com.intellij.psi.TokenType.WHITE_SPACE) {
-                sibling = sibling.getNextSibling();
-                continue;
-            }
-
-            // Look for "from" keyword
-            if (type == KiteTokenTypes.FROM || "from".equals(text)) {
-                foundFrom = true;
-                sibling = sibling.getNextSibling();
-                continue;
-            }
-
-            // After FROM, look for the string literal
-            if (foundFrom) {
-
-                // Check for quoted string
-                if (text.startsWith("\"") && text.endsWith("\"") && text.length() >= 2) {
-                    return text.substring(1, text.length() - 1);
-                }
-                if (text.startsWith("'") && text.endsWith("'") && text.length() >= 2) {
-                    return text.substring(1, text.length() - 1);
-                }
-
-                // Check for DQUOTE element that contains the string
-                if (type == KiteTokenTypes.DQUOTE || type == KiteTokenTypes.STRING ||
-                    type == KiteTokenTypes.SINGLE_STRING) {
-                    return extractStringContent(sibling);
-                }
-
-                // Check children for string content
-                String path = extractStringFromElement(sibling);
-                if (path != null) {
-                    return path;
-                }
             }
-
-            // Stop at newline (end of import statement)
-            if (type == KiteTokenTypes.NL) {
-                break;
-            }
-
-            sibling = sibling.getNextSibling();
         }
-
-        return null;
+        return importedFiles;
     }
 
     /**
@@ -231,98 +118,12 @@ public class KiteImportHelper {
      */
     @Nullable
     public static String extractImportPath(@NotNull PsiElement importStatement) {
-
-        boolean foundFrom = false;
-
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-
-            IElementType type = child.getNode().getElementType();
-
-            if (type == KiteTokenTypes.FROM) {
-                foundFrom = true;
-                continue;
-            }
-
-            // After FROM, look for the string literal
-            if (foundFrom) {
-                // Handle various string token types
-                if (type == KiteTokenTypes.STRING ||
-                    type == KiteTokenTypes.SINGLE_STRING ||
-                    type == KiteTokenTypes.DQUOTE) {
-                    return extractStringContent(child);
-                }
-
-                // For composite elements, recurse to find string content
-                String path = extractStringFromElement(child);
-                if (path != null) {
-                    return path;
-                }
-            }
+        if (importStatement instanceof KiteImportStatement statement) {
+            return statement.getPath();
         }
-
         return null;
     }
 
-    /**
-     * Extract string content from various string element types.
-     */
-    @Nullable
-    private static String extractStringFromElement(@NotNull PsiElement element) {
-        String text = element.getText();
-
-        // Direct string content
-        if (text.startsWith("\"") && text.endsWith("\"") && text.length() >= 2) {
-            return text.substring(1, text.length() - 1);
-        }
-        if (text.startsWith("'") && text.endsWith("'") && text.length() >= 2) {
-            return text.substring(1, text.length() - 1);
-        }
-
-        // Check children for string content
-        for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-
-            IElementType type = child.getNode().getElementType();
-            if (type == KiteTokenTypes.STRING_TEXT) {
-                return child.getText();
-            }
-
-            // Recurse into composite elements
-            String result = extractStringFromElement(child);
-            if (result != null) {
-                return result;
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Extract the content from a string literal element.
-     */
-    @NotNull
-    private static String extractStringContent(@NotNull PsiElement stringElement) {
-        String text = stringElement.getText();
-
-        // Remove surrounding quotes if present
-        if ((text.startsWith("\"") && text.endsWith("\"")) ||
-            (text.startsWith("'") && text.endsWith("'"))) {
-            if (text.length() >= 2) {
-                return text.substring(1, text.length() - 1);
-            }
-        }
-
-        // For DQUOTE tokens, we need to find the STRING_TEXT inside
-        for (PsiElement child = stringElement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.STRING_TEXT) {
-                return child.getText();
-            }
-        }
-
-        return text;
-    }
-
     /**
      * Resolve a file path relative to a containing file.
      * Supports multiple resolution strategies:
@@ -370,27 +171,13 @@ public class KiteImportHelper {
             }
         }
 
-        // Strategy 3: Try project-local providers directory (.kite/providers/)
+        // Strategies 3 and 4: Try the project-local (.kite/providers/) and user-global
+        // (~/.kite/providers/) provider directories
         if (targetFile == null) {
-            String basePath = project.getBasePath();
-            if (basePath != null) {
-                VirtualFile projectRoot = fileSystem.findFileByPath(basePath);
-                if (projectRoot != null) {
-                    VirtualFile providersDir = projectRoot.findFileByRelativePath(".kite/providers");
-                    if (providersDir != null && providersDir.isDirectory()) {
-                        targetFile = resolveInProviderDir(providersDir, importPath);
-                    }
-                }
-            }
-        }
-
-        // Strategy 4: Try user-global providers directory (~/.kite/providers/)
-        if (targetFile == null) {
-            String userHome = System.getProperty("user.home");
-            if (userHome != null) {
-                VirtualFile userProvidersDir = fileSystem.findFileByPath(userHome + "/.kite/providers");
-                if (userProvidersDir != null && userProvidersDir.isDirectory()) {
-                    targetFile = resolveInProviderDir(userProvidersDir, importPath);
+            for (VirtualFile providersDir : getProviderDirectories(project)) {
+                targetFile = resolveInProviderDir(providersDir, importPath);
+                if (targetFile != null) {
+                    break;
                 }
             }
         }
@@ -403,6 +190,36 @@ public class KiteImportHelper {
         return PsiManager.getInstance(project).findFile(targetFile);
     }
 
+    /**
+     * Get the existing provider directories in resolution order: the project-local
+     * {@code .kite/providers/} first, then the user-global {@code ~/.kite/providers/}.
+     */
+    @NotNull
+    public static List<VirtualFile> getProviderDirectories(@NotNull Project project) {
+        com.intellij.openapi.vfs.LocalFileSystem fileSystem = com.intellij.openapi.vfs.LocalFileSystem.getInstance();
+        List<VirtualFile> directories = new ArrayList<>(2);
+
+        String basePath = project.getBasePath();
+        if (basePath != null) {
+            VirtualFile projectRoot = fileSystem.findFileByPath(basePath);
+            if (projectRoot != null) {
+                VirtualFile providersDir = projectRoot.findFileByRelativePath(".kite/providers");
+                if (providersDir != null && providersDir.isDirectory()) {
+                    directories.add(providersDir);
+                }
+            }
+        }
+
+        String userHome = System.getProperty("user.home");
+        if (userHome != null) {
+            VirtualFile userProvidersDir = fileSystem.findFileByPath(userHome + "/.kite/providers");
+            if (userProvidersDir != null && userProvidersDir.isDirectory()) {
+                directories.add(userProvidersDir);
+            }
+        }
+        return directories;
+    }
+
     /**
      * Resolve an import path within a provider directory.
      * Handles both direct file paths and package-style paths.
@@ -456,14 +273,10 @@ public class KiteImportHelper {
      * @return true if the name is imported by this statement
      */
     public static boolean isNameImported(@NotNull String name, @NotNull PsiElement importStatement) {
-        // For now, we only support wildcard imports (import * from "...")
-        // which imports everything
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.MULTIPLY) {
-                return true; // Wildcard import includes everything
-            }
+        if (!(importStatement instanceof KiteImportStatement statement)) {
+            return false;
         }
-        return false;
+        return statement.isWildcard() || statement.getSymbolNames().contains(name);
     }
 
     /**
@@ -476,33 +289,11 @@ public class KiteImportHelper {
      * @return true if the symbol is imported by any import statement
      */
     public static boolean isSymbolImported(@NotNull String symbolName, @NotNull PsiFile containingFile) {
-        String fileText = containingFile.getText();
-
-        // Pattern to match import statements: import <symbols> from "path"
-        // Group 1: the symbols part (either * or name1, name2, ...)
-        Pattern importPattern = Pattern.compile(
-                "^\\s*import\\s+([\\w,\\s*]+)\\s+from\\s+[\"'][^\"']+[\"']",
-                Pattern.MULTILINE
-        );
-
-        Matcher matcher = importPattern.matcher(fileText);
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(1).trim();
-
-            // Check for wildcard import
-            if (symbolsPart.equals("*")) {
-                return true; // Wildcard imports everything
-            }
-
-            // Check for named imports: split by comma and check each
-            String[] importedSymbols = symbolsPart.split("\\s*,\\s*");
-            for (String imported : importedSymbols) {
-                if (imported.trim().equals(symbolName)) {
-                    return true;
-                }
+        for (KiteImportStatement importStatement : getImportStatements(containingFile)) {
+            if (importStatement.getPath() != null && isNameImported(symbolName, importStatement)) {
+                return true;
             }
         }
-
         return false;
     }
 
@@ -516,70 +307,103 @@ public class KiteImportHelper {
      */
     @Nullable
     public static PsiFile getImportSourceFile(@NotNull String symbolName, @NotNull PsiFile containingFile) {
-        String fileText = containingFile.getText();
-
-        // Pattern to match import statements: import <symbols> from "path"
-        Pattern importPattern = Pattern.compile(
-                "^\\s*import\\s+([\\w,\\s*]+)\\s+from\\s+[\"']([^\"']+)[\"']",
-                Pattern.MULTILINE
-        );
-
-        Matcher matcher = importPattern.matcher(fileText);
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(1).trim();
-            String importPath = matcher.group(2);
-
-            boolean symbolMatches = false;
-
-            // Check for wildcard import
-            if (symbolsPart.equals("*")) {
-                symbolMatches = true;
-            } else {
-                // Check for named imports
-                String[] importedSymbols = symbolsPart.split("\\s*,\\s*");
-                for (String imported : importedSymbols) {
-                    if (imported.trim().equals(symbolName)) {
-                        symbolMatches = true;
-                        break;
-                    }
-                }
-            }
-
-            if (symbolMatches) {
-                PsiFile sourceFile = resolveFilePath(importPath, containingFile);
+        for (KiteImportStatement importStatement : getImportStatements(containingFile)) {
+            if (isNameImported(symbolName, importStatement)) {
+                PsiFile sourceFile = resolveImport(importStatement, containingFile);
                 if (sourceFile != null) {
                     return sourceFile;
                 }
             }
         }
-
         return null;
     }
 
     /**
-     * Find all .kite files in the project.
+     * Visit the PSI of every .kite file in the project, one file at a time.
+     * Degrades to the last-known snapshot during indexing, see {@link #getKiteVirtualFilesInProject(Project)}.
      *
-     * @param project The project to search
-     * @return List of PsiFiles for all .kite files in the project
+     * @param project   The project to search
+     * @param processor Receives each file; returning false stops the walk
+     * @return false if the processor stopped the walk, true otherwise
      */
-    @NotNull
-    public static List<PsiFile> getAllKiteFilesInProject(@NotNull Project project) {
-        List<PsiFile> result = new ArrayList<>();
-        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-        PsiManager psiManager = PsiManager.getInstance(project);
+    public static boolean processKiteFilesInProject(@NotNull Project project,
+                                                    @NotNull Processor<? super PsiFile> processor) {
+        return processKiteFilesInProject(project, GlobalSearchScope.projectScope(project), processor);
+    }
 
-        // Use FileTypeIndex to find all .kite files (works with test fixtures too)
-        Collection<VirtualFile> kiteFiles = com.intellij.psi.search.FileTypeIndex.getFiles(
-                KiteFileType.INSTANCE, scope);
+    /**
+     * Visit the PSI of every .kite file in the project that lies in the given scope.
+     * <p>
+     * PSI is looked up lazily for the file being visited and never collected, so callers that do
+     * not keep the files themselves hold at most one file's PSI at a time. Checks for cancellation
+     * before each file.
+     *
+     * @param project   The project to search
+     * @param scope     Only files contained in this scope are visited
+     * @param processor Receives each file; returning false stops the walk
+     * @return false if the processor stopped the walk, true otherwise
+     */
+    public static boolean processKiteFilesInProject(@NotNull Project project,
+                                                    @NotNull GlobalSearchScope scope,
+                                                    @NotNull Processor<? super PsiFile> processor) {
+        PsiManager psiManager = PsiManager.getInstance(project);
 
-        for (VirtualFile vFile : kiteFiles) {
+        for (VirtualFile vFile : getKiteVirtualFilesInProject(project)) {
+            ProgressManager.checkCanceled();
+            if (!vFile.isValid() || !scope.contains(vFile)) {
+                continue;
+            }
             PsiFile psiFile = psiManager.findFile(vFile);
-            if (psiFile != null) {
-                result.add(psiFile);
+            if (psiFile != null && !processor.process(psiFile)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find all .kite virtual files in the project without blocking on indexing.
+     * <p>
+     * In smart mode this queries {@link FileTypeIndex} (works with test fixtures too) and records
+     * the result as a per-project snapshot. In dumb mode, or if the index turns out not to be ready,
+     * the last-known snapshot is returned instead, so project-wide features keep working on slightly
+     * stale data rather than blocking or throwing {@link IndexNotReadyException}. Before the first
+     * smart-mode query the snapshot is empty and callers degrade to in-file and import-graph resolution.
+     *
+     * @param project The project to search
+     * @return Collection of .kite files in the project
+     */
+    @NotNull
+    public static Collection<VirtualFile> getKiteVirtualFilesInProject(@NotNull Project project) {
+        if (!DumbService.isDumb(project)) {
+            try {
+                Collection<VirtualFile> kiteFiles = FileTypeIndex.getFiles(
+                        KiteFileType.INSTANCE, GlobalSearchScope.projectScope(project));
+                // Copy only when files were added, removed, renamed or moved since the last snapshot
+                long vfsStamp = VirtualFileManager.getInstance().getStructureModificationCount();
+                long rootsStamp = ProjectRootManager.getInstance(project).getModificationCount();
+                FilesSnapshot snapshot = project.getUserData(KITE_FILES_SNAPSHOT);
+                if (snapshot == null || snapshot.vfsStamp() != vfsStamp || snapshot.rootsStamp() != rootsStamp) {
+                    project.putUserData(KITE_FILES_SNAPSHOT, new FilesSnapshot(List.copyOf(kiteFiles), vfsStamp, rootsStamp));
+                }
+                return kiteFiles;
+            } catch (IndexNotReadyException e) {
+                // Indexing started between the check and the query - fall back to the snapshot
             }
         }
 
-        return result;
+        FilesSnapshot snapshot = project.getUserData(KITE_FILES_SNAPSHOT);
+        if (snapshot == null) {
+            return List.of();
+        }
+        return snapshot.files().stream().filter(VirtualFile::isValid).toList();
+    }
+
+    /**
+     * Last-known .kite files of a project, with the VFS structure and project roots
+     * modification counts it was taken at.
+     */
+    private record FilesSnapshot(List<VirtualFile> files, long vfsStamp, long rootsStamp) {
     }
 
     /**
@@ -597,26 +421,41 @@ public class KiteImportHelper {
         if (fromVFile == null || toVFile == null) {
             return null;
         }
+        return getRelativeImportPath(fromVFile, toVFile);
+    }
 
-        VirtualFile fromDir = fromVFile.getParent();
-        if (fromDir == null) {
+    /**
+     * Get the relative import path from one file to another, computed from paths only.
+     *
+     * @param fromFile The file containing the import statement
+     * @param toFile   The file to import from
+     * @return The relative path to use in the import statement
+     */
+    @Nullable
+    public static String getRelativeImportPath(@NotNull VirtualFile fromFile, @NotNull VirtualFile toFile) {
+        VirtualFile fromDir = fromFile.getParent();
+        VirtualFile toDir = toFile.getParent();
+        if (fromDir == null || toDir == null) {
             return null;
         }
 
-        // If in same directory, just use the file name
-        VirtualFile toDir = toVFile.getParent();
+        String dirPath = getRelativeDirectoryPath(fromDir, toDir);
+        return dirPath.isEmpty() ? toFile.getName() : dirPath + "/" + toFile.getName();
+    }
+
+    /**
+     * Get the relative path from one directory to another, e.g. "../shared".
+     *
+     * @return The relative path, or an empty string if both are the same directory
+     */
+    @NotNull
+    public static String getRelativeDirectoryPath(@NotNull VirtualFile fromDir, @NotNull VirtualFile toDir) {
         if (fromDir.equals(toDir)) {
-            return toVFile.getName();
+            return "";
         }
 
-        // Try to find relative path
-        String fromPath = fromDir.getPath();
-        String toPath = toVFile.getPath();
-
-        // Simple case: if toFile is in the same project directory tree
-        // Calculate relative path using path manipulation
-        String[] fromParts = fromPath.split("/");
-        String[] toParts = toPath.split("/");
+        String[] fromParts = fromDir.getPath().split("/");
+        String[] toParts = toDir.getPath().split("/");
 
         // Find common prefix length
         int commonLen = 0;
@@ -642,7 +481,7 @@ public class KiteImportHelper {
             relPath.append(toParts[i]);
         }
 
-        return !relPath.isEmpty() ? relPath.toString() : toVFile.getName();
+        return relPath.toString();
     }
 
     /**
@@ -675,6 +514,7 @@ public class KiteImportHelper {
                                                   @NotNull Set<String> visited) {
         var importedFiles = getImportedFiles(file);
         for (var importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null || importedFile.getVirtualFile() == null) {
                 continue;
             }
@@ -728,6 +568,7 @@ public class KiteImportHelper {
                                                @NotNull Set<String> visited) {
         var importedFiles = getImportedFiles(file);
         for (var importedFile : importedFiles) {
+            ProgressManager.checkCanceled();
             if (importedFile == null || importedFile.getVirtualFile() == null) {
                 continue;
             }
@@ -757,33 +598,19 @@ public class KiteImportHelper {
     @NotNull
     public static Set<String> getImportedSymbols(@NotNull PsiFile file) {
         Set<String> symbols = new HashSet<>();
-        String fileText = file.getText();
-
-        Pattern importPattern = Pattern.compile(
-                "^\\s*import\\s+([\\w,\\s*]+)\\s+from\\s+[\"']([^\"']+)[\"']",
-                Pattern.MULTILINE
-        );
-
-        Matcher matcher = importPattern.matcher(fileText);
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(1).trim();
-            String importPath = matcher.group(2);
 
-            if (symbolsPart.equals("*")) {
+        for (KiteImportStatement importStatement : getImportStatements(file)) {
+            if (importStatement.getPath() == null) {
+                continue;
+            }
+            if (importStatement.isWildcard()) {
                 // Wildcard import - get all exports from the file
-                PsiFile importedFile = resolveFilePath(importPath, file);
+                PsiFile importedFile = resolveImport(importStatement, file);
                 if (importedFile != null) {
                     symbols.addAll(getExportedSymbols(importedFile));
                 }
             } else {
-                // Named imports
-                String[] importedSymbols = symbolsPart.split("\\s*,\\s*");
-                for (String symbol : importedSymbols) {
-                    String trimmed = symbol.trim();
-                    if (!trimmed.isEmpty()) {
-                        symbols.add(trimmed);
-                    }
-                }
+                symbols.addAll(importStatement.getSymbolNames());
             }
         }
 
@@ -792,20 +619,28 @@ public class KiteImportHelper {
 
     /**
      * Get all symbols exported from this file (top-level declarations).
+     * The result is cached per file and invalidated on any PSI change in the project.
      *
      * @param file The file to analyze
-     * @return Set of all exported symbol names
+     * @return Unmodifiable set of all exported symbol names
      */
     @NotNull
     public static Set<String> getExportedSymbols(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+                Collections.unmodifiableSet(collectExportedSymbols(file)),
+                PsiModificationTracker.getInstance(file.getProject())));
+    }
+
+    @NotNull
+    private static Set<String> collectExportedSymbols(@NotNull PsiFile file) {
         Set<String> exports = new HashSet<>();
 
         for (PsiElement child = file.getFirstChild(); child != null; child = child.getNextSibling()) {
             if (child.getNode() == null) continue;
 
             IElementType type = child.getNode().getElementType();
-            if (isExportableDeclaration(type)) {
-                String name = findDeclarationName(child, type);
+            if (isExportableDeclaration(type) && child instanceof KiteDeclaration declaration) {
+                String name = declaration.getName();
                 if (name != null && !name.isEmpty()) {
                     exports.add(name);
                 }
@@ -827,52 +662,6 @@ public class KiteImportHelper {
                type == KiteElementTypes.TYPE_DECLARATION;
     }
 
-    /**
-     * Find the name of a declaration element.
-     */
-    @Nullable
-    private static String findDeclarationName(@NotNull PsiElement declaration, IElementType declType) {
-        for (PsiElement child = declaration.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() != null && child.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
-                PsiElement next = skipWhitespaceForward(child.getNextSibling());
-                if (next != null && next.getNode() != null) {
-                    IElementType nextType = next.getNode().getElementType();
-                    if (nextType == KiteTokenTypes.ASSIGN ||
-                        nextType == KiteTokenTypes.LBRACE ||
-                        nextType == KiteTokenTypes.COLON ||
-                        nextType == KiteTokenTypes.PLUS_ASSIGN ||
-                        nextType == KiteTokenTypes.LPAREN) {  // For function declarations
-                        return child.getText();
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Skip whitespace tokens moving forward.
-     */
-    @Nullable
-    private static PsiElement skipWhitespaceForward(@Nullable PsiElement element) {
-        while (element != null && isWhitespaceElement(element)) {
-            element = element.getNextSibling();
-        }
-        return element;
-    }
-
-    /**
-     * Check if element is whitespace.
-     */
-    private static boolean isWhitespaceElement(@NotNull PsiElement element) {
-        if (element.getNode() == null) return false;
-        IElementType type = element.getNode().getElementType();
-        return type == com.intellij.psi.TokenType.WHITE_SPACE ||
-               type == KiteTokenTypes.NL ||
-               type == KiteTokenTypes.WHITESPACE ||
-               type == KiteTokenTypes.NEWLINE;
-    }
-
     /**
      * Get imports grouped by file path.
      * Returns a map of file path -> set of imported symbols.
@@ -883,30 +672,15 @@ public class KiteImportHelper {
     @NotNull
     public static Map<String, Set<String>> getImportsByFile(@NotNull PsiFile file) {
         Map<String, Set<String>> imports = new LinkedHashMap<>();
-        String fileText = file.getText();
-
-        Pattern importPattern = Pattern.compile(
-                "^\\s*import\\s+([\\w,\\s*]+)\\s+from\\s+[\"']([^\"']+)[\"']",
-                Pattern.MULTILINE
-        );
-
-        Matcher matcher = importPattern.matcher(fileText);
-        while (matcher.find()) {
-            String symbolsPart = matcher.group(1).trim();
-            String importPath = matcher.group(2);
-
-            Set<String> symbols = imports.computeIfAbsent(importPath, k -> new LinkedHashSet<>());
-
-            if (!symbolsPart.equals("*")) {
-                String[] importedSymbols = symbolsPart.split("\\s*,\\s*");
-                for (String symbol : importedSymbols) {
-                    String trimmed = symbol.trim();
-                    if (!trimmed.isEmpty()) {
-                        symbols.add(trimmed);
-                    }
-                }
+
+        for (KiteImportStatement importStatement : getImportStatements(file)) {
+            String importPath = importStatement.getPath();
+            if (importPath == null || importPath.isEmpty()) {
+                continue;
             }
             // For wildcard imports, we keep empty set to indicate the file is imported
+            imports.computeIfAbsent(importPath, k -> new LinkedHashSet<>())
+                    .addAll(importStatement.getSymbolNames());
         }
 
         return imports;
@@ -1,9 +1,10 @@
 package cloud.kitelang.intellij.reference;
 
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
+import cloud.kitelang.intellij.util.KiteSymbolPrefixIndex;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
-import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -16,9 +17,13 @@ import java.util.List;
  * <p>
  * For example, in "import appName from "common.kite"", the reference for appName
  * will only resolve to the appName declaration in common.kite.
+ * Results are cached in {@link ResolveCache} until the next PSI change.
  */
 public class KiteImportSymbolReference extends PsiReferenceBase<PsiElement> implements PsiPolyVariantReference {
 
+    private static final ResolveCache.PolyVariantResolver<KiteImportSymbolReference> RESOLVER =
+            (reference, incompleteCode) -> reference.resolveInner();
+
     private final String symbolName;
     private final String importPath;
 
@@ -31,6 +36,11 @@ public class KiteImportSymbolReference extends PsiReferenceBase<PsiElement> impl
 
     @Override
     public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
+        return ResolveCache.getInstance(myElement.getProject())
+                .resolveWithCaching(this, RESOLVER, false, incompleteCode);
+    }
+
+    private ResolveResult @NotNull [] resolveInner() {
         List<ResolveResult> results = new ArrayList<>();
 
         // Resolve the import path to get the target file
@@ -60,22 +70,13 @@ public class KiteImportSymbolReference extends PsiReferenceBase<PsiElement> impl
     /**
      * Find declarations with the given name in a specific file.
      */
-    private void findDeclarationsInFile(PsiElement element, String targetName, List<ResolveResult> results) {
-        IElementType type = element.getNode().getElementType();
-
-        if (KiteDeclarationHelper.isDeclarationType(type)) {
-            var nameElement = KiteDeclarationHelper.findNameElementInDeclaration(element, type);
-            if (nameElement != null && targetName.equals(nameElement.getText())) {
+    private void findDeclarationsInFile(PsiFile file, String targetName, List<ResolveResult> results) {
+        for (PsiElement declaration : KiteSymbolPrefixIndex.getIndex(file).getDeclarations(targetName)) {
+            var nameElement = KiteDeclarationHelper.findNameElementInDeclaration(
+                    declaration, declaration.getNode().getElementType());
+            if (nameElement != null) {
                 results.add(new PsiElementResolveResult(nameElement));
-                return; // Found it
             }
         }
-
-        // Recurse into children
-        PsiElement child = element.getFirstChild();
-        while (child != null) {
-            findDeclarationsInFile(child, targetName, results);
-            child = child.getNextSibling();
-        }
     }
 }
@@ -1,12 +1,15 @@
 package cloud.kitelang.intellij.reference;
 
+import cloud.kitelang.intellij.psi.KiteComponentDeclaration;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import cloud.kitelang.intellij.util.KitePsiUtil;
 import cloud.kitelang.intellij.util.KiteSchemaHelper;
+import cloud.kitelang.intellij.util.KiteSymbolPrefixIndex;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NotNull;
@@ -25,9 +28,16 @@ import java.util.Set;
  * 1. Simple identifiers (e.g., "server") - resolved to declarations in scope
  * 2. Property access (e.g., "size" in "server.size") - resolved within the object's declaration
  * 3. Cross-file references - resolved through import statements
+ * <p>
+ * Results are cached in {@link ResolveCache}, so repeated resolves of the same reference
+ * (highlighting, navigation, usages, documentation) are free until the next PSI change.
+ * Declarations are looked up by name in each file's {@link KiteSymbolPrefixIndex}.
  */
 public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPolyVariantReference {
 
+    private static final ResolveCache.PolyVariantResolver<KiteReference> RESOLVER =
+            (reference, incompleteCode) -> reference.resolveInner();
+
     private final String name;
 
     public KiteReference(@NotNull PsiElement element, @NotNull TextRange rangeInElement) {
@@ -37,8 +47,12 @@ public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPo
 
     @Override
     public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
-        List<ResolveResult> results = new ArrayList<>();
+        return ResolveCache.getInstance(myElement.getProject())
+                .resolveWithCaching(this, RESOLVER, false, incompleteCode);
+    }
 
+    private ResolveResult @NotNull [] resolveInner() {
+        List<ResolveResult> results = new ArrayList<>();
 
         // Check if this is a property access (identifier after a DOT)
         List<String> propertyChain = getPropertyAccessChain();
@@ -67,6 +81,17 @@ public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPo
         return results.length >= 1 ? results[0].getElement() : null;
     }
 
+    /**
+     * References resolve to the name identifier; a declaration counts as the same target.
+     */
+    @Override
+    public boolean isReferenceTo(@NotNull PsiElement element) {
+        if (element instanceof PsiNameIdentifierOwner owner && owner.getNameIdentifier() != null) {
+            element = owner.getNameIdentifier();
+        }
+        return super.isReferenceTo(element);
+    }
+
     @Override
     public PsiElement handleElementRename(@NotNull String newElementName) throws IncorrectOperationException {
         // Use ElementManipulator to handle the rename
@@ -210,35 +235,12 @@ public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPo
      * For type name "WebServer", finds "component WebServer { input..., output... }".
      */
     @Nullable
-    private PsiElement findComponentTypeDefinition(PsiElement scope, String typeName) {
-        IElementType type = scope.getNode().getElementType();
-
-        if (type == KiteElementTypes.COMPONENT_DECLARATION) {
-            // Check if this is a type definition (1 identifier) with matching name
-            List<String> identifiers = new ArrayList<>();
-            for (PsiElement child = scope.getFirstChild(); child != null; child = child.getNextSibling()) {
-                IElementType childType = child.getNode().getElementType();
-                if (childType == KiteTokenTypes.IDENTIFIER) {
-                    identifiers.add(child.getText());
-                } else if (childType == KiteTokenTypes.LBRACE) {
-                    break;
-                }
-            }
-
-            // Type definition has exactly 1 identifier before {
-            if (identifiers.size() == 1 && identifiers.get(0).equals(typeName)) {
-                return scope;
-            }
-        }
-
-        // Recurse into children
-        for (PsiElement child = scope.getFirstChild(); child != null; child = child.getNextSibling()) {
-            PsiElement result = findComponentTypeDefinition(child, typeName);
-            if (result != null) {
-                return result;
+    private PsiElement findComponentTypeDefinition(PsiFile file, String typeName) {
+        for (PsiElement declaration : KiteSymbolPrefixIndex.getIndex(file).getDeclarations(typeName)) {
+            if (declaration instanceof KiteComponentDeclaration component && !component.isInstance()) {
+                return component;
             }
         }
-
         return null;
     }
 
@@ -478,51 +480,22 @@ public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPo
     /**
      * Find all declarations with the given name in the file (for simple identifier resolution).
      */
-    private void findDeclarations(PsiElement element, String targetName, List<ResolveResult> results) {
-        IElementType type = element.getNode().getElementType();
-
-        if (KiteDeclarationHelper.isDeclarationType(type)) {
-            PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(element, type);
-            if (nameElement != null && targetName.equals(nameElement.getText())) {
-                if (nameElement != myElement) {
-                    results.add(new PsiElementResolveResult(nameElement));
-                }
+    private void findDeclarations(PsiFile file, String targetName, List<ResolveResult> results) {
+        for (PsiElement declaration : KiteSymbolPrefixIndex.getIndex(file).getDeclarations(targetName)) {
+            PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(
+                    declaration, declaration.getNode().getElementType());
+            if (nameElement != null && nameElement != myElement) {
+                results.add(new PsiElementResolveResult(nameElement));
             }
         }
-
-        // Recurse into children
-        PsiElement child = element.getFirstChild();
-        while (child != null) {
-            findDeclarations(child, targetName, results);
-            child = child.getNextSibling();
-        }
     }
 
     /**
      * Find the declaration element (the whole node) for a given name.
      */
     @Nullable
-    private PsiElement findDeclarationElement(PsiElement element, String targetName) {
-        IElementType type = element.getNode().getElementType();
-
-        if (KiteDeclarationHelper.isDeclarationType(type)) {
-            PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(element, type);
-            if (nameElement != null && targetName.equals(nameElement.getText())) {
-                return element; // Return the whole declaration, not just the name
-            }
-        }
-
-        // Recurse into children
-        PsiElement child = element.getFirstChild();
-        while (child != null) {
-            PsiElement result = findDeclarationElement(child, targetName);
-            if (result != null) {
-                return result;
-            }
-            child = child.getNextSibling();
-        }
-
-        return null;
+    private PsiElement findDeclarationElement(PsiFile file, String targetName) {
+        return KiteSymbolPrefixIndex.getIndex(file).getFirstDeclaration(targetName);
     }
 
     /**
@@ -569,23 +542,13 @@ public class KiteReference extends PsiReferenceBase<PsiElement> implements PsiPo
      * Unlike findDeclarations, this doesn't check if nameElement == myElement
      * since we're searching in a different file.
      */
-    private void findDeclarationsInFile(PsiElement element, String targetName, List<ResolveResult> results) {
-        IElementType type = element.getNode().getElementType();
-
-        if (KiteDeclarationHelper.isDeclarationType(type)) {
-            PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(element, type);
-            if (nameElement != null && targetName.equals(nameElement.getText())) {
-                // For cross-file references, we always add the result
+    private void findDeclarationsInFile(PsiFile file, String targetName, List<ResolveResult> results) {
+        for (PsiElement declaration : KiteSymbolPrefixIndex.getIndex(file).getDeclarations(targetName)) {
+            PsiElement nameElement = KiteDeclarationHelper.findNameElementInDeclaration(
+                    declaration, declaration.getNode().getElementType());
+            if (nameElement != null) {
                 results.add(new PsiElementResolveResult(nameElement));
-                return; // Found it, no need to recurse further in this declaration
             }
         }
-
-        // Recurse into children
-        PsiElement child = element.getFirstChild();
-        while (child != null) {
-            findDeclarationsInFile(child, targetName, results);
-            child = child.getNextSibling();
-        }
     }
 }
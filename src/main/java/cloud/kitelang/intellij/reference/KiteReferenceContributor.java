@@ -1,11 +1,13 @@
 package cloud.kitelang.intellij.reference;
 
 import cloud.kitelang.intellij.KiteLanguage;
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import cloud.kitelang.intellij.util.KitePsiUtil;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.*;
@@ -14,105 +16,11 @@ import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Reference contributor for Kite language.
  * Provides references for identifiers to enable "Go to Declaration" (Cmd+Click).
  */
 public class KiteReferenceContributor extends PsiReferenceContributor {
-    private static final Logger LOG = Logger.getInstance(KiteReferenceContributor.class);
-
-    // Patterns for string interpolation
-    private static final Pattern BRACE_INTERPOLATION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    private static final Pattern SIMPLE_INTERPOLATION_PATTERN = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
-    // Pattern to extract import path from import statement line
-    // Matches: import symbol1, symbol2 from "path" OR import * from "path"
-    private static final Pattern IMPORT_LINE_PATTERN = Pattern.compile(
-            "^\\s*import\\s+(?:\\*|[\\w,\\s]+)\\s+from\\s+[\"']([^\"']+)[\"']"
-    );
-
-    /**
-     * Get references for string interpolation expressions like ${var} or $var.
-     * Each interpolation variable gets its own reference with precise text range.
-     */
-    private static PsiReference[] getStringInterpolationReferences(@NotNull PsiElement element) {
-        String text = element.getText();
-        LOG.info("[KiteRefContrib] Getting string interpolation references for: " + text);
-        List<PsiReference> references = new ArrayList<>();
-
-        // Handle ${expression} patterns
-        Matcher braceMatcher = BRACE_INTERPOLATION_PATTERN.matcher(text);
-        while (braceMatcher.find()) {
-            int contentStart = braceMatcher.start(1);  // Start of content inside ${}
-            int contentEnd = braceMatcher.end(1);      // End of content inside ${}
-            String content = braceMatcher.group(1);
-
-            // Extract the first identifier from the expression
-            String varName = extractFirstIdentifier(content);
-            if (varName != null) {
-                // Create a reference that covers just the variable name portion
-                TextRange range = new TextRange(contentStart, contentStart + varName.length());
-                LOG.info("[KiteRefContrib] Created brace interpolation reference: varName=" + varName + ", range=" + range);
-                references.add(new KiteStringInterpolationReference(element, range, varName));
-            }
-        }
-
-        // Handle $var patterns (but skip if already part of ${...})
-        Matcher simpleMatcher = SIMPLE_INTERPOLATION_PATTERN.matcher(text);
-        while (simpleMatcher.find()) {
-            int matchStart = simpleMatcher.start();
-
-            // Skip if this $ is immediately followed by { (part of ${} syntax)
-            if (matchStart + 1 < text.length() && text.charAt(matchStart + 1) == '{') {
-                continue;
-            }
-
-            int varStart = simpleMatcher.start(1);  // Start of variable name (after $)
-            int varEnd = simpleMatcher.end(1);      // End of variable name
-            String varName = simpleMatcher.group(1);
-
-            // Create a reference that covers just the variable name
-            TextRange range = new TextRange(varStart, varEnd);
-            references.add(new KiteStringInterpolationReference(element, range, varName));
-        }
-
-        return references.toArray(new PsiReference[0]);
-    }
-
-    /**
-     * Extract the first identifier from an expression.
-     * For "obj.prop" returns "obj", for "func()" returns "func", etc.
-     */
-    @Nullable
-    private static String extractFirstIdentifier(String expression) {
-        if (expression == null || expression.isEmpty()) {
-            return null;
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i);
-            if (i == 0) {
-                if (Character.isJavaIdentifierStart(c)) {
-                    sb.append(c);
-                } else {
-                    return null;
-                }
-            } else {
-                if (Character.isJavaIdentifierPart(c)) {
-                    sb.append(c);
-                } else {
-                    break;
-                }
-            }
-        }
-
-        return !sb.isEmpty() ? sb.toString() : null;
-    }
 
     /**
      * Check if this identifier is a declaration name (the name being declared, not a reference).
@@ -127,14 +35,19 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
      * but instanceTypes is a value/reference (should be navigable).
      */
     private static boolean isDeclarationName(@NotNull PsiElement element) {
+        boolean result = checkDeclarationName(element);
+        if (KiteTrace.isEnabled(Category.REFERENCE)) {
+            KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[isDeclarationName] '" + element.getText() + "' -> " + result);
+        }
+        return result;
+    }
+
+    private static boolean checkDeclarationName(@NotNull PsiElement element) {
         // First, check if this identifier comes AFTER an equals sign
         // If so, it's a value (reference), not a declaration name - it SHOULD be navigable
         var prev = KitePsiUtil.skipWhitespaceBackward(element.getPrevSibling());
-        LOG.info("[isDeclarationName] Checking: '" + element.getText() + "', prev=" +
-                 (prev != null ? prev.getText() + " (" + prev.getNode().getElementType() + ")" : "null"));
         if (prev != null && prev.getNode().getElementType() == KiteTokenTypes.ASSIGN) {
             // This identifier comes after =, so it's a value, not a declaration name
-            LOG.info("[isDeclarationName] '" + element.getText() + "' comes after ASSIGN -> returning false (is reference)");
             return false;
         }
 
@@ -161,7 +74,6 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
         // Check if this is a schema property name (identifier after a type, inside schema body)
         // Schema body pattern: schema Name { type propertyName ... }
         if (isSchemaPropertyName(element, prev)) {
-            LOG.info("[isDeclarationName] '" + element.getText() + "' is schema property name -> returning true");
             return true;
         }
 
@@ -173,13 +85,11 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
                 // Find the name element in this declaration
                 var nameElement = KiteDeclarationHelper.findNameElementInDeclaration(parent, parentType);
                 if (nameElement == element) {
-                    LOG.info("[isDeclarationName] '" + element.getText() + "' is declaration name in parent -> returning true");
                     return true;
                 }
             }
         }
 
-        LOG.info("[isDeclarationName] '" + element.getText() + "' -> returning false (is reference)");
         return false;
     }
 
@@ -189,45 +99,26 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
      * The property name comes after a type identifier or type keyword (like 'any').
      */
     private static boolean isSchemaPropertyName(@NotNull PsiElement element, @Nullable PsiElement prev) {
-        LOG.info("[isSchemaPropertyName] Checking: '" + element.getText() + "', prev=" +
-                 (prev != null ? "'" + prev.getText() + "' (" + prev.getNode().getElementType() + ")" : "null"));
-
         // First, check if we're inside a schema declaration by walking up parents
-        boolean insideSchema = false;
         PsiElement parent = element.getParent();
-        int depth = 0;
         while (parent != null) {
             if (parent.getNode() != null) {
                 IElementType parentType = parent.getNode().getElementType();
-                LOG.info("[isSchemaPropertyName] Parent[" + depth + "]: " + parentType);
                 if (parentType == KiteElementTypes.SCHEMA_DECLARATION) {
-                    insideSchema = true;
-                    LOG.info("[isSchemaPropertyName] Found SCHEMA_DECLARATION at depth " + depth);
-                    break;
+                    // We're inside a schema - check if this identifier follows a type
+                    return isAfterTypeInSchemaBody(element, prev);
                 }
                 // Stop if we hit another declaration type (but not schema)
-                if (KiteDeclarationHelper.isDeclarationType(parentType) && parentType != KiteElementTypes.SCHEMA_DECLARATION) {
-                    LOG.info("[isSchemaPropertyName] Hit other declaration type: " + parentType + " -> returning false");
+                if (KiteDeclarationHelper.isDeclarationType(parentType)) {
                     return false;
                 }
             }
             parent = parent.getParent();
-            depth++;
-        }
-
-        if (insideSchema) {
-            // We're inside a schema - check if this identifier follows a type
-            boolean result = isAfterTypeInSchemaBody(element, prev);
-            LOG.info("[isSchemaPropertyName] insideSchema=true, isAfterType=" + result);
-            return result;
         }
 
         // Alternative check: if not found via parent walk, try sibling-based detection
         // This handles cases where the PSI tree structure is flat
-        LOG.info("[isSchemaPropertyName] Trying sibling-based detection");
-        boolean siblingResult = isSchemaPropertyBySiblings(element);
-        LOG.info("[isSchemaPropertyName] Sibling-based result: " + siblingResult);
-        return siblingResult;
+        return isSchemaPropertyBySiblings(element);
     }
 
     /**
@@ -235,7 +126,6 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
      * Walks backward to find a schema keyword followed by an identifier and {.
      */
     private static boolean isSchemaPropertyBySiblings(@NotNull PsiElement element) {
-        LOG.info("[isSchemaPropertyBySiblings] Checking: '" + element.getText() + "'");
         // Walk backward through siblings at the file level to find schema { structure
         PsiElement current = element;
         int braceDepth = 0;
@@ -247,8 +137,6 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
         while (current != null && steps < 100) {
             if (current.getNode() != null) {
                 IElementType type = current.getNode().getElementType();
-                LOG.info("[isSchemaPropertyBySiblings] Step " + steps + ": " + type + " = '" + current.getText().replace("\n", "\\n") + "'");
-
                 if (type == KiteTokenTypes.RBRACE) {
                     braceDepth++;
                 } else if (type == KiteTokenTypes.LBRACE) {
@@ -256,20 +144,16 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
                         braceDepth--;
                     } else {
                         foundLBrace = true;
-                        LOG.info("[isSchemaPropertyBySiblings] Found LBRACE (schema opening)");
                     }
                 } else if (foundLBrace && braceDepth == 0 && type == KiteTokenTypes.IDENTIFIER) {
                     // This is the schema name after 'schema' keyword
                     passedSchemaName = true;
-                    LOG.info("[isSchemaPropertyBySiblings] Passed schema name: " + current.getText());
                 } else if (foundLBrace && passedSchemaName && type == KiteTokenTypes.SCHEMA) {
                     foundSchemaKeyword = true;
-                    LOG.info("[isSchemaPropertyBySiblings] Found SCHEMA keyword!");
                     break;
                 } else if (type == KiteTokenTypes.RESOURCE || type == KiteTokenTypes.COMPONENT ||
                            type == KiteTokenTypes.FUN) {
                     // We're inside a different declaration, not a schema
-                    LOG.info("[isSchemaPropertyBySiblings] Found non-schema declaration: " + type);
                     return false;
                 }
             }
@@ -278,15 +162,12 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
         }
 
         if (!foundSchemaKeyword) {
-            LOG.info("[isSchemaPropertyBySiblings] Did not find schema keyword");
             return false;
         }
 
         // We're inside a schema body. Now check if this identifier follows a type.
         var prev = KitePsiUtil.skipWhitespaceBackward(element.getPrevSibling());
-        boolean result = isAfterTypeInSchemaBody(element, prev);
-        LOG.info("[isSchemaPropertyBySiblings] isAfterTypeInSchemaBody result: " + result);
-        return result;
+        return isAfterTypeInSchemaBody(element, prev);
     }
 
     /**
@@ -298,10 +179,7 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
      * - CustomType propertyName
      */
     private static boolean isAfterTypeInSchemaBody(@NotNull PsiElement element, @Nullable PsiElement prev) {
-        LOG.info("[isAfterTypeInSchemaBody] element='" + element.getText() + "', prev=" +
-                 (prev != null ? "'" + prev.getText() + "' (" + prev.getNode().getElementType() + ")" : "null"));
         if (prev == null) {
-            LOG.info("[isAfterTypeInSchemaBody] prev is null -> false");
             return false;
         }
 
@@ -309,21 +187,16 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
 
         // Check if previous token is a type keyword (like 'any')
         if (prevType == KiteTokenTypes.ANY) {
-            LOG.info("[isAfterTypeInSchemaBody] prev is ANY -> true");
             return true;
         }
 
         // Check for ARRAY_LITERAL element (contains [] brackets as children)
         // PSI structure: IDENTIFIER(string) -> ARRAY_LITERAL([]) -> IDENTIFIER(tags)
         if (prevType == KiteElementTypes.ARRAY_LITERAL) {
-            LOG.info("[isAfterTypeInSchemaBody] prev is ARRAY_LITERAL, checking for type before it");
             // The type name comes before the ARRAY_LITERAL
             var beforeArray = KitePsiUtil.skipWhitespaceBackward(prev.getPrevSibling());
-            LOG.info("[isAfterTypeInSchemaBody] beforeArray=" +
-                     (beforeArray != null ? "'" + beforeArray.getText() + "' (" + beforeArray.getNode().getElementType() + ")" : "null"));
             if (beforeArray != null && beforeArray.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
                 // This is the pattern: type[] followed by our identifier
-                LOG.info("[isAfterTypeInSchemaBody] Found array pattern: " + beforeArray.getText() + "[] -> true");
                 return true;
             }
         }
@@ -331,18 +204,12 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
         // Check for array suffix with RBRACK: type[]
         // (keeping for backwards compatibility with different PSI structures)
         if (prevType == KiteTokenTypes.RBRACK) {
-            LOG.info("[isAfterTypeInSchemaBody] prev is RBRACK, checking for array pattern");
             // Walk back to find: type [ ]
             var beforeBrack = KitePsiUtil.skipWhitespaceBackward(prev.getPrevSibling());
-            LOG.info("[isAfterTypeInSchemaBody] beforeBrack=" +
-                     (beforeBrack != null ? "'" + beforeBrack.getText() + "' (" + beforeBrack.getNode().getElementType() + ")" : "null"));
             if (beforeBrack != null && beforeBrack.getNode().getElementType() == KiteTokenTypes.LBRACK) {
                 var beforeLBrack = KitePsiUtil.skipWhitespaceBackward(beforeBrack.getPrevSibling());
-                LOG.info("[isAfterTypeInSchemaBody] beforeLBrack=" +
-                         (beforeLBrack != null ? "'" + beforeLBrack.getText() + "' (" + beforeLBrack.getNode().getElementType() + ")" : "null"));
                 if (beforeLBrack != null && beforeLBrack.getNode().getElementType() == KiteTokenTypes.IDENTIFIER) {
                     // This is the pattern: identifier[] followed by our identifier
-                    LOG.info("[isAfterTypeInSchemaBody] Found array pattern: " + beforeLBrack.getText() + "[] -> true");
                     return true;
                 }
             }
@@ -350,12 +217,8 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
 
         // Check if previous is an identifier (could be a type name like "string", "number", "boolean", or custom type)
         if (prevType == KiteTokenTypes.IDENTIFIER) {
-            String prevText = prev.getText();
-            LOG.info("[isAfterTypeInSchemaBody] prev is IDENTIFIER: '" + prevText + "'");
-
             // If the previous identifier is a known primitive type name, it's definitely a type
-            if (isPrimitiveTypeName(prevText)) {
-                LOG.info("[isAfterTypeInSchemaBody] prev is primitive type -> true");
+            if (isPrimitiveTypeName(prev.getText())) {
                 return true;
             }
 
@@ -365,20 +228,17 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
             var beforePrev = KitePsiUtil.skipWhitespaceBackward(prev.getPrevSibling());
             if (beforePrev != null) {
                 IElementType beforePrevType = beforePrev.getNode().getElementType();
-                LOG.info("[isAfterTypeInSchemaBody] beforePrev: '" + beforePrev.getText() + "' (" + beforePrevType + ")");
                 // If previous identifier is after {, newline, or another property assignment (=, value, NL)
                 // then it's likely a type
                 if (beforePrevType == KiteTokenTypes.LBRACE ||
                     beforePrevType == KiteTokenTypes.NL ||
                     beforePrevType == KiteTokenTypes.NEWLINE ||
                     isValueToken(beforePrevType)) {
-                    LOG.info("[isAfterTypeInSchemaBody] beforePrev is LBRACE/NL/value -> true");
                     return true;
                 }
             }
         }
 
-        LOG.info("[isAfterTypeInSchemaBody] No pattern matched -> false");
         return false;
     }
 
@@ -415,49 +275,21 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
      */
     @Nullable
     private static String getImportPathForSymbol(@NotNull PsiElement element) {
-        // Method 1: Walk up PSI tree to find IMPORT_STATEMENT element
-        PsiElement parent = element.getParent();
-        while (parent != null && !(parent instanceof PsiFile)) {
-            if (parent.getNode() != null &&
-                parent.getNode().getElementType() == KiteElementTypes.IMPORT_STATEMENT) {
-                // Found IMPORT_STATEMENT - extract the path
-                return KiteImportHelper.extractImportPath(parent);
-            }
-            parent = parent.getParent();
-        }
-
-        // Method 2: Text-based fallback - check if on an import line
-        int offset = element.getTextRange().getStartOffset();
-        String fileText = element.getContainingFile().getText();
-
-        // Find the line containing this element
-        int lineStart = offset;
-        while (lineStart > 0 && fileText.charAt(lineStart - 1) != '\n') {
-            lineStart--;
-        }
-        int lineEnd = offset;
-        while (lineEnd < fileText.length() && fileText.charAt(lineEnd) != '\n') {
-            lineEnd++;
+        // Imported symbols live in the IMPORT_SYMBOL_LIST of an import statement
+        PsiElement symbolList = element.getParent();
+        if (symbolList == null || symbolList.getNode() == null ||
+            symbolList.getNode().getElementType() != KiteElementTypes.IMPORT_SYMBOL_LIST) {
+            return null;
         }
-        String line = fileText.substring(lineStart, lineEnd);
-
-        // Check if this line is an import statement
-        Matcher matcher = IMPORT_LINE_PATTERN.matcher(line);
-        if (matcher.find()) {
-            // Make sure the identifier is in the symbols part (between "import" and "from")
-            int fromIndex = line.indexOf(" from ");
-            int elementOffset = offset - lineStart;
-            if (fromIndex > 0 && elementOffset < fromIndex) {
-                return matcher.group(1);
-            }
+        if (symbolList.getParent() instanceof KiteImportStatement importStatement) {
+            return importStatement.getPath();
         }
-
         return null;
     }
 
     @Override
     public void registerReferenceProviders(@NotNull PsiReferenceRegistrar registrar) {
-        LOG.info("[KiteRefContrib] Registering reference providers");
+        KiteTrace.log(Category.REFERENCE, () -> "[KiteRefContrib] Registering reference providers");
 
         // Register reference provider for ANY PsiElement, then filter inside
         registrar.registerReferenceProvider(
@@ -480,16 +312,13 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
 
                         IElementType elementType = element.getNode().getElementType();
 
-                        // Handle legacy STRING tokens with interpolations (for backwards compatibility)
-                        if (elementType == KiteTokenTypes.STRING) {
-                            return getStringInterpolationReferences(element);
-                        }
-
                         // Handle INTERP_IDENTIFIER (the identifier inside ${...})
                         // e.g., in "${port}", the INTERP_IDENTIFIER token is "port"
                         if (elementType == KiteTokenTypes.INTERP_IDENTIFIER) {
                             String varName = element.getText();
-                            LOG.info("[KiteRefContrib] Creating reference for INTERP_IDENTIFIER: " + varName);
+                            if (KiteTrace.isEnabled(Category.REFERENCE)) {
+                                KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[KiteRefContrib] Creating reference for INTERP_IDENTIFIER: " + varName);
+                            }
                             TextRange range = new TextRange(0, varName.length());
                             return new PsiReference[]{new KiteStringInterpolationReference(element, range, varName)};
                         }
@@ -501,7 +330,9 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
                             // Extract variable name by removing the leading $
                             if (text.startsWith("$") && text.length() > 1) {
                                 String varName = text.substring(1);
-                                LOG.info("[KiteRefContrib] Creating reference for INTERP_SIMPLE: " + varName);
+                                if (KiteTrace.isEnabled(Category.REFERENCE)) {
+                                    KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[KiteRefContrib] Creating reference for INTERP_SIMPLE: " + varName);
+                                }
                                 // Reference range is just the identifier part (after the $)
                                 TextRange range = new TextRange(1, text.length());
                                 return new PsiReference[]{new KiteStringInterpolationReference(element, range, varName)};
@@ -517,7 +348,9 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
                         // Check if this is an import symbol (identifier in an import statement)
                         String importPath = getImportPathForSymbol(element);
                         if (importPath != null) {
-                            LOG.info("[KiteRefContrib] Creating import symbol reference for: " + element.getText() + " from " + importPath);
+                            if (KiteTrace.isEnabled(Category.REFERENCE)) {
+                                KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[KiteRefContrib] Creating import symbol reference for: " + element.getText() + " from " + importPath);
+                            }
                             TextRange range = new TextRange(0, element.getTextLength());
                             return new PsiReference[]{new KiteImportSymbolReference(element, range, element.getText(), importPath)};
                         }
@@ -525,11 +358,12 @@ public class KiteReferenceContributor extends PsiReferenceContributor {
                         // Don't provide references for declaration names (the name being declared)
                         // e.g., in "input number port = 8080", "port" is a declaration name, not a reference
                         if (isDeclarationName(element)) {
-                            LOG.info("[KiteRefContrib] Skipping declaration name: " + element.getText());
                             return PsiReference.EMPTY_ARRAY;
                         }
 
-                        LOG.info("[KiteRefContrib] Creating reference for: " + element.getText());
+                        if (KiteTrace.isEnabled(Category.REFERENCE)) {
+                            KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[KiteRefContrib] Creating reference for: " + element.getText());
+                        }
 
                         // Create a reference for this identifier
                         TextRange range = new TextRange(0, element.getTextLength());
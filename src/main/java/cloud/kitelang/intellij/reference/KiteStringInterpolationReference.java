@@ -1,12 +1,12 @@
 package cloud.kitelang.intellij.reference;
 
+import cloud.kitelang.intellij.diagnostics.KiteTrace;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
 import cloud.kitelang.intellij.util.KiteDeclarationHelper;
 import com.intellij.codeInsight.highlighting.HighlightedReference;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -14,29 +14,47 @@ import org.jetbrains.annotations.Nullable;
  * Reference for variables inside string interpolation expressions like ${var} or $var.
  * Implements HighlightedReference to ensure only the variable name portion is highlighted
  * when hovering with Cmd/Ctrl, not the entire string literal.
+ * Results are cached in {@link ResolveCache} until the next PSI change.
  */
-public class KiteStringInterpolationReference extends PsiReferenceBase<PsiElement> implements HighlightedReference {
-    private static final Logger LOG = Logger.getInstance(KiteStringInterpolationReference.class);
+public class KiteStringInterpolationReference extends PsiReferenceBase<PsiElement>
+        implements PsiPolyVariantReference, HighlightedReference {
+    private static final ResolveCache.PolyVariantResolver<KiteStringInterpolationReference> RESOLVER =
+            (reference, incompleteCode) -> reference.resolveInner();
+
     private final String variableName;
 
     public KiteStringInterpolationReference(@NotNull PsiElement element, @NotNull TextRange rangeInElement, @NotNull String variableName) {
         super(element, rangeInElement);
         this.variableName = variableName;
-        LOG.info("[KiteStringInterpRef] Created reference: variableName=" + variableName + ", range=" + rangeInElement);
+        if (KiteTrace.isEnabled(Category.REFERENCE)) {
+            KiteTrace.logSampled(Category.REFERENCE, 100, () -> "[KiteStringInterpRef] Created reference: variableName=" + variableName + ", range=" + rangeInElement);
+        }
+    }
+
+    @Override
+    public ResolveResult @NotNull [] multiResolve(boolean incompleteCode) {
+        return ResolveCache.getInstance(myElement.getProject())
+                .resolveWithCaching(this, RESOLVER, false, incompleteCode);
     }
 
     @Override
     public @Nullable PsiElement resolve() {
-        LOG.info("[KiteStringInterpRef] resolve() called for: " + variableName);
+        ResolveResult[] results = multiResolve(false);
+        return results.length >= 1 ? results[0].getElement() : null;
+    }
+
+    private ResolveResult @NotNull [] resolveInner() {
         PsiFile file = myElement.getContainingFile();
         if (file == null) {
-            LOG.info("[KiteStringInterpRef] No containing file!");
-            return null;
+            KiteTrace.log(Category.REFERENCE, () -> "[KiteStringInterpRef] No containing file!");
+            return ResolveResult.EMPTY_ARRAY;
         }
 
         // Search for declaration in file scope
         PsiElement result = KiteDeclarationHelper.findDeclarationNameElement(file, variableName);
-        LOG.info("[KiteStringInterpRef] resolve() result for " + variableName + ": " + (result != null ? result.getText() : "null"));
-        return result;
+        if (KiteTrace.isEnabled(Category.REFERENCE)) {
+            KiteTrace.log(Category.REFERENCE, () -> "[KiteStringInterpRef] resolve() result for " + variableName + ": " + (result != null ? result.getText() : "null"));
+        }
+        return result != null ? PsiElementResolveResult.createResults(result) : ResolveResult.EMPTY_ARRAY;
     }
 }
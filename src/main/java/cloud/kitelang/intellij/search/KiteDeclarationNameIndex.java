@@ -0,0 +1,105 @@
+package cloud.kitelang.intellij.search;
+
+import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.util.KiteDeclarationHelper;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Project-wide index of declaration names: each name maps to the Kite files declaring it.
+ * <p>
+ * Built once per file content by the platform indexer, so project-wide lookups (auto-import
+ * completion) find the files declaring a name without creating PSI for the rest of the project.
+ * The value is the kind of the declaration, stored as its position in {@link #DECLARATION_TYPES}.
+ */
+public final class KiteDeclarationNameIndex extends FileBasedIndexExtension<String, Integer> {
+
+    public static final ID<String, Integer> NAME = ID.create("kite.declaration.names");
+
+    // Stored values are positions in this list: append only, and bump getVersion() on any other change
+    private static final List<IElementType> DECLARATION_TYPES = List.of(
+            KiteElementTypes.VARIABLE_DECLARATION,
+            KiteElementTypes.INPUT_DECLARATION,
+            KiteElementTypes.OUTPUT_DECLARATION,
+            KiteElementTypes.RESOURCE_DECLARATION,
+            KiteElementTypes.COMPONENT_DECLARATION,
+            KiteElementTypes.SCHEMA_DECLARATION,
+            KiteElementTypes.FUNCTION_DECLARATION,
+            KiteElementTypes.TYPE_DECLARATION,
+            KiteElementTypes.FOR_STATEMENT
+    );
+
+    /**
+     * Get the declaration type of an index value.
+     */
+    @Nullable
+    public static IElementType getDeclarationType(int value) {
+        return value >= 0 && value < DECLARATION_TYPES.size() ? DECLARATION_TYPES.get(value) : null;
+    }
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, Integer> names = new HashMap<>();
+            KiteDeclarationHelper.collectDeclarations(inputData.getPsiFile(), (name, declarationType, element) -> {
+                int value = DECLARATION_TYPES.indexOf(declarationType);
+                if (value >= 0) {
+                    // The first declaration of a name decides its kind, as in KiteSymbolPrefixIndex
+                    names.putIfAbsent(name, value);
+                }
+            });
+            return names;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(KiteFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
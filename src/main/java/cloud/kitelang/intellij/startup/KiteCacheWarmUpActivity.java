@@ -0,0 +1,192 @@
+package cloud.kitelang.intellij.startup;
+
+import cloud.kitelang.intellij.KiteFileType;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import cloud.kitelang.intellij.util.KiteSchemaHelper;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warms the Kite caches in the background when a project is opened.
+ * <p>
+ * Without this, the first completion, navigation or highlighting pass of a session pays
+ * for resolving imports and scanning provider schemas synchronously. The warm-up runs in
+ * two phases inside a cancellable background task:
+ * <ol>
+ *   <li>Kite files open in editors: resolve the transitive import graph and prime the
+ *       exported-symbol and schema caches of every file reached (including provider files).</li>
+ *   <li>Other Kite files in the project: prime the exported-symbol cache used by
+ *       auto-import completion and quick fixes. Files next to the open editors come first,
+ *       and at most {@link #MAX_PROJECT_FILES} are warmed, so large projects fill the rest
+ *       of their caches on demand instead of parsing every file at startup.</li>
+ * </ol>
+ * Every file is processed in its own non-blocking read action that waits for smart mode,
+ * so the task never blocks indexing or write actions and stops as soon as it is cancelled.
+ *
+ * @see KiteImportHelper#getImportedFiles(PsiFile)
+ * @see KiteImportHelper#getExportedSymbols(PsiFile)
+ * @see KiteSchemaHelper#getSchemas(PsiFile)
+ */
+public class KiteCacheWarmUpActivity implements StartupActivity.DumbAware {
+
+    /**
+     * Maximum number of files warmed in phase 2.
+     */
+    static final int MAX_PROJECT_FILES = 200;
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        // Tests prime what they need explicitly; a background task would race with the fixture
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            return;
+        }
+
+        new Task.Backgroundable(project, "Warming up Kite caches", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                warmUp(project, indicator);
+            }
+        }.queue();
+    }
+
+    /**
+     * Run both warm-up phases. Must be called from a background thread.
+     */
+    static void warmUp(@NotNull Project project, @NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+
+        // Phase 1: open editors and everything they import
+        List<VirtualFile> openFiles = new ArrayList<>();
+        for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+            if (file.getFileType() == KiteFileType.INSTANCE) {
+                openFiles.add(file);
+            }
+        }
+
+        indicator.setText("Resolving Kite imports");
+        for (int i = 0; i < openFiles.size(); i++) {
+            indicator.checkCanceled();
+            VirtualFile file = openFiles.get(i);
+            indicator.setText2(file.getName());
+            indicator.setFraction(0.5 * i / openFiles.size());
+            runInSmartReadAction(project, indicator, () -> warmUpOpenFile(project, file));
+        }
+
+        // Phase 2: exported symbols of all project files
+        indicator.setText("Indexing Kite symbols");
+        // Querying in smart mode also seeds the snapshot served to dumb-aware features during re-indexing
+        Set<VirtualFile> projectFiles = new LinkedHashSet<>(ReadAction.nonBlocking(() ->
+                        KiteImportHelper.getKiteVirtualFilesInProject(project))
+                .inSmartMode(project)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously());
+        List<VirtualFile> filesToWarm = selectProjectFiles(projectFiles, openFiles, MAX_PROJECT_FILES);
+
+        int processed = 0;
+        for (VirtualFile file : filesToWarm) {
+            indicator.checkCanceled();
+            indicator.setText2(file.getName());
+            indicator.setFraction(0.5 + 0.5 * processed++ / filesToWarm.size());
+            runInSmartReadAction(project, indicator, () -> warmUpProjectFile(project, file));
+        }
+
+        indicator.setFraction(1.0);
+    }
+
+    /**
+     * Pick the phase 2 files: project files other than the open ones, those in the
+     * directory of an open file first, capped at {@code limit}.
+     */
+    static List<VirtualFile> selectProjectFiles(@NotNull Collection<VirtualFile> projectFiles,
+                                                @NotNull Collection<VirtualFile> openFiles,
+                                                int limit) {
+        Set<VirtualFile> openDirectories = new HashSet<>();
+        for (VirtualFile file : openFiles) {
+            if (file.getParent() != null) {
+                openDirectories.add(file.getParent());
+            }
+        }
+
+        List<VirtualFile> nearOpenFiles = new ArrayList<>();
+        List<VirtualFile> others = new ArrayList<>();
+        for (VirtualFile file : projectFiles) {
+            if (openFiles.contains(file)) {
+                continue;
+            }
+            if (openDirectories.contains(file.getParent())) {
+                nearOpenFiles.add(file);
+            } else {
+                others.add(file);
+            }
+        }
+
+        List<VirtualFile> selected = new ArrayList<>(Math.min(limit, nearOpenFiles.size() + others.size()));
+        for (VirtualFile file : nearOpenFiles) {
+            if (selected.size() >= limit) return selected;
+            selected.add(file);
+        }
+        for (VirtualFile file : others) {
+            if (selected.size() >= limit) return selected;
+            selected.add(file);
+        }
+        return selected;
+    }
+
+    /**
+     * Prime the import graph, exported symbols and schemas reachable from an open file.
+     */
+    static void warmUpOpenFile(@NotNull Project project, @NotNull VirtualFile file) {
+        PsiFile psiFile = findKiteFile(project, file);
+        if (psiFile == null) return;
+
+        KiteImportHelper.getExportedSymbols(psiFile);
+        KiteSchemaHelper.getSchemas(psiFile);
+        KiteImportHelper.forEachImport(psiFile, importedFile -> {
+            KiteImportHelper.getExportedSymbols(importedFile);
+            KiteSchemaHelper.getSchemas(importedFile);
+        });
+    }
+
+    /**
+     * Prime the exported symbols of a project file.
+     */
+    static void warmUpProjectFile(@NotNull Project project, @NotNull VirtualFile file) {
+        PsiFile psiFile = findKiteFile(project, file);
+        if (psiFile == null) return;
+
+        KiteImportHelper.getExportedSymbols(psiFile);
+    }
+
+    private static PsiFile findKiteFile(@NotNull Project project, @NotNull VirtualFile file) {
+        if (project.isDisposed() || !file.isValid()) return null;
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        return psiFile != null && psiFile.getFileType() == KiteFileType.INSTANCE ? psiFile : null;
+    }
+
+    private static void runInSmartReadAction(@NotNull Project project,
+                                             @NotNull ProgressIndicator indicator,
+                                             @NotNull Runnable action) {
+        ReadAction.nonBlocking(action)
+                .inSmartMode(project)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+    }
+}
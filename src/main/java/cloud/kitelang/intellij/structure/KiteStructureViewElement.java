@@ -1,6 +1,7 @@
 package cloud.kitelang.intellij.structure;
 
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.util.KiteDeclarationInfo;
 import com.intellij.ide.projectView.PresentationData;
 import com.intellij.ide.structureView.StructureViewTreeElement;
 import com.intellij.ide.util.treeView.smartTree.SortableTreeElement;
@@ -12,7 +13,6 @@ import com.intellij.psi.PsiNamedElement;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -55,7 +55,8 @@ public class KiteStructureViewElement implements StructureViewTreeElement, Sorta
             String name = ((PsiNamedElement) element).getName();
             return name != null ? name : "";
         }
-        return "";
+        KiteDeclarationInfo info = KiteDeclarationInfo.of(element);
+        return info != null && info.name() != null ? info.name() : "";
     }
 
     @NotNull
@@ -84,15 +85,10 @@ public class KiteStructureViewElement implements StructureViewTreeElement, Sorta
             }
         }
 
-        // Create a simple presentation with the element's text
-        String text = element.getText();
-        if (text != null && !text.trim().isEmpty()) {
-            String firstLine = text.split("\n")[0].trim();
-
-            // Remove trailing opening brace and whitespace
-            if (firstLine.endsWith("{")) {
-                firstLine = firstLine.substring(0, firstLine.length() - 1).trim();
-            }
+        // Create a simple presentation with the declaration's first line (cached, read without the body)
+        KiteDeclarationInfo info = KiteDeclarationInfo.of(element);
+        if (info != null && !info.header().isEmpty()) {
+            String firstLine = info.header();
 
             if (firstLine.length() > 50) {
                 firstLine = firstLine.substring(0, 50) + "...";
@@ -132,24 +128,11 @@ public class KiteStructureViewElement implements StructureViewTreeElement, Sorta
     @NotNull
     @Override
     public TreeElement[] getChildren() {
-        List<TreeElement> treeElements = new ArrayList<>();
-
-        for (PsiElement child : element.getChildren()) {
-            IElementType elementType = child.getNode().getElementType();
-
-            // Check if this is a declaration element type
-            if (elementType == KiteElementTypes.RESOURCE_DECLARATION ||
-                elementType == KiteElementTypes.COMPONENT_DECLARATION ||
-                elementType == KiteElementTypes.SCHEMA_DECLARATION ||
-                elementType == KiteElementTypes.FUNCTION_DECLARATION ||
-                elementType == KiteElementTypes.TYPE_DECLARATION ||
-                elementType == KiteElementTypes.VARIABLE_DECLARATION ||
-                elementType == KiteElementTypes.INPUT_DECLARATION ||
-                elementType == KiteElementTypes.OUTPUT_DECLARATION) {
-                treeElements.add(new KiteStructureViewElement(child));
-            }
+        List<PsiElement> declarations = KiteDeclarationInfo.childDeclarations(element);
+        TreeElement[] treeElements = new TreeElement[declarations.size()];
+        for (int i = 0; i < treeElements.length; i++) {
+            treeElements[i] = new KiteStructureViewElement(declarations.get(i));
         }
-
-        return treeElements.toArray(new TreeElement[0]);
+        return treeElements;
     }
 }
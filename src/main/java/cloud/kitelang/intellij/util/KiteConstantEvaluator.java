@@ -0,0 +1,672 @@
+package cloud.kitelang.intellij.util;
+
+import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteInputDeclaration;
+import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.psi.KiteVariableDeclaration;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Constant folding over Kite expressions.
+ * <p>
+ * The parser keeps expressions flat, so an expression is the run of sibling tokens starting at
+ * a given token and ending at a newline, {@code ;}, a closing bracket, a comma or an opening
+ * brace. The evaluator folds:
+ * <ul>
+ *   <li>Number, boolean and string literals</li>
+ *   <li>Arithmetic ({@code + - * / %}), comparisons and {@code && || !}</li>
+ *   <li>String concatenation with {@code +}</li>
+ *   <li>Ranges ({@code 0..n})</li>
+ *   <li>References to vars and to inputs with a default value in the same file, resolved in the
+ *       innermost enclosing function, component, resource or loop body before the top level</li>
+ * </ul>
+ * <p>
+ * Results are memoized per expression start and per declaration in a cache that lives until
+ * the file changes, so the condition, division and {@code @count} checks share evaluations.
+ * <p>
+ * Example:
+ * <pre>
+ * input number replicas = 3
+ *
+ * &#64;count(replicas * 2)      // 6, uses an input default
+ * resource VM.Instance web { }
+ *
+ * if 2 * 3 &gt; 5 { }           // true, literal only
+ * </pre>
+ */
+public final class KiteConstantEvaluator {
+
+    // Marks expressions and declarations known not to fold, since the caches cannot hold null
+    private static final Object NOT_CONSTANT = new Object();
+
+    // Bodies whose declarations are only visible inside them
+    private static final TokenSet SCOPES = TokenSet.create(
+            KiteElementTypes.FUNCTION_DECLARATION,
+            KiteElementTypes.COMPONENT_DECLARATION,
+            KiteElementTypes.RESOURCE_DECLARATION,
+            KiteElementTypes.FOR_STATEMENT,
+            KiteElementTypes.WHILE_STATEMENT
+    );
+
+    private KiteConstantEvaluator() {
+        // Utility class
+    }
+
+    /**
+     * A folded value.
+     *
+     * @param value             A {@link Double}, {@link String}, {@link Boolean} or {@link Range}
+     * @param literal           Whether the value was folded from literals only, without references
+     * @param usesInputDefaults Whether the value depends on an input default, which callers may override
+     */
+    public record Constant(@NotNull Object value, boolean literal, boolean usesInputDefaults) {
+
+        /**
+         * Get the value as an int if it is a whole number in int range, null otherwise.
+         */
+        @Nullable
+        public Integer asInteger() {
+            if (value instanceof Double number && number == Math.rint(number) &&
+                    number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return number.intValue();
+            }
+            return null;
+        }
+
+        /**
+         * Check if the value is the number zero (including -0).
+         */
+        public boolean isZero() {
+            return value instanceof Double number && number == 0.0;
+        }
+    }
+
+    /**
+     * A folded range {@code start..end}; the end is exclusive.
+     */
+    public record Range(int start, int end) {
+    }
+
+    /**
+     * Evaluate the expression starting at the given token.
+     *
+     * @param start The first token of the expression
+     * @return The folded value, or null if the expression is not constant
+     */
+    @Nullable
+    public static Constant evaluate(@Nullable PsiElement start) {
+        return evaluate(start, new HashSet<>());
+    }
+
+    /**
+     * Evaluate an expression that runs up to the "{" of a block header, such as the range of a
+     * for-loop. Line breaks do not end the expression, so {@code 0..\n 5} still folds.
+     *
+     * @param start The first token of the expression
+     * @return The folded value, or null if the expression is not constant
+     */
+    @Nullable
+    public static Constant evaluateHeader(@Nullable PsiElement start) {
+        if (start == null || start.getContainingFile() == null) {
+            return null;
+        }
+        Map<PsiElement, Object> cache = getCache(start.getContainingFile()).headers;
+        Object cached = cache.get(start);
+        if (cached == null) {
+            Parser parser = new Parser(start, new HashSet<>(), true);
+            Constant result = parser.parseExpression();
+            if (result != null && !parser.atEnd()) {
+                result = null;
+            }
+            cached = result != null ? result : NOT_CONSTANT;
+            cache.put(start, cached);
+        }
+        return cached instanceof Constant constant ? constant : null;
+    }
+
+    /**
+     * Evaluate a single operand starting at the given token: a literal, a reference, a
+     * parenthesized expression, or one of those negated. Used for the right side of a binary
+     * operator, e.g. the {@code (2 - 2)} in {@code x / (2 - 2) + 1}.
+     *
+     * @param start The first token of the operand
+     * @return The folded value, or null if the operand is not constant
+     */
+    @Nullable
+    public static Constant evaluateOperand(@Nullable PsiElement start) {
+        if (start == null || start.getContainingFile() == null) {
+            return null;
+        }
+        Map<PsiElement, Object> cache = getCache(start.getContainingFile()).operands;
+        Object cached = cache.get(start);
+        if (cached == null) {
+            Constant result = new Parser(start, new HashSet<>()).parseUnary();
+            cached = result != null ? result : NOT_CONSTANT;
+            cache.put(start, cached);
+        }
+        return cached instanceof Constant constant ? constant : null;
+    }
+
+    /**
+     * Evaluate the value assigned by a var declaration or the default of an input declaration.
+     *
+     * @param declaration The var or input declaration
+     * @return The folded value, or null if there is no constant value
+     */
+    @Nullable
+    public static Constant evaluateDeclaration(@Nullable PsiElement declaration) {
+        return evaluateDeclaration(declaration, new HashSet<>());
+    }
+
+    @Nullable
+    private static Constant evaluate(@Nullable PsiElement start, @NotNull Set<PsiElement> inProgress) {
+        if (start == null || start.getContainingFile() == null) {
+            return null;
+        }
+        Map<PsiElement, Object> cache = getCache(start.getContainingFile()).expressions;
+        Object cached = cache.get(start);
+        if (cached == null) {
+            Parser parser = new Parser(start, inProgress);
+            Constant result = parser.parseExpression();
+            if (result != null && !parser.atEnd()) {
+                result = null;
+            }
+            cached = result != null ? result : NOT_CONSTANT;
+            cache.put(start, cached);
+        }
+        return cached instanceof Constant constant ? constant : null;
+    }
+
+    @Nullable
+    private static Constant evaluateDeclaration(@Nullable PsiElement declaration, @NotNull Set<PsiElement> inProgress) {
+        if (!(declaration instanceof KiteVariableDeclaration) && !(declaration instanceof KiteInputDeclaration)) {
+            return null;
+        }
+        Map<PsiElement, Object> cache = getCache(declaration.getContainingFile()).declarations;
+        Object cached = cache.get(declaration);
+        if (cached == null) {
+            // A declaration that refers back to itself is not constant
+            if (!inProgress.add(declaration)) {
+                return null;
+            }
+            try {
+                Constant result = computeDeclarationValue(declaration, inProgress);
+                cached = result != null ? result : NOT_CONSTANT;
+                cache.put(declaration, cached);
+            } finally {
+                inProgress.remove(declaration);
+            }
+        }
+        return cached instanceof Constant constant ? constant : null;
+    }
+
+    @Nullable
+    private static Constant computeDeclarationValue(@NotNull PsiElement declaration, @NotNull Set<PsiElement> inProgress) {
+        PsiElement assign = KitePsiUtil.findFirstChildOfType(declaration, KiteTokenTypes.ASSIGN);
+        if (assign == null) {
+            return null;
+        }
+        Constant value = evaluate(KitePsiUtil.skipWhitespace(assign.getNextSibling()), inProgress);
+        if (value == null) {
+            return null;
+        }
+        boolean inputDefault = declaration instanceof KiteInputDeclaration;
+        return new Constant(value.value(), false, value.usesInputDefaults() || inputDefault);
+    }
+
+    @NotNull
+    private static Cache getCache(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () ->
+                CachedValueProvider.Result.create(new Cache(), file));
+    }
+
+    /**
+     * Memoized results of one file, keyed by expression start or declaration.
+     */
+    private static final class Cache {
+        final Map<PsiElement, Object> expressions = new ConcurrentHashMap<>();
+        final Map<PsiElement, Object> operands = new ConcurrentHashMap<>();
+        final Map<PsiElement, Object> headers = new ConcurrentHashMap<>();
+        final Map<PsiElement, Object> declarations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Recursive descent over a run of sibling tokens. Each parse method returns null as soon
+     * as a part of the expression does not fold.
+     * <pre>
+     * expression     = and ( "||" and )*
+     * and            = equality ( "&amp;&amp;" equality )*
+     * equality       = comparison ( ( "==" | "!=" ) comparison )*
+     * comparison     = range ( ( "&lt;" | "&gt;" | "&lt;=" | "&gt;=" ) range )*
+     * range          = additive ( ".." additive )?
+     * additive       = multiplicative ( ( "+" | "-" ) multiplicative )*
+     * multiplicative = unary ( ( "*" | "/" | "%" ) unary )*
+     * unary          = ( "!" | "-" ) unary | primary
+     * primary        = NUMBER | "true" | "false" | string | IDENTIFIER | "(" expression ")"
+     * </pre>
+     */
+    private static final class Parser {
+        private final Set<PsiElement> inProgress;
+        // Set for block headers, where the expression ends at "{" rather than at a line break
+        private final boolean multiline;
+        private PsiElement current;
+        private int parenDepth;
+
+        Parser(@NotNull PsiElement start, @NotNull Set<PsiElement> inProgress) {
+            this(start, inProgress, false);
+        }
+
+        Parser(@NotNull PsiElement start, @NotNull Set<PsiElement> inProgress, boolean multiline) {
+            this.inProgress = inProgress;
+            this.multiline = multiline;
+            this.current = skipIgnored(start);
+        }
+
+        /**
+         * Check if the expression ended where an enclosing construct continues.
+         */
+        boolean atEnd() {
+            if (current == null) {
+                return true;
+            }
+            IElementType type = current.getNode().getElementType();
+            return type == KiteTokenTypes.NL || type == KiteTokenTypes.NEWLINE ||
+                   type == KiteTokenTypes.SEMICOLON || type == KiteTokenTypes.COMMA ||
+                   type == KiteTokenTypes.RPAREN || type == KiteTokenTypes.RBRACK ||
+                   type == KiteTokenTypes.LBRACE || type == KiteTokenTypes.RBRACE ||
+                   type == KiteElementTypes.OBJECT_LITERAL;
+        }
+
+        @Nullable
+        Constant parseExpression() {
+            Constant left = parseAnd();
+            while (left != null && at(KiteTokenTypes.OR)) {
+                advance();
+                Constant right = parseAnd();
+                if (right == null) return null;
+                left = left.value() instanceof Boolean l && right.value() instanceof Boolean r
+                        ? combine(l || r, left, right) : null;
+            }
+            return left;
+        }
+
+        @Nullable
+        private Constant parseAnd() {
+            Constant left = parseEquality();
+            while (left != null && at(KiteTokenTypes.AND)) {
+                advance();
+                Constant right = parseEquality();
+                if (right == null) return null;
+                left = left.value() instanceof Boolean l && right.value() instanceof Boolean r
+                        ? combine(l && r, left, right) : null;
+            }
+            return left;
+        }
+
+        @Nullable
+        private Constant parseEquality() {
+            Constant left = parseComparison();
+            while (left != null && (at(KiteTokenTypes.EQ) || at(KiteTokenTypes.NE))) {
+                boolean equals = at(KiteTokenTypes.EQ);
+                advance();
+                Constant right = parseComparison();
+                if (right == null) return null;
+                // Values of different kinds are not compared, their equality is up to the runtime
+                if (left.value().getClass() != right.value().getClass()) return null;
+                boolean same = left.value() instanceof Double l && right.value() instanceof Double r
+                        ? l.doubleValue() == r.doubleValue()
+                        : left.value().equals(right.value());
+                left = combine(same == equals, left, right);
+            }
+            return left;
+        }
+
+        @Nullable
+        private Constant parseComparison() {
+            Constant left = parseRange();
+            while (left != null && (at(KiteTokenTypes.LT) || at(KiteTokenTypes.GT) ||
+                                    at(KiteTokenTypes.LE) || at(KiteTokenTypes.GE))) {
+                IElementType operator = current.getNode().getElementType();
+                advance();
+                Constant right = parseRange();
+                if (right == null) return null;
+                if (!(left.value() instanceof Double l) || !(right.value() instanceof Double r)) return null;
+                boolean result;
+                if (operator == KiteTokenTypes.LT) {
+                    result = l < r;
+                } else if (operator == KiteTokenTypes.GT) {
+                    result = l > r;
+                } else if (operator == KiteTokenTypes.LE) {
+                    result = l <= r;
+                } else {
+                    result = l >= r;
+                }
+                left = combine(result, left, right);
+            }
+            return left;
+        }
+
+        @Nullable
+        private Constant parseRange() {
+            Constant start = parseAdditive();
+            if (start == null || !at(KiteTokenTypes.RANGE)) {
+                return start;
+            }
+            advance();
+            Constant end = parseAdditive();
+            if (end == null) return null;
+            Integer from = start.asInteger();
+            Integer to = end.asInteger();
+            return from != null && to != null ? combine(new Range(from, to), start, end) : null;
+        }
+
+        @Nullable
+        private Constant parseAdditive() {
+            Constant left = parseMultiplicative();
+            while (left != null && (at(KiteTokenTypes.PLUS) || at(KiteTokenTypes.MINUS))) {
+                boolean plus = at(KiteTokenTypes.PLUS);
+                advance();
+                Constant right = parseMultiplicative();
+                if (right == null) return null;
+                if (left.value() instanceof Double l && right.value() instanceof Double r) {
+                    left = combine(plus ? l + r : l - r, left, right);
+                } else if (plus && (left.value() instanceof String || right.value() instanceof String)) {
+                    left = combine(format(left.value()) + format(right.value()), left, right);
+                } else {
+                    return null;
+                }
+            }
+            return left;
+        }
+
+        @Nullable
+        private Constant parseMultiplicative() {
+            Constant left = parseUnary();
+            while (left != null && (at(KiteTokenTypes.MULTIPLY) || at(KiteTokenTypes.DIVIDE) ||
+                                    at(KiteTokenTypes.MODULO))) {
+                IElementType operator = current.getNode().getElementType();
+                advance();
+                Constant right = parseUnary();
+                if (right == null) return null;
+                if (!(left.value() instanceof Double l) || !(right.value() instanceof Double r)) return null;
+                if (operator == KiteTokenTypes.MULTIPLY) {
+                    left = combine(l * r, left, right);
+                } else if (r == 0.0) {
+                    // Division by zero has no value; KiteDivisionByZeroAnnotator reports it
+                    return null;
+                } else {
+                    left = combine(operator == KiteTokenTypes.DIVIDE ? l / r : l % r, left, right);
+                }
+            }
+            return left;
+        }
+
+        @Nullable
+        Constant parseUnary() {
+            if (at(KiteTokenTypes.NOT)) {
+                advance();
+                Constant operand = parseUnary();
+                return operand != null && operand.value() instanceof Boolean b
+                        ? new Constant(!b, operand.literal(), operand.usesInputDefaults()) : null;
+            }
+            if (at(KiteTokenTypes.MINUS)) {
+                advance();
+                Constant operand = parseUnary();
+                return operand != null && operand.value() instanceof Double number
+                        ? new Constant(-number, operand.literal(), operand.usesInputDefaults()) : null;
+            }
+            return parsePrimary();
+        }
+
+        @Nullable
+        private Constant parsePrimary() {
+            if (current == null) {
+                return null;
+            }
+            IElementType type = current.getNode().getElementType();
+
+            if (type == KiteTokenTypes.NUMBER) {
+                String text = current.getText();
+                advance();
+                try {
+                    return new Constant(Double.parseDouble(text), true, false);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            if (type == KiteTokenTypes.TRUE || type == KiteTokenTypes.FALSE) {
+                advance();
+                return new Constant(type == KiteTokenTypes.TRUE, true, false);
+            }
+            if (type == KiteTokenTypes.SINGLE_STRING) {
+                String text = current.getText();
+                advance();
+                return text.length() >= 2 ? new Constant(text.substring(1, text.length() - 1), true, false) : null;
+            }
+            if (type == KiteTokenTypes.DQUOTE) {
+                return parseDoubleQuotedString();
+            }
+            if (type == KiteTokenTypes.LPAREN) {
+                parenDepth++;
+                advance();
+                Constant inner = parseExpression();
+                if (inner == null || !at(KiteTokenTypes.RPAREN)) return null;
+                parenDepth--;
+                advance();
+                return inner;
+            }
+            if (type == KiteTokenTypes.IDENTIFIER) {
+                return parseReference();
+            }
+            return null;
+        }
+
+        /**
+         * Fold a double-quoted string without interpolations: DQUOTE (STRING_TEXT | STRING_ESCAPE)* STRING_DQUOTE.
+         */
+        @Nullable
+        private Constant parseDoubleQuotedString() {
+            StringBuilder text = new StringBuilder();
+            for (PsiElement part = current.getNextSibling(); part != null; part = part.getNextSibling()) {
+                IElementType type = part.getNode().getElementType();
+                if (type == KiteTokenTypes.STRING_DQUOTE) {
+                    current = part;
+                    advance();
+                    return new Constant(text.toString(), true, false);
+                } else if (type == KiteTokenTypes.STRING_TEXT) {
+                    text.append(part.getText());
+                } else if (type == KiteTokenTypes.STRING_ESCAPE) {
+                    text.append(unescape(part.getText()));
+                } else {
+                    // Interpolation or an unterminated string
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Fold a reference to a var or an input with a default. Calls, member access and
+         * indexing are not folded, nor are names that {@link #resolve} does not map to a var or input.
+         */
+        @Nullable
+        private Constant parseReference() {
+            PsiElement identifier = current;
+            advance();
+            if (at(KiteTokenTypes.LPAREN) || at(KiteTokenTypes.DOT) || at(KiteTokenTypes.LBRACK)) {
+                return null;
+            }
+            PsiElement declaration = resolve(identifier, identifier.getText());
+            return declaration != null ? evaluateDeclaration(declaration, inProgress) : null;
+        }
+
+        private boolean at(IElementType type) {
+            return current != null && current.getNode().getElementType() == type;
+        }
+
+        private void advance() {
+            current = skipIgnored(current.getNextSibling());
+        }
+
+        /**
+         * Skip whitespace and comments. Newlines end the expression unless inside parentheses
+         * or a block header.
+         */
+        @Nullable
+        private PsiElement skipIgnored(@Nullable PsiElement element) {
+            while (element != null) {
+                IElementType type = element.getNode().getElementType();
+                boolean newline = type == KiteTokenTypes.NL || type == KiteTokenTypes.NEWLINE;
+                if (type != KiteTokenTypes.WHITESPACE && type != TokenType.WHITE_SPACE &&
+                    type != KiteTokenTypes.LINE_COMMENT && type != KiteTokenTypes.BLOCK_COMMENT &&
+                    !(newline && (multiline || parenDepth > 0))) {
+                    return element;
+                }
+                element = element.getNextSibling();
+            }
+            return null;
+        }
+    }
+
+    @NotNull
+    private static Constant combine(@NotNull Object value, @NotNull Constant left, @NotNull Constant right) {
+        return new Constant(value, left.literal() && right.literal(),
+                left.usesInputDefaults() || right.usesInputDefaults());
+    }
+
+    /**
+     * Resolve a name to the declaration it refers to, innermost scope first: the enclosing
+     * {@link #SCOPES} bodies, then the top level of the file. Declarations nested in a body are
+     * not visible outside it.
+     *
+     * @return The var or input declaration, or null if the name is a function parameter, loop
+     * variable or function-local var, or resolves to a declaration of another kind
+     */
+    @Nullable
+    private static PsiElement resolve(@NotNull PsiElement identifier, @NotNull String name) {
+        List<PsiElement> declarations = KiteSymbolPrefixIndex.getIndex(identifier.getContainingFile()).getDeclarations(name);
+        for (PsiElement parent = identifier.getParent(); parent != null && !(parent instanceof PsiFile);
+             parent = parent.getParent()) {
+            IElementType type = parent.getNode() != null ? parent.getNode().getElementType() : null;
+            if (!SCOPES.contains(type)) {
+                continue;
+            }
+            if (declaresLocally(parent, type, identifier, name)) {
+                return null;
+            }
+            for (PsiElement declaration : declarations) {
+                if (getScope(declaration) == parent) {
+                    return isValueDeclaration(declaration) ? declaration : null;
+                }
+            }
+        }
+        for (PsiElement declaration : declarations) {
+            if (isValueDeclaration(declaration) && getScope(declaration) == null) {
+                return declaration;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a scope declares the name without a declaration element: as a function parameter
+     * (before ")"), a for-loop variable (before "in"), or a function-local var. Function bodies
+     * are kept flat by the parser, so their vars are {@code var [type] name =} token runs; they
+     * hide outer declarations but are never folded.
+     */
+    private static boolean declaresLocally(@NotNull PsiElement scope, @NotNull IElementType scopeType,
+                                           @NotNull PsiElement identifier, @NotNull String name) {
+        IElementType headerEnd = scopeType == KiteElementTypes.FUNCTION_DECLARATION ? KiteTokenTypes.RPAREN
+                : scopeType == KiteElementTypes.FOR_STATEMENT ? KiteTokenTypes.IN
+                : null;
+        PsiElement child = scope.getFirstChild();
+        for (; child != null && headerEnd != null; child = child.getNextSibling()) {
+            IElementType childType = child.getNode().getElementType();
+            if (childType == headerEnd || childType == KiteTokenTypes.LBRACE) {
+                break;
+            }
+            if (child != identifier && childType == KiteTokenTypes.IDENTIFIER && name.equals(child.getText())) {
+                return true;
+            }
+        }
+        if (scopeType != KiteElementTypes.FUNCTION_DECLARATION) {
+            return false;
+        }
+
+        boolean inVar = false;
+        PsiElement varName = null;
+        for (; child != null; child = child.getNextSibling()) {
+            IElementType childType = child.getNode().getElementType();
+            if (childType == KiteTokenTypes.VAR) {
+                inVar = true;
+                varName = null;
+            } else if (inVar && childType == KiteTokenTypes.IDENTIFIER) {
+                // The last identifier before "=" is the name, any before it the type
+                varName = child;
+            } else if (inVar && (childType == KiteTokenTypes.ASSIGN || childType == KiteTokenTypes.NL ||
+                                 childType == KiteTokenTypes.NEWLINE)) {
+                if (varName != null && varName != identifier && name.equals(varName.getText())) {
+                    return true;
+                }
+                inVar = false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the innermost scope body containing a declaration, or null for a top-level declaration.
+     */
+    @Nullable
+    private static PsiElement getScope(@NotNull PsiElement declaration) {
+        for (PsiElement parent = declaration.getParent(); parent != null && !(parent instanceof PsiFile);
+             parent = parent.getParent()) {
+            if (parent.getNode() != null && SCOPES.contains(parent.getNode().getElementType())) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isValueDeclaration(@NotNull PsiElement declaration) {
+        return declaration instanceof KiteVariableDeclaration || declaration instanceof KiteInputDeclaration;
+    }
+
+    /**
+     * Format a value for string concatenation; whole numbers print without a fraction.
+     */
+    @NotNull
+    private static String format(@NotNull Object value) {
+        if (value instanceof Double number && number == Math.rint(number) && !Double.isInfinite(number)) {
+            return String.valueOf(number.longValue());
+        }
+        return String.valueOf(value);
+    }
+
+    @NotNull
+    private static String unescape(@NotNull String escape) {
+        return switch (escape) {
+            case "\\n" -> "\n";
+            case "\\t" -> "\t";
+            case "\\r" -> "\r";
+            case "\\\"" -> "\"";
+            case "\\\\" -> "\\";
+            case "\\$" -> "$";
+            default -> escape;
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package cloud.kitelang.intellij.util;
 
+import cloud.kitelang.intellij.psi.KiteDeclaration;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import cloud.kitelang.intellij.structure.KiteStructureViewIcons;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
@@ -24,6 +26,7 @@ public final class KiteDeclarationHelper {
      * Collect all declarations from the file.
      */
     public static void collectDeclarations(PsiFile file, DeclarationVisitor visitor) {
+        ProgressManager.checkCanceled();
         collectDeclarationsRecursive(file, visitor);
     }
 
@@ -140,12 +143,8 @@ public final class KiteDeclarationHelper {
      * Find the name element (PsiElement) in a declaration.
      * Returns the actual identifier element, not just the text.
      * <p>
-     * Handles different declaration patterns:
-     * <ul>
-     *   <li>For-loops: identifier after FOR keyword and before IN</li>
-     *   <li>Functions: name after FUN keyword and before LPAREN</li>
-     *   <li>Default (variables, resources, schemas, types): last identifier before = or { or +=</li>
-     * </ul>
+     * For-loops yield the identifier after the FOR keyword; declarations their cached
+     * {@link KiteDeclaration#getNameIdentifier() name identifier}.
      */
     @Nullable
     public static PsiElement findNameElementInDeclaration(PsiElement declaration, IElementType declarationType) {
@@ -167,61 +166,21 @@ public final class KiteDeclarationHelper {
             return null;
         }
 
-        // Function: name after FUN keyword and before LPAREN
-        if (declarationType == KiteElementTypes.FUNCTION_DECLARATION) {
-            var foundFun = false;
-            var child = declaration.getFirstChild();
-            while (child != null) {
-                if (child.getNode() != null) {
-                    var childType = child.getNode().getElementType();
-                    if (childType == KiteTokenTypes.FUN) {
-                        foundFun = true;
-                    } else if (foundFun && childType == KiteTokenTypes.IDENTIFIER) {
-                        return child; // First identifier after FUN is the function name
-                    } else if (childType == KiteTokenTypes.LPAREN) {
-                        break; // Stop at opening paren
-                    }
-                }
-                child = child.getNextSibling();
-            }
-            return null;
-        }
-
-        // Default: find last identifier before = or { or +=
-        PsiElement lastIdentifier = null;
-        var child = declaration.getFirstChild();
-        while (child != null) {
-            var childType = child.getNode().getElementType();
-            if (childType == KiteTokenTypes.IDENTIFIER) {
-                lastIdentifier = child;
-            } else if (childType == KiteTokenTypes.ASSIGN ||
-                       childType == KiteTokenTypes.LBRACE ||
-                       childType == KiteTokenTypes.PLUS_ASSIGN) {
-                if (lastIdentifier != null) {
-                    return lastIdentifier;
-                }
-            }
-            child = child.getNextSibling();
-        }
-
-        return lastIdentifier;
+        return declaration instanceof KiteDeclaration typed ? typed.getNameIdentifier() : null;
     }
 
     /**
      * Find a declaration's name element by name in the file.
      * Returns the name identifier PsiElement, not the declaration element.
+     * Looks the name up in the file's cached {@link KiteSymbolPrefixIndex}.
      */
     @Nullable
     public static PsiElement findDeclarationNameElement(PsiFile file, String name) {
-        final PsiElement[] result = {null};
-
-        collectDeclarations(file, (declName, declarationType, element) -> {
-            if (name.equals(declName) && result[0] == null) {
-                result[0] = findNameElementInDeclaration(element, declarationType);
-            }
-        });
-
-        return result[0];
+        PsiElement declaration = KiteSymbolPrefixIndex.getIndex(file).getFirstDeclaration(name);
+        if (declaration == null) {
+            return null;
+        }
+        return findNameElementInDeclaration(declaration, declaration.getNode().getElementType());
     }
 
     /**
@@ -0,0 +1,141 @@
+package cloud.kitelang.intellij.util;
+
+import cloud.kitelang.intellij.psi.KiteDeclaration;
+import cloud.kitelang.intellij.psi.KiteElementTypes;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cached summary of a declaration's header: its kind, name, type and first line.
+ * <p>
+ * Only the tokens of the header are read (up to the opening brace, {@code =} or end of line), never
+ * the body, so the cost does not depend on the size of the declaration. Results are cached on the
+ * element until its file changes. Used by breadcrumbs and the structure view, which are updated on
+ * every caret move.
+ *
+ * @param kind   Declaration keyword, e.g. "resource" or "for"
+ * @param name   Declared name (loop variable for {@code for}), or null if incomplete
+ * @param type   Declared type, e.g. "AWS.S3.Bucket", the component type of an instance or the type
+ *               of a var/input/output; null if there is none
+ * @param header First line of the declaration without a trailing brace, cut after {@link #MAX_HEADER_LENGTH}
+ */
+public record KiteDeclarationInfo(@NotNull String kind,
+                                  @Nullable String name,
+                                  @Nullable String type,
+                                  @NotNull String header) {
+
+    public static final int MAX_HEADER_LENGTH = 120;
+
+    /**
+     * Whether the element type is a declaration shown in the structure view.
+     */
+    public static boolean isStructureDeclaration(@Nullable IElementType type) {
+        return type == KiteElementTypes.RESOURCE_DECLARATION ||
+               type == KiteElementTypes.COMPONENT_DECLARATION ||
+               type == KiteElementTypes.SCHEMA_DECLARATION ||
+               type == KiteElementTypes.FUNCTION_DECLARATION ||
+               type == KiteElementTypes.TYPE_DECLARATION ||
+               type == KiteElementTypes.VARIABLE_DECLARATION ||
+               type == KiteElementTypes.INPUT_DECLARATION ||
+               type == KiteElementTypes.OUTPUT_DECLARATION;
+    }
+
+    /**
+     * Get the cached header summary of a declaration or loop.
+     *
+     * @return The summary, or null if the element is not a declaration or loop
+     */
+    @Nullable
+    public static KiteDeclarationInfo of(@NotNull PsiElement element) {
+        String kind = kindOf(KitePsiUtil.getElementType(element));
+        if (kind == null) {
+            return null;
+        }
+        return CachedValuesManager.getCachedValue(element, () ->
+                CachedValueProvider.Result.create(compute(element, kind), dependency(element)));
+    }
+
+    /**
+     * Get the cached list of structure-view declarations directly inside a file or declaration.
+     */
+    @NotNull
+    public static List<PsiElement> childDeclarations(@NotNull PsiElement container) {
+        return CachedValuesManager.getCachedValue(container, () -> {
+            List<PsiElement> declarations = new ArrayList<>();
+            for (PsiElement child = container.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (isStructureDeclaration(KitePsiUtil.getElementType(child))) {
+                    declarations.add(child);
+                }
+            }
+            return CachedValueProvider.Result.create(Collections.unmodifiableList(declarations), dependency(container));
+        });
+    }
+
+    @Nullable
+    private static String kindOf(@Nullable IElementType type) {
+        if (type == KiteElementTypes.RESOURCE_DECLARATION) return "resource";
+        if (type == KiteElementTypes.COMPONENT_DECLARATION) return "component";
+        if (type == KiteElementTypes.SCHEMA_DECLARATION) return "schema";
+        if (type == KiteElementTypes.FUNCTION_DECLARATION) return "fun";
+        if (type == KiteElementTypes.TYPE_DECLARATION) return "type";
+        if (type == KiteElementTypes.VARIABLE_DECLARATION) return "var";
+        if (type == KiteElementTypes.INPUT_DECLARATION) return "input";
+        if (type == KiteElementTypes.OUTPUT_DECLARATION) return "output";
+        if (type == KiteElementTypes.FOR_STATEMENT) return "for";
+        if (type == KiteElementTypes.WHILE_STATEMENT) return "while";
+        return null;
+    }
+
+    private static Object dependency(@NotNull PsiElement element) {
+        PsiFile file = element.getContainingFile();
+        return file != null ? file : element;
+    }
+
+    @NotNull
+    private static KiteDeclarationInfo compute(@NotNull PsiElement element, @NotNull String kind) {
+        if (element instanceof KiteDeclaration declaration) {
+            return new KiteDeclarationInfo(kind, declaration.getName(), declaration.getTypeText(), readHeader(element));
+        }
+        // Loops: the loop variable for "for", no name for "while"
+        String name = KitePsiUtil.getElementType(element) == KiteElementTypes.FOR_STATEMENT
+                ? KitePsiUtil.findForLoopVariable(element)
+                : null;
+        return new KiteDeclarationInfo(kind, name, null, readHeader(element));
+    }
+
+    /**
+     * Reads the first line of the element leaf by leaf, stopping at the first line break.
+     */
+    @NotNull
+    private static String readHeader(@NotNull PsiElement element) {
+        StringBuilder header = new StringBuilder();
+        int end = element.getTextRange().getEndOffset();
+        PsiElement leaf = PsiTreeUtil.firstChild(element);
+        while (leaf != null && leaf.getTextRange().getStartOffset() < end && header.length() <= MAX_HEADER_LENGTH) {
+            String text = leaf.getText();
+            int newline = text.indexOf('\n');
+            if (newline >= 0) {
+                header.append(text, 0, newline);
+                break;
+            }
+            header.append(text);
+            leaf = PsiTreeUtil.nextLeaf(leaf);
+        }
+
+        String line = header.toString().trim();
+        if (line.endsWith("{")) {
+            line = line.substring(0, line.length() - 1).trim();
+        }
+        return line.length() > MAX_HEADER_LENGTH ? line.substring(0, MAX_HEADER_LENGTH) : line;
+    }
+}
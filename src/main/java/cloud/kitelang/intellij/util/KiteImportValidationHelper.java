@@ -1,6 +1,7 @@
 package cloud.kitelang.intellij.util;
 
 import cloud.kitelang.intellij.psi.KiteElementTypes;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
@@ -29,8 +30,9 @@ import static cloud.kitelang.intellij.util.KitePsiUtil.isWhitespace;
  * </ol>
  * <p>
  * <b>PSI Structure:</b><br>
- * Import statements may be wrapped in an {@code IMPORT_STATEMENT} element, or the tokens
- * may appear directly as children of the file. This class handles both cases:
+ * Import statements are parsed into {@link KiteImportStatement} elements with structured
+ * children (symbol list, wildcard marker and path string). For robustness the raw-token
+ * variants scan forward from an IMPORT keyword that is not wrapped in a statement:
  * <ul>
  *   <li>{@link #isWildcardImport} - Check IMPORT_STATEMENT element</li>
  *   <li>{@link #isWildcardImportFromToken} - Check starting from raw IMPORT token</li>
@@ -61,20 +63,7 @@ public final class KiteImportValidationHelper {
      * @return true if this is a wildcard import
      */
     public static boolean isWildcardImport(PsiElement importStatement) {
-        boolean foundImport = false;
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.IMPORT) {
-                foundImport = true;
-            } else if (foundImport && childType == KiteTokenTypes.MULTIPLY) {
-                return true; // Found wildcard
-            } else if (childType == KiteTokenTypes.FROM) {
-                break; // Reached FROM without finding *, not wildcard
-            }
-        }
-        return false;
+        return importStatement instanceof KiteImportStatement statement && statement.isWildcard();
     }
 
     /**
@@ -99,12 +88,12 @@ public final class KiteImportValidationHelper {
             }
 
             // Found wildcard
-            if (siblingType == KiteTokenTypes.MULTIPLY) {
+            if (siblingType == KiteTokenTypes.MULTIPLY || siblingType == KiteElementTypes.IMPORT_WILDCARD) {
                 return true;
             }
 
             // Found identifier before * means it's a named import
-            if (siblingType == KiteTokenTypes.IDENTIFIER) {
+            if (siblingType == KiteTokenTypes.IDENTIFIER || siblingType == KiteElementTypes.IMPORT_SYMBOL_LIST) {
                 return false;
             }
 
@@ -208,42 +197,8 @@ public final class KiteImportValidationHelper {
      */
     @Nullable
     public static PsiElement findImportPathString(PsiElement importStatement) {
-        boolean foundFrom = false;
-        for (PsiElement child = importStatement.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.FROM) {
-                foundFrom = true;
-                continue;
-            }
-
-            if (foundFrom) {
-                // Look for any string token type
-                if (childType == KiteTokenTypes.STRING ||
-                    childType == KiteTokenTypes.SINGLE_STRING) {
-                    return child;
-                }
-                // For DQUOTE, we need to find the full interpolated string
-                // First check if parent is a stringLiteral/interpolatedString element
-                if (childType == KiteTokenTypes.DQUOTE) {
-                    PsiElement parent = child.getParent();
-                    // If parent is NOT the import statement, it might be the string element we want
-                    if (parent != null && parent != importStatement) {
-                        String parentText = parent.getText();
-                        if (parentText.startsWith("\"") && parentText.endsWith("\"")) {
-                            return parent;
-                        }
-                    }
-                    // Otherwise, return DQUOTE itself - we'll handle text collection specially
-                    return child;
-                }
-                // If we find a composite element after FROM, check if it's a string element
-                String text = child.getText();
-                if (text.startsWith("\"") || text.startsWith("'")) {
-                    return child;
-                }
-            }
+        if (importStatement instanceof KiteImportStatement statement) {
+            return statement.getPathElement();
         }
         return null;
     }
@@ -307,6 +262,11 @@ public final class KiteImportValidationHelper {
     public static String extractImportPathFromElement(PsiElement stringElement) {
         if (stringElement == null) return null;
 
+        if (stringElement.getNode() != null &&
+            stringElement.getNode().getElementType() == KiteElementTypes.IMPORT_PATH) {
+            return KiteImportStatement.getPathContent(stringElement);
+        }
+
         // Check if this is a DQUOTE token - need to collect text from DQUOTE to STRING_DQUOTE
         if (stringElement.getNode() != null &&
             stringElement.getNode().getElementType() == KiteTokenTypes.DQUOTE) {
@@ -200,9 +200,11 @@ public final class KiteIndexedResourceHelper {
 
     /**
      * Extract the @count value from a declaration's decorators.
+     * The argument is folded by {@link KiteConstantEvaluator}, so {@code @count(replicas * 2)}
+     * works when {@code replicas} is a var or an input with a default.
      *
      * @param declaration The declaration to check
-     * @return The count value, or null if no @count decorator
+     * @return The count value, or null if no @count decorator or the argument is not constant
      */
     @Nullable
     public static Integer extractCountValue(PsiElement declaration) {
@@ -217,19 +219,12 @@ public final class KiteIndexedResourceHelper {
                 if (type == KiteTokenTypes.AT) {
                     var decoratorName = skipWhitespace(prev.getNextSibling());
                     if (decoratorName != null && "count".equals(decoratorName.getText())) {
-                        // Look for ( number )
+                        // Look for ( expression )
                         var lparen = skipWhitespace(decoratorName.getNextSibling());
                         if (lparen != null && lparen.getNode() != null &&
                                 lparen.getNode().getElementType() == KiteTokenTypes.LPAREN) {
-                            var numElement = skipWhitespace(lparen.getNextSibling());
-                            if (numElement != null && numElement.getNode() != null &&
-                                    numElement.getNode().getElementType() == KiteTokenTypes.NUMBER) {
-                                try {
-                                    return Integer.parseInt(numElement.getText());
-                                } catch (NumberFormatException e) {
-                                    return null;
-                                }
-                            }
+                            var count = KiteConstantEvaluator.evaluate(skipWhitespace(lparen.getNextSibling()));
+                            return count != null ? count.asInteger() : null;
                         }
                     }
                 }
@@ -292,16 +287,15 @@ public final class KiteIndexedResourceHelper {
                     foundIn = true;
                 } else if (foundIn) {
                     // Look at the iteration source
-                    if (type == KiteTokenTypes.NUMBER) {
-                        // Start of range expression: NUMBER .. NUMBER
-                        return parseRangeExpression(child, declaration);
-                    } else if (type == KiteElementTypes.ARRAY_LITERAL) {
+                    if (type == KiteElementTypes.ARRAY_LITERAL) {
                         // Array literal element
                         return parseArrayLiteral(child, declaration);
                     } else if (type == KiteTokenTypes.LBRACK) {
                         // Array literal starting with [
                         return parseArrayLiteralFromBracket(child, declaration);
                     }
+                    // Range expression like 0..5 or 0..replicas
+                    return parseRangeExpression(child, declaration);
                 }
             }
             child = child.getNextSibling();
@@ -352,46 +346,13 @@ public final class KiteIndexedResourceHelper {
     }
 
     /**
-     * Parse a range expression (NUMBER .. NUMBER).
+     * Parse a range expression (start .. end) whose bounds fold to integers.
      */
     @Nullable
-    private static IndexedResourceInfo parseRangeExpression(PsiElement startNumber, PsiElement declaration) {
-        try {
-            int start = Integer.parseInt(startNumber.getText());
-
-            // Look for .. and end number (skip whitespace and newlines)
-            var next = skipWhitespaceAndNewlines(startNumber.getNextSibling());
-            if (next != null && next.getNode() != null &&
-                    next.getNode().getElementType() == KiteTokenTypes.RANGE) {
-                var endElement = skipWhitespaceAndNewlines(next.getNextSibling());
-                if (endElement != null && endElement.getNode() != null &&
-                        endElement.getNode().getElementType() == KiteTokenTypes.NUMBER) {
-                    int end = Integer.parseInt(endElement.getText());
-                    return new IndexedResourceInfo(IndexType.NUMERIC, null, start, end, null, declaration);
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore parse errors
-        }
-        return null;
-    }
-
-    /**
-     * Skip whitespace and newlines forward.
-     */
-    @Nullable
-    private static PsiElement skipWhitespaceAndNewlines(@Nullable PsiElement element) {
-        while (element != null) {
-            if (element.getNode() != null) {
-                var type = element.getNode().getElementType();
-                if (type != KiteTokenTypes.WHITESPACE &&
-                        type != TokenType.WHITE_SPACE &&
-                        type != KiteTokenTypes.NL &&
-                        type != KiteTokenTypes.NEWLINE) {
-                    return element;
-                }
-            }
-            element = element.getNextSibling();
+    private static IndexedResourceInfo parseRangeExpression(PsiElement start, PsiElement declaration) {
+        var range = KiteConstantEvaluator.evaluateHeader(start);
+        if (range != null && range.value() instanceof KiteConstantEvaluator.Range bounds) {
+            return new IndexedResourceInfo(IndexType.NUMERIC, null, bounds.start(), bounds.end(), null, declaration);
         }
         return null;
     }
@@ -1,5 +1,6 @@
 package cloud.kitelang.intellij.util;
 
+import cloud.kitelang.intellij.psi.KiteDeclaration;
 import cloud.kitelang.intellij.psi.KiteElementTypes;
 import cloud.kitelang.intellij.psi.KiteTokenTypes;
 import com.intellij.psi.PsiElement;
@@ -8,9 +9,6 @@ import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Utility class for common PSI navigation operations.
  * <p>
@@ -222,13 +220,8 @@ public final class KitePsiUtil {
     /**
      * Find the name of a declaration element.
      * <p>
-     * Handles different declaration patterns:
-     * <ul>
-     *   <li>For-loops: identifier after FOR keyword and before IN</li>
-     *   <li>Functions: name after FUN keyword and before LPAREN</li>
-     *   <li>Components: last identifier before LBRACE (handles both definitions and instantiations)</li>
-     *   <li>Default (variables, resources, schemas, types): last identifier before = or {</li>
-     * </ul>
+     * For-loops yield their loop variable (identifier after FOR and before IN). Declarations are
+     * {@link KiteDeclaration} elements whose name is cached, see {@link KiteDeclaration#getName()}.
      *
      * @param declaration The declaration element
      * @param type        The element type of the declaration
@@ -240,64 +233,7 @@ public final class KitePsiUtil {
         if (type == KiteElementTypes.FOR_STATEMENT) {
             return findForLoopVariable(declaration);
         }
-
-        // For function declarations, the name is after FUN and before LPAREN
-        if (type == KiteElementTypes.FUNCTION_DECLARATION) {
-            boolean foundFun = false;
-            for (PsiElement child = declaration.getFirstChild(); child != null; child = child.getNextSibling()) {
-                if (child.getNode() == null) continue;
-                IElementType childType = child.getNode().getElementType();
-
-                if (childType == KiteTokenTypes.FUN) {
-                    foundFun = true;
-                } else if (foundFun && childType == KiteTokenTypes.IDENTIFIER) {
-                    return child.getText();
-                } else if (childType == KiteTokenTypes.LPAREN) {
-                    break;
-                }
-            }
-            return null;
-        }
-
-        // For component declarations, handle both definitions and instantiations
-        if (type == KiteElementTypes.COMPONENT_DECLARATION) {
-            return findComponentName(declaration);
-        }
-
-        // Default: find identifier before = or {
-        PsiElement lastIdentifier = null;
-        for (PsiElement child = declaration.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.IDENTIFIER) {
-                lastIdentifier = child;
-            } else if (childType == KiteTokenTypes.ASSIGN ||
-                       childType == KiteTokenTypes.LBRACE ||
-                       childType == KiteTokenTypes.PLUS_ASSIGN) {
-                if (lastIdentifier != null) {
-                    return lastIdentifier.getText();
-                }
-            }
-        }
-        return lastIdentifier != null ? lastIdentifier.getText() : null;
-    }
-
-    @Nullable
-    public static String findComponentName(PsiElement componentDecl) {
-        List<String> identifiers = new ArrayList<>();
-        for (PsiElement child = componentDecl.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child.getNode() == null) continue;
-            IElementType childType = child.getNode().getElementType();
-
-            if (childType == KiteTokenTypes.IDENTIFIER) {
-                identifiers.add(child.getText());
-            } else if (childType == KiteTokenTypes.LBRACE) {
-                break;
-            }
-        }
-        // Return the last identifier (instance name for instantiations, type name for definitions)
-        return identifiers.isEmpty() ? null : identifiers.get(identifiers.size() - 1);
+        return declaration instanceof KiteDeclaration typed ? typed.getName() : null;
     }
 
     public static @Nullable String findForLoopVariable(@NotNull PsiElement declaration) {
@@ -7,9 +7,14 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.TokenType;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -27,40 +32,56 @@ public final class KiteSchemaHelper {
      * Searches in current file and imported files.
      */
     public static Map<String, SchemaPropertyInfo> findSchemaProperties(PsiFile file, String schemaName) {
-        var properties = new HashMap<String, SchemaPropertyInfo>();
-
         // Search in current file
-        findSchemaPropertiesRecursive(file, schemaName, properties);
+        var properties = getSchemas(file).get(schemaName);
 
         // If not found, search in imported files
-        if (properties.isEmpty()) {
-            KiteImportHelper.forEachImport(file, importedFile ->
-                    findSchemaPropertiesRecursive(importedFile, schemaName, properties));
+        if (properties == null) {
+            properties = KiteImportHelper.searchInImports(file, importedFile -> getSchemas(importedFile).get(schemaName));
         }
 
-        return properties;
+        return properties != null ? new HashMap<>(properties) : new HashMap<>();
     }
 
     /**
-     * Recursively search for a schema and extract its properties.
+     * Get all schemas declared in a file, keyed by schema name.
+     * The result is cached per file and invalidated on any PSI change in the project.
+     * Schemas without properties are omitted, and the first declaration wins for duplicate names.
+     *
+     * @param file The file to analyze
+     * @return Unmodifiable map of schema name to its property map
      */
-    private static void findSchemaPropertiesRecursive(PsiElement element, String schemaName, Map<String, SchemaPropertyInfo> properties) {
+    public static Map<String, Map<String, SchemaPropertyInfo>> getSchemas(PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> {
+            var schemas = new LinkedHashMap<String, Map<String, SchemaPropertyInfo>>();
+            collectSchemasRecursive(file, schemas);
+            return CachedValueProvider.Result.create(Collections.unmodifiableMap(schemas),
+                    PsiModificationTracker.getInstance(file.getProject()));
+        });
+    }
+
+    /**
+     * Recursively collect schema declarations and their properties.
+     */
+    private static void collectSchemasRecursive(PsiElement element, Map<String, Map<String, SchemaPropertyInfo>> schemas) {
         if (element == null || element.getNode() == null) return;
 
         if (element.getNode().getElementType() == KiteElementTypes.SCHEMA_DECLARATION) {
-            // Check if this is the schema we're looking for
             String name = extractSchemaName(element);
-            if (schemaName.equals(name)) {
+            if (name != null && !schemas.containsKey(name)) {
+                var properties = new HashMap<String, SchemaPropertyInfo>();
                 extractSchemaProperties(element, properties);
-                return;
+                if (!properties.isEmpty()) {
+                    schemas.put(name, Collections.unmodifiableMap(properties));
+                    return;
+                }
             }
         }
 
         // Recurse into children
         PsiElement child = element.getFirstChild();
         while (child != null) {
-            findSchemaPropertiesRecursive(child, schemaName, properties);
-            if (!properties.isEmpty()) return; // Found it
+            collectSchemasRecursive(child, schemas);
             child = child.getNextSibling();
         }
     }
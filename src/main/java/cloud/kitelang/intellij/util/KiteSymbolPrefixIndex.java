@@ -0,0 +1,146 @@
+package cloud.kitelang.intellij.util;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix-searchable declaration names of one Kite file.
+ * <p>
+ * Names are kept in a sorted array keyed by their lower-cased form, so a completion prefix
+ * maps to a contiguous range found by binary search instead of a scan over every declaration.
+ * The index is cached per file and depends only on that file, so editing one file does not
+ * rebuild the indexes of the rest of the project.
+ * <p>
+ * Each entry also keeps its declaration element, so reference resolution can look up a name
+ * with the same binary search instead of walking the file.
+ */
+public final class KiteSymbolPrefixIndex {
+
+    private static final KiteSymbolPrefixIndex EMPTY = new KiteSymbolPrefixIndex(new Entry[0]);
+
+    private final Entry[] entries;
+    private final String[] keys;
+
+    private KiteSymbolPrefixIndex(Entry[] entries) {
+        this.entries = entries;
+        this.keys = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key;
+        }
+    }
+
+    /**
+     * Get the cached index of all declarations in a file.
+     */
+    @NotNull
+    public static KiteSymbolPrefixIndex getIndex(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () ->
+                CachedValueProvider.Result.create(build(file), file));
+    }
+
+    @NotNull
+    private static KiteSymbolPrefixIndex build(@NotNull PsiFile file) {
+        List<Entry> entries = new ArrayList<>();
+        KiteDeclarationHelper.collectDeclarations(file, (name, declarationType, element) ->
+                entries.add(new Entry(name.toLowerCase(Locale.ROOT), name, declarationType, element)));
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        // Stable sort: declarations with the same name stay in document order
+        Arrays.sort(sorted, Comparator.comparing((Entry entry) -> entry.key).thenComparing(entry -> entry.name));
+        return new KiteSymbolPrefixIndex(sorted);
+    }
+
+    /**
+     * Visit the declarations whose name starts with the given prefix, ignoring case, in sorted order.
+     *
+     * @param prefix  The typed prefix (may be empty to visit every declaration)
+     * @param visitor Receives each matching declaration; returning false stops the search
+     * @return false if the visitor stopped the search, true otherwise
+     */
+    public boolean processPrefix(@NotNull String prefix, @NotNull SymbolVisitor visitor) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        for (int i = lowerBound(key); i < entries.length && keys[i].startsWith(key); i++) {
+            Entry entry = entries[i];
+            if (!visitor.visit(entry.name, entry.declarationType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the declarations with exactly the given name, in document order.
+     *
+     * @return The declaration elements (not their name identifiers); empty if the name is not declared
+     */
+    @NotNull
+    public List<PsiElement> getDeclarations(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        List<PsiElement> declarations = new ArrayList<>(1);
+        for (int i = lowerBound(key); i < entries.length && keys[i].equals(key); i++) {
+            if (entries[i].name.equals(name)) {
+                declarations.add(entries[i].declaration);
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Get the first declaration with exactly the given name, or null if the name is not declared.
+     */
+    @Nullable
+    public PsiElement getFirstDeclaration(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        for (int i = lowerBound(key); i < entries.length && keys[i].equals(key); i++) {
+            if (entries[i].name.equals(name)) {
+                return entries[i].declaration;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of declarations in the index.
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(String key, String name, IElementType declarationType, PsiElement declaration) {
+    }
+
+    /**
+     * Visitor for declarations matching a prefix.
+     */
+    @FunctionalInterface
+    public interface SymbolVisitor {
+        boolean visit(String name, IElementType declarationType);
+    }
+}
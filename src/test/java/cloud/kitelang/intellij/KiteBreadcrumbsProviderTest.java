@@ -307,8 +307,44 @@ public class KiteBreadcrumbsProviderTest extends KiteTestBase {
         // All nested elements should be accepted: component > function > for > object literal
     }
 
+    // ========== Element Info Labels ==========
+
+    public void testElementInfoLabels() {
+        configureByText("""
+                component WebServer api {
+                    port = "9000"
+                }
+                resource AWS.S3.Bucket logs {
+                }
+                fun processData(string input) string {
+                    for item in [1, 2] {
+                    }
+                    return input
+                }
+                var number retries = 3
+                """);
+
+        assertEquals("WebServer api", infoAt("api {"));
+        assertEquals("logs", infoAt("logs {"));
+        assertEquals("processData()", infoAt("processData"));
+        assertEquals("for item", infoAt("item in"));
+        assertEquals("retries", infoAt("retries"));
+        assertEquals("resource AWS.S3.Bucket logs", provider.getElementTooltip(declarationAt("logs {")));
+    }
+
     // ========== Helper Methods ==========
 
+    private PsiElement declarationAt(String marker) {
+        PsiFile file = myFixture.getFile();
+        PsiElement declaration = findDeclarationParent(file.findElementAt(file.getText().indexOf(marker)));
+        assertNotNull("No declaration at " + marker, declaration);
+        return declaration;
+    }
+
+    private String infoAt(String marker) {
+        return provider.getElementInfo(declarationAt(marker));
+    }
+
     private PsiElement findElementByText(PsiFile file) {
         int offset = file.getText().indexOf("component WebServer");
         if (offset < 0) return null;
@@ -2,8 +2,12 @@ package cloud.kitelang.intellij;
 
 import com.intellij.lang.folding.FoldingDescriptor;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiFile;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Tests for {@link KiteFoldingBuilder}.
  * Verifies that import folding and block folding work correctly.
@@ -226,6 +230,61 @@ public class KiteFoldingBuilderTest extends KiteTestBase {
     /**
      * Helper method to get folding descriptors from the current file.
      */
+    /**
+     * Test that the lexer-only quick pass finds the same regions as the full pass.
+     */
+    public void testQuickModeMatchesFullPass() {
+        configureByText("""
+                import alpha from "alpha.kite"
+                import beta from "beta.kite"
+
+                /*
+                 * Storage
+                 */
+                resource Bucket logs {
+                    name = "logs-{x}"
+                    tags = {
+                        env: "prod"
+                    }
+                }
+
+                fun label(string name) string {
+                    return name
+                }
+                """);
+
+        assertEquals(ranges(getFoldingDescriptors()), ranges(getQuickFoldingDescriptors()));
+    }
+
+    /**
+     * Test that braces inside strings don't affect the block range.
+     */
+    public void testBraceInStringDoesNotEndBlock() {
+        configureByText("""
+                resource Bucket logs {
+                    name = "}"
+                    size = 1
+                }
+                """);
+
+        String text = myFixture.getFile().getText();
+        TextRange expected = new TextRange(text.indexOf('{'), text.lastIndexOf('}') + 1);
+        assertTrue(ranges(getFoldingDescriptors()).contains(expected));
+        assertTrue(ranges(getQuickFoldingDescriptors()).contains(expected));
+    }
+
+    private FoldingDescriptor[] getQuickFoldingDescriptors() {
+        return new KiteFoldingBuilder().buildFoldRegions(myFixture.getFile(), myFixture.getEditor().getDocument(), true);
+    }
+
+    private Set<TextRange> ranges(FoldingDescriptor[] descriptors) {
+        Set<TextRange> ranges = new HashSet<>();
+        for (FoldingDescriptor descriptor : descriptors) {
+            ranges.add(descriptor.getRange());
+        }
+        return ranges;
+    }
+
     private FoldingDescriptor[] getFoldingDescriptors() {
         PsiFile file = myFixture.getFile();
         Document document = myFixture.getEditor().getDocument();
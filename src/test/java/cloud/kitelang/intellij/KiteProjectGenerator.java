@@ -0,0 +1,262 @@
+package cloud.kitelang.intellij;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic generator of synthetic Kite projects for performance tests and benchmarks.
+ * <p>
+ * Files are laid out in import layers: {@code layer0/} holds leaf modules without imports and every
+ * module in {@code layerN/} imports {@code importFanOut} modules of {@code layerN-1/}, alternating
+ * named and wildcard imports. A module in the top layer therefore sits at the end of an import chain
+ * {@code importDepth} levels deep.
+ * <p>
+ * Each module declares a type alias, a schema (with a {@code @cloud} property), a shared variable,
+ * decorated resources (some inside for-loops), a component definition and instance, and a function.
+ * String values interpolate local and imported variables. The same options always produce the same
+ * project, so timings are comparable between runs.
+ * <p>
+ * Usage from tests:
+ * <pre>{@code
+ * KiteProjectGenerator.defaults().withFiles(200).withImportDepth(6).generate()
+ *         .forEach(this::addFile);
+ * }</pre>
+ * To write a project to disk, e.g. to reproduce a large workload in a sandbox IDE, run
+ * {@code ./gradlew generateKiteCorpus -PcorpusDir=... -PcorpusFiles=6000}.
+ *
+ * @param files            Number of modules
+ * @param resourcesPerFile Resources declared in each module
+ * @param importFanOut     Modules imported by each non-leaf module
+ * @param importDepth      Number of import layers above the leaf layer
+ * @param seed             Seed for the choice of imported modules
+ */
+public record KiteProjectGenerator(int files, int resourcesPerFile, int importFanOut, int importDepth, long seed) {
+
+    private static final String[] ENVIRONMENTS = {"dev", "staging", "prod"};
+
+    public KiteProjectGenerator {
+        if (files < 1 || resourcesPerFile < 0 || importFanOut < 0 || importDepth < 0) {
+            throw new IllegalArgumentException("Invalid generator options: files=" + files
+                                               + ", resourcesPerFile=" + resourcesPerFile
+                                               + ", importFanOut=" + importFanOut
+                                               + ", importDepth=" + importDepth);
+        }
+    }
+
+    /**
+     * Small default project: 20 modules, 10 resources each, fan-out 3, depth 3.
+     */
+    public static KiteProjectGenerator defaults() {
+        return new KiteProjectGenerator(20, 10, 3, 3, 42L);
+    }
+
+    public KiteProjectGenerator withFiles(int files) {
+        return new KiteProjectGenerator(files, resourcesPerFile, importFanOut, importDepth, seed);
+    }
+
+    public KiteProjectGenerator withResourcesPerFile(int resourcesPerFile) {
+        return new KiteProjectGenerator(files, resourcesPerFile, importFanOut, importDepth, seed);
+    }
+
+    public KiteProjectGenerator withImportFanOut(int importFanOut) {
+        return new KiteProjectGenerator(files, resourcesPerFile, importFanOut, importDepth, seed);
+    }
+
+    public KiteProjectGenerator withImportDepth(int importDepth) {
+        return new KiteProjectGenerator(files, resourcesPerFile, importFanOut, importDepth, seed);
+    }
+
+    public KiteProjectGenerator withSeed(long seed) {
+        return new KiteProjectGenerator(files, resourcesPerFile, importFanOut, importDepth, seed);
+    }
+
+    /**
+     * Generate the project.
+     *
+     * @return Project-relative paths mapped to file text, in generation order
+     */
+    public Map<String, String> generate() {
+        int layers = importDepth + 1;
+        List<List<Integer>> modulesByLayer = new ArrayList<>();
+        for (int layer = 0; layer < layers; layer++) {
+            modulesByLayer.add(new ArrayList<>());
+        }
+        for (int module = 0; module < files; module++) {
+            modulesByLayer.get(layerOf(module)).add(module);
+        }
+
+        Map<String, String> project = new LinkedHashMap<>();
+        for (int module = 0; module < files; module++) {
+            int layer = layerOf(module);
+            List<Integer> imports = layer == 0
+                    ? List.of()
+                    : pickImports(module, modulesByLayer.get(layer - 1));
+
+            StringBuilder text = new StringBuilder();
+            text.append("// Generated module ").append(module).append(" (layer ").append(layer).append(")\n");
+            for (int k = 0; k < imports.size(); k++) {
+                int target = imports.get(k);
+                String path = "../" + pathOf(target);
+                if (k % 2 == 0) {
+                    text.append("import Config").append(target).append(", prefix").append(target)
+                            .append(" from \"").append(path).append("\"\n");
+                } else {
+                    text.append("import * from \"").append(path).append("\"\n");
+                }
+            }
+            text.append('\n');
+            appendModule(text, module, imports.isEmpty() ? -1 : imports.get(0), resourcesPerFile);
+            project.put(pathOf(module), text.toString());
+        }
+        return project;
+    }
+
+    /**
+     * Generate a single self-contained file of at least the given number of lines.
+     */
+    public static String generateFile(int lines) {
+        StringBuilder text = new StringBuilder();
+        int lineCount = 0;
+        for (int module = 0; lineCount < lines; module++) {
+            int start = text.length();
+            appendModule(text, module, -1, 10);
+            for (int i = start; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    lineCount++;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Write the project below a directory, creating the layer directories.
+     */
+    public void writeTo(Path root) throws IOException {
+        for (Map.Entry<String, String> file : generate().entrySet()) {
+            Path path = root.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file.getValue(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Command-line entry point: {@code <outputDir> [files] [resourcesPerFile] [importFanOut] [importDepth] [seed]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: KiteProjectGenerator <outputDir> [files] [resourcesPerFile] [importFanOut] [importDepth] [seed]");
+            System.exit(1);
+        }
+        KiteProjectGenerator defaults = defaults();
+        KiteProjectGenerator generator = new KiteProjectGenerator(
+                args.length > 1 ? Integer.parseInt(args[1]) : defaults.files(),
+                args.length > 2 ? Integer.parseInt(args[2]) : defaults.resourcesPerFile(),
+                args.length > 3 ? Integer.parseInt(args[3]) : defaults.importFanOut(),
+                args.length > 4 ? Integer.parseInt(args[4]) : defaults.importDepth(),
+                args.length > 5 ? Long.parseLong(args[5]) : defaults.seed());
+        Path root = Path.of(args[0]);
+        generator.writeTo(root);
+        System.out.println("Generated " + generator.files() + " Kite files in " + root.toAbsolutePath());
+    }
+
+    // ========== Layout ==========
+
+    private int layerOf(int module) {
+        return module % (importDepth + 1);
+    }
+
+    private String pathOf(int module) {
+        return "layer" + layerOf(module) + "/module" + module + ".kite";
+    }
+
+    private List<Integer> pickImports(int module, List<Integer> candidates) {
+        List<Integer> pool = new ArrayList<>(candidates);
+        Random random = new Random(seed * 31 + module);
+        List<Integer> picked = new ArrayList<>();
+        while (picked.size() < importFanOut && !pool.isEmpty()) {
+            picked.add(pool.remove(random.nextInt(pool.size())));
+        }
+        return picked;
+    }
+
+    // ========== Content ==========
+
+    /**
+     * Append the declarations of one module.
+     *
+     * @param imported A module whose Config schema and prefix variable are imported, or -1
+     */
+    private static void appendModule(StringBuilder text, int module, int imported, int resources) {
+        String prefix = imported >= 0 ? "prefix" + imported : "prefix" + module;
+
+        text.append("""
+                type Tier%1$d = "dev" | "staging" | "prod"
+
+                schema Config%1$d {
+                    string name
+                    number size = 1
+                    Tier%1$d tier = "dev"
+                    @cloud string arn
+                }
+
+                var prefix%1$d = "module-%1$d"
+
+                """.formatted(module));
+
+        for (int r = 0; r < resources; r++) {
+            String type = imported >= 0 && r % 2 == 1 ? "Config" + imported : "Config" + module;
+            if (r % 5 == 4) {
+                text.append("""
+                        for env in ["dev", "staging", "prod"] {
+                            resource %1$s loop%2$d_%3$d {
+                                name = "${%4$s}-${env}-%3$d"
+                                size = %3$d
+                            }
+                        }
+
+                        """.formatted(type, module, r, prefix));
+                continue;
+            }
+            text.append("@provider(\"aws\")\n");
+            text.append("@description(\"Resource ").append(r).append(" of module ").append(module).append("\")\n");
+            if (r % 3 == 0) {
+                text.append("@count(").append(r % 4 + 1).append(")\n");
+            }
+            text.append("""
+                    resource %1$s res%2$d_%3$d {
+                        name = "${%4$s}-res-%3$d"
+                        size = %3$d
+                        tier = "%5$s"
+                    }
+
+                    """.formatted(type, module, r, prefix, ENVIRONMENTS[r % ENVIRONMENTS.length]));
+        }
+
+        text.append("""
+                component Service%1$d {
+                    @description("Listening port")
+                    input number port = 8080
+                    input string env = "dev"
+                    output string endpoint = "https://${%2$s}.example.com:${port}"
+                }
+
+                component Service%1$d service%1$d {
+                    port = 443
+                }
+
+                fun label%1$d(string name) string {
+                    var label = "${prefix%1$d}-${name}"
+                    return label
+                }
+
+                """.formatted(module, prefix));
+    }
+}
@@ -0,0 +1,70 @@
+package cloud.kitelang.intellij;
+
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the synthetic project generator used by performance tests and benchmarks.
+ */
+public class KiteProjectGeneratorTest extends KiteTestBase {
+
+    public void testGenerationIsDeterministic() {
+        KiteProjectGenerator generator = KiteProjectGenerator.defaults();
+
+        assertEquals(generator.generate(), generator.generate());
+        assertFalse(generator.generate().equals(generator.withSeed(7).generate()));
+    }
+
+    public void testLayout() {
+        Map<String, String> project = KiteProjectGenerator.defaults().withFiles(8).withImportDepth(3).generate();
+
+        assertEquals(8, project.size());
+        assertTrue(project.containsKey("layer0/module0.kite"));
+        assertTrue(project.containsKey("layer3/module7.kite"));
+        assertFalse("Leaf modules have no imports", project.get("layer0/module0.kite").contains("import "));
+    }
+
+    public void testGeneratedFilesParseWithoutErrors() {
+        KiteProjectGenerator.defaults().generate().forEach((path, text) -> {
+            PsiFile file = myFixture.addFileToProject(path, text);
+            assertNull("Parse error in " + path, PsiTreeUtil.findChildOfType(file, PsiErrorElement.class));
+        });
+    }
+
+    public void testImportsResolveDownTheLayers() {
+        KiteProjectGenerator generator = KiteProjectGenerator.defaults().withFiles(12).withImportFanOut(2).withImportDepth(3);
+        generator.generate().forEach(this::addFile);
+
+        // module3 is the first module of the top layer: 3 -> layer2 -> layer1 -> layer0
+        PsiFile file = myFixture.configureFromTempProjectFile("layer3/module3.kite");
+        int depth = 0;
+        while (true) {
+            List<PsiFile> imported = KiteImportHelper.getImportedFiles(file);
+            if (imported.isEmpty()) {
+                break;
+            }
+            assertEquals(2, imported.size());
+            file = imported.get(0);
+            depth++;
+        }
+
+        assertEquals(3, depth);
+        assertTrue(file.getVirtualFile().getPath().contains("layer0/"));
+    }
+
+    public void testGenerateFileReachesLineCount() {
+        String text = KiteProjectGenerator.generateFile(1000);
+
+        assertTrue(text.lines().count() >= 1000);
+        assertFalse(text.contains("import "));
+    }
+
+    public void testInvalidOptionsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KiteProjectGenerator.defaults().withFiles(0));
+    }
+}
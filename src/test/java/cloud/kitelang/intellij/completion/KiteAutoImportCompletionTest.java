@@ -0,0 +1,135 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
+import com.intellij.testFramework.DumbModeTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Tests for name-indexed auto-import candidates.
+ */
+public class KiteAutoImportCompletionTest extends KiteTestBase {
+
+    // ========== Candidate Tests ==========
+
+    public void testOnlyPrefixMatchesReturned() {
+        addFile("common.kite", """
+                var bucketName = "data"
+                var bucketSize = 10
+                var region = "us-east-1"
+                """);
+        configureByText("""
+                var x = 1
+                """);
+
+        assertEquals(List.of("bucketName", "bucketSize"), candidates("buck", false, 100));
+    }
+
+    public void testCamelHumpPrefixMatches() {
+        addFile("common.kite", """
+                var bucketName = "data"
+                var bucketSize = 10
+                """);
+        configureByText("""
+                var x = 1
+                """);
+
+        assertEquals(List.of("bucketName"), candidates("bN", false, 100));
+    }
+
+    public void testImportedSymbolsExcluded() {
+        addFile("common.kite", """
+                var bucketName = "data"
+                var bucketSize = 10
+                """);
+        configureByText("""
+                import bucketName from "common.kite"
+                var x = 1
+                """);
+
+        assertEquals(List.of("bucketSize"), candidates("bucket", false, 100));
+    }
+
+    public void testWildcardImportedFileExcluded() {
+        addFile("common.kite", """
+                var bucketName = "data"
+                """);
+        addFile("other.kite", """
+                var bucketSize = 10
+                """);
+        configureByText("""
+                import * from "common.kite"
+                var x = 1
+                """);
+
+        assertEquals(List.of("bucketSize"), candidates("bucket", false, 100));
+    }
+
+    public void testTypeDeclarationsOnlyWhenRequested() {
+        addFile("common.kite", """
+                schema BucketConfig {
+                    string name
+                }
+                var bucketName = "data"
+                """);
+        configureByText("""
+                var x = 1
+                """);
+
+        assertEquals(List.of("bucketName"), candidates("bucket", false, 100));
+        assertEquals(List.of("BucketConfig", "bucketName"), candidates("bucket", true, 100));
+    }
+
+    public void testCurrentFileSkipped() {
+        configureByText("""
+                var bucketName = "data"
+                """);
+
+        assertTrue(candidates("bucket", false, 100).isEmpty());
+    }
+
+    public void testLimitStopsSearch() {
+        addFile("common.kite", """
+                var item1 = 1
+                var item2 = 2
+                var item3 = 3
+                """);
+        configureByText("""
+                var x = 1
+                """);
+
+        List<String> names = new ArrayList<>();
+        boolean complete = KiteAutoImportCompletion.processCandidates(myFixture.getFile(), new CamelHumpMatcher("item"),
+                new HashSet<>(), false, 2, (name, type, sourceFile) -> names.add(name));
+
+        assertFalse("Search should report truncation", complete);
+        assertEquals(List.of("item1", "item2"), names);
+    }
+
+    public void testSnapshotFilesUsedDuringIndexing() {
+        addFile("common.kite", """
+                var bucketName = "data"
+                """);
+        configureByText("""
+                var x = 1
+                """);
+        // Record the project file snapshot in smart mode
+        KiteImportHelper.getKiteVirtualFilesInProject(getProject());
+
+        DumbModeTestUtils.runInDumbModeSynchronously(getProject(), () ->
+                assertEquals(List.of("bucketName"), candidates("bucket", false, 100)));
+    }
+
+    // ========== Helpers ==========
+
+    private List<String> candidates(String prefix, boolean includeTypes, int limit) {
+        List<String> names = new ArrayList<>();
+        KiteAutoImportCompletion.processCandidates(myFixture.getFile(), new CamelHumpMatcher(prefix), new HashSet<>(),
+                includeTypes, limit, (name, type, sourceFile) -> names.add(name));
+        return names;
+    }
+}
@@ -0,0 +1,108 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests that project-wide completion work stops promptly once the completion is cancelled
+ * (e.g. because the user typed the next character).
+ */
+public class KiteCompletionCancellationTest extends KiteTestBase {
+
+    private static final int FILE_COUNT = 50;
+    private static final int SYMBOLS_PER_FILE = 3;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        for (int f = 0; f < FILE_COUNT; f++) {
+            addFile("lib" + f + ".kite", """
+                    var item%1$d_a = 1
+                    var item%1$d_b = 2
+                    var item%1$d_c = 3
+                    """.formatted(f));
+        }
+        configureByText("""
+                var x = 1
+                """);
+    }
+
+    public void testAutoImportStopsWithinOneFileAfterCancel() {
+        Set<VirtualFile> visitedFiles = new LinkedHashSet<>();
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+
+        assertCancelled(indicator, () -> KiteAutoImportCompletion.processCandidates(myFixture.getFile(),
+                new CamelHumpMatcher("item"), new HashSet<>(), false, Integer.MAX_VALUE,
+                (name, type, sourceFile) -> {
+                    visitedFiles.add(sourceFile);
+                    indicator.cancel();
+                }));
+
+        assertEquals("Only the file being processed when cancelled should be visited", 1, visitedFiles.size());
+    }
+
+    public void testAutoImportDoesNotStartWhenAlreadyCancelled() {
+        Set<VirtualFile> visitedFiles = new LinkedHashSet<>();
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        indicator.cancel();
+
+        assertCancelled(indicator, () -> KiteAutoImportCompletion.processCandidates(myFixture.getFile(),
+                new CamelHumpMatcher("item"), new HashSet<>(), false, Integer.MAX_VALUE,
+                (name, type, sourceFile) -> visitedFiles.add(sourceFile)));
+
+        assertTrue(visitedFiles.isEmpty());
+    }
+
+    public void testUncancelledSearchVisitsAllFiles() {
+        Set<VirtualFile> visitedFiles = new LinkedHashSet<>();
+
+        ProgressManager.getInstance().runProcess(() -> KiteAutoImportCompletion.processCandidates(myFixture.getFile(),
+                new CamelHumpMatcher("item"), new HashSet<>(), false, Integer.MAX_VALUE,
+                (name, type, sourceFile) -> visitedFiles.add(sourceFile)), new EmptyProgressIndicator());
+
+        assertEquals(FILE_COUNT, visitedFiles.size());
+    }
+
+    public void testProjectFileListingIsCancellable() {
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        indicator.cancel();
+
+        assertCancelled(indicator, () -> KiteImportHelper.processKiteFilesInProject(getProject(), file -> true));
+    }
+
+    public void testLocalSymbolsRankedBeforeProjectSymbols() {
+        configureByText("""
+                var itemLocal = 1
+                var y = item<caret>
+                """);
+
+        myFixture.completeBasic();
+        List<String> lookupStrings = myFixture.getLookupElementStrings();
+
+        assertNotNull(lookupStrings);
+        assertEquals("Local symbol should be ranked first", "itemLocal", lookupStrings.get(0));
+        assertTrue("Project symbols should still be offered", lookupStrings.contains("item0_a"));
+        assertEquals("Every project symbol should be offered once",
+                FILE_COUNT * SYMBOLS_PER_FILE + 1, lookupStrings.size());
+    }
+
+    private static void assertCancelled(ProgressIndicator indicator, Runnable work) {
+        try {
+            ProgressManager.getInstance().runProcess(work, indicator);
+            fail("Expected the work to be cancelled");
+        } catch (ProcessCanceledException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package cloud.kitelang.intellij.completion;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.completion.KiteCompletionContext.Kind;
+import com.intellij.codeInsight.completion.CompletionUtil;
+import com.intellij.psi.PsiElement;
+
+/**
+ * Tests for the completion context classifier.
+ */
+public class KiteCompletionContextTest extends KiteTestBase {
+
+    // ========== Classification Tests ==========
+
+    public void testImportPath() {
+        assertEquals(Kind.IMPORT_PATH, classifyAt("""
+                import * from "<caret>"
+                """).getKind());
+    }
+
+    public void testDecoratorName() {
+        assertEquals(Kind.DECORATOR, classifyAt("""
+                @<caret>
+                input string name = ""
+                """).getKind());
+    }
+
+    public void testDecoratorArgument() {
+        KiteCompletionContext context = classifyAt("""
+                @provider(<caret>)
+                resource Bucket data {
+                }
+                """);
+
+        assertEquals(Kind.DECORATOR_ARGUMENT, context.getKind());
+        assertEquals("provider", context.getDecoratorName());
+    }
+
+    public void testInstanceName() {
+        KiteCompletionContext context = classifyAt("""
+                resource DatabaseConfig <caret>
+                """);
+
+        assertEquals(Kind.INSTANCE_NAME, context.getKind());
+        assertEquals("DatabaseConfig", context.getInstanceNameContext().typeName());
+    }
+
+    public void testResourceBody() {
+        KiteCompletionContext context = classifyAt("""
+                schema Bucket {
+                    string name
+                }
+                resource Bucket data {
+                    <caret>
+                }
+                """);
+
+        assertEquals(Kind.RESOURCE, context.getKind());
+        assertEquals("Bucket", context.getResourceContext().schemaName());
+    }
+
+    public void testComponentDefinitionBody() {
+        assertEquals(Kind.COMPONENT_DEFINITION, classifyAt("""
+                component WebServer {
+                    <caret>
+                }
+                """).getKind());
+    }
+
+    public void testComponentInstanceBody() {
+        KiteCompletionContext context = classifyAt("""
+                component WebServer {
+                    input number port = 80
+                }
+                component WebServer api {
+                    <caret>
+                }
+                """);
+
+        assertEquals(Kind.COMPONENT_INSTANCE, context.getKind());
+        assertEquals("WebServer", context.getComponentInstanceContext().typeName());
+    }
+
+    public void testInnermostBodyWins() {
+        assertEquals(Kind.RESOURCE, classifyAt("""
+                schema Bucket {
+                    string name
+                }
+                component Storage {
+                    resource Bucket data {
+                        <caret>
+                    }
+                }
+                """).getKind());
+    }
+
+    public void testGeneral() {
+        KiteCompletionContext context = classifyAt("""
+                var x = 1
+                var y = <caret>
+                """);
+
+        assertEquals(Kind.GENERAL, context.getKind());
+        assertNull(context.getBracketContext());
+    }
+
+    public void testBracketContextRecordedWithGeneral() {
+        KiteCompletionContext context = classifyAt("""
+                var y = servers[<caret>]
+                """);
+
+        assertEquals(Kind.GENERAL, context.getKind());
+        assertNotNull(context.getBracketContext());
+        assertEquals("servers", context.getBracketContext().baseName());
+    }
+
+    // ========== Helpers ==========
+
+    private KiteCompletionContext classifyAt(String textWithCaret) {
+        int offset = textWithCaret.indexOf("<caret>");
+        configureByText(textWithCaret.replace("<caret>", CompletionUtil.DUMMY_IDENTIFIER_TRIMMED));
+        PsiElement position = myFixture.getFile().findElementAt(offset);
+        assertNotNull(position);
+        return KiteCompletionContext.classify(position);
+    }
+}
@@ -2,7 +2,10 @@ package cloud.kitelang.intellij.completion;
 
 import cloud.kitelang.intellij.KiteTestBase;
 import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.impl.PsiManagerEx;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -298,4 +301,91 @@ public class KiteImportPathCompletionTest extends KiteTestBase {
         assertTrue("Should contain complete path gamma.kite, got: " + result,
                 result.contains("\"gamma.kite\""));
     }
+
+    /**
+     * Test path segments are matched fuzzily, skipping unmatched directories.
+     */
+    public void testFuzzySegmentMatching() {
+        addFile("modules/network/vpc.kite", "var vpc = 1");
+        addFile("modules/network/vpn.kite", "var vpn = 1");
+        addFile("modules/storage/volume.kite", "var volume = 1");
+
+        configureByText("""
+                import * from "m/net/v<caret>"
+                """);
+
+        myFixture.completeBasic();
+        List<String> lookupStrings = myFixture.getLookupElementStrings();
+
+        assertNotNull("Should have completions", lookupStrings);
+        assertSameElements(lookupStrings, "modules/network/vpc.kite", "modules/network/vpn.kite");
+    }
+
+    public void testPathMatcher() {
+        assertTrue(new KiteImportPathMatcher("").prefixMatches("lib/utils.kite"));
+        assertTrue(new KiteImportPathMatcher("l/ut").prefixMatches("lib/utils.kite"));
+        assertTrue(new KiteImportPathMatcher("utils").prefixMatches("lib/utils.kite"));
+        assertTrue(new KiteImportPathMatcher("aws.DC").prefixMatches("aws.DatabaseConfig"));
+        assertTrue(new KiteImportPathMatcher("../sh").prefixMatches("../shared/common.kite"));
+        assertTrue(new KiteImportPathMatcher("./co").prefixMatches("common.kite"));
+        assertFalse(new KiteImportPathMatcher("co").prefixMatches("other.kite"));
+        assertFalse(new KiteImportPathMatcher("ut/lib").prefixMatches("lib/utils.kite"));
+        assertFalse(new KiteImportPathMatcher("../co").prefixMatches("common.kite"));
+    }
+
+    /**
+     * Test completion computes paths without creating PSI for the suggested files.
+     */
+    public void testCompletionDoesNotLoadPsiOfSuggestedFiles() {
+        VirtualFile one = myFixture.getTempDirFixture().createFile("lazy/one.kite", "var one = 1");
+        VirtualFile two = myFixture.getTempDirFixture().createFile("lazy/two.kite", "var two = 2");
+
+        configureByText("""
+                import * from "lazy/<caret>"
+                """);
+
+        myFixture.completeBasic();
+        List<String> lookupStrings = myFixture.getLookupElementStrings();
+
+        assertNotNull("Should have completions", lookupStrings);
+        assertSameElements(lookupStrings, "lazy/one.kite", "lazy/two.kite");
+        PsiManagerEx psiManager = PsiManagerEx.getInstanceEx(getProject());
+        assertNull(psiManager.getFileManager().getCachedPsiFile(one));
+        assertNull(psiManager.getFileManager().getCachedPsiFile(two));
+    }
+
+    /**
+     * Test the number of suggestions is capped.
+     */
+    public void testResultsAreCapped() {
+        for (int i = 0; i < KiteImportPathCompletionProvider.MAX_RESULTS + 20; i++) {
+            myFixture.getTempDirFixture().createFile("many/file" + i + ".kite", "var x = " + i);
+        }
+
+        configureByText("""
+                import * from "many/<caret>"
+                """);
+
+        myFixture.completeBasic();
+        List<String> lookupStrings = myFixture.getLookupElementStrings();
+
+        assertNotNull("Should have completions", lookupStrings);
+        assertEquals(KiteImportPathCompletionProvider.MAX_RESULTS, lookupStrings.size());
+    }
+
+    /**
+     * Test provider directory files are offered as package-style modules.
+     */
+    public void testProviderModules() {
+        VirtualFile config = myFixture.getTempDirFixture().createFile("providers/aws/DatabaseConfig.kite", "schema DatabaseConfig {}");
+        myFixture.getTempDirFixture().createFile("providers/common.kite", "var x = 1");
+        myFixture.getTempDirFixture().createFile("providers/.cache/stale.kite", "var y = 1");
+
+        List<KiteImportPathTree.Candidate> modules = new ArrayList<>();
+        KiteImportPathTree.collectProviderModules(config.getParent().getParent(), modules);
+
+        assertSameElements(modules.stream().map(KiteImportPathTree.Candidate::importPath).toList(),
+                "aws.DatabaseConfig", "common");
+        assertTrue(modules.stream().allMatch(KiteImportPathTree.Candidate::provider));
+    }
 }
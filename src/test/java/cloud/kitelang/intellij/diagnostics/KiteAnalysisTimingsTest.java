@@ -0,0 +1,121 @@
+package cloud.kitelang.intellij.diagnostics;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.inspection.KiteUnusedVariableInspection;
+import com.intellij.psi.PsiFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for per-check analysis timing instrumentation.
+ */
+public class KiteAnalysisTimingsTest extends KiteTestBase {
+
+    private final KiteAnalysisTimings timings = KiteAnalysisTimings.getInstance();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        timings.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            timings.setEnabled(false);
+            timings.clear();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testNothingRecordedWhenDisabled() {
+        timings.setEnabled(false);
+        configureByText("""
+                var x = 1
+                """);
+        myFixture.doHighlighting();
+
+        assertTrue(timings.snapshot().isEmpty());
+    }
+
+    public void testAnnotatorsRecordedPerFile() {
+        timings.setEnabled(true);
+        configureByText("""
+                var x = 1
+                var y = x
+                """);
+        myFixture.doHighlighting();
+
+        List<KiteAnalysisTimings.Entry> entries = timings.snapshot();
+        KiteAnalysisTimings.Entry selfAssignment = entries.stream()
+                .filter(entry -> entry.check().equals("KiteSelfAssignmentAnnotator"))
+                .findFirst()
+                .orElse(null);
+        assertNotNull("Annotator should be recorded, got " + entries, selfAssignment);
+        assertEquals(KiteAnalysisTimings.Kind.ANNOTATOR, selfAssignment.kind());
+        assertTrue(selfAssignment.file().endsWith("test.kite"));
+        assertTrue("Annotators run per element", selfAssignment.invocations() > 1);
+    }
+
+    public void testInspectionsRecorded() {
+        timings.setEnabled(true);
+        myFixture.enableInspections(new KiteUnusedVariableInspection());
+        configureByText("""
+                var unused = 1
+                """);
+        myFixture.doHighlighting();
+
+        assertTrue(timings.snapshot().stream().anyMatch(entry ->
+                entry.check().equals("KiteUnusedVariableInspection")
+                && entry.kind() == KiteAnalysisTimings.Kind.INSPECTION));
+    }
+
+    public void testSnapshotSortedByTime() {
+        timings.setEnabled(true);
+        configureByText("""
+                var x = 1
+                """);
+        myFixture.doHighlighting();
+
+        List<KiteAnalysisTimings.Entry> entries = timings.snapshot();
+        for (int i = 1; i < entries.size(); i++) {
+            assertTrue(entries.get(i - 1).nanos() >= entries.get(i).nanos());
+        }
+    }
+
+    public void testJsonDump() throws Exception {
+        timings.setEnabled(true);
+        timings.measure(configureAndGetFile(), "Quote\"Check", KiteAnalysisTimings.Kind.INSPECTION, () -> {
+        });
+
+        Path target = Files.createTempDirectory("kite-timings").resolve("timings.json");
+        timings.dumpJson(target);
+        String json = Files.readString(target);
+
+        assertTrue(json.startsWith("["));
+        assertTrue(json.contains("\"check\": \"Quote\\\"Check\""));
+        assertTrue(json.contains("\"kind\": \"INSPECTION\""));
+        assertTrue(json.contains("\"invocations\": 1"));
+    }
+
+    public void testClear() {
+        timings.setEnabled(true);
+        timings.measure(configureAndGetFile(), "Check", KiteAnalysisTimings.Kind.ANNOTATOR, () -> {
+        });
+        assertEquals(1, timings.snapshot().size());
+
+        timings.clear();
+
+        assertTrue(timings.snapshot().isEmpty());
+    }
+
+    private PsiFile configureAndGetFile() {
+        configureByText("""
+                var x = 1
+                """);
+        return myFixture.getFile();
+    }
+}
@@ -0,0 +1,120 @@
+package cloud.kitelang.intellij.diagnostics;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.diagnostics.KiteTrace.Category;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the KiteTrace facility.
+ */
+public class KiteTraceTest extends KiteTestBase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        KiteTrace.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            for (Category category : Category.values()) {
+                KiteTrace.setEnabled(category, false);
+            }
+            KiteTrace.clear();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testMessageNotBuiltWhenDisabled() {
+        AtomicInteger calls = new AtomicInteger();
+
+        KiteTrace.log(Category.NAVIGATION, () -> "message " + calls.incrementAndGet());
+
+        assertEquals(0, calls.get());
+    }
+
+    public void testMessageBuiltWhenEnabled() {
+        KiteTrace.setEnabled(Category.NAVIGATION, true);
+        AtomicInteger calls = new AtomicInteger();
+
+        KiteTrace.log(Category.NAVIGATION, () -> "message " + calls.incrementAndGet());
+        KiteTrace.log(Category.AUTO_IMPORT, () -> "other category " + calls.incrementAndGet());
+
+        assertEquals("Only the enabled category should build messages", 1, calls.get());
+    }
+
+    public void testSampling() {
+        KiteTrace.setEnabled(Category.REFERENCE, true);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            KiteTrace.logSampled(Category.REFERENCE, 100, () -> "event " + calls.incrementAndGet());
+        }
+
+        assertEquals(10, calls.get());
+    }
+
+    public void testDurationsRecordedWhenEnabled() {
+        KiteTrace.setEnabled(Category.AUTO_IMPORT, true);
+
+        long start = KiteTrace.start(Category.AUTO_IMPORT);
+        KiteTrace.end(Category.AUTO_IMPORT, "processAutoImports", start);
+
+        List<KiteTrace.Event> events = KiteTrace.recentEvents();
+        assertEquals(1, events.size());
+        assertEquals("processAutoImports", events.get(0).event());
+        assertEquals(Category.AUTO_IMPORT, events.get(0).category());
+        assertTrue(events.get(0).nanos() >= 0);
+    }
+
+    public void testDurationsIgnoredWhenDisabled() {
+        long start = KiteTrace.start(Category.AUTO_IMPORT);
+        KiteTrace.setEnabled(Category.AUTO_IMPORT, true);
+        KiteTrace.end(Category.AUTO_IMPORT, "startedWhileDisabled", start);
+
+        assertTrue(KiteTrace.recentEvents().isEmpty());
+    }
+
+    public void testRingBufferKeepsMostRecent() {
+        KiteTrace.setEnabled(Category.NAVIGATION, true);
+
+        for (int i = 0; i < 1500; i++) {
+            KiteTrace.end(Category.NAVIGATION, i == 1499 ? "last" : "event", KiteTrace.start(Category.NAVIGATION));
+        }
+
+        List<KiteTrace.Event> events = KiteTrace.recentEvents();
+        assertEquals(1024, events.size());
+        assertEquals("last", events.get(events.size() - 1).event());
+    }
+
+    public void testNoAllocationWhenDisabled() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+            || !bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        runDisabledTracing(1_000);
+
+        long before = bean.getCurrentThreadAllocatedBytes();
+        runDisabledTracing(100_000);
+        long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue("Disabled tracing allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private static void runDisabledTracing(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (KiteTrace.isEnabled(Category.NAVIGATION)) {
+                fail("Tracing should be disabled");
+            }
+            long start = KiteTrace.start(Category.NAVIGATION);
+            KiteTrace.log(Category.NAVIGATION, () -> "constant message");
+            KiteTrace.logSampled(Category.NAVIGATION, 10, () -> "sampled message");
+            KiteTrace.end(Category.NAVIGATION, "event", start);
+        }
+    }
+}
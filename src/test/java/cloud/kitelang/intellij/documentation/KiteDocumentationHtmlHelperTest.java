@@ -0,0 +1,45 @@
+package cloud.kitelang.intellij.documentation;
+
+import cloud.kitelang.intellij.KiteTestBase;
+
+/**
+ * Tests for KiteDocumentationHtmlHelper's code colorizer.
+ */
+public class KiteDocumentationHtmlHelperTest extends KiteTestBase {
+
+    public void testKeywordsTypesAndStrings() {
+        String html = KiteDocumentationHtmlHelper.colorizeCodeNoBreaks("var string name = \"web\"");
+
+        assertTrue(html, html.contains("<span style=\"color: #AB5FDB; font-weight: bold;\">var</span>"));
+        assertTrue(html, html.contains("<span style=\"color: #498BF6;\">string</span>"));
+        assertTrue(html, html.contains("<span style=\"color: #6A9955;\">&quot;web&quot;</span>"));
+        assertFalse("Plain identifiers stay uncolored", html.contains(">name<"));
+    }
+
+    public void testNumbersAndBooleansUseEditorNumberColor() {
+        String html = KiteDocumentationHtmlHelper.colorizeCodeNoBreaks("[1, true]");
+
+        assertTrue(html, html.contains("<span style=\"color: #6897BB;\">1</span>"));
+        assertTrue(html, html.contains("<span style=\"color: #6897BB;\">true</span>"));
+    }
+
+    public void testDecoratorNameUsesDecoratorColor() {
+        String html = KiteDocumentationHtmlHelper.colorizeCodeNoBreaks("@count(3)");
+
+        assertTrue(html, html.contains("<span style=\"color: #CC7832;\">@count</span>"));
+        assertTrue(html, html.contains("<span style=\"color: #6897BB;\">3</span>"));
+    }
+
+    public void testInterpolationDelimitersColored() {
+        String html = KiteDocumentationHtmlHelper.colorizeCodeNoBreaks("\"web-${env}\"");
+
+        assertTrue(html, html.contains("<span style=\"color: #CC7832; font-weight: bold;\">${</span>env"));
+        assertTrue(html, html.contains("<span style=\"color: #6A9955;\">&quot;web-</span>"));
+    }
+
+    public void testEscapingAndBreaks() {
+        assertEquals("a &lt; b<br/>c", KiteDocumentationHtmlHelper.colorizeCode("a < b\nc"));
+        assertEquals("a &lt; b\nc", KiteDocumentationHtmlHelper.colorizeCodeNoBreaks("a < b\nc"));
+        assertEquals("", KiteDocumentationHtmlHelper.colorizeCode(null));
+    }
+}
@@ -1,6 +1,9 @@
 package cloud.kitelang.intellij.documentation;
 
 import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 
 /**
@@ -406,6 +409,88 @@ public class KiteDocumentationProviderTest extends KiteTestBase {
         assertNotNull("Should find element", element);
     }
 
+    // ========== Caching and Truncation Tests ==========
+
+    public void testRepeatedHoverReusesRenderedDocumentation() {
+        configureByText("""
+                component WebServer {
+                    input string port = "8080"
+                }
+                """);
+
+        PsiElement element = elementAt("WebServer");
+        String first = provider.generateDoc(element, element);
+        assertNotNull(first);
+        assertSame("Second hover should reuse the rendered HTML", first, provider.generateDoc(element, element));
+    }
+
+    public void testDocumentationIsRenderedAgainAfterEdit() {
+        configureByText("""
+                component WebServer {
+                    input string port = "8080"
+                }
+                """);
+
+        PsiElement element = elementAt("WebServer");
+        String before = provider.generateDoc(element, element);
+        assertNotNull(before);
+        assertTrue(before, before.contains("port"));
+
+        Document document = myFixture.getEditor().getDocument();
+        int offset = document.getText().indexOf("port");
+        WriteCommandAction.runWriteCommandAction(getProject(),
+                () -> document.replaceString(offset, offset + "port".length(), "listenPort"));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        element = elementAt("WebServer");
+        String after = provider.generateDoc(element, element);
+        assertNotNull(after);
+        assertTrue(after, after.contains("listenPort"));
+    }
+
+    public void testLargeMemberTableIsTruncatedWithShowAllLink() {
+        int inputCount = KiteDocumentationProvider.MAX_MEMBER_ROWS + 25;
+        StringBuilder text = new StringBuilder("component Wide {\n");
+        for (int i = 0; i < inputCount; i++) {
+            text.append("    input string field").append(i).append(" = \"v\"\n");
+        }
+        text.append("}\n");
+        configureByText(text.toString());
+
+        PsiElement element = elementAt("Wide");
+        String doc = provider.generateDoc(element, element);
+        assertNotNull(doc);
+        assertTrue(doc, doc.contains("field" + (KiteDocumentationProvider.MAX_MEMBER_ROWS - 1)));
+        assertFalse(doc, doc.contains("field" + (inputCount - 1)));
+        assertTrue(doc, doc.contains("Show all " + inputCount + " inputs"));
+
+        PsiElement allMembers = provider.getDocumentationElementForLink(
+                myFixture.getPsiManager(), "kite.allMembers", element);
+        assertNotNull("Show all link should resolve", allMembers);
+        String fullDoc = provider.generateDoc(allMembers, element);
+        assertNotNull(fullDoc);
+        assertTrue(fullDoc, fullDoc.contains("field" + (inputCount - 1)));
+        assertFalse(fullDoc, fullDoc.contains("Show all"));
+
+        assertEquals("Text is the name, not the declaration source", "Wide", allMembers.getText());
+        assertSame(((KiteDocumentationProvider.AllMembersDocElement) allMembers).getDeclaration(),
+                allMembers.getNavigationElement());
+    }
+
+    public void testDecoratorPagesArePrecomputed() {
+        String first = KiteDecoratorDocumentation.getDecoratorDocumentation("count");
+        assertNotNull(first);
+        assertSame(first, KiteDecoratorDocumentation.getDecoratorDocumentation("count"));
+        assertNull(KiteDecoratorDocumentation.getDecoratorDocumentation("notADecorator"));
+    }
+
+    private PsiElement elementAt(String text) {
+        int offset = myFixture.getFile().getText().indexOf(text);
+        PsiElement element = myFixture.getFile().findElementAt(offset);
+        assertNotNull("Should find element", element);
+        return element;
+    }
+
     // ========== Provider Configuration Tests ==========
 
     public void testProviderInstantiation() {
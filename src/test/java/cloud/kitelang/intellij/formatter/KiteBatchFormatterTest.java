@@ -0,0 +1,82 @@
+package cloud.kitelang.intellij.formatter;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link KiteBatchFormatter}.
+ */
+public class KiteBatchFormatterTest extends KiteTestBase {
+
+    public void testCollectsKiteFilesRecursively() {
+        PsiFile a = myFixture.addFileToProject("gen/a.kite", "var a = 1\n");
+        myFixture.addFileToProject("gen/nested/b.kite", "var b = 2\n");
+        myFixture.addFileToProject("gen/readme.txt", "not kite");
+        myFixture.addFileToProject("gen/.hidden/c.kite", "var c = 3\n");
+
+        List<VirtualFile> files = KiteBatchFormatter.collectKiteFiles(a.getVirtualFile().getParent());
+
+        assertSameElements(files.stream().map(VirtualFile::getName).toList(), "a.kite", "b.kite");
+    }
+
+    public void testReformatsAllFiles() {
+        PsiFile a = myFixture.addFileToProject("gen/a.kite", "var a=1\n");
+        PsiFile b = myFixture.addFileToProject("gen/nested/b.kite", "var b=2\n");
+        PsiFile formatted = myFixture.addFileToProject("gen/c.kite", "var c = 3\n");
+
+        List<VirtualFile> files = KiteBatchFormatter.collectKiteFiles(a.getVirtualFile().getParent());
+        int changed = KiteBatchFormatter.reformat(getProject(), files, new EmptyProgressIndicator());
+
+        assertEquals(2, changed);
+        assertEquals("var a = 1\n", a.getText());
+        assertEquals("var b = 2\n", b.getText());
+        assertEquals("var c = 3\n", formatted.getText());
+    }
+
+    public void testCancelledRunLeavesFilesUnchanged() {
+        PsiFile a = myFixture.addFileToProject("gen/a.kite", "var a=1\n");
+        ProgressIndicator indicator = new EmptyProgressIndicator();
+        indicator.cancel();
+
+        try {
+            KiteBatchFormatter.reformat(getProject(), List.of(a.getVirtualFile()), indicator);
+            fail("Expected cancellation");
+        } catch (ProcessCanceledException expected) {
+            // expected
+        }
+        assertEquals("var a=1\n", a.getText());
+    }
+
+    public void testSingleUndoRevertsWholeRun() {
+        // More files than one write batch, so the run spans several write actions
+        int count = 250;
+        List<PsiFile> psiFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            psiFiles.add(myFixture.addFileToProject("gen/f" + i + ".kite", "var v" + i + "=" + i + "\n"));
+        }
+        List<VirtualFile> files = KiteBatchFormatter.collectKiteFiles(psiFiles.get(0).getVirtualFile().getParent());
+        assertEquals(count, KiteBatchFormatter.reformat(getProject(), files, new EmptyProgressIndicator()));
+        assertEquals("var v0 = 0\n", documentText(psiFiles.get(0)));
+
+        UndoManager undoManager = UndoManager.getInstance(getProject());
+        assertTrue(undoManager.isUndoAvailable(null));
+        undoManager.undo(null);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("var v" + i + "=" + i + "\n", documentText(psiFiles.get(i)));
+        }
+    }
+
+    private static String documentText(PsiFile file) {
+        return FileDocumentManager.getInstance().getDocument(file.getVirtualFile()).getText();
+    }
+}
@@ -259,6 +259,80 @@ public class KiteFormatterTest extends KiteTestBase {
                 result.contains("    host:") || result.contains("\thost:") || result.contains("host:"));
     }
 
+    public void testMultiLineObjectLiteralColonsAligned() {
+        String result = reformat("var config = {\na: 1\nlongKey: 2\n}");
+        assertTrue("Colons should align to the longest key\nActual: " + result,
+                result.contains("a      : 1") && result.contains("longKey: 2"));
+    }
+
+    // ========== Alignment Group Tests ==========
+
+    public void testResourcePropertiesAlignedWithinGroup() {
+        String result = reformat("resource Bucket b {\na = 1\nlongName = 2\n\nbb = 3\n}");
+        assertTrue("Equals should align within the first group\nActual: " + result,
+                result.contains("a        = 1") && result.contains("longName = 2"));
+        assertTrue("A blank line should start a new alignment group\nActual: " + result,
+                result.contains("bb = 3"));
+    }
+
+    // ========== Range Formatting Tests ==========
+
+    public void testReformatRangeLeavesOtherDeclarationsUntouched() {
+        configureByText("var a=1\n\nresource Bucket b {\nname=\"x\"\n}\n\nvar c=3\n");
+        int start = myFixture.getFile().getText().indexOf("resource");
+        int end = myFixture.getFile().getText().indexOf("}") + 1;
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                CodeStyleManager.getInstance(getProject()).reformatRange(myFixture.getFile(), start, end));
+        String result = myFixture.getFile().getText();
+
+        assertTrue("Resource should be formatted\nActual: " + result, result.contains("name = \"x\""));
+        assertTrue("Declarations outside the range should be untouched\nActual: " + result,
+                result.contains("var a=1") && result.contains("var c=3"));
+    }
+
+    public void testReformatRangeAlignsWithWholeGroup() {
+        configureByText("var longestName=1\nvar a=2\nvar bb=3\n\nvar c=4\n");
+        String text = myFixture.getFile().getText();
+        int start = text.indexOf("var a=");
+        int end = start + "var a=2".length();
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                CodeStyleManager.getInstance(getProject()).reformatRange(myFixture.getFile(), start, end));
+        String result = myFixture.getFile().getText();
+
+        assertTrue("Declaration in range should be padded to the longest name of its group\nActual: " + result,
+                result.contains("var a           = 2"));
+        assertTrue("Declarations outside the range should be untouched\nActual: " + result,
+                result.contains("var longestName=1") && result.contains("var bb=3") && result.contains("var c=4"));
+    }
+
+    /**
+     * A parenthesized named argument anywhere in the file puts every top-level '=' into one
+     * alignment group, across blank lines. Range reformat must then align against the whole file,
+     * as full reformat does, rather than against the blank-line-separated region of the range.
+     */
+    public void testReformatRangeMatchesFullReformatInSimpleGroupMode() {
+        String code = "@validate(regex: \"x\")\ninput string longestName=\"\"\n\nvar a=1\nvar bb=2\n";
+        String fullLine = lineStartingWith(reformat(code), "var a");
+
+        configureByText(code);
+        int start = code.indexOf("var a=");
+        int end = start + "var a=1".length();
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                CodeStyleManager.getInstance(getProject()).reformatRange(myFixture.getFile(), start, end));
+
+        assertEquals(fullLine, lineStartingWith(myFixture.getFile().getText(), "var a"));
+    }
+
+    private static String lineStartingWith(String text, String prefix) {
+        for (String line : text.split("\n")) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        fail("No line starting with '" + prefix + "' in:\n" + text);
+        return null;
+    }
+
     // ========== Array Literal Tests ==========
 
     public void testArrayElementsHaveCommaSpacing() {
@@ -121,6 +121,30 @@ public class KiteConstantConditionAnnotatorTest extends KiteTestBase {
         assertTrue("Should not warn for function call condition", warnings.isEmpty());
     }
 
+    public void testFoldedArithmeticCondition() {
+        configureByText("""
+                if 2 * 3 > 5 {
+                    var x = 1
+                }
+                """);
+
+        var warnings = getConstantConditionWarnings();
+        assertEquals(1, warnings.size());
+        assertEquals("Constant condition: '2 * 3 > 5' is always true", warnings.get(0).getDescription());
+    }
+
+    public void testConditionOnConstantVariableIsNotReported() {
+        configureByText("""
+                var debug = true
+                if debug {
+                    var x = 1
+                }
+                """);
+
+        var warnings = getConstantConditionWarnings();
+        assertTrue("Should not warn for a condition on a variable", warnings.isEmpty());
+    }
+
     private List<HighlightInfo> getConstantConditionWarnings() {
         return myFixture.doHighlighting().stream()
                 .filter(h -> h.getSeverity() == HighlightSeverity.WARNING)
@@ -100,6 +100,36 @@ public class KiteDivisionByZeroAnnotatorTest extends KiteTestBase {
         assertFalse("Should report 0 / 0", warnings.isEmpty());
     }
 
+    public void testDivisionByFoldedZero() {
+        configureByText("""
+                var x = 10 / (2 - 2)
+                """);
+
+        var warnings = getDivisionByZeroWarnings();
+        assertFalse("Should report division by an expression folding to zero", warnings.isEmpty());
+    }
+
+    public void testDivisionByZeroVariable() {
+        configureByText("""
+                var n = 0
+                var x = 10 / n
+                """);
+
+        var warnings = getDivisionByZeroWarnings();
+        assertFalse("Should report division by a variable holding zero", warnings.isEmpty());
+    }
+
+    public void testDivisionByInputDefaultZero() {
+        configureByText("""
+                input number divisor = 0
+                var x = 10 / divisor
+                """);
+
+        // The caller may pass a different value
+        var warnings = getDivisionByZeroWarnings();
+        assertTrue("Should not warn when dividing by an input", warnings.isEmpty());
+    }
+
     private List<HighlightInfo> getDivisionByZeroWarnings() {
         return myFixture.doHighlighting().stream()
                 .filter(h -> h.getSeverity() == HighlightSeverity.WARNING)
@@ -62,6 +62,19 @@ public class KiteEmptyStringCheckAnnotatorTest extends KiteTestBase {
         assertTrue("Should not warn for non-empty string comparison", hints.isEmpty());
     }
 
+    public void testInterpolatedStringComparison() {
+        configureByText("""
+                var name = "test"
+                var other = "value"
+                if name == "${other}" {
+                    var x = 1
+                }
+                """);
+
+        var hints = getEmptyStringCheckHints();
+        assertTrue("Should not flag a string that only contains an interpolation", hints.isEmpty());
+    }
+
     public void testNumberComparison() {
         configureByText("""
                 var count = 0
@@ -2,14 +2,17 @@ package cloud.kitelang.intellij.highlighting;
 
 import cloud.kitelang.intellij.KiteTestBase;
 import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
- * Tests for KiteAnnotator - verifies semantic syntax highlighting.
+ * Tests for KiteSemanticHighlightVisitor - verifies semantic syntax highlighting.
  * Tests type highlighting, string interpolation, and decorator highlighting.
  */
-public class KiteAnnotatorTest extends KiteTestBase {
+public class KiteSemanticHighlightVisitorTest extends KiteTestBase {
 
     // ========== Type Highlighting Tests ==========
 
@@ -418,4 +421,40 @@ public class KiteAnnotatorTest extends KiteTestBase {
         myFixture.doHighlighting();
         assertNotNull("File should exist", myFixture.getFile());
     }
+
+    // ========== Emitted Highlight Tests ==========
+
+    public void testTypeNamesAreColored() {
+        configureByText("""
+                resource VM.Instance server {
+                }
+                var string name = "x"
+                """);
+
+        assertEquals(List.of("VM", "Instance", "string"), highlightedTexts(KiteSemanticHighlightVisitor.TYPE_NAME));
+    }
+
+    public void testDecoratorAndInterpolationAreColored() {
+        configureByText("""
+                var port = 8080
+                @description("Server")
+                var url = "http://localhost:${port}"
+                """);
+
+        assertEquals(List.of("description"), highlightedTexts(KiteSyntaxHighlighter.DECORATOR));
+        assertEquals(List.of("port"), highlightedTexts(KiteSyntaxHighlighter.INTERPOLATION_VAR));
+    }
+
+    private List<String> highlightedTexts(TextAttributesKey key) {
+        String text = myFixture.getFile().getText();
+        List<HighlightInfo> infos = new ArrayList<>(myFixture.doHighlighting());
+        infos.sort(Comparator.comparingInt(HighlightInfo::getStartOffset));
+        List<String> texts = new ArrayList<>();
+        for (HighlightInfo info : infos) {
+            if (key.equals(info.forcedTextAttributesKey)) {
+                texts.add(text.substring(info.getStartOffset(), info.getEndOffset()));
+            }
+        }
+        return texts;
+    }
 }
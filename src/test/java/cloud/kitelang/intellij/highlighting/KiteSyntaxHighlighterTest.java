@@ -0,0 +1,66 @@
+package cloud.kitelang.intellij.highlighting;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+
+import java.util.List;
+
+/**
+ * Tests for KiteSyntaxHighlighter's token attribute table.
+ */
+public class KiteSyntaxHighlighterTest extends KiteTestBase {
+
+    private final KiteSyntaxHighlighter highlighter = new KiteSyntaxHighlighter();
+
+    public void testKeywords() {
+        assertKeys(KiteTokenTypes.RESOURCE, KiteSyntaxHighlighter.KEYWORD);
+        assertKeys(KiteTokenTypes.FOR, KiteSyntaxHighlighter.KEYWORD);
+        assertKeys(KiteTokenTypes.VAR, KiteSyntaxHighlighter.KEYWORD);
+        assertKeys(KiteTokenTypes.NULL, KiteSyntaxHighlighter.KEYWORD);
+    }
+
+    public void testLiterals() {
+        assertKeys(KiteTokenTypes.NUMBER, KiteSyntaxHighlighter.NUMBER);
+        assertKeys(KiteTokenTypes.TRUE, KiteSyntaxHighlighter.NUMBER);
+        assertKeys(KiteTokenTypes.FALSE, KiteSyntaxHighlighter.NUMBER);
+        assertKeys(KiteTokenTypes.SINGLE_STRING, KiteSyntaxHighlighter.STRING);
+        assertKeys(KiteTokenTypes.DQUOTE, KiteSyntaxHighlighter.STRING);
+        assertKeys(KiteTokenTypes.STRING_TEXT, KiteSyntaxHighlighter.STRING);
+        assertKeys(KiteTokenTypes.STRING_DOLLAR, KiteSyntaxHighlighter.STRING);
+    }
+
+    public void testInterpolation() {
+        assertKeys(KiteTokenTypes.INTERP_START, KiteSyntaxHighlighter.INTERPOLATION_DELIM);
+        assertKeys(KiteTokenTypes.INTERP_END, KiteSyntaxHighlighter.INTERPOLATION_DELIM);
+        assertKeys(KiteTokenTypes.INTERP_SIMPLE, KiteSyntaxHighlighter.IDENTIFIER);
+    }
+
+    public void testIdentifiersCommentsAndOperators() {
+        assertKeys(KiteTokenTypes.IDENTIFIER, KiteSyntaxHighlighter.IDENTIFIER);
+        assertKeys(KiteTokenTypes.ANY, KiteSyntaxHighlighter.IDENTIFIER);
+        assertKeys(KiteTokenTypes.LINE_COMMENT, KiteSyntaxHighlighter.LINE_COMMENT);
+        assertKeys(KiteTokenTypes.BLOCK_COMMENT, KiteSyntaxHighlighter.BLOCK_COMMENT);
+        assertKeys(KiteTokenTypes.AT, KiteSyntaxHighlighter.DECORATOR);
+        assertKeys(KiteTokenTypes.DOT, KiteSyntaxHighlighter.OPERATOR);
+        assertKeys(KiteTokenTypes.RANGE, KiteSyntaxHighlighter.OPERATOR);
+    }
+
+    public void testUnhighlightedTokensHaveNoKeys() {
+        assertEmpty(highlighter.getTokenHighlights(KiteTokenTypes.LBRACE));
+        assertEmpty(highlighter.getTokenHighlights(KiteTokenTypes.ASSIGN));
+        assertEmpty(highlighter.getTokenHighlights(KiteTokenTypes.NEWLINE));
+        assertEmpty(highlighter.getTokenHighlights(KiteTokenTypes.BAD_CHARACTER));
+        assertEmpty(highlighter.getTokenHighlights(KiteTokenTypes.WHITESPACE));
+        assertEmpty(highlighter.getTokenHighlights(TokenType.WHITE_SPACE));
+        assertEmpty(highlighter.getTokenHighlights(null));
+    }
+
+    // ========== Helpers ==========
+
+    private void assertKeys(IElementType tokenType, TextAttributesKey expected) {
+        assertEquals("Keys of " + tokenType, List.of(expected), List.of(highlighter.getTokenHighlights(tokenType)));
+    }
+}
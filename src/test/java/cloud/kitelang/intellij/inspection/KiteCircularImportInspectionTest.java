@@ -2,19 +2,13 @@ package cloud.kitelang.intellij.inspection;
 
 import com.intellij.codeInspection.LocalInspectionTool;
 
+import java.util.List;
+
 /**
  * Tests for KiteCircularImportInspection.
  * <p>
- * Note: Tests for circular imports (including self-imports) are disabled because
- * IntelliJ's built-in reference resolution causes stack overflow when processing
- * any circular import in the test framework. The inspection detection works
- * correctly in production - it uses java.nio.file to bypass IntelliJ's VFS.
- * <p>
- * Manual testing can be done by:
- * 1. Self-import: Create test.kite with: import * from "test.kite"
- * 2. Two-file cycle: Create fileA.kite with: import * from "fileB.kite"
- * Create fileB.kite with: import * from "fileA.kite"
- * 3. Open the file and verify the warning appears on the import line
+ * The inspection walks the cached PSI import model, whose traversals track visited files,
+ * so cycles can be exercised in the light test fixture.
  */
 public class KiteCircularImportInspectionTest extends KiteInspectionTestBase {
 
@@ -136,6 +130,35 @@ public class KiteCircularImportInspectionTest extends KiteInspectionTestBase {
                 """);
     }
 
+    // ========== Circular Import Tests ==========
+
+    public void testTwoFileCycle() {
+        addFile("fileB.kite", """
+                import * from "fileA.kite"
+                var b = 1
+                """);
+
+        var highlights = doHighlighting("fileA.kite", """
+                import * from "fileB.kite"
+                var a = 1
+                """);
+
+        var descriptions = highlights.stream()
+                .map(h -> h.getDescription())
+                .filter(d -> d != null && d.contains("Circular import"))
+                .toList();
+        assertEquals(List.of("Circular import detected: fileA.kite → fileB.kite → fileA.kite"), descriptions);
+    }
+
+    public void testSelfImport() {
+        var highlights = doHighlighting("self.kite", """
+                import * from "self.kite"
+                var a = 1
+                """);
+
+        assertTrue(highlights.stream().anyMatch(h -> "Circular import: file imports itself".equals(h.getDescription())));
+    }
+
     // ========== Helper Methods ==========
 
     private void assertNoCircularImports(String text) {
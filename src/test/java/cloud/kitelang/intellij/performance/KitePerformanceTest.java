@@ -0,0 +1,317 @@
+package cloud.kitelang.intellij.performance;
+
+import cloud.kitelang.intellij.KiteProjectGenerator;
+import cloud.kitelang.intellij.navigation.KiteGotoDeclarationHandler;
+import com.intellij.codeInsight.CodeInsightSettings;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.codeInspection.InspectionProfileEntry;
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing budgets for the editor operations that must stay interactive on large projects.
+ * <p>
+ * Inputs come from {@link KiteProjectGenerator}. Budgets leave generous headroom over measured
+ * times; they exist to catch algorithmic regressions (e.g. a quadratic scan), not small slowdowns.
+ */
+public class KitePerformanceTest extends KitePerformanceTestCase {
+
+    // Allowed slowdown of a range reformat in a 20k-line file over a 100-line file
+    private static final int MAX_RANGE_REFORMAT_RATIO = 5;
+
+    // ========== Highlighting ==========
+
+    public void testHighlightingLargeFileWithAllChecks() throws Throwable {
+        List<InspectionProfileEntry> inspections = LocalInspectionEP.LOCAL_INSPECTION.getExtensionList().stream()
+                .filter(ep -> "Kite".equals(ep.language))
+                .map(LocalInspectionEP::instantiateTool)
+                .toList();
+        assertFalse("Kite inspections should be registered", inspections.isEmpty());
+        myFixture.enableInspections(inspections.toArray(new InspectionProfileEntry[0]));
+
+        configureByText(KiteProjectGenerator.generateFile(10_000));
+
+        assertTiming("Highlighting a 10k-line file", 8_000,
+                () -> DaemonCodeAnalyzer.getInstance(getProject()).restart(),
+                () -> myFixture.doHighlighting());
+    }
+
+    // ========== Completion ==========
+
+    public void testCompletionAtColdCaret() throws Throwable {
+        configureCompletionProject();
+
+        assertTiming("Completion with cold caches", 2_000, 0,
+                () -> {
+                    LookupManager.hideActiveLookup(getProject());
+                    PsiManager.getInstance(getProject()).dropPsiCaches();
+                },
+                () -> myFixture.completeBasic());
+    }
+
+    public void testCompletionAtWarmCaret() throws Throwable {
+        configureCompletionProject();
+
+        assertTiming("Completion with warm caches", 500, 2,
+                () -> LookupManager.hideActiveLookup(getProject()),
+                () -> myFixture.completeBasic());
+    }
+
+    /**
+     * Completion at every kind of caret position (import path, decorator, instance name, resource,
+     * component and general) across one mixed file. Each invocation classifies its context once
+     * and dispatches to a single provider, so the total must stay linear in the number of carets.
+     */
+    public void testCompletionAcrossCaretCorpus() throws Throwable {
+        List<Integer> carets = new ArrayList<>();
+        configureByText(buildCaretCorpus(20, carets));
+        CodeInsightSettings settings = CodeInsightSettings.getInstance();
+        boolean autocomplete = settings.AUTOCOMPLETE_ON_CODE_COMPLETION;
+        // Keep single-item completions from editing the file between carets
+        settings.AUTOCOMPLETE_ON_CODE_COMPLETION = false;
+        try {
+            assertTiming("Completion at " + carets.size() + " caret positions", 5_000,
+                    () -> LookupManager.hideActiveLookup(getProject()),
+                    () -> {
+                        for (int caret : carets) {
+                            LookupManager.hideActiveLookup(getProject());
+                            myFixture.getEditor().getCaretModel().moveToOffset(caret);
+                            myFixture.completeBasic();
+                        }
+                    });
+        } finally {
+            settings.AUTOCOMPLETE_ON_CODE_COMPLETION = autocomplete;
+        }
+    }
+
+    /**
+     * Auto-import candidates come from the declaration name index, so completion with no PSI
+     * loaded must not parse the 1,000 files that declare them.
+     */
+    public void testAutoImportCompletionWithColdPsi() throws Throwable {
+        KiteProjectGenerator.defaults().withFiles(1_000).generate().forEach(this::addFile);
+        configureByText("main.kite", """
+                var value = res<caret>
+                """);
+
+        assertTiming("Auto-import completion over 1,000 files with cold PSI", 1_000, 0,
+                () -> {
+                    LookupManager.hideActiveLookup(getProject());
+                    PsiManager.getInstance(getProject()).dropPsiCaches();
+                },
+                () -> myFixture.completeBasic());
+    }
+
+    // ========== Navigation ==========
+
+    public void testGotoDeclarationAcrossSixLevelImportChain() throws Throwable {
+        KiteProjectGenerator.defaults().withFiles(200).generate().forEach(this::addFile);
+        addFile("chain0.kite", """
+                var chainTarget = "found"
+                """);
+        for (int level = 1; level < 6; level++) {
+            addFile("chain" + level + ".kite", """
+                    import * from "chain%d.kite"
+                    var level%d = %d
+                    """.formatted(level - 1, level, level));
+        }
+        configureByText("chain6.kite", """
+                import * from "chain5.kite"
+                var result = chain<caret>Target
+                """);
+
+        KiteGotoDeclarationHandler handler = new KiteGotoDeclarationHandler();
+        int offset = myFixture.getCaretOffset();
+        PsiElement source = myFixture.getFile().findElementAt(offset);
+        PsiElement[] targets = handler.getGotoDeclarationTargets(source, offset, myFixture.getEditor());
+        assertNotNull("Declaration should resolve through the chain", targets);
+        assertEquals("chain0.kite", targets[0].getContainingFile().getName());
+
+        assertTiming("Goto declaration across a 6-level import chain", 200,
+                () -> {
+                },
+                () -> handler.getGotoDeclarationTargets(source, offset, myFixture.getEditor()));
+    }
+
+    // ========== Formatting ==========
+
+    public void testReformatLargeFile() throws Throwable {
+        // Strip indentation and spacing so the formatter has work to do on every line
+        String unformatted = KiteProjectGenerator.generateFile(10_000)
+                .replaceAll("(?m)^ +", "")
+                .replace(" = ", "=");
+        configureByText(unformatted);
+        Document document = myFixture.getEditor().getDocument();
+
+        assertTiming("Reformatting a 10k-line file", 6_000,
+                () -> {
+                    WriteCommandAction.runWriteCommandAction(getProject(), () -> document.setText(unformatted));
+                    PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+                },
+                () -> WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                        CodeStyleManager.getInstance(getProject()).reformat(myFixture.getFile())));
+    }
+
+    /**
+     * Reformat Selection on one resource must not depend on the size of the rest of the file: the
+     * same resource takes about as long in a 20k-line file as in a 100-line one.
+     */
+    public void testReformatOneResourceIndependentOfFileSize() throws Throwable {
+        long small = timeResourceReformat(100);
+        long large = timeResourceReformat(20_000);
+
+        // Floor the small-file time so timer noise on a sub-millisecond run cannot fail the ratio
+        long baseline = Math.max(small, 1_000_000);
+        assertTrue("Reformatting one resource took " + large / 1_000_000 + " ms in a 20k-line file and "
+                   + small / 1_000_000 + " ms in a 100-line file",
+                large <= baseline * MAX_RANGE_REFORMAT_RATIO);
+    }
+
+    /**
+     * Time Reformat Selection on an unindented resource in the second half of a generated file.
+     *
+     * @return The fastest attempt, in nanoseconds
+     */
+    private long timeResourceReformat(int lines) throws Throwable {
+        String text = KiteProjectGenerator.generateFile(lines);
+        int start = text.indexOf("\nresource ", text.length() / 2) + 1;
+        assertTrue("No resource in the second half of a " + lines + "-line file", start > 0);
+        int resourceEnd = text.indexOf("\n}\n", start) + 2;
+        String resource = text.substring(start, resourceEnd).replaceAll("(?m)^ +", "");
+        int end = start + resource.length();
+        String unformatted = text.substring(0, start) + resource + text.substring(resourceEnd);
+        configureByText(unformatted);
+        Document document = myFixture.getEditor().getDocument();
+
+        return bestTimeNanos(2,
+                () -> {
+                    WriteCommandAction.runWriteCommandAction(getProject(), () -> document.setText(unformatted));
+                    PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+                },
+                () -> WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                        CodeStyleManager.getInstance(getProject()).reformatRange(myFixture.getFile(), start, end)));
+    }
+
+    /**
+     * One object literal with 5,000 properties, as found in generated configuration files.
+     * Colon alignment across the whole object must stay linear in the number of properties.
+     */
+    public void testReformatObjectWith5000Properties() throws Throwable {
+        StringBuilder text = new StringBuilder("var settings = {\n");
+        for (int i = 0; i < 5_000; i++) {
+            text.append("property").append(i).append(':').append('"').append(i).append("\"\n");
+        }
+        String unformatted = text.append("}\n").toString();
+        configureByText(unformatted);
+        Document document = myFixture.getEditor().getDocument();
+
+        assertTiming("Reformatting a 5,000-property object", 3_000,
+                () -> {
+                    WriteCommandAction.runWriteCommandAction(getProject(), () -> document.setText(unformatted));
+                    PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+                },
+                () -> WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                        CodeStyleManager.getInstance(getProject()).reformat(myFixture.getFile())));
+        assertTrue(myFixture.getFile().getText().contains("property0   : \"0\""));
+    }
+
+    // ========== Rename ==========
+
+    /**
+     * Usage search for a declaration imported by 200 files, the cross-file step of a rename.
+     */
+    public void testUsageSearchAcross200Importers() throws Throwable {
+        int importers = 200;
+        for (int i = 0; i < importers; i++) {
+            addFile("importer" + i + ".kite", """
+                    import sharedName from "lib.kite"
+                    var use%d = sharedName
+                    """.formatted(i));
+        }
+        configureByText("lib.kite", """
+                var shared<caret>Name = "value"
+                """);
+
+        KiteGotoDeclarationHandler handler = new KiteGotoDeclarationHandler();
+        int offset = myFixture.getCaretOffset();
+        PsiElement source = myFixture.getFile().findElementAt(offset);
+        PsiElement[] usages = handler.getGotoDeclarationTargets(source, offset, myFixture.getEditor());
+        assertNotNull(usages);
+        assertTrue("Expected a usage per importer, got " + usages.length, usages.length >= importers);
+
+        assertTiming("Usage search across 200 importers", 3_000,
+                () -> {
+                },
+                () -> handler.getGotoDeclarationTargets(source, offset, myFixture.getEditor()));
+    }
+
+    // ========== Helpers ==========
+
+    /**
+     * Generated project plus a file whose caret sits in a value position with many candidates.
+     */
+    private void configureCompletionProject() {
+        KiteProjectGenerator generator = KiteProjectGenerator.defaults().withFiles(200);
+        generator.generate().forEach(this::addFile);
+        configureByText("main.kite", """
+                import * from "layer0/module0.kite"
+                import * from "layer1/module1.kite"
+
+                var value = pre<caret>
+                """);
+    }
+
+    /**
+     * Mixed file with one caret per completion context in every section; caret offsets are
+     * collected into {@code carets} and the markers removed.
+     */
+    private static String buildCaretCorpus(int sections, List<Integer> carets) {
+        StringBuilder corpus = new StringBuilder("import * from \"<caret>\"\n\n");
+        for (int i = 0; i < sections; i++) {
+            corpus.append("""
+                    schema Bucket%1$d {
+                        string name
+                        number size = 10
+                    }
+
+                    @<caret>
+                    @provider("aws")
+                    resource Bucket%1$d <caret>
+                    resource Bucket%1$d data%1$d {
+                        name = "data-${env}"
+                        <caret>
+                    }
+
+                    component Service%1$d {
+                        input number port = 8080
+                        <caret>
+                    }
+
+                    component Service%1$d api%1$d {
+                        <caret>
+                    }
+
+                    var value%1$d = <caret>
+
+                    """.formatted(i));
+        }
+        String text = corpus.toString();
+        StringBuilder stripped = new StringBuilder(text.length());
+        int from = 0;
+        for (int marker = text.indexOf("<caret>"); marker >= 0; marker = text.indexOf("<caret>", from)) {
+            stripped.append(text, from, marker);
+            carets.add(stripped.length());
+            from = marker + "<caret>".length();
+        }
+        return stripped.append(text.substring(from)).toString();
+    }
+}
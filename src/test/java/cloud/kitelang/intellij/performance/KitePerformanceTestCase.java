@@ -0,0 +1,79 @@
+package cloud.kitelang.intellij.performance;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.util.ThrowableRunnable;
+
+import java.util.Arrays;
+
+/**
+ * Base class for performance tests that assert timing budgets.
+ * <p>
+ * Each measurement runs a number of warm-up iterations, then several timed attempts, each preceded
+ * by an untimed setup step. The fastest attempt is compared against the budget, so a single GC pause
+ * or JIT hiccup does not fail the build, while quadratic behaviour still does.
+ * <p>
+ * Budgets are tuned for a developer laptop. Slower CI machines can scale them with the
+ * {@code kite.perf.budgetScale} system property ({@code -PperfBudgetScale=2} in Gradle).
+ */
+public abstract class KitePerformanceTestCase extends KiteTestBase {
+
+    private static final int ATTEMPTS = 3;
+    private static final double BUDGET_SCALE = Double.parseDouble(System.getProperty("kite.perf.budgetScale", "1"));
+
+    /**
+     * Assert that an operation stays within its budget once warmed up.
+     *
+     * @param what     Description used in the failure message
+     * @param budgetMs Budget for the fastest attempt, in milliseconds
+     * @param setup    Untimed preparation before each run (e.g. moving the caret)
+     * @param test     The measured operation
+     */
+    protected void assertTiming(String what, long budgetMs,
+                                ThrowableRunnable<?> setup, ThrowableRunnable<?> test) throws Throwable {
+        assertTiming(what, budgetMs, 1, setup, test);
+    }
+
+    /**
+     * Assert that an operation stays within its budget.
+     *
+     * @param warmups Untimed runs before measuring; 0 measures cold behaviour, so setup must reset caches
+     */
+    protected void assertTiming(String what, long budgetMs, int warmups,
+                                ThrowableRunnable<?> setup, ThrowableRunnable<?> test) throws Throwable {
+        long[] timings = measure(warmups, setup, test);
+        long best = Arrays.stream(timings).min().orElseThrow() / 1_000_000;
+        long scaledBudget = Math.round(budgetMs * BUDGET_SCALE);
+        assertTrue(what + " took " + best + " ms (attempts: " + Arrays.toString(toMillis(timings)) + "), budget is "
+                   + scaledBudget + " ms", best <= scaledBudget);
+    }
+
+    /**
+     * Time an operation like {@link #assertTiming}, without a budget. For comparing two inputs
+     * on the same machine, e.g. to show that a time does not depend on file size.
+     *
+     * @return The fastest attempt, in nanoseconds
+     */
+    protected long bestTimeNanos(int warmups, ThrowableRunnable<?> setup, ThrowableRunnable<?> test) throws Throwable {
+        return Arrays.stream(measure(warmups, setup, test)).min().orElseThrow();
+    }
+
+    private static long[] measure(int warmups, ThrowableRunnable<?> setup, ThrowableRunnable<?> test) throws Throwable {
+        for (int i = 0; i < warmups; i++) {
+            setup.run();
+            test.run();
+        }
+
+        long[] timings = new long[ATTEMPTS];
+        for (int i = 0; i < ATTEMPTS; i++) {
+            setup.run();
+            long start = System.nanoTime();
+            test.run();
+            timings[i] = System.nanoTime() - start;
+        }
+        return timings;
+    }
+
+    private static long[] toMillis(long[] nanos) {
+        return Arrays.stream(nanos).map(time -> time / 1_000_000).toArray();
+    }
+}
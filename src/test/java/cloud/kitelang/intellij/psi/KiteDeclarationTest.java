@@ -0,0 +1,123 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.util.PsiTreeUtil;
+
+/**
+ * Tests for the typed declaration PSI classes.
+ */
+public class KiteDeclarationTest extends KiteTestBase {
+
+    public void testResourceDeclaration() {
+        configureByText("""
+                resource AWS.S3.Bucket photos {
+                  name = "photos"
+                }
+                """);
+
+        KiteResourceDeclaration resource = findDeclaration(KiteResourceDeclaration.class);
+        assertEquals("photos", resource.getName());
+        assertEquals("AWS.S3.Bucket", resource.getResourceType());
+        assertEquals("{", resource.getLeftBrace().getText());
+        assertEquals("}", resource.getRightBrace().getText());
+        assertEquals(myFixture.getFile().getText().indexOf("photos"), resource.getTextOffset());
+    }
+
+    public void testComponentDefinitionAndInstance() {
+        configureByText("""
+                component WebServer {
+                  input number port = 8080
+                }
+                component WebServer api {
+                  port = 9090
+                }
+                """);
+
+        var components = PsiTreeUtil.getChildrenOfTypeAsList(myFixture.getFile(), KiteComponentDeclaration.class);
+        assertEquals(2, components.size());
+
+        KiteComponentDeclaration definition = components.get(0);
+        assertFalse(definition.isInstance());
+        assertEquals("WebServer", definition.getName());
+        assertEquals("WebServer", definition.getComponentType());
+
+        KiteComponentDeclaration instance = components.get(1);
+        assertTrue(instance.isInstance());
+        assertEquals("api", instance.getName());
+        assertEquals("WebServer", instance.getComponentType());
+    }
+
+    public void testFunctionDeclaration() {
+        configureByText("""
+                fun greet(string name) string {
+                  return "Hello " + name
+                }
+                """);
+
+        KiteFunctionDeclaration function = findDeclaration(KiteFunctionDeclaration.class);
+        assertEquals("greet", function.getName());
+        assertNull(function.getTypeText());
+    }
+
+    public void testVariableDeclarations() {
+        configureByText("""
+                var string region = "us-east-1"
+                var count = 3
+                """);
+
+        var variables = PsiTreeUtil.getChildrenOfTypeAsList(myFixture.getFile(), KiteVariableDeclaration.class);
+        assertEquals("region", variables.get(0).getName());
+        assertEquals("string", variables.get(0).getTypeText());
+        assertEquals("count", variables.get(1).getName());
+        assertNull(variables.get(1).getTypeText());
+        assertNull(variables.get(1).getLeftBrace());
+    }
+
+    public void testSchemaAndTypeDeclarations() {
+        configureByText("""
+                schema DatabaseConfig {
+                  string host
+                }
+                type Region = "us-east-1" | "eu-west-1"
+                """);
+
+        assertEquals("DatabaseConfig", findDeclaration(KiteSchemaDeclaration.class).getName());
+        assertEquals("Region", findDeclaration(KiteTypeDeclaration.class).getName());
+    }
+
+    public void testUnclosedBodyHasNoRightBrace() {
+        configureByText("""
+                resource VM.Instance server {
+                  size = "large"
+                """);
+
+        KiteResourceDeclaration resource = findDeclaration(KiteResourceDeclaration.class);
+        assertEquals("server", resource.getName());
+        assertNotNull(resource.getLeftBrace());
+        assertNull(resource.getRightBrace());
+    }
+
+    public void testSetNameUpdatesCachedName() {
+        configureByText("""
+                resource VM.Instance server {
+                  size = "large"
+                }
+                """);
+
+        KiteResourceDeclaration resource = findDeclaration(KiteResourceDeclaration.class);
+        assertEquals("server", resource.getName());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> resource.setName("backend"));
+
+        assertEquals("backend", resource.getName());
+        assertEquals("backend", resource.getNameIdentifier().getText());
+        assertTrue(myFixture.getFile().getText().contains("resource VM.Instance backend {"));
+    }
+
+    private <T extends KiteDeclaration> T findDeclaration(Class<T> type) {
+        T declaration = PsiTreeUtil.getChildOfType(myFixture.getFile(), type);
+        assertNotNull("Expected a " + type.getSimpleName(), declaration);
+        return declaration;
+    }
+}
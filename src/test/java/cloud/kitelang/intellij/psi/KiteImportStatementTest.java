@@ -0,0 +1,125 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import java.util.List;
+
+/**
+ * Tests for the structured children of IMPORT_STATEMENT.
+ */
+public class KiteImportStatementTest extends KiteTestBase {
+
+    // ========== Structure Tests ==========
+
+    public void testNamedImportStructure() {
+        configureByText("""
+                import alpha, beta from "common.kite"
+                """);
+
+        KiteImportStatement statement = findImportStatements().get(0);
+        assertFalse(statement.isWildcard());
+        assertNotNull(statement.getSymbolList());
+        assertEquals("alpha, beta", statement.getSymbolList().getText());
+        assertEquals(List.of("alpha", "beta"), statement.getSymbolNames());
+        assertEquals("\"common.kite\"", statement.getPathElement().getText());
+        assertEquals("common.kite", statement.getPath());
+    }
+
+    public void testWildcardImportStructure() {
+        configureByText("""
+                import * from "common.kite"
+                """);
+
+        KiteImportStatement statement = findImportStatements().get(0);
+        assertTrue(statement.isWildcard());
+        assertNull(statement.getSymbolList());
+        assertTrue(statement.getSymbolNames().isEmpty());
+        assertEquals("common.kite", statement.getPath());
+    }
+
+    public void testSingleQuotedPath() {
+        configureByText("""
+                import Config from 'other.kite'
+                """);
+
+        KiteImportStatement statement = findImportStatements().get(0);
+        assertEquals(List.of("Config"), statement.getSymbolNames());
+        assertEquals("other.kite", statement.getPath());
+    }
+
+    public void testEmptyPath() {
+        configureByText("""
+                import * from ""
+                """);
+
+        assertEquals("", findImportStatements().get(0).getPath());
+    }
+
+    public void testSymbolListContinuedAfterComma() {
+        configureByText("""
+                import alpha,
+                       beta from "common.kite"
+                var x = alpha
+                """);
+
+        List<KiteImportStatement> statements = findImportStatements();
+        assertEquals(1, statements.size());
+        assertEquals(List.of("alpha", "beta"), statements.get(0).getSymbolNames());
+        assertEquals("common.kite", statements.get(0).getPath());
+    }
+
+    public void testSymbolElementsAreIdentifiers() {
+        configureByText("""
+                import alpha, beta from "common.kite"
+                """);
+
+        for (PsiElement symbol : findImportStatements().get(0).getSymbolElements()) {
+            assertEquals(KiteTokenTypes.IDENTIFIER, symbol.getNode().getElementType());
+            assertEquals(KiteElementTypes.IMPORT_SYMBOL_LIST, symbol.getParent().getNode().getElementType());
+        }
+    }
+
+    // ========== Incomplete Import Tests ==========
+
+    public void testImportWithoutPath() {
+        configureByText("""
+                import Config
+                var x = 1
+                """);
+
+        List<KiteImportStatement> statements = findImportStatements();
+        assertEquals(1, statements.size());
+        assertEquals(List.of("Config"), statements.get(0).getSymbolNames());
+        assertNull(statements.get(0).getPathElement());
+        assertNull(statements.get(0).getPath());
+    }
+
+    public void testImportWithoutSymbols() {
+        configureByText("""
+                import from "common.kite"
+                """);
+
+        KiteImportStatement statement = findImportStatements().get(0);
+        assertFalse(statement.isWildcard());
+        assertTrue(statement.getSymbolNames().isEmpty());
+        assertEquals("common.kite", statement.getPath());
+    }
+
+    public void testStatementEndsAtLineEnd() {
+        configureByText("""
+                import * from "common.kite"
+                var x = 1
+                """);
+
+        KiteImportStatement statement = findImportStatements().get(0);
+        assertFalse(statement.getText().contains("var"));
+    }
+
+    // ========== Helpers ==========
+
+    private List<KiteImportStatement> findImportStatements() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(myFixture.getFile(), KiteImportStatement.class);
+    }
+}
@@ -0,0 +1,171 @@
+package cloud.kitelang.intellij.psi;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tests for the INTERPOLATION PSI node built from lexer tokens.
+ */
+public class KiteInterpolationTest extends KiteTestBase {
+
+    // ========== Structure Tests ==========
+
+    public void testBraceInterpolationIsWrapped() {
+        configureByText("""
+                var port = 8080
+                var url = "http://localhost:${port}/api"
+                """);
+
+        List<KiteInterpolation> interpolations = findInterpolations();
+        assertEquals(1, interpolations.size());
+
+        KiteInterpolation interpolation = interpolations.get(0);
+        assertEquals("${port}", interpolation.getText());
+        assertTrue(interpolation.isClosed());
+        assertEquals("port", interpolation.getRootName());
+    }
+
+    public void testSimpleInterpolationIsNotWrapped() {
+        configureByText("""
+                var name = "world"
+                var greeting = "Hello $name"
+                """);
+
+        assertTrue("$name is a single INTERP_SIMPLE token", findInterpolations().isEmpty());
+    }
+
+    public void testInterpolationInsideResourceBody() {
+        configureByText("""
+                var env = "prod"
+                resource Bucket data {
+                  name = "data-${env}"
+                }
+                """);
+
+        List<KiteInterpolation> interpolations = findInterpolations();
+        assertEquals(1, interpolations.size());
+        assertEquals("env", interpolations.get(0).getRootName());
+        PsiElement parent = interpolations.get(0).getParent();
+        while (parent != null && parent.getNode().getElementType() != KiteElementTypes.RESOURCE_DECLARATION) {
+            parent = parent.getParent();
+        }
+        assertNotNull("Interpolation should be nested in the resource declaration", parent);
+    }
+
+    public void testMultipleInterpolationsInOneString() {
+        configureByText("""
+                var host = "localhost"
+                var port = 8080
+                var url = "${host}:${port}"
+                """);
+
+        List<KiteInterpolation> interpolations = findInterpolations();
+        assertEquals(2, interpolations.size());
+        assertEquals("host", interpolations.get(0).getRootName());
+        assertEquals("port", interpolations.get(1).getRootName());
+    }
+
+    // ========== Expression Tests ==========
+
+    public void testPropertyAccessRootIdentifier() {
+        configureByText("""
+                var server = { host: "localhost" }
+                var url = "http://${server.host}"
+                """);
+
+        KiteInterpolation interpolation = findInterpolations().get(0);
+        assertEquals("server", interpolation.getRootName());
+        assertEquals(List.of("server"), names(interpolation.getReferencedIdentifiers()));
+    }
+
+    public void testReferencedIdentifiersSkipPropertyNames() {
+        configureByText("""
+                var label = "${format(prefix, config.name)}"
+                """);
+
+        KiteInterpolation interpolation = findInterpolations().get(0);
+        assertEquals("format", interpolation.getRootName());
+        assertEquals(List.of("format", "prefix", "config"), names(interpolation.getReferencedIdentifiers()));
+    }
+
+    public void testNonIdentifierExpressionHasNoRoot() {
+        configureByText("""
+                var text = "${1 + 2}"
+                """);
+
+        KiteInterpolation interpolation = findInterpolations().get(0);
+        assertNull(interpolation.getRootIdentifier());
+        assertTrue(interpolation.getReferencedIdentifiers().isEmpty());
+    }
+
+    public void testUnclosedInterpolationStopsAtLineEnd() {
+        configureByText("""
+                var name = "world"
+                var text = "Hello ${name
+                var other = 1
+                """);
+
+        List<KiteInterpolation> interpolations = findInterpolations();
+        assertEquals(1, interpolations.size());
+        assertFalse(interpolations.get(0).isClosed());
+        assertFalse(interpolations.get(0).getText().contains("\n"));
+    }
+
+    // ========== getInterpolatedName Tests ==========
+
+    public void testInterpolatedNameForSimpleToken() {
+        configureByText("""
+                var name = "world"
+                var greeting = "Hello $name"
+                """);
+
+        PsiElement simple = findFirstElementOfType(KiteTokenTypes.INTERP_SIMPLE);
+        assertNotNull(simple);
+        assertEquals("name", KiteInterpolation.getInterpolatedName(simple));
+    }
+
+    public void testInterpolatedNameForBraceNode() {
+        configureByText("""
+                var server = { host: "localhost" }
+                var url = "${server.host}"
+                """);
+
+        assertEquals("server", KiteInterpolation.getInterpolatedName(findInterpolations().get(0)));
+    }
+
+    public void testInterpolatedNameForOtherElements() {
+        configureByText("""
+                var name = "world"
+                """);
+
+        PsiElement identifier = findFirstElementOfType(KiteTokenTypes.IDENTIFIER);
+        assertNull(KiteInterpolation.getInterpolatedName(identifier));
+        assertNull(KiteInterpolation.getInterpolatedName(null));
+    }
+
+    // ========== Helpers ==========
+
+    private List<KiteInterpolation> findInterpolations() {
+        Collection<KiteInterpolation> found = PsiTreeUtil.findChildrenOfType(myFixture.getFile(), KiteInterpolation.class);
+        return new ArrayList<>(found);
+    }
+
+    private PsiElement findFirstElementOfType(IElementType type) {
+        for (PsiElement leaf = PsiTreeUtil.firstChild(myFixture.getFile()); leaf != null; leaf = PsiTreeUtil.nextLeaf(leaf)) {
+            if (leaf.getNode().getElementType() == type) {
+                return leaf;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> names(List<PsiElement> elements) {
+        return elements.stream().map(PsiElement::getText).toList();
+    }
+}
@@ -1,9 +1,17 @@
 package cloud.kitelang.intellij.reference;
 
 import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.psi.KiteImportStatement;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.DumbModeTestUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Tests for KiteImportHelper - verifies import resolution and cross-file references.
@@ -385,4 +393,155 @@ public class KiteImportHelperTest extends KiteTestBase {
         // Should find at least middle.kite
         assertTrue("Should find imported files", !imported.isEmpty());
     }
+
+    // ========== Import Model Tests ==========
+
+    public void testImportStatementsAreCached() {
+        configureByText("""
+                import alpha from "common.kite"
+                import * from "other.kite"
+                var x = alpha
+                """);
+
+        List<KiteImportStatement> first = KiteImportHelper.getImportStatements(myFixture.getFile());
+        List<KiteImportStatement> second = KiteImportHelper.getImportStatements(myFixture.getFile());
+
+        assertEquals(2, first.size());
+        assertSame("Import model should be served from the cache", first, second);
+    }
+
+    public void testGetImportsByFile() {
+        configureByText("""
+                import beta, alpha from "common.kite"
+                import * from "other.kite"
+                import gamma from "common.kite"
+                """);
+
+        Map<String, Set<String>> imports = KiteImportHelper.getImportsByFile(myFixture.getFile());
+
+        assertEquals(List.of("common.kite", "other.kite"), List.copyOf(imports.keySet()));
+        assertEquals(List.of("beta", "alpha", "gamma"), List.copyOf(imports.get("common.kite")));
+        assertTrue("Wildcard import keeps an empty symbol set", imports.get("other.kite").isEmpty());
+    }
+
+    public void testGetImportedSymbolsExpandsWildcard() {
+        addFile("common.kite", """
+                var alpha = "a"
+                var beta = "b"
+                """);
+
+        configureByText("""
+                import * from "common.kite"
+                import gamma from "other.kite"
+                """);
+
+        Set<String> symbols = KiteImportHelper.getImportedSymbols(myFixture.getFile());
+
+        assertSameElements(symbols, "alpha", "beta", "gamma");
+    }
+
+    public void testCommentedImportIsIgnored() {
+        addFile("common.kite", """
+                var alpha = "a"
+                """);
+
+        configureByText("""
+                // import alpha from "common.kite"
+                var x = 1
+                """);
+
+        assertTrue(KiteImportHelper.getImportStatements(myFixture.getFile()).isEmpty());
+        assertFalse(KiteImportHelper.isSymbolImported("alpha", myFixture.getFile()));
+    }
+
+    // ========== Project File Visitor Tests ==========
+
+    public void testProcessKiteFilesVisitsEveryFile() {
+        addFile("a.kite", "var a = 1");
+        addFile("lib/b.kite", "var b = 2");
+        configureByText("main.kite", "var x = 1");
+
+        List<String> visited = new ArrayList<>();
+        assertTrue(KiteImportHelper.processKiteFilesInProject(getProject(), file -> visited.add(file.getName())));
+
+        assertSameElements(visited, "a.kite", "b.kite", "main.kite");
+    }
+
+    public void testProcessKiteFilesStopsEarly() {
+        addFile("a.kite", "var a = 1");
+        addFile("b.kite", "var b = 2");
+        configureByText("main.kite", "var x = 1");
+
+        List<String> visited = new ArrayList<>();
+        assertFalse(KiteImportHelper.processKiteFilesInProject(getProject(), file -> {
+            visited.add(file.getName());
+            return false;
+        }));
+
+        assertEquals(1, visited.size());
+    }
+
+    public void testProcessKiteFilesRespectsScope() {
+        PsiFile lib = myFixture.addFileToProject("lib/b.kite", "var b = 2");
+        addFile("a.kite", "var a = 1");
+        configureByText("main.kite", "var x = 1");
+
+        List<String> visited = new ArrayList<>();
+        GlobalSearchScope scope = GlobalSearchScope.filesScope(getProject(), List.of(lib.getVirtualFile()));
+        KiteImportHelper.processKiteFilesInProject(getProject(), scope, file -> visited.add(file.getName()));
+
+        assertEquals(List.of("b.kite"), visited);
+    }
+
+    // ========== Dumb Mode Tests ==========
+
+    public void testKiteFilesServedFromSnapshotInDumbMode() {
+        addFile("common.kite", """
+                var sharedVar = "shared"
+                """);
+        configureByText("""
+                var x = 1
+                """);
+
+        // Smart-mode query records the snapshot
+        Collection<VirtualFile> smartFiles = KiteImportHelper.getKiteVirtualFilesInProject(getProject());
+        assertEquals(2, smartFiles.size());
+
+        DumbModeTestUtils.runInDumbModeSynchronously(getProject(), () -> {
+            Collection<VirtualFile> dumbFiles = KiteImportHelper.getKiteVirtualFilesInProject(getProject());
+            assertSameElements(dumbFiles, smartFiles);
+        });
+    }
+
+    public void testSnapshotRefreshedWhenFilesAreAdded() {
+        configureByText("""
+                var x = 1
+                """);
+        assertEquals(1, KiteImportHelper.getKiteVirtualFilesInProject(getProject()).size());
+
+        addFile("added.kite", """
+                var y = 2
+                """);
+        Collection<VirtualFile> smartFiles = KiteImportHelper.getKiteVirtualFilesInProject(getProject());
+        assertEquals(2, smartFiles.size());
+
+        DumbModeTestUtils.runInDumbModeSynchronously(getProject(), () ->
+                assertSameElements(KiteImportHelper.getKiteVirtualFilesInProject(getProject()), smartFiles));
+    }
+
+    public void testImportResolutionWorksInDumbMode() {
+        addFile("common.kite", """
+                var sharedVar = "shared"
+                """);
+        configureByText("""
+                import * from "common.kite"
+                var x = sharedVar
+                """);
+
+        DumbModeTestUtils.runInDumbModeSynchronously(getProject(), () -> {
+            List<PsiFile> imported = KiteImportHelper.getImportedFiles(myFixture.getFile());
+            assertEquals(1, imported.size());
+            assertEquals("common.kite", imported.get(0).getName());
+        });
+    }
 }
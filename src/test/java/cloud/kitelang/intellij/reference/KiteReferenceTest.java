@@ -2,6 +2,12 @@ package cloud.kitelang.intellij.reference;
 
 import cloud.kitelang.intellij.KiteTestBase;
 import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.ResolveResult;
 
 import java.util.List;
 
@@ -304,4 +310,60 @@ public class KiteReferenceTest extends KiteTestBase {
         // Should not crash
         myFixture.doHighlighting();
     }
+
+    // ========== Resolve Cache Tests ==========
+
+    public void testRepeatedResolveIsCached() {
+        configureByText("""
+                component WebServer {
+                    output string endpoint = "http://localhost"
+                }
+                component WebServer api {
+                }
+                var url = api.endpo<caret>int
+                """);
+
+        PsiPolyVariantReference reference = referenceAtCaret();
+        ResolveResult[] first = reference.multiResolve(false);
+        assertEquals(1, first.length);
+        assertEquals("endpoint", first[0].getElement().getText());
+        assertSame(first, reference.multiResolve(false));
+    }
+
+    public void testInterpolationResolveIsCached() {
+        configureByText("""
+                var port = 8080
+                var url = "http://localhost:${po<caret>rt}"
+                """);
+
+        PsiPolyVariantReference reference = referenceAtCaret();
+        PsiElement target = reference.resolve();
+        assertNotNull(target);
+        assertEquals("port", target.getText());
+        assertSame(reference.multiResolve(false), reference.multiResolve(false));
+    }
+
+    public void testResolveIsRecomputedAfterChange() {
+        configureByText("""
+                var target = 1
+                var x = tar<caret>get
+                """);
+
+        PsiElement before = referenceAtCaret().resolve();
+        assertNotNull(before);
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                myFixture.getEditor().getDocument().insertString(0, "var target = 0\n"));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        PsiElement after = referenceAtCaret().resolve();
+        assertNotNull(after);
+        assertEquals(myFixture.getFile().getText().indexOf("target"), after.getTextOffset());
+    }
+
+    private PsiPolyVariantReference referenceAtCaret() {
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        assertInstanceOf(reference, PsiPolyVariantReference.class);
+        return (PsiPolyVariantReference) reference;
+    }
 }
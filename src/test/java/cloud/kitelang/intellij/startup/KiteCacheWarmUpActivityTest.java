@@ -0,0 +1,111 @@
+package cloud.kitelang.intellij.startup;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.reference.KiteImportHelper;
+import cloud.kitelang.intellij.util.KiteSchemaHelper;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests for KiteCacheWarmUpActivity - verifies that warming a file primes the
+ * import graph, exported symbol and schema caches, and that the caches are invalidated on edits.
+ */
+public class KiteCacheWarmUpActivityTest extends KiteTestBase {
+
+    public void testWarmUpOpenFileCachesImportGraph() {
+        addFile("common.kite", """
+                var sharedVar = "shared"
+                """);
+
+        configureByText("""
+                import * from "common.kite"
+                var x = sharedVar
+                """);
+
+        PsiFile file = myFixture.getFile();
+        KiteCacheWarmUpActivity.warmUpOpenFile(getProject(), file.getVirtualFile());
+
+        List<PsiFile> first = KiteImportHelper.getImportedFiles(file);
+        List<PsiFile> second = KiteImportHelper.getImportedFiles(file);
+
+        assertEquals(1, first.size());
+        assertSame("Warmed import graph should be served from cache", first, second);
+    }
+
+    public void testWarmUpOpenFileCachesImportedSchemas() {
+        addFile("schemas.kite", """
+                schema Config {
+                    string host
+                    number port = 8080
+                }
+                """);
+
+        configureByText("""
+                import * from "schemas.kite"
+                resource Config server {
+                }
+                """);
+
+        PsiFile file = myFixture.getFile();
+        KiteCacheWarmUpActivity.warmUpOpenFile(getProject(), file.getVirtualFile());
+
+        PsiFile schemaFile = KiteImportHelper.getImportedFiles(file).get(0);
+        Map<String, Map<String, KiteSchemaHelper.SchemaPropertyInfo>> schemas = KiteSchemaHelper.getSchemas(schemaFile);
+
+        assertSame("Warmed schemas should be served from cache", schemas, KiteSchemaHelper.getSchemas(schemaFile));
+        assertTrue(schemas.containsKey("Config"));
+        assertEquals(2, KiteSchemaHelper.findSchemaProperties(file, "Config").size());
+    }
+
+    public void testWarmUpProjectFileCachesExportedSymbols() {
+        PsiFile other = myFixture.addFileToProject("other.kite", """
+                var alpha = 1
+                fun beta() number {
+                    return 2
+                }
+                """);
+
+        KiteCacheWarmUpActivity.warmUpProjectFile(getProject(), other.getVirtualFile());
+
+        Set<String> exports = KiteImportHelper.getExportedSymbols(other);
+        assertSame(exports, KiteImportHelper.getExportedSymbols(other));
+        assertTrue(exports.contains("alpha"));
+        assertTrue(exports.contains("beta"));
+    }
+
+    public void testCachedExportsAreInvalidatedOnEdit() {
+        configureByText("""
+                var alpha = 1
+                """);
+
+        PsiFile file = myFixture.getFile();
+        KiteCacheWarmUpActivity.warmUpProjectFile(getProject(), file.getVirtualFile());
+        assertFalse(KiteImportHelper.getExportedSymbols(file).contains("gamma"));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                myFixture.getEditor().getDocument().insertString(0, "var gamma = 3\n"));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        assertTrue(KiteImportHelper.getExportedSymbols(file).contains("gamma"));
+    }
+
+    public void testProjectFileSelectionIsCappedAndPrefersOpenDirectories() {
+        PsiFile open = myFixture.addFileToProject("app/main.kite", "var a = 1\n");
+        PsiFile sibling = myFixture.addFileToProject("app/sibling.kite", "var b = 1\n");
+        PsiFile far1 = myFixture.addFileToProject("lib/one.kite", "var c = 1\n");
+        PsiFile far2 = myFixture.addFileToProject("lib/two.kite", "var d = 1\n");
+
+        List<VirtualFile> projectFiles = List.of(far1.getVirtualFile(), far2.getVirtualFile(),
+                open.getVirtualFile(), sibling.getVirtualFile());
+        List<VirtualFile> selected = KiteCacheWarmUpActivity.selectProjectFiles(
+                projectFiles, List.of(open.getVirtualFile()), 2);
+
+        assertEquals(List.of(sibling.getVirtualFile(), far1.getVirtualFile()), selected);
+    }
+}
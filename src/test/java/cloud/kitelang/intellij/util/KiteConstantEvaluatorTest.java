@@ -0,0 +1,192 @@
+package cloud.kitelang.intellij.util;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.psi.KiteTokenTypes;
+import cloud.kitelang.intellij.psi.KiteVariableDeclaration;
+import cloud.kitelang.intellij.util.KiteConstantEvaluator.Constant;
+import cloud.kitelang.intellij.util.KiteConstantEvaluator.Range;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+
+/**
+ * Tests for KiteConstantEvaluator constant folding.
+ */
+public class KiteConstantEvaluatorTest extends KiteTestBase {
+
+    public void testArithmeticPrecedence() {
+        Constant value = evaluateVar("var x = 2 + 3 * 4 - (10 - 6) / 2");
+        assertEquals(12.0, value.value());
+        assertTrue(value.literal());
+        assertEquals(Integer.valueOf(12), value.asInteger());
+    }
+
+    public void testUnaryOperators() {
+        assertEquals(-5.0, evaluateVar("var x = -(2 + 3)").value());
+        assertEquals(false, evaluateVar("var x = !true").value());
+    }
+
+    public void testComparisonsAndLogic() {
+        assertEquals(true, evaluateVar("var x = 2 * 3 > 5 && 1 != 2").value());
+        assertEquals(false, evaluateVar("var x = 1 >= 2 || false").value());
+        assertEquals(true, evaluateVar("var x = 0 == -0").value());
+    }
+
+    public void testStringConcatenation() {
+        assertEquals("web-3", evaluateVar("var x = \"web-\" + 3").value());
+        assertEquals("ab", evaluateVar("var x = 'a' + 'b'").value());
+        assertEquals(true, evaluateVar("var x = 'a' == 'a'").value());
+    }
+
+    public void testRange() {
+        assertEquals(new Range(1, 4), evaluateVar("var x = 1..2 + 2").value());
+    }
+
+    public void testReferencesToVarsAndInputs() {
+        configureByText("""
+                input number replicas = 3
+                var base = 10
+                var total = base + replicas * 2
+                """);
+
+        Constant total = KiteConstantEvaluator.evaluateDeclaration(findVar("total"));
+        assertNotNull(total);
+        assertEquals(16.0, total.value());
+        assertFalse("References are not literals", total.literal());
+        assertTrue("Depends on the input default", total.usesInputDefaults());
+
+        Constant base = KiteConstantEvaluator.evaluateDeclaration(findVar("base"));
+        assertNotNull(base);
+        assertFalse(base.usesInputDefaults());
+    }
+
+    public void testNonConstantExpressions() {
+        assertNull(evaluateVarOrNull("var x = unknown + 1"));
+        assertNull(evaluateVarOrNull("var x = compute(2)"));
+        assertNull(evaluateVarOrNull("var x = server.size"));
+        assertNull(evaluateVarOrNull("var x = 1 / 0"));
+        assertNull(evaluateVarOrNull("var x = true + 1"));
+        assertNull(evaluateVarOrNull("var x = \"id-${name}\""));
+    }
+
+    public void testCyclicReferencesAreNotConstant() {
+        configureByText("""
+                var a = b + 1
+                var b = a + 1
+                """);
+
+        assertNull(KiteConstantEvaluator.evaluateDeclaration(findVar("a")));
+        assertNull(KiteConstantEvaluator.evaluateDeclaration(findVar("b")));
+    }
+
+    public void testFunctionParameterShadowsVar() {
+        configureByText("""
+                var n = 0
+                fun scale(number n) number {
+                    return 10 / n
+                }
+                """);
+
+        var divide = findToken(KiteTokenTypes.DIVIDE);
+        assertNull(KiteConstantEvaluator.evaluateOperand(KitePsiUtil.skipWhitespace(divide.getNextSibling())));
+    }
+
+    public void testFunctionLocalVarShadowsVar() {
+        configureByText("""
+                var n = 5
+                fun scale() number {
+                    var n = 0
+                    return 10 / n
+                }
+                """);
+
+        var divide = findToken(KiteTokenTypes.DIVIDE);
+        assertNull(KiteConstantEvaluator.evaluateOperand(KitePsiUtil.skipWhitespace(divide.getNextSibling())));
+    }
+
+    public void testFunctionLocalVarNotVisibleOutside() {
+        configureByText("""
+                fun reset() number {
+                    var zero = 0
+                    return zero
+                }
+                var x = 10 / zero
+                """);
+
+        var divide = findToken(KiteTokenTypes.DIVIDE);
+        assertNull(KiteConstantEvaluator.evaluateOperand(KitePsiUtil.skipWhitespace(divide.getNextSibling())));
+        assertNull(KiteConstantEvaluator.evaluateDeclaration(findVar("x")));
+    }
+
+    public void testComponentInputNotVisibleOutside() {
+        configureByText("""
+                component Server {
+                    input number port = 8080
+                    var next = port + 1
+                }
+                var x = port
+                """);
+
+        assertNull(KiteConstantEvaluator.evaluateDeclaration(findVar("x")));
+
+        Constant next = KiteConstantEvaluator.evaluateDeclaration(findVar("next"));
+        assertNotNull("Inputs resolve inside their own component", next);
+        assertEquals(8081.0, next.value());
+    }
+
+    public void testResultsAreMemoizedUntilFileChanges() {
+        configureByText("""
+                var x = 6 * 7
+                """);
+
+        Constant first = KiteConstantEvaluator.evaluateDeclaration(findVar("x"));
+        assertNotNull(first);
+        assertSame("Repeated evaluation should reuse the memoized result",
+                first, KiteConstantEvaluator.evaluateDeclaration(findVar("x")));
+
+        Document document = myFixture.getEditor().getDocument();
+        int offset = document.getText().indexOf("7");
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> document.replaceString(offset, offset + 1, "8"));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        Constant changed = KiteConstantEvaluator.evaluateDeclaration(findVar("x"));
+        assertNotNull(changed);
+        assertEquals(48.0, changed.value());
+    }
+
+    // ========== Helpers ==========
+
+    private Constant evaluateVar(String text) {
+        Constant value = evaluateVarOrNull(text);
+        assertNotNull("Expected a constant for: " + text, value);
+        return value;
+    }
+
+    private Constant evaluateVarOrNull(String text) {
+        configureByText(text + "\n");
+        return KiteConstantEvaluator.evaluateDeclaration(findVar("x"));
+    }
+
+    private KiteVariableDeclaration findVar(String name) {
+        for (var declaration : PsiTreeUtil.findChildrenOfType(myFixture.getFile(), KiteVariableDeclaration.class)) {
+            if (name.equals(declaration.getName())) {
+                return declaration;
+            }
+        }
+        fail("No var " + name);
+        return null;
+    }
+
+    private PsiElement findToken(IElementType type) {
+        for (PsiElement leaf = PsiTreeUtil.firstChild(myFixture.getFile()); leaf != null; leaf = PsiTreeUtil.nextLeaf(leaf)) {
+            if (leaf.getNode().getElementType() == type) {
+                return leaf;
+            }
+        }
+        fail("No token " + type);
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package cloud.kitelang.intellij.util;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import java.util.List;
+
+/**
+ * Tests for KiteDeclarationInfo.
+ */
+public class KiteDeclarationInfoTest extends KiteTestBase {
+
+    public void testResourceNameAndType() {
+        configureByText("""
+                resource AWS.S3.Bucket logs {
+                    name = "logs"
+                }
+                """);
+
+        KiteDeclarationInfo info = infoAt("logs {");
+        assertEquals("resource", info.kind());
+        assertEquals("logs", info.name());
+        assertEquals("AWS.S3.Bucket", info.type());
+        assertEquals("resource AWS.S3.Bucket logs", info.header());
+    }
+
+    public void testComponentDefinitionAndInstance() {
+        configureByText("""
+                component WebServer {
+                    input string port = "8080"
+                }
+                component WebServer api {
+                    port = "9000"
+                }
+                """);
+
+        KiteDeclarationInfo definition = infoAt("WebServer {");
+        assertEquals("WebServer", definition.name());
+        assertNull(definition.type());
+
+        KiteDeclarationInfo instance = infoAt("api {");
+        assertEquals("api", instance.name());
+        assertEquals("WebServer", instance.type());
+    }
+
+    public void testVariableWithType() {
+        configureByText("""
+                var number port = 8080
+                var host = "localhost"
+                """);
+
+        assertEquals("number", infoAt("port").type());
+        assertEquals("port", infoAt("port").name());
+        assertNull(infoAt("host").type());
+        assertEquals("var host = \\"localhost\\"", infoAt("host").header());
+    }
+
+    public void testFunctionAndForLoop() {
+        configureByText("""
+                fun processData(string input) string {
+                    for item in [1, 2] {
+                    }
+                    return input
+                }
+                """);
+
+        KiteDeclarationInfo function = infoAt("processData");
+        assertEquals("fun", function.kind());
+        assertEquals("processData", function.name());
+        assertNull(function.type());
+
+        KiteDeclarationInfo loop = infoAt("item in");
+        assertEquals("for", loop.kind());
+        assertEquals("item", loop.name());
+    }
+
+    public void testHeaderIsOnlyTheFirstLine() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            body.append("    input string property").append(i).append(" = \"value\"\n");
+        }
+        configureByText("component Huge {\n" + body + "}\n");
+
+        KiteDeclarationInfo info = infoAt("Huge");
+        assertEquals("component Huge", info.header());
+        assertSame("Info should be cached", info, infoAt("Huge"));
+    }
+
+    public void testChildDeclarations() {
+        configureByText("""
+                var a = 1
+                resource Bucket b {
+                }
+                // comment
+                schema C {
+                    string name
+                }
+                """);
+
+        PsiFile file = myFixture.getFile();
+        List<PsiElement> declarations = KiteDeclarationInfo.childDeclarations(file);
+        assertEquals(List.of("a", "b", "C"), declarations.stream()
+                .map(declaration -> KiteDeclarationInfo.of(declaration).name())
+                .toList());
+    }
+
+    public void testNonDeclarationHasNoInfo() {
+        configureByText("var x = 1");
+
+        assertNull(KiteDeclarationInfo.of(myFixture.getFile()));
+    }
+
+    private KiteDeclarationInfo infoAt(String marker) {
+        PsiFile file = myFixture.getFile();
+        int offset = file.getText().indexOf(marker);
+        assertTrue("Marker not found: " + marker, offset >= 0);
+        PsiElement declaration = PsiTreeUtil.findFirstParent(file.findElementAt(offset),
+                element -> KiteDeclarationInfo.of(element) != null);
+        assertNotNull("No declaration at " + marker, declaration);
+        return KiteDeclarationInfo.of(declaration);
+    }
+}
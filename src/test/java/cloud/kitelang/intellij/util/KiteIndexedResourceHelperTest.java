@@ -81,6 +81,33 @@ public class KiteIndexedResourceHelperTest extends KiteTestBase {
         assertEquals(Integer.valueOf(10), countValue);
     }
 
+    public void testExtractCountValueFromExpression() {
+        configureByText("""
+                schema vm { string name }
+                input number replicas = 3
+                @count(replicas * 2)
+                resource vm server { name = "srv" }
+                """);
+
+        var resourceDecl = findFirstElementOfType(myFixture.getFile(), KiteElementTypes.RESOURCE_DECLARATION);
+        assertNotNull(resourceDecl);
+
+        assertEquals(Integer.valueOf(6), KiteIndexedResourceHelper.extractCountValue(resourceDecl));
+    }
+
+    public void testExtractCountValueNotConstant() {
+        configureByText("""
+                schema vm { string name }
+                @count(length(zones))
+                resource vm server { name = "srv" }
+                """);
+
+        var resourceDecl = findFirstElementOfType(myFixture.getFile(), KiteElementTypes.RESOURCE_DECLARATION);
+        assertNotNull(resourceDecl);
+
+        assertNull(KiteIndexedResourceHelper.extractCountValue(resourceDecl));
+    }
+
     // ========== getIndexedInfo tests for @count ==========
 
     public void testGetIndexedInfoWithCount() {
@@ -174,6 +201,42 @@ public class KiteIndexedResourceHelperTest extends KiteTestBase {
         assertNull(info.countValue());
     }
 
+    public void testGetIndexedInfoForLoopRangeWithVariableBound() {
+        configureByText("""
+                schema vm { string name }
+                var size = 4
+                for i in 0..size {
+                    resource vm server { name = "srv-${i}" }
+                }
+                """);
+
+        var resourceDecl = findFirstElementOfType(myFixture.getFile(), KiteElementTypes.RESOURCE_DECLARATION);
+        assertNotNull("Resource declaration not found", resourceDecl);
+
+        var info = KiteIndexedResourceHelper.getIndexedInfo(resourceDecl);
+        assertNotNull(info);
+        assertEquals(Integer.valueOf(0), info.rangeStart());
+        assertEquals(Integer.valueOf(4), info.rangeEnd());
+    }
+
+    public void testGetIndexedInfoForLoopRangeAcrossLines() {
+        configureByText("""
+                schema vm { string name }
+                for i in 0..
+                    5 {
+                    resource vm server { name = "srv-${i}" }
+                }
+                """);
+
+        var resourceDecl = findFirstElementOfType(myFixture.getFile(), KiteElementTypes.RESOURCE_DECLARATION);
+        assertNotNull("Resource declaration not found", resourceDecl);
+
+        var info = KiteIndexedResourceHelper.getIndexedInfo(resourceDecl);
+        assertNotNull("Line breaks around '..' should not lose the range", info);
+        assertEquals(Integer.valueOf(0), info.rangeStart());
+        assertEquals(Integer.valueOf(5), info.rangeEnd());
+    }
+
     public void testGetIndexedInfoForLoopRangeStartingAtOne() {
         configureByText("""
                 schema vm { string name }
@@ -0,0 +1,130 @@
+package cloud.kitelang.intellij.util;
+
+import cloud.kitelang.intellij.KiteTestBase;
+import cloud.kitelang.intellij.psi.KiteElementTypes;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for KiteSymbolPrefixIndex.
+ */
+public class KiteSymbolPrefixIndexTest extends KiteTestBase {
+
+    public void testPrefixReturnsSortedMatches() {
+        configureByText("""
+                var bucketSize = 1
+                var alpha = 2
+                var bucketName = "data"
+                var beta = 3
+                """);
+
+        assertEquals(List.of("bucketName", "bucketSize"), namesWithPrefix("buck"));
+    }
+
+    public void testPrefixIgnoresCase() {
+        configureByText("""
+                schema BucketConfig {
+                    string name
+                }
+                var bucketName = "data"
+                """);
+
+        assertEquals(List.of("BucketConfig", "bucketName"), namesWithPrefix("BUCKET"));
+    }
+
+    public void testEmptyPrefixVisitsAll() {
+        configureByText("""
+                var gamma = 1
+                var alpha = 2
+                var beta = 3
+                """);
+
+        assertEquals(List.of("alpha", "beta", "gamma"), namesWithPrefix(""));
+        assertEquals(3, KiteSymbolPrefixIndex.getIndex(myFixture.getFile()).size());
+    }
+
+    public void testNoMatches() {
+        configureByText("""
+                var alpha = 1
+                """);
+
+        assertTrue(namesWithPrefix("zeta").isEmpty());
+    }
+
+    public void testVisitorCanStop() {
+        configureByText("""
+                var item1 = 1
+                var item2 = 2
+                var item3 = 3
+                """);
+
+        List<String> names = new ArrayList<>();
+        boolean completed = KiteSymbolPrefixIndex.getIndex(myFixture.getFile()).processPrefix("item", (name, type) -> {
+            names.add(name);
+            return names.size() < 2;
+        });
+
+        assertFalse(completed);
+        assertEquals(List.of("item1", "item2"), names);
+    }
+
+    public void testDeclarationTypeIsKept() {
+        configureByText("""
+                schema Config {
+                    string host
+                }
+                """);
+
+        List<IElementType> types = new ArrayList<>();
+        KiteSymbolPrefixIndex.getIndex(myFixture.getFile()).processPrefix("Config", (name, type) -> types.add(type));
+
+        assertEquals(List.of(KiteElementTypes.SCHEMA_DECLARATION), types);
+    }
+
+    public void testIndexIsCachedUntilFileChanges() {
+        PsiFile file = myFixture.configureByText("test.kite", """
+                var alpha = 1
+                """);
+
+        KiteSymbolPrefixIndex first = KiteSymbolPrefixIndex.getIndex(file);
+        assertSame(first, KiteSymbolPrefixIndex.getIndex(file));
+
+        myFixture.type("var beta = 2\n");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        KiteSymbolPrefixIndex second = KiteSymbolPrefixIndex.getIndex(file);
+        assertNotSame(first, second);
+        assertEquals(2, second.size());
+    }
+
+    public void testExactLookupKeepsDocumentOrder() {
+        configureByText("""
+                var config = 1
+                var Config = 2
+                schema Config {
+                    string host
+                }
+                """);
+
+        KiteSymbolPrefixIndex index = KiteSymbolPrefixIndex.getIndex(myFixture.getFile());
+        List<PsiElement> declarations = index.getDeclarations("Config");
+
+        assertEquals(2, declarations.size());
+        assertEquals(KiteElementTypes.VARIABLE_DECLARATION, declarations.get(0).getNode().getElementType());
+        assertEquals(KiteElementTypes.SCHEMA_DECLARATION, declarations.get(1).getNode().getElementType());
+        assertSame(declarations.get(0), index.getFirstDeclaration("Config"));
+        assertNull(index.getFirstDeclaration("conf"));
+        assertEmpty(index.getDeclarations("missing"));
+    }
+
+    private List<String> namesWithPrefix(String prefix) {
+        List<String> names = new ArrayList<>();
+        KiteSymbolPrefixIndex.getIndex(myFixture.getFile()).processPrefix(prefix, (name, type) -> names.add(name));
+        return names;
+    }
+}